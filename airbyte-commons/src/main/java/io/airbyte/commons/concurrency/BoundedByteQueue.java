@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory blocking queue that is bounded by the total number of bytes of the elements it holds
+ * instead of by the number of elements. Producers declare the size of each element when they offer
+ * it. This lets a fast producer run ahead of a slow consumer without letting wide records exhaust
+ * the heap.
+ *
+ * <p>
+ * An element that is larger than the whole budget is still accepted once the queue is empty, so a
+ * single oversized element cannot deadlock the producer.
+ *
+ * <p>
+ * Once the producer is done it calls {@link #close()}. Consumers keep draining what is left and
+ * then observe {@link #isDone()}. All blocking methods take a timeout so that callers can
+ * periodically check for cancellation.
+ *
+ * @param <T> type of the elements in the queue.
+ */
+public class BoundedByteQueue<T> implements AutoCloseable {
+
+  private final long maxBytes;
+  private final Deque<Entry<T>> entries;
+  private final ReentrantLock lock;
+  private final Condition notEmpty;
+  private final Condition notFull;
+
+  private long bytes;
+  private boolean closed;
+
+  public BoundedByteQueue(final long maxBytes) {
+    Preconditions.checkArgument(maxBytes > 0, "maxBytes must be positive");
+    this.maxBytes = maxBytes;
+    this.entries = new ArrayDeque<>();
+    this.lock = new ReentrantLock();
+    this.notEmpty = lock.newCondition();
+    this.notFull = lock.newCondition();
+    this.bytes = 0;
+    this.closed = false;
+  }
+
+  /**
+   * Adds an element to the tail of the queue, waiting up to the timeout for enough bytes to be freed
+   * up.
+   *
+   * @param element element to add.
+   * @param elementBytes size attributed to the element.
+   * @param timeout how long to wait for space before giving up.
+   * @param unit unit of the timeout.
+   * @return true if the element was added, false if the timeout elapsed first.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public boolean offer(final T element, final long elementBytes, final long timeout, final TimeUnit unit) throws InterruptedException {
+    Preconditions.checkNotNull(element);
+    Preconditions.checkArgument(elementBytes >= 0, "elementBytes cannot be negative");
+
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      Preconditions.checkState(!closed, "Cannot offer to a closed queue.");
+      while (!entries.isEmpty() && bytes + elementBytes > maxBytes) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = notFull.awaitNanos(nanos);
+      }
+      entries.addLast(new Entry<>(element, elementBytes));
+      bytes += elementBytes;
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the element at the head of the queue, waiting up to the timeout for one to become
+   * available.
+   *
+   * @param timeout how long to wait for an element.
+   * @param unit unit of the timeout.
+   * @return the head of the queue or null if the timeout elapsed or the queue is closed and drained.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (entries.isEmpty()) {
+        if (closed || nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      final Entry<T> entry = entries.removeFirst();
+      bytes -= entry.bytes;
+      notFull.signalAll();
+      return entry.element;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return true once the queue has been closed and every element has been consumed.
+   */
+  public boolean isDone() {
+    lock.lock();
+    try {
+      return closed && entries.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getBytes() {
+    lock.lock();
+    try {
+      return bytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Signals that no more elements will be offered. Elements already in the queue can still be
+   * polled.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static class Entry<T> {
+
+    private final T element;
+    private final long bytes;
+
+    private Entry(final T element, final long bytes) {
+      this.element = element;
+      this.bytes = bytes;
+    }
+
+  }
+
+}
@@ -24,54 +24,188 @@
 
 package io.airbyte.commons.io;
 
-import io.airbyte.commons.concurrency.VoidCallable;
-import java.io.BufferedReader;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 import org.slf4j.MDC;
 
-public class LineGobbler implements VoidCallable {
+/**
+ * Forwards the lines of a child process output stream to a consumer. A gobbler does not own a
+ * thread: the shared {@link LogPump} calls {@link #pump()} whenever it is the gobbler's turn, and
+ * each call only reads what is already available so that it never blocks the pump.
+ */
+public class LineGobbler {
+
+  // how many bytes a single turn reads at most, so that one chatty stream cannot starve the others.
+  private static final int MAX_READ_BYTES = 64 * 1024;
 
-  private final static Logger LOGGER = LoggerFactory.getLogger(LineGobbler.class);
+  /**
+   * Forwards the lines the process writes to the stream until the process has exited and the
+   * stream is drained. The consumer is called with the MDC of the calling thread.
+   *
+   * @return completes once every line has been consumed.
+   */
+  public static CompletableFuture<Void> gobble(final Process process, final InputStream is, final Consumer<String> consumer) {
+    return gobble(process, is, consumer, line -> true);
+  }
+
+  /**
+   * Same as {@link #gobble(Process, InputStream, Consumer)}, for a stream that carries more than
+   * logs. Lines that are not rate limited are never dropped.
+   *
+   * @param isRateLimited whether a line counts towards the log rate limit of the process.
+   */
+  public static CompletableFuture<Void> gobble(final Process process,
+                                               final InputStream is,
+                                               final Consumer<String> consumer,
+                                               final Predicate<String> isRateLimited) {
+    return LogPump.getShared().register(process, is, consumer, isRateLimited);
+  }
 
-  public static void gobble(final InputStream is, final Consumer<String> consumer) {
-    final ExecutorService executor = Executors.newSingleThreadExecutor();
-    final Map<String, String> mdc = MDC.getCopyOfContextMap();
-    executor.submit(new LineGobbler(is, consumer, executor, mdc));
+  enum Status {
+    READ,
+    IDLE,
+    FINISHED
   }
 
-  private final BufferedReader is;
+  private final InputStream is;
   private final Consumer<String> consumer;
-  private final ExecutorService executor;
+  private final Predicate<String> isRateLimited;
+  private final BooleanSupplier isWriterFinished;
+  private final LineRateLimiter rateLimiter;
+  private final LongSupplier clock;
   private final Map<String, String> mdc;
+  private final byte[] readBuffer = new byte[MAX_READ_BYTES];
+  private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
 
+  private long suppressedLines = 0;
+
+  @VisibleForTesting
   LineGobbler(final InputStream is,
               final Consumer<String> consumer,
-              final ExecutorService executor,
+              final Predicate<String> isRateLimited,
+              final BooleanSupplier isWriterFinished,
+              final LineRateLimiter rateLimiter,
+              final LongSupplier clock,
               final Map<String, String> mdc) {
-    this.is = IOs.newBufferedReader(is);
+    this.is = is;
     this.consumer = consumer;
-    this.executor = executor;
+    this.isRateLimited = isRateLimited;
+    this.isWriterFinished = isWriterFinished;
+    this.rateLimiter = rateLimiter;
+    this.clock = clock;
     this.mdc = mdc;
   }
 
-  @Override
-  public void voidCall() {
-    MDC.setContextMap(mdc);
+  /**
+   * Reads what is available and forwards every complete line.
+   *
+   * @return READ if anything was read, IDLE if there was nothing to read yet, FINISHED once the
+   *         writer is done and the stream is drained.
+   */
+  Status pump() throws IOException {
+    // checked before reading: once the writer has exited, everything it wrote is already readable.
+    final boolean writerFinished = isWriterFinished.getAsBoolean();
+    final int available = is.available();
+    if (available > 0) {
+      final int read = is.read(readBuffer, 0, Math.min(available, readBuffer.length));
+      if (read > 0) {
+        emit(splitLines(read));
+        return Status.READ;
+      }
+    }
+
+    if (!writerFinished) {
+      return Status.IDLE;
+    }
+
+    final List<String> lastLines = new ArrayList<>();
+    if (partialLine.size() > 0) {
+      lastLines.add(toLine(partialLine));
+    }
+    emit(lastLines);
+    if (suppressedLines > 0) {
+      withMdc(this::reportSuppressedLines);
+    }
+    is.close();
+    return Status.FINISHED;
+  }
+
+  void close() {
     try {
-      String line;
-      while ((line = is.readLine()) != null) {
+      is.close();
+    } catch (IOException e) {
+      // nothing left to do with the stream.
+    }
+  }
+
+  private List<String> splitLines(int length) {
+    final List<String> lines = new ArrayList<>();
+    int lineStart = 0;
+    for (int i = 0; i < length; i++) {
+      if (readBuffer[i] == '\n') {
+        partialLine.write(readBuffer, lineStart, i - lineStart);
+        lines.add(toLine(partialLine));
+        lineStart = i + 1;
+      }
+    }
+    partialLine.write(readBuffer, lineStart, length - lineStart);
+    return lines;
+  }
+
+  private static String toLine(ByteArrayOutputStream bytes) {
+    String line = bytes.toString(StandardCharsets.UTF_8);
+    bytes.reset();
+    if (line.endsWith("\r")) {
+      line = line.substring(0, line.length() - 1);
+    }
+    return line;
+  }
+
+  // all lines read in one turn are forwarded as a batch, under a single MDC switch.
+  private void emit(List<String> lines) {
+    if (lines.isEmpty()) {
+      return;
+    }
+
+    withMdc(() -> {
+      for (final String line : lines) {
+        if (isRateLimited.test(line) && !rateLimiter.tryAcquire(clock.getAsLong())) {
+          suppressedLines++;
+          continue;
+        }
+        if (suppressedLines > 0) {
+          reportSuppressedLines();
+        }
         consumer.accept(line);
       }
-    } catch (Exception e) {
-      LOGGER.error("Error when reading stream", e);
+    });
+  }
+
+  private void reportSuppressedLines() {
+    consumer.accept(String.format("... %d lines suppressed because the process exceeded its log rate limit ...", suppressedLines));
+    suppressedLines = 0;
+  }
+
+  private void withMdc(Runnable runnable) {
+    // pump threads are shared between jobs, so the MDC is set for each batch and cleared afterwards.
+    if (mdc != null) {
+      MDC.setContextMap(mdc);
+    }
+    try {
+      runnable.run();
     } finally {
-      executor.shutdown();
+      MDC.clear();
     }
   }
 
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.io;
+
+/**
+ * Token bucket over log lines. Not thread-safe on its own; the gobblers of one process may pump on
+ * different threads, so access is synchronized.
+ */
+class LineRateLimiter {
+
+  private final long linesPerSecond;
+  private final long burstLines;
+
+  private double tokens;
+  private long lastRefillMillis;
+
+  LineRateLimiter(long linesPerSecond, long burstLines, long nowMillis) {
+    this.linesPerSecond = linesPerSecond;
+    this.burstLines = burstLines;
+    this.tokens = burstLines;
+    this.lastRefillMillis = nowMillis;
+  }
+
+  synchronized boolean tryAcquire(long nowMillis) {
+    if (nowMillis > lastRefillMillis) {
+      tokens = Math.min(burstLines, tokens + (nowMillis - lastRefillMillis) * linesPerSecond / 1000.0);
+      lastRefillMillis = nowMillis;
+    }
+    if (tokens < 1) {
+      return false;
+    }
+    tokens--;
+    return true;
+  }
+
+}
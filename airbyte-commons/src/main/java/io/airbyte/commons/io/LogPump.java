@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.io;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Multiplexes the output streams of all child processes over a small, fixed pool of threads,
+ * instead of dedicating a thread to every stream. Process pipes cannot be selected on, so each
+ * registered {@link LineGobbler} is polled: a stream that had data is put straight back in line, and
+ * an idle one is polled again after a delay that backs off while it stays idle.
+ */
+public class LogPump {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogPump.class);
+
+  private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  private static final long MIN_IDLE_DELAY_MILLIS = 10L;
+  private static final long MAX_IDLE_DELAY_MILLIS = 200L;
+  // shared by all the streams of one process.
+  private static final long LINES_PER_SECOND = 1_000L;
+  private static final long BURST_LINES = 10_000L;
+
+  private static LogPump shared;
+
+  public static synchronized LogPump getShared() {
+    if (shared == null) {
+      shared = new LogPump(Executors.newScheduledThreadPool(
+          THREADS,
+          new ThreadFactoryBuilder().setNameFormat("log-pump-%d").setDaemon(true).build()),
+          System::currentTimeMillis);
+    }
+    return shared;
+  }
+
+  private final ScheduledExecutorService executor;
+  private final LongSupplier clock;
+  private final Map<Process, LineRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+  @VisibleForTesting
+  LogPump(final ScheduledExecutorService executor, final LongSupplier clock) {
+    this.executor = executor;
+    this.clock = clock;
+  }
+
+  /**
+   * @param isRateLimited whether a line counts towards the log rate limit of the process.
+   * @return completes once the process has exited and every line of the stream has been consumed.
+   */
+  public CompletableFuture<Void> register(final Process process,
+                                          final InputStream is,
+                                          final Consumer<String> consumer,
+                                          final Predicate<String> isRateLimited) {
+    final LineRateLimiter rateLimiter = rateLimiters.computeIfAbsent(
+        process,
+        p -> new LineRateLimiter(LINES_PER_SECOND, BURST_LINES, clock.getAsLong()));
+    // the pump threads only look at the exit future, never at the process itself.
+    final CompletableFuture<Process> exited = process.onExit();
+    final LineGobbler gobbler = new LineGobbler(is, consumer, isRateLimited, exited::isDone, rateLimiter, clock, MDC.getCopyOfContextMap());
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    executor.execute(() -> pump(process, gobbler, done, MIN_IDLE_DELAY_MILLIS));
+    return done;
+  }
+
+  private void pump(final Process process, final LineGobbler gobbler, final CompletableFuture<Void> done, final long idleDelayMillis) {
+    final LineGobbler.Status status;
+    try {
+      status = gobbler.pump();
+    } catch (Exception e) {
+      LOGGER.error("Error when reading stream", e);
+      gobbler.close();
+      rateLimiters.remove(process);
+      done.completeExceptionally(e);
+      return;
+    }
+
+    switch (status) {
+      case READ -> executor.execute(() -> pump(process, gobbler, done, MIN_IDLE_DELAY_MILLIS));
+      case IDLE -> executor.schedule(
+          () -> pump(process, gobbler, done, Math.min(idleDelayMillis * 2, MAX_IDLE_DELAY_MILLIS)),
+          idleDelayMillis,
+          TimeUnit.MILLISECONDS);
+      case FINISHED -> {
+        rateLimiters.remove(process);
+        done.complete(null);
+      }
+    }
+  }
+
+}
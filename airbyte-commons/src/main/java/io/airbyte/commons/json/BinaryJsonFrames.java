@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Length-prefixed frames of binary (Smile) encoded JSON. Each frame is a zero byte, the payload
+ * length as a 4-byte big-endian int and the payload. A zero byte never starts a line of UTF-8 text,
+ * so whole lines of text (e.g. logs written to the same stdout) can be interleaved between frames
+ * and are handed back separately by the {@link Reader}.
+ */
+public class BinaryJsonFrames {
+
+  private static final int FRAME_MARKER = 0;
+  private static final int FRAME_HEADER_BYTES = 5;
+  // guards against allocating a buffer for a corrupted length.
+  private static final int MAX_PAYLOAD_BYTES = 64 * 1024 * 1024;
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  // Object Mapper is thread-safe
+  private static final ObjectMapper SMILE_MAPPER = initMapper();
+
+  private static ObjectMapper initMapper() {
+    final ObjectMapper result = new ObjectMapper(new SmileFactory());
+    result.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    return result;
+  }
+
+  public static byte[] toFrame(final Object value) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(new byte[FRAME_HEADER_BYTES]);
+    try (final JsonGenerator generator = new RawJsonCopyingGenerator(SMILE_MAPPER.getFactory().createGenerator(out))) {
+      SMILE_MAPPER.writeValue(generator, value);
+    }
+
+    final byte[] frame = out.toByteArray();
+    final int length = frame.length - FRAME_HEADER_BYTES;
+    frame[0] = FRAME_MARKER;
+    frame[1] = (byte) (length >>> 24);
+    frame[2] = (byte) (length >>> 16);
+    frame[3] = (byte) (length >>> 8);
+    frame[4] = (byte) length;
+    return frame;
+  }
+
+  /**
+   * @param payload of a frame read with {@link Reader#readFrame()}.
+   */
+  public static JsonNode readTree(final byte[] payload) {
+    try {
+      return SMILE_MAPPER.readTree(payload);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param payload of a frame read with {@link Reader#readFrame()}, to be read token by token.
+   */
+  public static JsonParser createParser(final byte[] payload) throws IOException {
+    return SMILE_MAPPER.getFactory().createParser(payload);
+  }
+
+  /**
+   * Buffers frames and hands them to the underlying stream in batches. Each batch is passed in a
+   * single write call, so a synchronized stream like System.out never splits a frame with output
+   * from other threads.
+   */
+  public static class Writer implements Closeable {
+
+    private static final int DEFAULT_BATCH_BYTES = 64 * 1024;
+
+    private final OutputStream out;
+    private final int batchBytes;
+    private final ByteArrayOutputStream batch;
+
+    public Writer(final OutputStream out) {
+      this(out, DEFAULT_BATCH_BYTES);
+    }
+
+    public Writer(final OutputStream out, final int batchBytes) {
+      this.out = out;
+      this.batchBytes = batchBytes;
+      this.batch = new ByteArrayOutputStream(batchBytes);
+    }
+
+    public void write(final Object value) throws IOException {
+      batch.write(toFrame(value));
+      if (batch.size() >= batchBytes) {
+        flush();
+      }
+    }
+
+    public void flush() throws IOException {
+      if (batch.size() > 0) {
+        out.write(batch.toByteArray());
+        batch.reset();
+      }
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+      out.close();
+    }
+
+  }
+
+  public static class Reader implements Closeable {
+
+    private final DataInputStream in;
+    private final Consumer<String> textLineConsumer;
+
+    /**
+     * @param textLineConsumer receives any line of text found between frames.
+     */
+    public Reader(final InputStream in, final Consumer<String> textLineConsumer) {
+      this.in = new DataInputStream(new BufferedInputStream(in));
+      this.textLineConsumer = textLineConsumer;
+    }
+
+    /**
+     * @return the next frame, or empty once the stream is exhausted.
+     */
+    public Optional<JsonNode> read() throws IOException {
+      return readFrame().map(BinaryJsonFrames::readTree);
+    }
+
+    public <T> Optional<T> read(final Class<T> klass) throws IOException {
+      return readFrame().map(payload -> {
+        try {
+          return SMILE_MAPPER.readValue(payload, klass);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      });
+    }
+
+    /**
+     * @return the payload of the next frame, or empty once the stream is exhausted.
+     */
+    public Optional<byte[]> readFrame() throws IOException {
+      while (true) {
+        final int first = in.read();
+        if (first == -1) {
+          return Optional.empty();
+        }
+        if (first == FRAME_MARKER) {
+          final int length = in.readInt();
+          if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IOException(String.format("Invalid frame length %d, frames hold at most %d bytes", length, MAX_PAYLOAD_BYTES));
+          }
+          final byte[] payload = new byte[length];
+          in.readFully(payload);
+          return Optional.of(payload);
+        }
+        readTextLine(first);
+      }
+    }
+
+    private void readTextLine(final int first) throws IOException {
+      final ByteArrayOutputStream line = new ByteArrayOutputStream();
+      int next = first;
+      while (next != -1 && next != '\n') {
+        line.write(next);
+        next = in.read();
+      }
+      textLineConsumer.accept(line.toString(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+  }
+
+  /**
+   * Smile has no notion of raw JSON text, so raw values (e.g. record data kept as the text emitted
+   * by a source) are parsed and copied into the binary output instead.
+   */
+  private static class RawJsonCopyingGenerator extends JsonGeneratorDelegate {
+
+    RawJsonCopyingGenerator(final JsonGenerator delegate) {
+      super(delegate, false);
+    }
+
+    @Override
+    public void writeRawValue(final String text) throws IOException {
+      try (final JsonParser parser = JSON_FACTORY.createParser(text)) {
+        parser.nextToken();
+        delegate.copyCurrentStructure(parser);
+      }
+    }
+
+  }
+
+}
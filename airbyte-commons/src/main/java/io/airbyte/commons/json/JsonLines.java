@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Newline delimited JSON, the default framing of messages between the worker and connectors.
+ */
+public class JsonLines {
+
+  // Object Mapper is thread-safe
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * Serializes values straight into one generator, instead of creating a string for each of them.
+   * Lines are buffered and handed to the underlying stream in batches of whole lines, so a
+   * synchronized stream like System.out never splits a line with output from other threads (e.g.
+   * logs).
+   */
+  public static class Writer implements Closeable {
+
+    private static final int DEFAULT_BATCH_BYTES = 64 * 1024;
+
+    private final OutputStream out;
+    private final int batchBytes;
+    private final ByteArrayOutputStream batch;
+    private final JsonGenerator generator;
+
+    public Writer(final OutputStream out) throws IOException {
+      this(out, DEFAULT_BATCH_BYTES);
+    }
+
+    public Writer(final OutputStream out, final int batchBytes) throws IOException {
+      this.out = out;
+      this.batchBytes = batchBytes;
+      this.batch = new ByteArrayOutputStream(batchBytes);
+      this.generator = OBJECT_MAPPER.getFactory().createGenerator(batch, JsonEncoding.UTF8);
+      // lines are separated by the newline written after each value.
+      this.generator.setRootValueSeparator(null);
+    }
+
+    public void write(final Object value) throws IOException {
+      OBJECT_MAPPER.writeValue(generator, value);
+      generator.writeRaw('\n');
+      generator.flush();
+      if (batch.size() >= batchBytes) {
+        flush();
+      }
+    }
+
+    public void flush() throws IOException {
+      generator.flush();
+      if (batch.size() > 0) {
+        batch.writeTo(out);
+        batch.reset();
+      }
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+      out.close();
+    }
+
+  }
+
+}
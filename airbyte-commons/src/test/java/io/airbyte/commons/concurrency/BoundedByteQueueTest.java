@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class BoundedByteQueueTest {
+
+  @Test
+  void testFifo() throws InterruptedException {
+    final BoundedByteQueue<String> queue = new BoundedByteQueue<>(100);
+    assertTrue(queue.offer("a", 10, 0, TimeUnit.MILLISECONDS));
+    assertTrue(queue.offer("b", 20, 0, TimeUnit.MILLISECONDS));
+
+    assertEquals(2, queue.size());
+    assertEquals(30, queue.getBytes());
+    assertEquals("a", queue.poll(0, TimeUnit.MILLISECONDS));
+    assertEquals("b", queue.poll(0, TimeUnit.MILLISECONDS));
+    assertNull(queue.poll(0, TimeUnit.MILLISECONDS));
+    assertEquals(0, queue.getBytes());
+  }
+
+  @Test
+  void testOfferTimesOutWhenFull() throws InterruptedException {
+    final BoundedByteQueue<String> queue = new BoundedByteQueue<>(100);
+    assertTrue(queue.offer("a", 60, 0, TimeUnit.MILLISECONDS));
+    assertFalse(queue.offer("b", 60, 10, TimeUnit.MILLISECONDS));
+
+    queue.poll(0, TimeUnit.MILLISECONDS);
+    assertTrue(queue.offer("b", 60, 0, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testOversizedElementAcceptedWhenEmpty() throws InterruptedException {
+    final BoundedByteQueue<String> queue = new BoundedByteQueue<>(100);
+    assertTrue(queue.offer("big", 500, 0, TimeUnit.MILLISECONDS));
+    assertFalse(queue.offer("small", 1, 0, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testBlockedProducerResumesWhenConsumerPolls() throws Exception {
+    final BoundedByteQueue<Integer> queue = new BoundedByteQueue<>(10);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<?> producer = executor.submit(() -> {
+        for (int i = 0; i < 100; i++) {
+          queue.offer(i, 5, 1, TimeUnit.MINUTES);
+        }
+        queue.close();
+        return null;
+      });
+
+      int expected = 0;
+      while (!queue.isDone()) {
+        final Integer next = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (next != null) {
+          assertTrue(queue.getBytes() <= 10);
+          assertEquals(expected++, next);
+        }
+      }
+      producer.get(1, TimeUnit.MINUTES);
+      assertEquals(100, expected);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testCloseDrainsRemainingElements() throws InterruptedException {
+    final BoundedByteQueue<String> queue = new BoundedByteQueue<>(100);
+    queue.offer("a", 1, 0, TimeUnit.MILLISECONDS);
+    queue.close();
+
+    assertFalse(queue.isDone());
+    assertEquals("a", queue.poll(0, TimeUnit.MILLISECONDS));
+    assertTrue(queue.isDone());
+    assertNull(queue.poll(1, TimeUnit.MINUTES));
+    assertThrows(IllegalStateException.class, () -> queue.offer("b", 1, 0, TimeUnit.MILLISECONDS));
+  }
+
+}
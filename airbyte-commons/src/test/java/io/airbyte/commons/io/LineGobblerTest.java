@@ -24,61 +24,135 @@
 
 package io.airbyte.commons.io;
 
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.spy;
-import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.util.concurrent.MoreExecutors;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 
 class LineGobblerTest {
 
+  private List<String> lines;
+
+  @BeforeEach
+  void setup() {
+    lines = new ArrayList<>();
+  }
+
   @Test
-  @SuppressWarnings("unchecked")
-  void readAllLines() {
-    final Consumer<String> consumer = Mockito.mock(Consumer.class);
-    final InputStream is = new ByteArrayInputStream("test\ntest2\n".getBytes(StandardCharsets.UTF_8));
-    final ExecutorService executor = spy(MoreExecutors.newDirectExecutorService());
+  void readAllLines() throws Exception {
+    final LineGobbler gobbler = createGobbler(toStream("test\r\ntest2\nlast"), () -> true, lines::add, new LineRateLimiter(100, 100, 0));
 
-    executor.submit(new LineGobbler(is, consumer, executor, ImmutableMap.of()));
+    assertEquals(LineGobbler.Status.READ, gobbler.pump());
+    assertEquals(List.of("test", "test2"), lines);
+    assertEquals(LineGobbler.Status.FINISHED, gobbler.pump());
+    assertEquals(List.of("test", "test2", "last"), lines);
+  }
 
-    Mockito.verify(consumer).accept("test");
-    Mockito.verify(consumer).accept("test2");
-    Mockito.verify(executor).shutdown();
+  @Test
+  void idleUntilWriterFinishes() throws Exception {
+    final AtomicBoolean writerFinished = new AtomicBoolean(false);
+    final PipedOutputStream writer = new PipedOutputStream();
+    final LineGobbler gobbler = createGobbler(new PipedInputStream(writer), writerFinished::get, lines::add, new LineRateLimiter(100, 100, 0));
+
+    assertEquals(LineGobbler.Status.IDLE, gobbler.pump());
+    writer.write("partial".getBytes(StandardCharsets.UTF_8));
+    assertEquals(LineGobbler.Status.READ, gobbler.pump());
+    assertEquals(LineGobbler.Status.IDLE, gobbler.pump());
+    assertEquals(List.of(), lines);
+
+    writer.write(" line\n".getBytes(StandardCharsets.UTF_8));
+    writer.close();
+    writerFinished.set(true);
+    assertEquals(LineGobbler.Status.READ, gobbler.pump());
+    assertEquals(LineGobbler.Status.FINISHED, gobbler.pump());
+    assertEquals(List.of("partial line"), lines);
   }
 
   @Test
-  @SuppressWarnings("unchecked")
-  void shutdownOnSuccess() {
-    final Consumer<String> consumer = Mockito.mock(Consumer.class);
-    final InputStream is = new ByteArrayInputStream("test\ntest2\n".getBytes(StandardCharsets.UTF_8));
-    final ExecutorService executor = spy(MoreExecutors.newDirectExecutorService());
+  void suppressesLinesOverRateLimit() throws Exception {
+    final LineGobbler gobbler = createGobbler(toStream("1\n2\n3\n4\n"), () -> true, lines::add, new LineRateLimiter(1, 2, 0));
 
-    executor.submit(new LineGobbler(is, consumer, executor, ImmutableMap.of()));
+    gobbler.pump();
+    gobbler.pump();
 
-    Mockito.verify(consumer, Mockito.times(2)).accept(anyString());
-    Mockito.verify(executor).shutdown();
+    assertEquals(List.of("1", "2", "... 2 lines suppressed because the process exceeded its log rate limit ..."), lines);
   }
 
   @Test
+  void neverSuppressesLinesThatAreNotRateLimited() throws Exception {
+    final LineGobbler gobbler = new LineGobbler(
+        toStream("log1\n{\"type\":\"STATE\"}\nlog2\n{\"type\":\"STATE\"}\n"),
+        lines::add,
+        line -> !line.startsWith("{"),
+        () -> true,
+        new LineRateLimiter(1, 1, 0),
+        () -> 0L,
+        ImmutableMap.of());
+
+    gobbler.pump();
+    gobbler.pump();
+
+    assertEquals(List.of("log1", "{\"type\":\"STATE\"}",
+        "... 1 lines suppressed because the process exceeded its log rate limit ...", "{\"type\":\"STATE\"}"), lines);
+  }
+
   @SuppressWarnings("unchecked")
-  void shutdownOnError() {
-    final Consumer<String> consumer = Mockito.mock(Consumer.class);
-    Mockito.doThrow(RuntimeException.class).when(consumer).accept(anyString());
-    final InputStream is = new ByteArrayInputStream("test\ntest2\n".getBytes(StandardCharsets.UTF_8));
-    final ExecutorService executor = spy(MoreExecutors.newDirectExecutorService());
+  @Test
+  void consumerErrorPropagates() {
+    final Consumer<String> consumer = mock(Consumer.class);
+    doThrow(RuntimeException.class).when(consumer).accept(anyString());
+    final LineGobbler gobbler = createGobbler(toStream("test\n"), () -> true, consumer, new LineRateLimiter(100, 100, 0));
+
+    assertThrows(RuntimeException.class, gobbler::pump);
+  }
 
-    executor.submit(new LineGobbler(is, consumer, executor, ImmutableMap.of()));
+  @Test
+  void pumpsManyStreamsOnOneThread() throws Exception {
+    final LogPump logPump = new LogPump(Executors.newSingleThreadScheduledExecutor(), System::currentTimeMillis);
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    final List<List<String>> outputs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final Process process = mock(Process.class);
+      when(process.onExit()).thenReturn(CompletableFuture.completedFuture(process));
+      final List<String> output = new ArrayList<>();
+      outputs.add(output);
+      futures.add(logPump.register(process, toStream("a" + i + "\nb" + i + "\n"), output::add, line -> true));
+    }
+
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(List.of("a" + i, "b" + i), outputs.get(i));
+    }
+  }
+
+  private static LineGobbler createGobbler(InputStream is,
+                                           BooleanSupplier writerFinished,
+                                           Consumer<String> consumer,
+                                           LineRateLimiter rateLimiter) {
+    return new LineGobbler(is, consumer, line -> true, writerFinished, rateLimiter, () -> 0L, ImmutableMap.of());
+  }
 
-    verify(consumer).accept(anyString());
-    Mockito.verify(executor).shutdown();
+  private static InputStream toStream(String contents) {
+    return new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8));
   }
 
 }
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class BinaryJsonFramesTest {
+
+  private static final JsonNode FIRST = Jsons.jsonNode(ImmutableMap.of("name", "rudolph", "age", 7));
+  private static final JsonNode SECOND = Jsons.jsonNode(ImmutableMap.of("name", "comet", "tags", List.of("a", "b")));
+
+  @Test
+  void testRoundTrip() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final BinaryJsonFrames.Writer writer = new BinaryJsonFrames.Writer(out, 1)) {
+      writer.write(FIRST);
+      writer.write(SECOND);
+    }
+
+    final BinaryJsonFrames.Reader reader = new BinaryJsonFrames.Reader(new ByteArrayInputStream(out.toByteArray()), line -> {});
+    assertEquals(FIRST, reader.read().orElseThrow());
+    assertEquals(SECOND, reader.read().orElseThrow());
+    assertTrue(reader.read().isEmpty());
+  }
+
+  @Test
+  void testReadTyped() throws IOException {
+    final BinaryJsonFrames.Reader reader = new BinaryJsonFrames.Reader(new ByteArrayInputStream(BinaryJsonFrames.toFrame(FIRST)), line -> {});
+
+    assertEquals(Jsons.object(FIRST, Map.class), reader.read(Map.class).orElseThrow());
+  }
+
+  @Test
+  void testTextLinesBetweenFrames() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write("starting up\n".getBytes(StandardCharsets.UTF_8));
+    out.write(BinaryJsonFrames.toFrame(FIRST));
+    out.write("still going\n".getBytes(StandardCharsets.UTF_8));
+    out.write(BinaryJsonFrames.toFrame(SECOND));
+    out.write("done".getBytes(StandardCharsets.UTF_8));
+
+    final List<String> lines = new ArrayList<>();
+    final BinaryJsonFrames.Reader reader = new BinaryJsonFrames.Reader(new ByteArrayInputStream(out.toByteArray()), lines::add);
+    assertEquals(FIRST, reader.read().orElseThrow());
+    assertEquals(SECOND, reader.read().orElseThrow());
+    assertTrue(reader.read().isEmpty());
+    assertEquals(List.of("starting up", "still going", "done"), lines);
+  }
+
+  @Test
+  void testInvalidLength() {
+    final byte[] negative = {0, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff};
+    final byte[] tooLarge = {0, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff};
+
+    for (final byte[] frame : List.of(negative, tooLarge)) {
+      final BinaryJsonFrames.Reader reader = new BinaryJsonFrames.Reader(new ByteArrayInputStream(frame), line -> {});
+      final IOException e = assertThrows(IOException.class, reader::read);
+      assertTrue(e.getMessage().startsWith("Invalid frame length"));
+    }
+  }
+
+  @Test
+  void testRawJsonValue() throws IOException {
+    final ObjectNode message = JsonNodeFactory.instance.objectNode();
+    message.put("type", "RECORD");
+    message.set("data", JsonNodeFactory.instance.rawValueNode(new RawValue("{\"name\":\"rudolph\",\"age\":7}")));
+
+    final BinaryJsonFrames.Reader reader = new BinaryJsonFrames.Reader(new ByteArrayInputStream(BinaryJsonFrames.toFrame(message)), line -> {});
+
+    assertEquals(Jsons.jsonNode(ImmutableMap.of("type", "RECORD", "data", FIRST)), reader.read().orElseThrow());
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.commons.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonLinesTest {
+
+  private static final JsonNode FIRST = Jsons.jsonNode(ImmutableMap.of("name", "rudolph", "age", 7));
+  private static final JsonNode SECOND = Jsons.jsonNode(ImmutableMap.of("name", "comet", "tags", List.of("a", "b")));
+
+  @Test
+  void testWritesOneValuePerLine() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final JsonLines.Writer writer = new JsonLines.Writer(out);
+    writer.write(FIRST);
+    writer.write(SECOND);
+    // lines are only handed over once the batch is full or flushed.
+    assertEquals(0, out.size());
+    writer.flush();
+
+    assertEquals(Jsons.serialize(FIRST) + "\n" + Jsons.serialize(SECOND) + "\n", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testHandsOverWholeLines() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final JsonLines.Writer writer = new JsonLines.Writer(out, 1);
+    writer.write(FIRST);
+    assertEquals(Jsons.serialize(FIRST) + "\n", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testRawJsonValue() throws IOException {
+    final ObjectNode message = JsonNodeFactory.instance.objectNode();
+    message.put("type", "RECORD");
+    message.set("data", JsonNodeFactory.instance.rawValueNode(new RawValue("{\"name\":\"rudolph\",\"age\":7}")));
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final JsonLines.Writer writer = new JsonLines.Writer(out)) {
+      writer.write(message);
+    }
+
+    assertEquals("{\"type\":\"RECORD\",\"data\":{\"name\":\"rudolph\",\"age\":7}}\n", out.toString(StandardCharsets.UTF_8));
+  }
+
+}
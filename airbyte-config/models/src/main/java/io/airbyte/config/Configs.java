@@ -56,6 +56,8 @@ public interface Configs {
 
   WorkspaceRetentionConfig getWorkspaceRetentionConfig();
 
+  RecordValidationConfig getRecordValidationConfig();
+
   enum TrackingStrategy {
     SEGMENT,
     LOGGING
@@ -66,4 +68,19 @@ public interface Configs {
     KUBERNETES
   }
 
+  /**
+   * Which records read from sources are validated against the protocol. Other messages are always
+   * validated.
+   */
+  enum RecordValidationMode {
+    // every record.
+    FULL,
+    // the first N records of each stream.
+    FIRST_N_PER_STREAM,
+    // one record out of every N of each stream, starting with the first one.
+    SAMPLE_ONE_IN_N,
+    // none.
+    OFF
+  }
+
 }
@@ -50,10 +50,14 @@ public class EnvConfigs implements Configs {
   private static final String MINIMUM_WORKSPACE_RETENTION_DAYS = "MINIMUM_WORKSPACE_RETENTION_DAYS";
   private static final String MAXIMUM_WORKSPACE_RETENTION_DAYS = "MAXIMUM_WORKSPACE_RETENTION_DAYS";
   private static final String MAXIMUM_WORKSPACE_SIZE_MB = "MAXIMUM_WORKSPACE_SIZE_MB";
+  public static final String RECORD_VALIDATION_MODE = "RECORD_VALIDATION_MODE";
+  public static final String RECORD_VALIDATION_N = "RECORD_VALIDATION_N";
 
   private static final long DEFAULT_MINIMUM_WORKSPACE_RETENTION_DAYS = 1;
   private static final long DEFAULT_MAXIMUM_WORKSPACE_RETENTION_DAYS = 60;
   private static final long DEFAULT_MAXIMUM_WORKSPACE_SIZE_MB = 5000;
+  private static final RecordValidationMode DEFAULT_RECORD_VALIDATION_MODE = RecordValidationMode.FULL;
+  private static final long DEFAULT_RECORD_VALIDATION_N = 100;
 
   public static final String DEFAULT_NETWORK = "host";
 
@@ -176,6 +180,26 @@ public class EnvConfigs implements Configs {
     return new WorkspaceRetentionConfig(minDays, maxDays, maxSizeMb);
   }
 
+  @Override
+  public RecordValidationConfig getRecordValidationConfig() {
+    final String mode = getEnv.apply(RECORD_VALIDATION_MODE);
+    RecordValidationMode recordValidationMode = DEFAULT_RECORD_VALIDATION_MODE;
+    if (mode == null) {
+      LOGGER.info(RECORD_VALIDATION_MODE + " not found, defaulting to " + DEFAULT_RECORD_VALIDATION_MODE);
+    } else {
+      try {
+        recordValidationMode = RecordValidationMode.valueOf(mode.toUpperCase());
+      } catch (IllegalArgumentException e) {
+        LOGGER.info(mode + " not recognized, defaulting to " + DEFAULT_RECORD_VALIDATION_MODE);
+      }
+    }
+
+    final long n = getEnvOrDefault(RECORD_VALIDATION_N, DEFAULT_RECORD_VALIDATION_N);
+    Preconditions.checkArgument(n > 0, "'%s' must be positive, got: %s", RECORD_VALIDATION_N, n);
+
+    return new RecordValidationConfig(recordValidationMode, n);
+  }
+
   public long getEnvOrDefault(String key, long defaultValue) {
     final String value = getEnv.apply(key);
     if (value != null) {
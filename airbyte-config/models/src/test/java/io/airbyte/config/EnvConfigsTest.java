@@ -179,4 +179,23 @@ class EnvConfigsTest {
     Assertions.assertEquals(Configs.TrackingStrategy.LOGGING, config.getTrackingStrategy());
   }
 
+  @Test
+  void testRecordValidationConfig() {
+    when(function.apply(EnvConfigs.RECORD_VALIDATION_MODE)).thenReturn(null);
+    when(function.apply(EnvConfigs.RECORD_VALIDATION_N)).thenReturn(null);
+    Assertions.assertEquals(Configs.RecordValidationMode.FULL, config.getRecordValidationConfig().getMode());
+    Assertions.assertEquals(100, config.getRecordValidationConfig().getN());
+
+    when(function.apply(EnvConfigs.RECORD_VALIDATION_MODE)).thenReturn("abc");
+    Assertions.assertEquals(Configs.RecordValidationMode.FULL, config.getRecordValidationConfig().getMode());
+
+    when(function.apply(EnvConfigs.RECORD_VALIDATION_MODE)).thenReturn("sample_one_in_n");
+    when(function.apply(EnvConfigs.RECORD_VALIDATION_N)).thenReturn("10");
+    Assertions.assertEquals(Configs.RecordValidationMode.SAMPLE_ONE_IN_N, config.getRecordValidationConfig().getMode());
+    Assertions.assertEquals(10, config.getRecordValidationConfig().getN());
+
+    when(function.apply(EnvConfigs.RECORD_VALIDATION_N)).thenReturn("0");
+    Assertions.assertThrows(IllegalArgumentException.class, () -> config.getRecordValidationConfig());
+  }
+
 }
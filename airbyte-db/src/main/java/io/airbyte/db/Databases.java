@@ -24,7 +24,10 @@
 
 package io.airbyte.db;
 
+import io.airbyte.db.jdbc.AdaptiveFetchSize;
+import io.airbyte.db.jdbc.ConnectionPoolSettings;
 import io.airbyte.db.jdbc.DefaultJdbcDatabase;
+import io.airbyte.db.jdbc.JdbcConnectionPool;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.db.jdbc.JdbcStreamingQueryConfiguration;
 import io.airbyte.db.jdbc.StreamingJdbcDatabase;
@@ -51,7 +54,16 @@ public class Databases {
                                                 final String password,
                                                 final String jdbcConnectionString,
                                                 final String driverClassName) {
-    final BasicDataSource connectionPool = createBasicDataSource(username, password, jdbcConnectionString, driverClassName);
+    return createJdbcDatabase(username, password, jdbcConnectionString, driverClassName, new ConnectionPoolSettings());
+  }
+
+  public static JdbcDatabase createJdbcDatabase(final String username,
+                                                final String password,
+                                                final String jdbcConnectionString,
+                                                final String driverClassName,
+                                                final ConnectionPoolSettings connectionPoolSettings) {
+    final JdbcConnectionPool connectionPool =
+        new JdbcConnectionPool(username, password, jdbcConnectionString, driverClassName, connectionPoolSettings);
 
     return new DefaultJdbcDatabase(connectionPool);
   }
@@ -61,10 +73,29 @@ public class Databases {
                                                          final String jdbcConnectionString,
                                                          final String driverClassName,
                                                          final JdbcStreamingQueryConfiguration jdbcStreamingQuery) {
-    final BasicDataSource connectionPool = createBasicDataSource(username, password, jdbcConnectionString, driverClassName);
+    return createStreamingJdbcDatabase(username, password, jdbcConnectionString, driverClassName, jdbcStreamingQuery, null,
+        new ConnectionPoolSettings());
+  }
+
+  /**
+   * Streaming queries and the other queries share one connection pool, which is closed with the
+   * database.
+   *
+   * @param adaptiveFetchSize null if queries should keep the fetch size of the streaming query
+   *        configuration.
+   */
+  public static JdbcDatabase createStreamingJdbcDatabase(final String username,
+                                                         final String password,
+                                                         final String jdbcConnectionString,
+                                                         final String driverClassName,
+                                                         final JdbcStreamingQueryConfiguration jdbcStreamingQuery,
+                                                         final AdaptiveFetchSize adaptiveFetchSize,
+                                                         final ConnectionPoolSettings connectionPoolSettings) {
+    final JdbcConnectionPool connectionPool =
+        new JdbcConnectionPool(username, password, jdbcConnectionString, driverClassName, connectionPoolSettings);
 
-    final JdbcDatabase defaultJdbcDatabase = createJdbcDatabase(username, password, jdbcConnectionString, driverClassName);
-    return new StreamingJdbcDatabase(connectionPool, defaultJdbcDatabase, jdbcStreamingQuery);
+    final JdbcDatabase defaultJdbcDatabase = new DefaultJdbcDatabase(connectionPool);
+    return new StreamingJdbcDatabase(connectionPool, defaultJdbcDatabase, jdbcStreamingQuery, adaptiveFetchSize);
   }
 
   private static BasicDataSource createBasicDataSource(final String username,
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.airbyte.commons.functional.CheckedFunction;
+import io.airbyte.commons.json.Jsons;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adjusts the fetch size of a streamed query toward a target number of bytes per fetch, so that
+ * narrow rows are fetched in fewer round trips and wide rows do not fill the heap.
+ *
+ * <p>
+ * The first batch is fetched with the fetch size of the {@link JdbcStreamingQueryConfiguration}.
+ * The average size of its rows is estimated from their records, as the length of their json text,
+ * and the fetch size of the result set is set for the following batches. Drivers that ignore the
+ * fetch size of a result set keep fetching with the initial one.
+ * </p>
+ */
+public class AdaptiveFetchSize {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveFetchSize.class);
+
+  public static final int MIN_FETCH_SIZE = 10;
+  public static final int MAX_FETCH_SIZE = 100_000;
+
+  private final long targetBytesPerFetch;
+
+  public AdaptiveFetchSize(long targetBytesPerFetch) {
+    this.targetBytesPerFetch = targetBytesPerFetch;
+  }
+
+  /**
+   * @param initialFetchSize the fetch size the query was executed with.
+   * @return a record transform for a single result set, which adjusts its fetch size once the first
+   *         batch has been read.
+   */
+  public <T> CheckedFunction<ResultSet, T, SQLException> adapt(int initialFetchSize, CheckedFunction<ResultSet, T, SQLException> recordTransform) {
+    if (initialFetchSize <= 0) {
+      return recordTransform;
+    }
+
+    return new CheckedFunction<>() {
+
+      private long rowCount;
+      private long byteCount;
+
+      @Override
+      public T apply(ResultSet resultSet) throws SQLException {
+        final T record = recordTransform.apply(resultSet);
+        if (rowCount < initialFetchSize) {
+          final long bytes = estimateBytes(record);
+          if (bytes < 0) {
+            // records whose size is unknown keep the initial fetch size.
+            rowCount = initialFetchSize;
+          } else {
+            rowCount++;
+            byteCount += bytes;
+            if (rowCount == initialFetchSize) {
+              setFetchSize(resultSet, initialFetchSize, Math.max(1, byteCount / rowCount));
+            }
+          }
+        }
+        return record;
+      }
+
+    };
+  }
+
+  int getFetchSize(long averageRowBytes) {
+    return (int) Math.max(MIN_FETCH_SIZE, Math.min(MAX_FETCH_SIZE, targetBytesPerFetch / averageRowBytes));
+  }
+
+  private void setFetchSize(ResultSet resultSet, int initialFetchSize, long averageRowBytes) {
+    final int fetchSize = getFetchSize(averageRowBytes);
+    if (fetchSize == initialFetchSize) {
+      return;
+    }
+    try {
+      resultSet.setFetchSize(fetchSize);
+      LOGGER.info("Fetch size set from {} to {} rows for rows of {} bytes on average.", initialFetchSize, fetchSize, averageRowBytes);
+    } catch (SQLException e) {
+      LOGGER.warn("Could not set fetch size of result set. Keeping fetch size {}.", initialFetchSize, e);
+    }
+  }
+
+  // the records of sources are json, usually raw json text whose length is known.
+  private static long estimateBytes(Object record) {
+    if (record instanceof POJONode && ((POJONode) record).getPojo() instanceof RawValue) {
+      return ((RawValue) ((POJONode) record).getPojo()).rawValue().toString().length();
+    }
+    if (record instanceof JsonNode) {
+      return Jsons.serialize(record).length();
+    }
+    return -1;
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link JdbcConnectionPool}. The defaults keep one connection open between queries,
+ * open at most 8, validate connections before handing them out, cache up to 50 prepared statements
+ * per connection, and close the connections that have been idle for 5 minutes.
+ */
+public class ConnectionPoolSettings {
+
+  public static final int DEFAULT_MAX_TOTAL = 8;
+
+  private int minIdle = 1;
+  private int maxTotal = DEFAULT_MAX_TOTAL;
+  // null to wait until a connection is returned.
+  private Duration maxWait = null;
+  // 0 to not pool statements.
+  private int maxOpenPreparedStatements = 50;
+  private Duration minEvictableIdleTime = Duration.ofMinutes(5);
+  private Duration timeBetweenEvictionRuns = Duration.ofMinutes(1);
+  private Duration metricsLogInterval = Duration.ofMinutes(1);
+
+  public int getMinIdle() {
+    return minIdle;
+  }
+
+  public ConnectionPoolSettings withMinIdle(int minIdle) {
+    this.minIdle = minIdle;
+    return this;
+  }
+
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  public ConnectionPoolSettings withMaxTotal(int maxTotal) {
+    this.maxTotal = maxTotal;
+    return this;
+  }
+
+  public Duration getMaxWait() {
+    return maxWait;
+  }
+
+  /**
+   * @param maxWait how long to wait for a connection when all of them are in use before failing, or
+   *        null to wait until one is returned.
+   */
+  public ConnectionPoolSettings withMaxWait(Duration maxWait) {
+    this.maxWait = maxWait;
+    return this;
+  }
+
+  public int getMaxOpenPreparedStatements() {
+    return maxOpenPreparedStatements;
+  }
+
+  /**
+   * @param maxOpenPreparedStatements prepared statements cached per connection, or 0 to not cache
+   *        them.
+   */
+  public ConnectionPoolSettings withMaxOpenPreparedStatements(int maxOpenPreparedStatements) {
+    this.maxOpenPreparedStatements = maxOpenPreparedStatements;
+    return this;
+  }
+
+  public Duration getMinEvictableIdleTime() {
+    return minEvictableIdleTime;
+  }
+
+  public ConnectionPoolSettings withMinEvictableIdleTime(Duration minEvictableIdleTime) {
+    this.minEvictableIdleTime = minEvictableIdleTime;
+    return this;
+  }
+
+  public Duration getTimeBetweenEvictionRuns() {
+    return timeBetweenEvictionRuns;
+  }
+
+  public ConnectionPoolSettings withTimeBetweenEvictionRuns(Duration timeBetweenEvictionRuns) {
+    this.timeBetweenEvictionRuns = timeBetweenEvictionRuns;
+    return this;
+  }
+
+  public Duration getMetricsLogInterval() {
+    return metricsLogInterval;
+  }
+
+  /**
+   * @param metricsLogInterval the metrics of the pool are logged at most this often, when a
+   *        connection is taken from it.
+   */
+  public ConnectionPoolSettings withMetricsLogInterval(Duration metricsLogInterval) {
+    this.metricsLogInterval = metricsLogInterval;
+    return this;
+  }
+
+}
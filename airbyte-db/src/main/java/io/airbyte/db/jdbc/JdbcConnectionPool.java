@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection pool shared by all the queries of a jdbc database, configured with
+ * {@link ConnectionPoolSettings}. Connections are validated with {@link Connection#isValid} when
+ * they are taken from the pool. The metrics of the pool (connections in use and idle, threads
+ * waiting and how long they waited) are logged periodically while it is used, and when it is
+ * closed.
+ */
+public class JdbcConnectionPool extends BasicDataSource {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcConnectionPool.class);
+
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  private final ConnectionPoolSettings settings;
+
+  private Instant lastMetricsLog;
+
+  public JdbcConnectionPool(final String username,
+                            final String password,
+                            final String jdbcConnectionString,
+                            final String driverClassName,
+                            final ConnectionPoolSettings settings) {
+    this.settings = settings;
+    this.lastMetricsLog = Instant.now();
+    setDriverClassName(driverClassName);
+    setUsername(username);
+    setPassword(password);
+    setUrl(jdbcConnectionString);
+
+    setMinIdle(settings.getMinIdle());
+    setMaxTotal(settings.getMaxTotal());
+    setMaxWaitMillis(settings.getMaxWait() == null ? -1 : settings.getMaxWait().toMillis());
+    setTestOnBorrow(true);
+    setValidationQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+    setPoolPreparedStatements(settings.getMaxOpenPreparedStatements() > 0);
+    setMaxOpenPreparedStatements(settings.getMaxOpenPreparedStatements());
+    setMinEvictableIdleTimeMillis(settings.getMinEvictableIdleTime().toMillis());
+    setTimeBetweenEvictionRunsMillis(settings.getTimeBetweenEvictionRuns().toMillis());
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    final Connection connection = super.getConnection();
+    logMetricsIfDue();
+    return connection;
+  }
+
+  @Override
+  public synchronized void close() throws SQLException {
+    if (!isClosed()) {
+      logMetrics();
+    }
+    super.close();
+  }
+
+  private void logMetricsIfDue() {
+    final Instant now = Instant.now();
+    synchronized (this) {
+      if (lastMetricsLog.plus(settings.getMetricsLogInterval()).isAfter(now)) {
+        return;
+      }
+      lastMetricsLog = now;
+    }
+    logMetrics();
+  }
+
+  public void logMetrics() {
+    final GenericObjectPool<?> pool = getConnectionPool();
+    if (pool == null) {
+      return;
+    }
+    LOGGER.info("Connection pool: {} active, {} idle, {} waiting (max {}). Borrow wait: {} ms mean, {} ms max. Connections created: {}, destroyed: {}.",
+        pool.getNumActive(),
+        pool.getNumIdle(),
+        pool.getNumWaiters(),
+        pool.getMaxTotal(),
+        pool.getMeanBorrowWaitTimeMillis(),
+        pool.getMaxBorrowWaitTimeMillis(),
+        pool.getCreatedCount(),
+        pool.getDestroyedCount());
+  }
+
+}
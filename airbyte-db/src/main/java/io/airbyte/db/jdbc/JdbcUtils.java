@@ -25,36 +25,32 @@
 package io.airbyte.db.jdbc;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.commons.functional.CheckedFunction;
-import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
 import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.Date;
 import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.Instant;
-import java.util.Collections;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.StringJoiner;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.xml.bind.DatatypeConverter;
 
 public class JdbcUtils {
 
-  private static final DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'"); // Quoted "Z" to indicate UTC, no timezone offset
+  // Quoted "Z" to indicate UTC, no timezone offset. unlike SimpleDateFormat, this can be shared by
+  // threads.
+  private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneId.systemDefault());
 
   /**
    * Map records returned in a result set.
@@ -91,31 +87,18 @@ public class JdbcUtils {
    * @throws SQLException exceptions throws when parsing the ResultSet.
    */
   public static Stream<JsonNode> toJsonStream(ResultSet resultSet) throws SQLException {
-    return toStream(resultSet, JdbcUtils::rowToJson);
+    return toStream(resultSet, new RowToJsonMapper());
   }
 
+  /**
+   * Converts a single row to json. Use a {@link RowToJsonMapper} to convert many rows of the same
+   * query, so that the result set metadata is only read once.
+   */
   public static JsonNode rowToJson(ResultSet r) throws SQLException {
-    // the first call communicates with the database. after that the result is cached.
-    final int columnCount = r.getMetaData().getColumnCount();
-    final ObjectNode jsonNode = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
-
-    for (int i = 1; i <= columnCount; i++) {
-      // attempt to access the column. this allows us to know if it is null before we do type-specific
-      // parsing. if it is null, we can move on. while awkward, this seems to be the agreed upon way of
-      // checking for null values with jdbc.
-      r.getObject(i);
-      if (r.wasNull()) {
-        continue;
-      }
-
-      // convert to java types that will convert into reasonable json.
-      setJsonField(r, i, jsonNode);
-    }
-
-    return jsonNode;
+    return new RowToJsonMapper().apply(r);
   }
 
-  private static JDBCType safeGetJdbcType(int columnTypeInt) {
+  static JDBCType safeGetJdbcType(int columnTypeInt) {
     try {
       return JDBCType.valueOf(columnTypeInt);
     } catch (Exception e) {
@@ -123,42 +106,14 @@ public class JdbcUtils {
     }
   }
 
-  private static void setJsonField(ResultSet r, int i, ObjectNode o) throws SQLException {
-    final int columnTypeInt = r.getMetaData().getColumnType(i);
-    final String columnName = r.getMetaData().getColumnName(i);
-    final JDBCType columnType = safeGetJdbcType(columnTypeInt);
-
-    // https://www.cis.upenn.edu/~bcpierce/courses/629/jdkdocs/guide/jdbc/getstart/mapping.doc.html
-    switch (columnType) {
-      case BIT, BOOLEAN -> o.put(columnName, r.getBoolean(i));
-      case TINYINT, SMALLINT -> o.put(columnName, r.getShort(i));
-      case INTEGER -> o.put(columnName, r.getInt(i));
-      case BIGINT -> o.put(columnName, nullIfInvalid(() -> r.getLong(i)));
-      case FLOAT, DOUBLE -> o.put(columnName, nullIfInvalid(() -> r.getDouble(i), Double::isFinite));
-      case REAL -> o.put(columnName, nullIfInvalid(() -> r.getFloat(i), Float::isFinite));
-      case NUMERIC, DECIMAL -> o.put(columnName, nullIfInvalid(() -> r.getBigDecimal(i)));
-      case CHAR, VARCHAR, LONGVARCHAR -> o.put(columnName, r.getString(i));
-      case DATE -> o.put(columnName, toISO8601String(r.getDate(i)));
-      case TIME -> o.put(columnName, toISO8601String(r.getTime(i)));
-      case TIMESTAMP -> {
-        // https://www.cis.upenn.edu/~bcpierce/courses/629/jdkdocs/guide/jdbc/getstart/mapping.doc.html
-        final Timestamp t = r.getTimestamp(i);
-        java.util.Date d = new java.util.Date(t.getTime() + (t.getNanos() / 1000000));
-        o.put(columnName, toISO8601String(d));
-      }
-      case BINARY, VARBINARY, LONGVARBINARY -> o.put(columnName, r.getBytes(i));
-      default -> o.put(columnName, r.getString(i));
-    }
-  }
-
   // todo (cgardens) - move generic date helpers to commons.
 
   public static String toISO8601String(long epochMillis) {
-    return DATE_FORMAT.format(Date.from(Instant.ofEpochMilli(epochMillis)));
+    return DATE_FORMATTER.format(Instant.ofEpochMilli(epochMillis));
   }
 
   public static String toISO8601String(java.util.Date date) {
-    return DATE_FORMAT.format(date);
+    return toISO8601String(date.getTime());
   }
 
   public static void setStatementField(PreparedStatement preparedStatement,
@@ -169,13 +124,7 @@ public class JdbcUtils {
     switch (cursorFieldType) {
       // parse date, time, and timestamp the same way. this seems to not cause an problems and allows us
       // to treat them all as ISO8601. if this causes any problems down the line, we can adjust.
-      case DATE, TIME, TIMESTAMP -> {
-        try {
-          preparedStatement.setTimestamp(parameterIndex, Timestamp.from(DATE_FORMAT.parse(value).toInstant()));
-        } catch (ParseException e) {
-          throw new RuntimeException(e);
-        }
-      }
+      case DATE, TIME, TIMESTAMP -> preparedStatement.setTimestamp(parameterIndex, Timestamp.from(Instant.from(DATE_FORMATTER.parse(value))));
       // todo (cgardens) - currently we do not support bit because it requires special handling in the
       // prepared statement.
       // see
@@ -195,7 +144,7 @@ public class JdbcUtils {
   }
 
   // the switch statement intentionally has duplicates so that its structure matches the type switch
-  // statement above.
+  // statement in RowToJsonMapper.
 
   @SuppressWarnings("DuplicateBranchesInSwitch")
   public static JsonSchemaPrimitive getType(JDBCType jdbcType) {
@@ -216,23 +165,6 @@ public class JdbcUtils {
     };
   }
 
-  private static <T> T nullIfInvalid(SQLSupplier<T> valueProducer) {
-    return nullIfInvalid(valueProducer, ignored -> true);
-  }
-
-  private static <T> T nullIfInvalid(SQLSupplier<T> valueProducer, Function<T, Boolean> isValidFn) {
-    // Some edge case values (e.g: Infinity, NaN) have no java or JSON equivalent, and will throw an
-    // exception when parsed. We want to parse those
-    // values as null.
-    // This method reduces error handling boilerplate.
-    try {
-      T value = valueProducer.apply();
-      return isValidFn.apply(value) ? value : null;
-    } catch (SQLException e) {
-      return null;
-    }
-  }
-
   /**
    * Create a fully qualified table name (including schema) with db-specific quoted syntax. e.g.
    * "public"."my_table"
@@ -259,13 +191,6 @@ public class JdbcUtils {
     return schemaName != null ? schemaName + "." + tableName : tableName;
   }
 
-  @FunctionalInterface
-  private interface SQLSupplier<O> {
-
-    O apply() throws SQLException;
-
-  }
-
   /**
    * Given a database connection and identifier, adds db-specific quoting.
    *
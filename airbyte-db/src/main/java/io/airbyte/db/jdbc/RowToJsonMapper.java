@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.functional.CheckedFunction;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Converts the rows of a result set to json. The names and types of the columns are read from the
+ * result set metadata on the first row, and compiled into one extractor per column that is reused
+ * for the following rows. A mapper must only be used by one thread at a time, so each query should
+ * use its own.
+ */
+public class RowToJsonMapper implements CheckedFunction<ResultSet, JsonNode, SQLException> {
+
+  private ResultSet compiledResultSet;
+  private ColumnExtractor[] extractors;
+
+  @Override
+  public JsonNode apply(ResultSet resultSet) throws SQLException {
+    if (resultSet != compiledResultSet) {
+      extractors = compile(resultSet.getMetaData());
+      compiledResultSet = resultSet;
+    }
+
+    final ObjectNode jsonNode = JsonNodeFactory.instance.objectNode();
+    for (final ColumnExtractor extractor : extractors) {
+      extractor.extract(resultSet, jsonNode);
+    }
+    return jsonNode;
+  }
+
+  private static ColumnExtractor[] compile(ResultSetMetaData metaData) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    final ColumnExtractor[] extractors = new ColumnExtractor[columnCount];
+    for (int i = 1; i <= columnCount; i++) {
+      // the same name is shared by the nodes of every row.
+      extractors[i - 1] = compileColumn(i, metaData.getColumnName(i).intern(), JdbcUtils.safeGetJdbcType(metaData.getColumnType(i)));
+    }
+    return extractors;
+  }
+
+  // null values are left out of the record. values that have no java or JSON equivalent (e.g:
+  // Infinity, NaN) and values the driver fails to parse are set to null.
+  // https://www.cis.upenn.edu/~bcpierce/courses/629/jdkdocs/guide/jdbc/getstart/mapping.doc.html
+  private static ColumnExtractor compileColumn(int i, String name, JDBCType columnType) {
+    return switch (columnType) {
+      case BIT, BOOLEAN -> (r, o) -> {
+        final boolean value = r.getBoolean(i);
+        if (!r.wasNull()) {
+          o.put(name, value);
+        }
+      };
+      case TINYINT, SMALLINT -> (r, o) -> {
+        final short value = r.getShort(i);
+        if (!r.wasNull()) {
+          o.put(name, value);
+        }
+      };
+      case INTEGER -> (r, o) -> {
+        final int value = r.getInt(i);
+        if (!r.wasNull()) {
+          o.put(name, value);
+        }
+      };
+      case BIGINT -> (r, o) -> {
+        try {
+          final long value = r.getLong(i);
+          if (!r.wasNull()) {
+            o.put(name, value);
+          }
+        } catch (SQLException e) {
+          o.putNull(name);
+        }
+      };
+      case FLOAT, DOUBLE -> (r, o) -> {
+        try {
+          final double value = r.getDouble(i);
+          if (!r.wasNull()) {
+            if (Double.isFinite(value)) {
+              o.put(name, value);
+            } else {
+              o.putNull(name);
+            }
+          }
+        } catch (SQLException e) {
+          o.putNull(name);
+        }
+      };
+      case REAL -> (r, o) -> {
+        try {
+          final float value = r.getFloat(i);
+          if (!r.wasNull()) {
+            if (Float.isFinite(value)) {
+              o.put(name, value);
+            } else {
+              o.putNull(name);
+            }
+          }
+        } catch (SQLException e) {
+          o.putNull(name);
+        }
+      };
+      case NUMERIC, DECIMAL -> (r, o) -> {
+        try {
+          final BigDecimal value = r.getBigDecimal(i);
+          if (value != null) {
+            o.put(name, value);
+          }
+        } catch (SQLException e) {
+          o.putNull(name);
+        }
+      };
+      case DATE -> (r, o) -> {
+        final Date value = r.getDate(i);
+        if (value != null) {
+          o.put(name, JdbcUtils.toISO8601String(value.getTime()));
+        }
+      };
+      case TIME -> (r, o) -> {
+        final Time value = r.getTime(i);
+        if (value != null) {
+          o.put(name, JdbcUtils.toISO8601String(value.getTime()));
+        }
+      };
+      case TIMESTAMP -> (r, o) -> {
+        final Timestamp value = r.getTimestamp(i);
+        if (value != null) {
+          // getTime() already includes the milliseconds of the timestamp.
+          o.put(name, JdbcUtils.toISO8601String(value.getTime()));
+        }
+      };
+      case BINARY, VARBINARY, LONGVARBINARY -> (r, o) -> {
+        final byte[] value = r.getBytes(i);
+        if (value != null) {
+          o.put(name, value);
+        }
+      };
+      // includes CHAR, VARCHAR, LONGVARCHAR
+      default -> (r, o) -> {
+        final String value = r.getString(i);
+        if (value != null) {
+          o.put(name, value);
+        }
+      };
+    };
+  }
+
+  @FunctionalInterface
+  private interface ColumnExtractor {
+
+    void extract(ResultSet resultSet, ObjectNode jsonNode) throws SQLException;
+
+  }
+
+}
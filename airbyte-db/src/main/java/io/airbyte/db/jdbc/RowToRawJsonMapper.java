@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.airbyte.commons.functional.CheckedFunction;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Converts the rows of a result set to json text, written column by column without building a tree
+ * of nodes. Each row is returned as a raw value node, whose text is copied as is when the record is
+ * serialized. The json is the same as the one {@link RowToJsonMapper} builds.
+ *
+ * <p>
+ * Like {@link RowToJsonMapper}, the columns are compiled on the first row, and a mapper must only be
+ * used by one thread at a time.
+ * </p>
+ */
+public class RowToRawJsonMapper implements CheckedFunction<ResultSet, JsonNode, SQLException> {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final StringWriter writer;
+  private final JsonGenerator generator;
+
+  private ResultSet compiledResultSet;
+  private ColumnWriter[] columnWriters;
+
+  public RowToRawJsonMapper() {
+    this.writer = new StringWriter();
+    try {
+      this.generator = JSON_FACTORY.createGenerator(writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // each row is taken from the writer on its own.
+    this.generator.setRootValueSeparator(null);
+  }
+
+  @Override
+  public JsonNode apply(ResultSet resultSet) throws SQLException {
+    if (resultSet != compiledResultSet) {
+      columnWriters = compile(resultSet.getMetaData());
+      compiledResultSet = resultSet;
+    }
+
+    try {
+      writer.getBuffer().setLength(0);
+      generator.writeStartObject();
+      for (final ColumnWriter columnWriter : columnWriters) {
+        columnWriter.write(resultSet, generator);
+      }
+      generator.writeEndObject();
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return JsonNodeFactory.instance.rawValueNode(new RawValue(writer.toString()));
+  }
+
+  private static ColumnWriter[] compile(ResultSetMetaData metaData) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    final ColumnWriter[] columnWriters = new ColumnWriter[columnCount];
+    for (int i = 1; i <= columnCount; i++) {
+      // the quoted name is encoded once and copied into every row.
+      final SerializedString name = new SerializedString(metaData.getColumnName(i));
+      columnWriters[i - 1] = compileColumn(i, name, JdbcUtils.safeGetJdbcType(metaData.getColumnType(i)));
+    }
+    return columnWriters;
+  }
+
+  // the switch statement matches the one in RowToJsonMapper, so that both produce the same json.
+  private static ColumnWriter compileColumn(int i, SerializedString name, JDBCType columnType) {
+    return switch (columnType) {
+      case BIT, BOOLEAN -> (r, g) -> {
+        final boolean value = r.getBoolean(i);
+        if (!r.wasNull()) {
+          g.writeFieldName(name);
+          g.writeBoolean(value);
+        }
+      };
+      case TINYINT, SMALLINT -> (r, g) -> {
+        final short value = r.getShort(i);
+        if (!r.wasNull()) {
+          g.writeFieldName(name);
+          g.writeNumber(value);
+        }
+      };
+      case INTEGER -> (r, g) -> {
+        final int value = r.getInt(i);
+        if (!r.wasNull()) {
+          g.writeFieldName(name);
+          g.writeNumber(value);
+        }
+      };
+      case BIGINT -> (r, g) -> {
+        try {
+          final long value = r.getLong(i);
+          if (!r.wasNull()) {
+            g.writeFieldName(name);
+            g.writeNumber(value);
+          }
+        } catch (SQLException e) {
+          g.writeFieldName(name);
+          g.writeNull();
+        }
+      };
+      case FLOAT, DOUBLE -> (r, g) -> {
+        try {
+          final double value = r.getDouble(i);
+          if (!r.wasNull()) {
+            g.writeFieldName(name);
+            if (Double.isFinite(value)) {
+              g.writeNumber(value);
+            } else {
+              g.writeNull();
+            }
+          }
+        } catch (SQLException e) {
+          g.writeFieldName(name);
+          g.writeNull();
+        }
+      };
+      case REAL -> (r, g) -> {
+        try {
+          final float value = r.getFloat(i);
+          if (!r.wasNull()) {
+            g.writeFieldName(name);
+            if (Float.isFinite(value)) {
+              g.writeNumber(value);
+            } else {
+              g.writeNull();
+            }
+          }
+        } catch (SQLException e) {
+          g.writeFieldName(name);
+          g.writeNull();
+        }
+      };
+      case NUMERIC, DECIMAL -> (r, g) -> {
+        try {
+          final BigDecimal value = r.getBigDecimal(i);
+          if (value != null) {
+            g.writeFieldName(name);
+            g.writeNumber(value);
+          }
+        } catch (SQLException e) {
+          g.writeFieldName(name);
+          g.writeNull();
+        }
+      };
+      case DATE -> (r, g) -> {
+        final Date value = r.getDate(i);
+        if (value != null) {
+          g.writeFieldName(name);
+          g.writeString(JdbcUtils.toISO8601String(value.getTime()));
+        }
+      };
+      case TIME -> (r, g) -> {
+        final Time value = r.getTime(i);
+        if (value != null) {
+          g.writeFieldName(name);
+          g.writeString(JdbcUtils.toISO8601String(value.getTime()));
+        }
+      };
+      case TIMESTAMP -> (r, g) -> {
+        final Timestamp value = r.getTimestamp(i);
+        if (value != null) {
+          g.writeFieldName(name);
+          g.writeString(JdbcUtils.toISO8601String(value.getTime()));
+        }
+      };
+      case BINARY, VARBINARY, LONGVARBINARY -> (r, g) -> {
+        final byte[] value = r.getBytes(i);
+        if (value != null) {
+          g.writeFieldName(name);
+          g.writeBinary(value);
+        }
+      };
+      // includes CHAR, VARCHAR, LONGVARCHAR
+      default -> (r, g) -> {
+        final String value = r.getString(i);
+        if (value != null) {
+          g.writeFieldName(name);
+          g.writeString(value);
+        }
+      };
+    };
+  }
+
+  @FunctionalInterface
+  private interface ColumnWriter {
+
+    void write(ResultSet resultSet, JsonGenerator generator) throws SQLException, IOException;
+
+  }
+
+}
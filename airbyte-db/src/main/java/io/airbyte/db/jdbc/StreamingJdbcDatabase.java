@@ -44,11 +44,21 @@ public class StreamingJdbcDatabase implements JdbcDatabase {
   private final DataSource dataSource;
   private final JdbcDatabase database;
   private final JdbcStreamingQueryConfiguration jdbcStreamingQueryConfiguration;
+  // null if queries keep the fetch size of the streaming query configuration.
+  private final AdaptiveFetchSize adaptiveFetchSize;
 
   public StreamingJdbcDatabase(DataSource dataSource, JdbcDatabase database, JdbcStreamingQueryConfiguration jdbcStreamingQueryConfiguration) {
+    this(dataSource, database, jdbcStreamingQueryConfiguration, null);
+  }
+
+  public StreamingJdbcDatabase(DataSource dataSource,
+                               JdbcDatabase database,
+                               JdbcStreamingQueryConfiguration jdbcStreamingQueryConfiguration,
+                               AdaptiveFetchSize adaptiveFetchSize) {
     this.dataSource = dataSource;
     this.database = database;
     this.jdbcStreamingQueryConfiguration = jdbcStreamingQueryConfiguration;
+    this.adaptiveFetchSize = adaptiveFetchSize;
   }
 
   @Override
@@ -95,7 +105,9 @@ public class StreamingJdbcDatabase implements JdbcDatabase {
       final PreparedStatement ps = statementCreator.apply(connection);
       // allow configuration of connection and prepared statement to make streaming possible.
       jdbcStreamingQueryConfiguration.accept(connection, ps);
-      return JdbcUtils.toStream(ps.executeQuery(), recordTransform)
+      final CheckedFunction<ResultSet, T, SQLException> transform =
+          adaptiveFetchSize == null ? recordTransform : adaptiveFetchSize.adapt(ps.getFetchSize(), recordTransform);
+      return JdbcUtils.toStream(ps.executeQuery(), transform)
           .onClose(() -> {
             try {
               connection.setAutoCommit(true);
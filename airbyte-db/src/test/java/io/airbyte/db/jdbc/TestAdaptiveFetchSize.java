@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.airbyte.commons.functional.CheckedFunction;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+
+class TestAdaptiveFetchSize {
+
+  // a raw json record of 100 bytes.
+  private static final JsonNode RECORD = JsonNodeFactory.instance.rawValueNode(new RawValue("{\"name\":\"" + "a".repeat(89) + "\"}"));
+
+  @Test
+  void testSetsFetchSizeAfterFirstBatch() throws SQLException {
+    final ResultSet resultSet = mock(ResultSet.class);
+    final CheckedFunction<ResultSet, JsonNode, SQLException> transform = new AdaptiveFetchSize(100_000).adapt(10, r -> RECORD);
+
+    for (int i = 0; i < 9; i++) {
+      assertEquals(RECORD, transform.apply(resultSet));
+    }
+    verify(resultSet, never()).setFetchSize(anyInt());
+    transform.apply(resultSet);
+    verify(resultSet).setFetchSize(1000);
+    // the following batches do not change it again.
+    transform.apply(resultSet);
+    verify(resultSet).setFetchSize(anyInt());
+  }
+
+  @Test
+  void testFetchSizeIsBounded() {
+    final AdaptiveFetchSize adaptiveFetchSize = new AdaptiveFetchSize(1024 * 1024);
+    assertEquals(AdaptiveFetchSize.MAX_FETCH_SIZE, adaptiveFetchSize.getFetchSize(1));
+    assertEquals(1024, adaptiveFetchSize.getFetchSize(1024));
+    assertEquals(AdaptiveFetchSize.MIN_FETCH_SIZE, adaptiveFetchSize.getFetchSize(10 * 1024 * 1024));
+  }
+
+  @Test
+  void testKeepsFetchSizeWhenDriverRejectsIt() throws SQLException {
+    final ResultSet resultSet = mock(ResultSet.class);
+    doThrow(new SQLException("not supported")).when(resultSet).setFetchSize(anyInt());
+    final CheckedFunction<ResultSet, JsonNode, SQLException> transform = new AdaptiveFetchSize(100_000).adapt(2, r -> RECORD);
+
+    transform.apply(resultSet);
+    assertEquals(RECORD, transform.apply(resultSet));
+    verify(resultSet).setFetchSize(1000);
+  }
+
+  @Test
+  void testKeepsFetchSizeOfRecordsOfUnknownSize() throws SQLException {
+    final ResultSet resultSet = mock(ResultSet.class);
+    final CheckedFunction<ResultSet, String, SQLException> transform = new AdaptiveFetchSize(100_000).adapt(2, r -> "picard");
+
+    transform.apply(resultSet);
+    transform.apply(resultSet);
+    transform.apply(resultSet);
+    verify(resultSet, never()).setFetchSize(anyInt());
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+public class TestJdbcConnectionPool {
+
+  private static PostgreSQLContainer<?> PSQL_DB;
+
+  @BeforeAll
+  static void init() {
+    PSQL_DB = new PostgreSQLContainer<>("postgres:13-alpine");
+    PSQL_DB.start();
+  }
+
+  @AfterAll
+  static void cleanUp() {
+    PSQL_DB.close();
+  }
+
+  @Test
+  void testSettings() throws Exception {
+    final ConnectionPoolSettings settings = new ConnectionPoolSettings()
+        .withMinIdle(2)
+        .withMaxTotal(4)
+        .withMaxWait(Duration.ofSeconds(30))
+        .withMaxOpenPreparedStatements(0);
+
+    try (final JdbcConnectionPool connectionPool = createConnectionPool(settings)) {
+      assertEquals(2, connectionPool.getMinIdle());
+      assertEquals(4, connectionPool.getMaxTotal());
+      assertEquals(30_000, connectionPool.getMaxWaitMillis());
+      assertEquals(false, connectionPool.isPoolPreparedStatements());
+      assertTrue(connectionPool.getTestOnBorrow());
+    }
+  }
+
+  @Test
+  void testReusesConnections() throws Exception {
+    try (final JdbcConnectionPool connectionPool = createConnectionPool(new ConnectionPoolSettings())) {
+      final JdbcDatabase database = new DefaultJdbcDatabase(connectionPool);
+
+      for (int i = 0; i < 3; i++) {
+        database.bufferedResultSetQuery(connection -> connection.createStatement().executeQuery("SELECT 1;"), JdbcUtils::rowToJson);
+      }
+      assertEquals(0, connectionPool.getNumActive());
+      assertEquals(1, connectionPool.getNumIdle());
+
+      try (final Stream<JsonNode> stream =
+          database.resultSetQuery(connection -> connection.createStatement().executeQuery("SELECT 1;"), JdbcUtils::rowToJson)) {
+        assertEquals(1, connectionPool.getNumActive());
+        assertEquals(0, connectionPool.getNumIdle());
+      }
+      assertEquals(0, connectionPool.getNumActive());
+      assertEquals(1, connectionPool.getNumIdle());
+    }
+  }
+
+  private static JdbcConnectionPool createConnectionPool(ConnectionPoolSettings settings) {
+    return new JdbcConnectionPool(PSQL_DB.getUsername(), PSQL_DB.getPassword(), PSQL_DB.getJdbcUrl(), "org.postgresql.Driver", settings);
+  }
+
+}
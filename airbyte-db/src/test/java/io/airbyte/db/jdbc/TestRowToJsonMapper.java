@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TestRowToJsonMapper {
+
+  private ResultSet resultSet;
+  private ResultSetMetaData metaData;
+
+  @BeforeEach
+  void setup() throws SQLException {
+    resultSet = mock(ResultSet.class);
+    metaData = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(3);
+    when(metaData.getColumnName(1)).thenReturn("id");
+    when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
+    when(metaData.getColumnName(2)).thenReturn("score");
+    when(metaData.getColumnType(2)).thenReturn(Types.DOUBLE);
+    when(metaData.getColumnName(3)).thenReturn("updated_at");
+    when(metaData.getColumnType(3)).thenReturn(Types.TIMESTAMP);
+  }
+
+  @Test
+  void testReadsMetadataOnce() throws SQLException {
+    when(resultSet.getInt(1)).thenReturn(1, 2);
+    when(resultSet.getDouble(2)).thenReturn(1.5, Double.NaN);
+    final Timestamp timestamp = Timestamp.from(Instant.parse("2021-01-01T00:00:00.900Z"));
+    when(resultSet.getTimestamp(3)).thenReturn(timestamp, (Timestamp) null);
+
+    final RowToJsonMapper mapper = new RowToJsonMapper();
+    final JsonNode first = mapper.apply(resultSet);
+    final JsonNode second = mapper.apply(resultSet);
+
+    final ObjectNode expectedFirst = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
+    expectedFirst.put("id", 1);
+    expectedFirst.put("score", 1.5);
+    expectedFirst.put("updated_at", JdbcUtils.toISO8601String(timestamp.getTime()));
+    assertEquals(expectedFirst, first);
+
+    // values without a json equivalent are set to null, null values are left out.
+    final ObjectNode expectedSecond = (ObjectNode) Jsons.jsonNode(Collections.emptyMap());
+    expectedSecond.put("id", 2);
+    expectedSecond.putNull("score");
+    assertEquals(expectedSecond, second);
+
+    verify(metaData, times(1)).getColumnCount();
+    verify(metaData, times(1)).getColumnName(1);
+    verify(resultSet, times(0)).getObject(1);
+  }
+
+  @Test
+  void testSkipsNullPrimitives() throws SQLException {
+    when(resultSet.getInt(1)).thenReturn(0);
+    when(resultSet.getDouble(2)).thenReturn(0.0);
+    when(resultSet.wasNull()).thenReturn(true);
+
+    assertEquals(Jsons.emptyObject(), new RowToJsonMapper().apply(resultSet));
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.db.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class TestRowToRawJsonMapper {
+
+  private static final String[] NAMES = {"bool", "small", "int", "big", "double", "real", "numeric", "date", "timestamp", "binary", "text", "nan"};
+  private static final int[] TYPES = {Types.BOOLEAN, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.DOUBLE, Types.REAL, Types.NUMERIC,
+    Types.DATE, Types.TIMESTAMP, Types.VARBINARY, Types.VARCHAR, Types.DOUBLE};
+
+  @Test
+  void testSameJsonAsTree() throws SQLException {
+    final ResultSet resultSet = mockResultSet(NAMES, TYPES);
+    when(resultSet.getBoolean(1)).thenReturn(true);
+    when(resultSet.getShort(2)).thenReturn((short) 2);
+    when(resultSet.getInt(3)).thenReturn(3);
+    when(resultSet.getLong(4)).thenReturn(5_000_000_000L);
+    when(resultSet.getDouble(5)).thenReturn(1.5);
+    when(resultSet.getFloat(6)).thenReturn(2.5f);
+    when(resultSet.getBigDecimal(7)).thenReturn(new BigDecimal("12345678901234567890.123"));
+    when(resultSet.getDate(8)).thenReturn(new Date(Instant.parse("2021-01-01T00:00:00Z").toEpochMilli()));
+    when(resultSet.getTimestamp(9)).thenReturn(Timestamp.from(Instant.parse("2021-01-01T10:11:12Z")));
+    when(resultSet.getBytes(10)).thenReturn(new byte[] {1, 2, 3});
+    when(resultSet.getString(11)).thenReturn("quote \" and ünicode");
+    when(resultSet.getDouble(12)).thenReturn(Double.NaN);
+
+    final JsonNode expected = new RowToJsonMapper().apply(resultSet);
+    final JsonNode actual = new RowToRawJsonMapper().apply(resultSet);
+
+    assertEquals(Jsons.serialize(expected), Jsons.serialize(actual));
+  }
+
+  @Test
+  void testReusesMapperAcrossRows() throws SQLException {
+    final ResultSet resultSet = mockResultSet(new String[] {"id", "name"}, new int[] {Types.INTEGER, Types.VARCHAR});
+    when(resultSet.getInt(1)).thenReturn(1, 2);
+    when(resultSet.getString(2)).thenReturn("picard", (String) null);
+
+    final RowToRawJsonMapper mapper = new RowToRawJsonMapper();
+    assertEquals("{\"id\":1,\"name\":\"picard\"}", Jsons.serialize(mapper.apply(resultSet)));
+    // null values are left out.
+    assertEquals("{\"id\":2}", Jsons.serialize(mapper.apply(resultSet)));
+    verify(resultSet, times(1)).getMetaData();
+  }
+
+  private static ResultSet mockResultSet(String[] names, int[] types) throws SQLException {
+    final ResultSet resultSet = mock(ResultSet.class);
+    final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(names.length);
+    for (int i = 0; i < names.length; i++) {
+      when(metaData.getColumnName(i + 1)).thenReturn(names[i]);
+      when(metaData.getColumnType(i + 1)).thenReturn(types[i]);
+    }
+    return resultSet;
+  }
+
+}
@@ -25,6 +25,7 @@
 package io.airbyte.integrations.base;
 
 import com.google.common.base.Preconditions;
+import io.airbyte.protocol.models.MessageFraming;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -116,12 +117,16 @@ public class IntegrationCliParser {
             .builder().longOpt(JavaBaseConstants.ARGS_CATALOG_KEY).desc(JavaBaseConstants.ARGS_CATALOG_DESC).hasArg(true).build());
         options.addOption(Option
             .builder().longOpt(JavaBaseConstants.ARGS_STATE_KEY).desc(JavaBaseConstants.ARGS_PATH_DESC).hasArg(true).build());
+        options.addOption(Option
+            .builder().longOpt(JavaBaseConstants.ARGS_FRAMING_KEY).desc(JavaBaseConstants.ARGS_FRAMING_DESC).hasArg(true).build());
       }
       case WRITE -> {
         options.addOption(Option
             .builder().longOpt(JavaBaseConstants.ARGS_CONFIG_KEY).desc(JavaBaseConstants.ARGS_CONFIG_DESC).hasArg(true).required(true).build());
         options.addOption(Option
             .builder().longOpt(JavaBaseConstants.ARGS_CATALOG_KEY).desc(JavaBaseConstants.ARGS_CATALOG_DESC).hasArg(true).build());
+        options.addOption(Option
+            .builder().longOpt(JavaBaseConstants.ARGS_FRAMING_KEY).desc(JavaBaseConstants.ARGS_FRAMING_DESC).hasArg(true).build());
       }
       default -> throw new IllegalStateException("Unexpected value: " + command);
     }
@@ -148,17 +153,25 @@ public class IntegrationCliParser {
         return IntegrationConfig.read(
             Path.of(argsMap.get(JavaBaseConstants.ARGS_CONFIG_KEY)),
             Path.of(argsMap.get(JavaBaseConstants.ARGS_CATALOG_KEY)),
-            argsMap.containsKey(JavaBaseConstants.ARGS_STATE_KEY) ? Path.of(argsMap.get(JavaBaseConstants.ARGS_STATE_KEY)) : null);
+            argsMap.containsKey(JavaBaseConstants.ARGS_STATE_KEY) ? Path.of(argsMap.get(JavaBaseConstants.ARGS_STATE_KEY)) : null,
+            parseFraming(argsMap));
       }
       case WRITE -> {
         return IntegrationConfig.write(
             Path.of(argsMap.get(JavaBaseConstants.ARGS_CONFIG_KEY)),
-            Path.of(argsMap.get(JavaBaseConstants.ARGS_CATALOG_KEY)));
+            Path.of(argsMap.get(JavaBaseConstants.ARGS_CATALOG_KEY)),
+            parseFraming(argsMap));
       }
       default -> throw new IllegalStateException("Unexpected value: " + command);
     }
   }
 
+  private static MessageFraming parseFraming(Map<String, String> argsMap) {
+    return argsMap.containsKey(JavaBaseConstants.ARGS_FRAMING_KEY)
+        ? MessageFraming.fromValue(argsMap.get(JavaBaseConstants.ARGS_FRAMING_KEY))
+        : MessageFraming.JSON_LINES;
+  }
+
   private static CommandLine runParse(Options options, String[] args, Command command) {
     final CommandLineParser parser = new DefaultParser();
     final HelpFormatter helpFormatter = new HelpFormatter();
@@ -25,6 +25,7 @@
 package io.airbyte.integrations.base;
 
 import com.google.common.base.Preconditions;
+import io.airbyte.protocol.models.MessageFraming;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
@@ -35,12 +36,18 @@ public class IntegrationConfig {
   private final Path configPath;
   private final Path catalogPath;
   private final Path statePath;
+  private final MessageFraming framing;
 
   private IntegrationConfig(Command command, Path configPath, Path catalogPath, Path statePath) {
+    this(command, configPath, catalogPath, statePath, MessageFraming.JSON_LINES);
+  }
+
+  private IntegrationConfig(Command command, Path configPath, Path catalogPath, Path statePath, MessageFraming framing) {
     this.command = command;
     this.configPath = configPath;
     this.catalogPath = catalogPath;
     this.statePath = statePath;
+    this.framing = framing;
   }
 
   public static IntegrationConfig spec() {
@@ -58,15 +65,25 @@ public class IntegrationConfig {
   }
 
   public static IntegrationConfig read(Path configPath, Path catalogPath, Path statePath) {
+    return read(configPath, catalogPath, statePath, MessageFraming.JSON_LINES);
+  }
+
+  public static IntegrationConfig read(Path configPath, Path catalogPath, Path statePath, MessageFraming framing) {
     Preconditions.checkNotNull(configPath);
     Preconditions.checkNotNull(catalogPath);
-    return new IntegrationConfig(Command.READ, configPath, catalogPath, statePath);
+    Preconditions.checkNotNull(framing);
+    return new IntegrationConfig(Command.READ, configPath, catalogPath, statePath, framing);
   }
 
   public static IntegrationConfig write(Path configPath, Path catalogPath) {
+    return write(configPath, catalogPath, MessageFraming.JSON_LINES);
+  }
+
+  public static IntegrationConfig write(Path configPath, Path catalogPath, MessageFraming framing) {
     Preconditions.checkNotNull(configPath);
     Preconditions.checkNotNull(catalogPath);
-    return new IntegrationConfig(Command.WRITE, configPath, catalogPath, null);
+    Preconditions.checkNotNull(framing);
+    return new IntegrationConfig(Command.WRITE, configPath, catalogPath, null, framing);
   }
 
   public Command getCommand() {
@@ -88,6 +105,13 @@ public class IntegrationConfig {
     return Optional.ofNullable(statePath);
   }
 
+  /**
+   * How messages are framed on stdout for READ and on stdin for WRITE.
+   */
+  public MessageFraming getFraming() {
+    return framing;
+  }
+
   @Override
   public String toString() {
     return "IntegrationConfig{" +
@@ -95,6 +119,7 @@ public class IntegrationConfig {
         ", configPath='" + configPath + '\'' +
         ", catalogPath='" + catalogPath + '\'' +
         ", statePath='" + statePath + '\'' +
+        ", framing=" + framing +
         '}';
   }
 
@@ -110,12 +135,13 @@ public class IntegrationConfig {
     return command == that.command &&
         Objects.equals(configPath, that.configPath) &&
         Objects.equals(catalogPath, that.catalogPath) &&
-        Objects.equals(statePath, that.statePath);
+        Objects.equals(statePath, that.statePath) &&
+        framing == that.framing;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(command, configPath, catalogPath, statePath);
+    return Objects.hash(command, configPath, catalogPath, statePath, framing);
   }
 
 }
@@ -28,11 +28,16 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.json.BinaryJsonFrames;
+import io.airbyte.commons.json.JsonLines;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.util.AutoCloseableIterator;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.MessageFraming;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Scanner;
@@ -51,6 +56,7 @@ public class IntegrationRunner {
 
   private final IntegrationCliParser cliParser;
   private final Consumer<String> stdoutConsumer;
+  private final OutputStream stdout;
   private final Integration integration;
   private final Destination destination;
   private final Source source;
@@ -65,9 +71,20 @@ public class IntegrationRunner {
 
   @VisibleForTesting
   IntegrationRunner(IntegrationCliParser cliParser, Consumer<String> stdoutConsumer, Destination destination, Source source) {
+    this(cliParser, stdoutConsumer, System.out, destination, source);
+  }
+
+  @VisibleForTesting
+  IntegrationRunner(IntegrationCliParser cliParser,
+                    Consumer<String> stdoutConsumer,
+                    OutputStream stdout,
+                    Destination destination,
+                    Source source) {
     Preconditions.checkState(destination != null ^ source != null, "can only pass in a destination or a source");
     this.cliParser = cliParser;
     this.stdoutConsumer = stdoutConsumer;
+    // messages read from a source bypass stdoutConsumer, so that they are not turned into strings.
+    this.stdout = stdout;
     // integration iface covers the commands that are the same for both source and destination.
     this.integration = source != null ? source : destination;
     this.source = source;
@@ -102,9 +119,31 @@ public class IntegrationRunner {
         final Optional<JsonNode> stateOptional = parsed.getStatePath().map(IntegrationRunner::parseConfig);
         final AutoCloseableIterator<AirbyteMessage> messageIterator = source.read(config, catalog, stateOptional.orElse(null));
         try (messageIterator) {
-          messageIterator.forEachRemaining(v -> {
-            stdoutConsumer.accept(Jsons.serialize(v));
-          });
+          // neither writer is closed, so that stdout stays usable for anything logged after the read.
+          // state is handed over right away, so that the destination can commit it while the source is
+          // still reading.
+          if (parsed.getFraming() == MessageFraming.SMILE) {
+            final BinaryJsonFrames.Writer writer = new BinaryJsonFrames.Writer(stdout);
+            while (messageIterator.hasNext()) {
+              final AirbyteMessage message = messageIterator.next();
+              writer.write(message);
+              if (message.getType() == Type.STATE) {
+                writer.flush();
+              }
+            }
+            writer.flush();
+          } else {
+            // messages are serialized straight to stdout instead of through a string each.
+            final JsonLines.Writer writer = new JsonLines.Writer(stdout);
+            while (messageIterator.hasNext()) {
+              final AirbyteMessage message = messageIterator.next();
+              writer.write(message);
+              if (message.getType() == Type.STATE) {
+                writer.flush();
+              }
+            }
+            writer.flush();
+          }
         }
       }
       // destination only
@@ -112,7 +151,7 @@ public class IntegrationRunner {
         final JsonNode config = parseConfig(parsed.getConfigPath());
         final ConfiguredAirbyteCatalog catalog = parseConfig(parsed.getCatalogPath(), ConfiguredAirbyteCatalog.class);
         final DestinationConsumer<AirbyteMessage> consumer = destination.write(config, catalog);
-        consumeWriteStream(consumer);
+        consumeWriteStream(consumer, parsed.getFraming(), System.in);
       }
       default -> throw new IllegalStateException("Unexpected value: " + parsed.getCommand());
     }
@@ -121,7 +160,16 @@ public class IntegrationRunner {
   }
 
   static void consumeWriteStream(DestinationConsumer<AirbyteMessage> consumer) throws Exception {
-    final Scanner input = new Scanner(System.in);
+    consumeWriteStream(consumer, MessageFraming.JSON_LINES, System.in);
+  }
+
+  static void consumeWriteStream(DestinationConsumer<AirbyteMessage> consumer, MessageFraming framing, InputStream stdin) throws Exception {
+    if (framing == MessageFraming.SMILE) {
+      consumeFramedWriteStream(consumer, stdin);
+      return;
+    }
+
+    final Scanner input = new Scanner(stdin);
     try (consumer) {
       consumer.start();
       while (input.hasNextLine()) {
@@ -137,6 +185,17 @@ public class IntegrationRunner {
     }
   }
 
+  private static void consumeFramedWriteStream(DestinationConsumer<AirbyteMessage> consumer, InputStream stdin) throws Exception {
+    final BinaryJsonFrames.Reader input = new BinaryJsonFrames.Reader(stdin, LOGGER::error);
+    try (consumer) {
+      consumer.start();
+      Optional<AirbyteMessage> message;
+      while ((message = input.read(AirbyteMessage.class)).isPresent()) {
+        consumer.accept(message.get());
+      }
+    }
+  }
+
   private static JsonNode parseConfig(Path path) {
     return Jsons.deserialize(IOs.readFile(path));
   }
@@ -29,10 +29,12 @@ public class JavaBaseConstants {
   public static String ARGS_CONFIG_KEY = "config";
   public static String ARGS_CATALOG_KEY = "catalog";
   public static String ARGS_STATE_KEY = "state";
+  public static String ARGS_FRAMING_KEY = "framing";
 
   public static String ARGS_CONFIG_DESC = "path to the json configuration file";
   public static String ARGS_CATALOG_DESC = "input path for the catalog";
   public static String ARGS_PATH_DESC = "path to the json-encoded state file";
+  public static String ARGS_FRAMING_DESC = "how messages are framed on stdout (read) or stdin (write): json_lines (default) or smile";
 
   public static String COLUMN_NAME_AB_ID = "_airbyte_ab_id";
   public static String COLUMN_NAME_EMITTED_AT = "_airbyte_emitted_at";
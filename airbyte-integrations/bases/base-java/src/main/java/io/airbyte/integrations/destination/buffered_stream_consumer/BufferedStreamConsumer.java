@@ -24,31 +24,35 @@
 
 package io.airbyte.integrations.destination.buffered_stream_consumer;
 
-import com.google.common.base.Charsets;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.airbyte.commons.concurrency.GracefulShutdownHandler;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.functional.CheckedBiConsumer;
 import io.airbyte.commons.functional.CheckedConsumer;
 import io.airbyte.commons.json.Jsons;
-import io.airbyte.commons.lang.CloseableQueue;
-import io.airbyte.commons.lang.Queues;
 import io.airbyte.integrations.base.DestinationConsumer;
 import io.airbyte.integrations.base.FailureTrackingConsumer;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
-import io.airbyte.queue.BigQueue;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -56,21 +60,36 @@ import org.slf4j.LoggerFactory;
 
 // Strategy:
 // phase: start
-// 1. onStart initialize a disk-backed queue for each stream.
+// 1. onStart initialize a buffer for each stream. records are buffered in memory until the buffers
+// of all streams together reach MAX_MEMORY_BUFFER_BYTES, after which they spill to a disk-backed
+// queue.
 // 2. execute any user provided onStart code (anything that needs to be run before any records are
 // accepted).
-// 3. launch an executor pool that polls the queues and attempt to write data from that queue to the
-// destination using user-provided recordWriter.
+// 3. launch an executor pool that polls the buffers and attempt to write data from them to the
+// destination using user-provided recordWriter. streams are hashed into one bucket per writer
+// thread, so that streams in different buckets are written in parallel while the records of a
+// single stream are always written in order. at most maxInFlightBatches batches are being written
+// at any time. a stream is flushed once it buffers FLUSH_BYTES or its oldest record has waited
+// MAX_BUFFER_AGE.
 // phase: accepting records (this phase begins after start has completed)
-// 4. begin accepting records. immediately write them to the on-disk queue. each accept call does
-// NOT directly try to right records to the destination.
+// 4. begin accepting records. immediately write them to the buffer. only the data and emitted at
+// of each record are buffered, and the data stays serialized all the way to the recordWriter. each
+// accept call does NOT directly try to right records to the destination.
 // note: the background thread will be writing records to the destination in batch during this
 // phase.
+// note: if a background write fails, the next accept call fails with the same error.
 // phase: close (this phase begins after all records have been accepted)
-// 5. terminate background thread gracefully.
-// 6. flush all remaining records in the on-disk queues to the destination using user-provided
-// recordWriter.
+// 5. stop scheduling background writes.
+// 6. flush all remaining records in the buffers to the destination using user-provided
+// recordWriter, still in parallel across buckets. if any background write failed, the consumer is
+// closed as failed instead.
 // 7. execute user-provided onClose code.
+// 8. if onClose succeeded, emit the last state message that was accepted, acknowledging that every
+// record before it has been committed.
+// note: if an onCheckpoint function is provided, a state message accepted at least
+// checkpointInterval after the previous checkpoint is checkpointed right away: every record accepted
+// before it is written, onCheckpoint commits the written records, and the state is emitted. no
+// record after the state has been accepted yet, so none of them is committed with it.
 
 public class BufferedStreamConsumer extends FailureTrackingConsumer<AirbyteMessage> implements DestinationConsumer<AirbyteMessage> {
 
@@ -78,35 +97,132 @@ public class BufferedStreamConsumer extends FailureTrackingConsumer<AirbyteMessa
   private static final long THREAD_DELAY_MILLIS = 500L;
 
   private static final long GRACEFUL_SHUTDOWN_MINUTES = 5L;
-  private static final int MIN_RECORDS = 500;
-  private static final int BATCH_SIZE = 10000;
+  public static final int DEFAULT_WRITER_THREADS = 4;
+  // each batch being written holds up to BATCH_BYTES of deserialized records on top of the buffers,
+  // so fewer batches than writer threads may be in flight at once.
+  public static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 2;
+  public static final Duration DEFAULT_CHECKPOINT_INTERVAL = Duration.ofMinutes(5);
+  private static final long MAX_MEMORY_BUFFER_BYTES = 64L * 1024 * 1024;
+  private static final long FLUSH_BYTES = 8L * 1024 * 1024;
+  private static final Duration MAX_BUFFER_AGE = Duration.ofSeconds(30);
+  // upper bound on the serialized size of the records passed to a single recordWriter call.
+  private static final long BATCH_BYTES = FLUSH_BYTES;
+  // upper bound on the number of records passed to a single recordWriter call. jdbc destinations
+  // insert a batch in one statement that binds 3 parameters per record, which has to stay under the
+  // 32767 bind parameters of the jdbc drivers and the 16384 rows of a snowflake VALUES clause.
+  @VisibleForTesting
+  static final int BATCH_RECORDS = 10_000;
 
   private final VoidCallable onStart;
-  private final CheckedBiConsumer<String, Stream<AirbyteRecordMessage>, Exception> recordWriter;
+  private final SerializedRecordWriter recordWriter;
   private final CheckedConsumer<Boolean, Exception> onClose;
   private final Set<String> streamNames;
-  private final Map<String, CloseableQueue<byte[]>> writeBuffers;
+  private final Map<String, StreamBuffer> writeBuffers;
+  private final AtomicLong totalMemoryBytes;
+  private final int writerThreads;
   private final ScheduledExecutorService writerPool;
+  private final Semaphore inFlightBatches;
+  private final List<WriterBucket> writerBuckets;
+  private final List<ScheduledFuture<?>> scheduledWrites;
+  private final AtomicReference<Exception> writeFailure;
   private final ConfiguredAirbyteCatalog catalog;
+  private final Consumer<AirbyteMessage> outputRecordCollector;
+
+  private final OnCheckpointFunction onCheckpoint;
+  private final Duration checkpointInterval;
 
   private boolean hasStarted;
+  private AirbyteMessage lastStateMessage;
+  private AirbyteMessage lastEmittedStateMessage;
+  private long lastCheckpointMillis;
 
   public BufferedStreamConsumer(VoidCallable onStart,
                                 CheckedBiConsumer<String, Stream<AirbyteRecordMessage>, Exception> recordWriter,
                                 CheckedConsumer<Boolean, Exception> onClose,
                                 ConfiguredAirbyteCatalog catalog,
                                 Set<String> streamNames) {
+    this(onStart, recordWriter, onClose, catalog, streamNames, message -> System.out.println(Jsons.serialize(message)));
+  }
+
+  public BufferedStreamConsumer(VoidCallable onStart,
+                                CheckedBiConsumer<String, Stream<AirbyteRecordMessage>, Exception> recordWriter,
+                                CheckedConsumer<Boolean, Exception> onClose,
+                                ConfiguredAirbyteCatalog catalog,
+                                Set<String> streamNames,
+                                Consumer<AirbyteMessage> outputRecordCollector) {
+    this(onStart, SerializedRecordWriter.fromRecordWriter(recordWriter), onClose, catalog, streamNames, outputRecordCollector);
+  }
+
+  public BufferedStreamConsumer(VoidCallable onStart,
+                                SerializedRecordWriter recordWriter,
+                                CheckedConsumer<Boolean, Exception> onClose,
+                                ConfiguredAirbyteCatalog catalog,
+                                Set<String> streamNames) {
+    this(onStart, recordWriter, onClose, catalog, streamNames, message -> System.out.println(Jsons.serialize(message)));
+  }
+
+  public BufferedStreamConsumer(VoidCallable onStart,
+                                SerializedRecordWriter recordWriter,
+                                CheckedConsumer<Boolean, Exception> onClose,
+                                ConfiguredAirbyteCatalog catalog,
+                                Set<String> streamNames,
+                                Consumer<AirbyteMessage> outputRecordCollector) {
+    this(onStart, recordWriter, onClose, catalog, streamNames, outputRecordCollector, DEFAULT_WRITER_THREADS, DEFAULT_MAX_IN_FLIGHT_BATCHES);
+  }
+
+  public BufferedStreamConsumer(VoidCallable onStart,
+                                SerializedRecordWriter recordWriter,
+                                CheckedConsumer<Boolean, Exception> onClose,
+                                ConfiguredAirbyteCatalog catalog,
+                                Set<String> streamNames,
+                                Consumer<AirbyteMessage> outputRecordCollector,
+                                int writerThreads,
+                                int maxInFlightBatches) {
+    this(onStart, recordWriter, onClose, catalog, streamNames, outputRecordCollector, writerThreads, maxInFlightBatches, null, DEFAULT_CHECKPOINT_INTERVAL);
+  }
+
+  /**
+   * @param writerThreads number of threads writing to the destination in parallel. each stream is
+   *        always written by the same thread.
+   * @param maxInFlightBatches maximum number of batches being written to the destination at once,
+   *        across all threads.
+   * @param onCheckpoint commits every record written so far, so that state messages can be emitted
+   *        during the sync. if null, records are only committed by onClose.
+   * @param checkpointInterval minimum time between two checkpoints.
+   */
+  public BufferedStreamConsumer(VoidCallable onStart,
+                                SerializedRecordWriter recordWriter,
+                                CheckedConsumer<Boolean, Exception> onClose,
+                                ConfiguredAirbyteCatalog catalog,
+                                Set<String> streamNames,
+                                Consumer<AirbyteMessage> outputRecordCollector,
+                                int writerThreads,
+                                int maxInFlightBatches,
+                                OnCheckpointFunction onCheckpoint,
+                                Duration checkpointInterval) {
+    Preconditions.checkArgument(writerThreads > 0, "writerThreads must be positive.");
+    Preconditions.checkArgument(maxInFlightBatches > 0, "maxInFlightBatches must be positive.");
     this.hasStarted = false;
     this.onStart = onStart;
     this.recordWriter = recordWriter;
     this.onClose = onClose;
     this.catalog = catalog;
     this.streamNames = streamNames;
+    this.outputRecordCollector = outputRecordCollector;
 
-    this.writerPool = Executors.newSingleThreadScheduledExecutor();
+    this.writerThreads = writerThreads;
+    this.writerPool = Executors.newScheduledThreadPool(writerThreads);
     Runtime.getRuntime().addShutdownHook(new GracefulShutdownHandler(Duration.ofMinutes(GRACEFUL_SHUTDOWN_MINUTES), writerPool));
+    this.inFlightBatches = new Semaphore(maxInFlightBatches);
 
     this.writeBuffers = new HashMap<>();
+    this.totalMemoryBytes = new AtomicLong();
+    this.writerBuckets = new ArrayList<>();
+    this.scheduledWrites = new ArrayList<>();
+    this.writeFailure = new AtomicReference<>();
+
+    this.onCheckpoint = onCheckpoint;
+    this.checkpointInterval = checkpointInterval;
   }
 
   @Override
@@ -119,25 +235,34 @@ public class BufferedStreamConsumer extends FailureTrackingConsumer<AirbyteMessa
 
     LOGGER.info("Buffer creation started for {} streams.", streamNames.size());
     final Path queueRoot = Files.createTempDirectory("queues");
+    for (int i = 0; i < Math.min(writerThreads, streamNames.size()); i++) {
+      writerBuckets.add(new WriterBucket());
+    }
     for (String streamName : streamNames) {
-      LOGGER.info("Buffer creation for stream {}.", streamName);
-      final BigQueue writeBuffer = new BigQueue(queueRoot.resolve(streamName), streamName);
+      final StreamBuffer writeBuffer = new StreamBuffer(streamName, queueRoot, totalMemoryBytes, MAX_MEMORY_BUFFER_BYTES);
       writeBuffers.put(streamName, writeBuffer);
+      writerBuckets.get(Math.floorMod(streamName.hashCode(), writerBuckets.size())).writeBuffers.add(writeBuffer);
     }
     LOGGER.info("Buffer creation completed.");
 
     onStart.call();
-
-    writerPool.scheduleWithFixedDelay(
-        () -> writeStreamsWithNRecords(MIN_RECORDS, streamNames, writeBuffers, recordWriter),
-        THREAD_DELAY_MILLIS,
-        THREAD_DELAY_MILLIS,
-        TimeUnit.MILLISECONDS);
+    lastCheckpointMillis = System.currentTimeMillis();
+
+    for (final WriterBucket writerBucket : writerBuckets) {
+      // a task scheduled with a fixed delay never overlaps with itself, so each bucket is written by
+      // at most one thread at a time.
+      scheduledWrites.add(writerPool.scheduleWithFixedDelay(
+          () -> writeBucket(writerBucket, false),
+          THREAD_DELAY_MILLIS,
+          THREAD_DELAY_MILLIS,
+          TimeUnit.MILLISECONDS));
+    }
   }
 
   @Override
-  protected void acceptTracked(AirbyteMessage message) {
+  protected void acceptTracked(AirbyteMessage message) throws Exception {
     Preconditions.checkState(hasStarted, "Cannot accept records until consumer has started");
+    throwIfWriteFailed();
 
     // ignore other message types.
     if (message.getType() == AirbyteMessage.Type.RECORD) {
@@ -147,60 +272,127 @@ public class BufferedStreamConsumer extends FailureTrackingConsumer<AirbyteMessa
             String.format("Message contained record from a stream that was not in the catalog. \ncatalog: %s , \nmessage: %s",
                 Jsons.serialize(catalog), Jsons.serialize(message)));
       }
-      writeBuffers.get(streamName).offer(Jsons.serialize(message.getRecord()).getBytes(Charsets.UTF_8));
+      writeBuffers.get(streamName).offer(SerializedRecord.fromRecordMessage(message.getRecord()).toBytes(), System.currentTimeMillis());
+    } else if (message.getType() == AirbyteMessage.Type.STATE) {
+      lastStateMessage = message;
+      if (onCheckpoint != null && System.currentTimeMillis() - lastCheckpointMillis >= checkpointInterval.toMillis()) {
+        checkpoint();
+      }
     }
   }
 
+  /**
+   * Commits every record accepted before the last state message and emits it. Runs on the accepting
+   * thread, so no record after the state can reach the destination in the meantime.
+   */
+  private void checkpoint() throws Exception {
+    LOGGER.info("Checkpointing the records accepted before the last state message.");
+    // a bucket is locked while it is being written, so once each one is drained, no write is running.
+    for (final WriterBucket writerBucket : writerBuckets) {
+      writeBucket(writerBucket, true);
+    }
+    throwIfWriteFailed();
+
+    onCheckpoint.call();
+    emitState(lastStateMessage);
+    lastCheckpointMillis = System.currentTimeMillis();
+  }
+
+  private void emitState(AirbyteMessage stateMessage) {
+    outputRecordCollector.accept(stateMessage);
+    lastEmittedStateMessage = stateMessage;
+  }
+
   @SuppressWarnings("ResultOfMethodCallIgnored")
   @Override
   protected void close(boolean hasFailed) throws Exception {
-    if (hasFailed) {
-      LOGGER.error("executing on failed close procedure.");
+    scheduledWrites.forEach(scheduledWrite -> scheduledWrite.cancel(false));
 
-      // kill executor pool fast.
-      writerPool.shutdown();
-      writerPool.awaitTermination(1, TimeUnit.SECONDS);
-    } else {
+    if (!hasFailed && writeFailure.get() == null) {
       LOGGER.info("executing on success close procedure.");
 
-      // shutdown executor pool with time to complete writes.
+      // write anything that is left in the buffers.
+      final List<Future<?>> finalWrites = writerBuckets.stream()
+          .map(writerBucket -> writerPool.submit(() -> writeBucket(writerBucket, true)))
+          .collect(Collectors.toList());
+      for (final Future<?> finalWrite : finalWrites) {
+        finalWrite.get();
+      }
       writerPool.shutdown();
       writerPool.awaitTermination(GRACEFUL_SHUTDOWN_MINUTES, TimeUnit.MINUTES);
+    } else {
+      LOGGER.error("executing on failed close procedure.");
 
-      // write anything that is left in the buffers.
-      writeStreamsWithNRecords(0, streamNames, writeBuffers, recordWriter);
+      // kill executor pool fast.
+      writerPool.shutdownNow();
+      writerPool.awaitTermination(1, TimeUnit.SECONDS);
     }
 
-    onClose.accept(hasFailed);
+    final boolean closeAsFailed = hasFailed || writeFailure.get() != null;
+    onClose.accept(closeAsFailed);
 
-    for (CloseableQueue<byte[]> writeBuffer : writeBuffers.values()) {
+    // the records after the last checkpoint are only committed once onClose succeeds, so this is the
+    // earliest point at which the last state can be acknowledged.
+    if (!closeAsFailed && lastStateMessage != null && lastStateMessage != lastEmittedStateMessage) {
+      emitState(lastStateMessage);
+    }
+
+    for (StreamBuffer writeBuffer : writeBuffers.values()) {
       writeBuffer.close();
     }
+
+    throwIfWriteFailed();
+  }
+
+  private void throwIfWriteFailed() {
+    final Exception failure = writeFailure.get();
+    if (failure != null) {
+      throw new RuntimeException("Failed to write records to the destination.", failure);
+    }
   }
 
-  private static void writeStreamsWithNRecords(int minRecords,
-                                               Set<String> streamNames,
-                                               Map<String, CloseableQueue<byte[]>> writeBuffers,
-                                               CheckedBiConsumer<String, Stream<AirbyteRecordMessage>, Exception> recordWriter) {
-    for (final String streamName : streamNames) {
-      final CloseableQueue<byte[]> writeBuffer = writeBuffers.get(streamName);
-      while (writeBuffer.size() > minRecords) {
-        try {
-          final List<AirbyteRecordMessage> records = Queues.toStream(writeBuffer)
-              .limit(BufferedStreamConsumer.BATCH_SIZE)
-              .map(record -> Jsons.deserialize(new String(record, Charsets.UTF_8), AirbyteRecordMessage.class))
-              .collect(Collectors.toList());
-
-          LOGGER.info("Writing stream {}. Max batch size: {}, Actual batch size: {}, Remaining buffered records: {}",
-              streamName, BufferedStreamConsumer.BATCH_SIZE, records.size(), writeBuffer.size());
-          recordWriter.accept(streamName, records.stream());
-        } catch (Exception e) {
-          throw new RuntimeException(e);
+  /**
+   * Writes every stream of the bucket that is due for a flush, or every non-empty stream if force is
+   * set, until it is no longer due. The first failure is recorded and stops all further writes.
+   */
+  private void writeBucket(WriterBucket writerBucket, boolean force) {
+    synchronized (writerBucket) {
+      try {
+        for (final StreamBuffer writeBuffer : writerBucket.writeBuffers) {
+          while (writeFailure.get() == null
+              && (force ? !writeBuffer.isEmpty() : writeBuffer.shouldFlush(FLUSH_BYTES, MAX_BUFFER_AGE.toMillis(), System.currentTimeMillis()))) {
+            writeBatch(writeBuffer);
+          }
+        }
+      } catch (Exception e) {
+        if (writeFailure.compareAndSet(null, e)) {
+          LOGGER.error("Writing to the destination failed.", e);
         }
       }
     }
   }
 
+  private void writeBatch(StreamBuffer writeBuffer) throws Exception {
+    inFlightBatches.acquire();
+    try {
+      final List<SerializedRecord> records = writeBuffer.poll(BATCH_BYTES, BATCH_RECORDS).stream()
+          .map(SerializedRecord::fromBytes)
+          .collect(Collectors.toList());
+
+      LOGGER.info("Writing stream {}. Max batch bytes: {}, Max batch size: {}, Actual batch size: {}, Remaining buffered bytes: {}",
+          writeBuffer.getStreamName(), BATCH_BYTES, BATCH_RECORDS, records.size(), writeBuffer.getBufferedBytes());
+      recordWriter.accept(writeBuffer.getStreamName(), records.stream());
+    } finally {
+      inFlightBatches.release();
+    }
+  }
+
+  private static class WriterBucket {
+
+    private final List<StreamBuffer> writeBuffers = new ArrayList<>();
+
+  }
+
   public interface OnStartFunction extends VoidCallable {}
 
   public interface RecordWriter extends CheckedBiConsumer<String, Stream<AirbyteRecordMessage>, Exception> {
@@ -210,6 +402,23 @@ public class BufferedStreamConsumer extends FailureTrackingConsumer<AirbyteMessa
 
   }
 
+  /**
+   * Writes records without parsing their data. Destinations that need the parsed records can use
+   * {@link #fromRecordWriter(CheckedBiConsumer)}.
+   */
+  public interface SerializedRecordWriter extends CheckedBiConsumer<String, Stream<SerializedRecord>, Exception> {
+
+    @Override
+    void accept(String streamName, Stream<SerializedRecord> recordStream) throws Exception;
+
+    static SerializedRecordWriter fromRecordWriter(CheckedBiConsumer<String, Stream<AirbyteRecordMessage>, Exception> recordWriter) {
+      return (streamName, recordStream) -> recordWriter.accept(streamName, recordStream.map(record -> record.toRecordMessage(streamName)));
+    }
+
+  }
+
+  public interface OnCheckpointFunction extends VoidCallable {}
+
   public interface OnCloseFunction extends CheckedConsumer<Boolean, Exception> {
 
     @Override
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.buffered_stream_consumer;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The data of a record, still serialized as json, and the time it was emitted at. This is what
+ * {@link BufferedStreamConsumer} buffers, so that destinations that only need the json text of the
+ * data never have to parse it back into a tree.
+ */
+public class SerializedRecord {
+
+  private final byte[] data;
+  private final long emittedAt;
+
+  public SerializedRecord(byte[] data, long emittedAt) {
+    this.data = data;
+    this.emittedAt = emittedAt;
+  }
+
+  public static SerializedRecord fromRecordMessage(AirbyteRecordMessage recordMessage) {
+    Preconditions.checkArgument(recordMessage.getEmittedAt() != null, "Record of stream %s is missing emitted_at.", recordMessage.getStream());
+    return new SerializedRecord(Jsons.serialize(recordMessage.getData()).getBytes(Charsets.UTF_8), recordMessage.getEmittedAt());
+  }
+
+  /**
+   * @return the json of the record data, encoded in utf-8.
+   */
+  public byte[] getData() {
+    return data;
+  }
+
+  public String getDataAsString() {
+    return new String(data, Charsets.UTF_8);
+  }
+
+  public long getEmittedAt() {
+    return emittedAt;
+  }
+
+  public AirbyteRecordMessage toRecordMessage(String streamName) {
+    return new AirbyteRecordMessage()
+        .withStream(streamName)
+        .withData(Jsons.deserialize(getDataAsString()))
+        .withEmittedAt(emittedAt);
+  }
+
+  /**
+   * Encodes the record as the emitted at timestamp followed by the data.
+   */
+  byte[] toBytes() {
+    return ByteBuffer.allocate(Long.BYTES + data.length).putLong(emittedAt).put(data).array();
+  }
+
+  static SerializedRecord fromBytes(byte[] bytes) {
+    return new SerializedRecord(Arrays.copyOfRange(bytes, Long.BYTES, bytes.length), ByteBuffer.wrap(bytes).getLong());
+  }
+
+}
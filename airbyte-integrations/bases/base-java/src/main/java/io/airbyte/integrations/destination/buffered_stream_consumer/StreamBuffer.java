@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.buffered_stream_consumer;
+
+import io.airbyte.commons.lang.CloseableQueue;
+import io.airbyte.queue.BigQueue;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers the serialized records of one stream. Records are kept in memory as long as the memory
+ * used by the buffers of all streams stays under a shared budget. Past that budget they spill to a
+ * disk-backed queue, which is only created the first time it is needed. Records always come out in
+ * the order they went in: once a stream has spilled, its new records keep going to disk until the
+ * spill has been drained.
+ */
+class StreamBuffer implements AutoCloseable {
+
+  private final String streamName;
+  private final Path queueRoot;
+  private final AtomicLong totalMemoryBytes;
+  private final long maxMemoryBytes;
+  private final Deque<byte[]> memory = new ArrayDeque<>();
+
+  private CloseableQueue<byte[]> spill = null;
+  private long memoryBytes = 0;
+  private long spillBytes = 0;
+  // when the buffer last went from empty to non-empty.
+  private long firstBufferedAtMillis = -1;
+
+  StreamBuffer(String streamName, Path queueRoot, AtomicLong totalMemoryBytes, long maxMemoryBytes) {
+    this.streamName = streamName;
+    this.queueRoot = queueRoot;
+    this.totalMemoryBytes = totalMemoryBytes;
+    this.maxMemoryBytes = maxMemoryBytes;
+  }
+
+  String getStreamName() {
+    return streamName;
+  }
+
+  synchronized void offer(byte[] record, long nowMillis) throws IOException {
+    if (isEmpty()) {
+      firstBufferedAtMillis = nowMillis;
+    }
+
+    final boolean hasSpilled = spill != null && !spill.isEmpty();
+    if (!hasSpilled && totalMemoryBytes.get() + record.length <= maxMemoryBytes) {
+      memory.add(record);
+      memoryBytes += record.length;
+      totalMemoryBytes.addAndGet(record.length);
+    } else {
+      if (spill == null) {
+        spill = new BigQueue(queueRoot.resolve(streamName), streamName);
+      }
+      spill.offer(record);
+      spillBytes += record.length;
+    }
+  }
+
+  /**
+   * @return true once the buffer holds at least flushBytes, or its oldest record has been waiting
+   *         for at least maxAgeMillis.
+   */
+  synchronized boolean shouldFlush(long flushBytes, long maxAgeMillis, long nowMillis) {
+    return !isEmpty() && (getBufferedBytes() >= flushBytes || nowMillis - firstBufferedAtMillis >= maxAgeMillis);
+  }
+
+  /**
+   * @return the oldest records, up to maxBytes and maxRecords of them but at least one if the buffer
+   *         is not empty.
+   */
+  synchronized List<byte[]> poll(long maxBytes, int maxRecords) {
+    final List<byte[]> records = new ArrayList<>();
+    long bytes = 0;
+    while (!memory.isEmpty() && (records.isEmpty() || (records.size() < maxRecords && bytes + memory.peek().length <= maxBytes))) {
+      final byte[] record = memory.poll();
+      memoryBytes -= record.length;
+      totalMemoryBytes.addAndGet(-record.length);
+      bytes += record.length;
+      records.add(record);
+    }
+    while (spill != null && !spill.isEmpty() && (records.isEmpty() || (records.size() < maxRecords && bytes + spill.peek().length <= maxBytes))) {
+      final byte[] record = spill.poll();
+      spillBytes -= record.length;
+      bytes += record.length;
+      records.add(record);
+    }
+    return records;
+  }
+
+  synchronized boolean isEmpty() {
+    return memory.isEmpty() && (spill == null || spill.isEmpty());
+  }
+
+  synchronized long getBufferedBytes() {
+    return memoryBytes + spillBytes;
+  }
+
+  @Override
+  public synchronized void close() throws Exception {
+    totalMemoryBytes.addAndGet(-memoryBytes);
+    memoryBytes = 0;
+    memory.clear();
+    if (spill != null) {
+      spill.close();
+    }
+  }
+
+}
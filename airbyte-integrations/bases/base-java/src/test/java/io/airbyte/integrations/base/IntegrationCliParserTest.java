@@ -27,6 +27,7 @@ package io.airbyte.integrations.base;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import io.airbyte.protocol.models.MessageFraming;
 import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
 
@@ -78,6 +79,26 @@ class IntegrationCliParserTest {
     assertEquals(IntegrationConfig.read(Path.of(CONFIG_FILENAME), Path.of(CATALOG_FILENAME), Path.of(STATE_FILENAME)), actual);
   }
 
+  @Test
+  void testWriteWithFraming() {
+    final String[] args = new String[] {"--write", "--config", CONFIG_FILENAME, "--catalog", CATALOG_FILENAME, "--framing", "smile"};
+    final IntegrationConfig actual = new IntegrationCliParser().parse(args);
+    assertEquals(IntegrationConfig.write(Path.of(CONFIG_FILENAME), Path.of(CATALOG_FILENAME), MessageFraming.SMILE), actual);
+  }
+
+  @Test
+  void testReadWithFraming() {
+    final String[] args = new String[] {"--read", "--config", CONFIG_FILENAME, "--catalog", CATALOG_FILENAME, "--framing", "smile"};
+    final IntegrationConfig actual = new IntegrationCliParser().parse(args);
+    assertEquals(IntegrationConfig.read(Path.of(CONFIG_FILENAME), Path.of(CATALOG_FILENAME), null, MessageFraming.SMILE), actual);
+  }
+
+  @Test
+  void testFailsOnUnknownFraming() {
+    final String[] args = new String[] {"--read", "--config", CONFIG_FILENAME, "--catalog", CATALOG_FILENAME, "--framing", "xml"};
+    assertThrows(IllegalArgumentException.class, () -> new IntegrationCliParser().parse(args));
+  }
+
   @Test
   void testFailsOnUnknownArg() {
     final String[] args = new String[] {"--check", "--config", CONFIG_FILENAME, "--random", "garbage"};
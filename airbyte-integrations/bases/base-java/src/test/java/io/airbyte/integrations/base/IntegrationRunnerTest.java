@@ -24,7 +24,9 @@
 
 package io.airbyte.integrations.base;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -36,6 +38,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.json.BinaryJsonFrames;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.util.AutoCloseableIterators;
 import io.airbyte.commons.util.MoreIterators;
@@ -49,9 +52,12 @@ import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.CatalogHelpers;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConnectorSpecification;
+import io.airbyte.protocol.models.MessageFraming;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -184,11 +190,35 @@ class IntegrationRunnerTest {
     when(cliParser.parse(ARGS)).thenReturn(intConfig);
     when(source.read(CONFIG, CONFIGURED_CATALOG, STATE)).thenReturn(AutoCloseableIterators.fromIterator(MoreIterators.of(message1, message2)));
 
-    new IntegrationRunner(cliParser, stdoutConsumer, null, source).run(ARGS);
+    final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    new IntegrationRunner(cliParser, stdoutConsumer, stdout, null, source).run(ARGS);
 
     verify(source).read(CONFIG, CONFIGURED_CATALOG, STATE);
-    verify(stdoutConsumer).accept(Jsons.serialize(message1));
-    verify(stdoutConsumer).accept(Jsons.serialize(message2));
+    assertEquals(Jsons.serialize(message1) + "\n" + Jsons.serialize(message2) + "\n", stdout.toString(StandardCharsets.UTF_8));
+    Mockito.verifyNoInteractions(stdoutConsumer);
+  }
+
+  @Test
+  void testReadSmileFraming() throws Exception {
+    final IntegrationConfig intConfig = IntegrationConfig.read(configPath, configuredCatalogPath, statePath, MessageFraming.SMILE);
+    final AirbyteMessage message1 = new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withData(Jsons.jsonNode(ImmutableMap.of("names", "byron"))));
+    final AirbyteMessage message2 = new AirbyteMessage()
+        .withType(Type.RECORD).withRecord(new AirbyteRecordMessage()
+            .withData(Jsons.jsonNode(ImmutableMap.of("names", "reginald"))));
+
+    when(cliParser.parse(ARGS)).thenReturn(intConfig);
+    when(source.read(CONFIG, CONFIGURED_CATALOG, STATE)).thenReturn(AutoCloseableIterators.fromIterator(MoreIterators.of(message1, message2)));
+
+    final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    new IntegrationRunner(cliParser, stdoutConsumer, stdout, null, source).run(ARGS);
+
+    final BinaryJsonFrames.Reader reader = new BinaryJsonFrames.Reader(new ByteArrayInputStream(stdout.toByteArray()), line -> {});
+    assertEquals(message1, reader.read(AirbyteMessage.class).orElseThrow());
+    assertEquals(message2, reader.read(AirbyteMessage.class).orElseThrow());
+    assertTrue(reader.read().isEmpty());
+    Mockito.verifyNoInteractions(stdoutConsumer);
   }
 
   @SuppressWarnings("unchecked")
@@ -231,6 +261,35 @@ class IntegrationRunnerTest {
     inOrder.verify(destinationConsumerMock).close();
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  void testDestinationConsumerLifecycleSmileFraming() throws Exception {
+    final AirbyteMessage singerMessage1 = new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withData(Jsons.deserialize("{ \"color\": \"blue\" }"))
+            .withStream(STREAM_NAME)
+            .withEmittedAt(EMITTED_AT));
+    final AirbyteMessage singerMessage2 = new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withData(Jsons.deserialize("{ \"color\": \"yellow\" }"))
+            .withStream(STREAM_NAME)
+            .withEmittedAt(EMITTED_AT));
+    final ByteArrayOutputStream stdin = new ByteArrayOutputStream();
+    stdin.write(BinaryJsonFrames.toFrame(singerMessage1));
+    stdin.write(BinaryJsonFrames.toFrame(singerMessage2));
+
+    final DestinationConsumer<AirbyteMessage> destinationConsumerMock = mock(DestinationConsumer.class);
+    IntegrationRunner.consumeWriteStream(destinationConsumerMock, MessageFraming.SMILE, new ByteArrayInputStream(stdin.toByteArray()));
+
+    InOrder inOrder = inOrder(destinationConsumerMock);
+    inOrder.verify(destinationConsumerMock).start();
+    inOrder.verify(destinationConsumerMock).accept(singerMessage1);
+    inOrder.verify(destinationConsumerMock).accept(singerMessage2);
+    inOrder.verify(destinationConsumerMock).close();
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   void testDestinationConsumerLifecycleFailure() throws Exception {
@@ -0,0 +1,269 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.buffered_stream_consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.OnCheckpointFunction;
+import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.OnCloseFunction;
+import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.OnStartFunction;
+import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.RecordWriter;
+import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.SerializedRecordWriter;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BufferedStreamConsumerTest {
+
+  private static final String STREAM_NAME = "users";
+  // "a" and "b" hash to different writer buckets when there are two writer threads.
+  private static final String STREAM_A = "a";
+  private static final String STREAM_B = "b";
+  private static final AirbyteMessage RECORD_MESSAGE = new AirbyteMessage()
+      .withType(AirbyteMessage.Type.RECORD)
+      .withRecord(new AirbyteRecordMessage().withStream(STREAM_NAME).withData(Jsons.jsonNode(ImmutableMap.of("id", 1))).withEmittedAt(0L));
+  private static final AirbyteMessage STATE_MESSAGE1 = new AirbyteMessage()
+      .withType(AirbyteMessage.Type.STATE)
+      .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(ImmutableMap.of("cursor", 1))));
+  private static final AirbyteMessage STATE_MESSAGE2 = new AirbyteMessage()
+      .withType(AirbyteMessage.Type.STATE)
+      .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(ImmutableMap.of("cursor", 2))));
+
+  private List<AirbyteRecordMessage> writtenRecords;
+  private List<AirbyteMessage> outputMessages;
+
+  @BeforeEach
+  void setup() {
+    writtenRecords = new ArrayList<>();
+    outputMessages = new ArrayList<>();
+  }
+
+  @Test
+  void testEmitsLastStateAfterSuccessfulClose() throws Exception {
+    final BufferedStreamConsumer consumer = createConsumer(hasFailed -> {});
+
+    consumer.start();
+    consumer.accept(RECORD_MESSAGE);
+    consumer.accept(STATE_MESSAGE1);
+    consumer.accept(RECORD_MESSAGE);
+    consumer.accept(STATE_MESSAGE2);
+    consumer.close();
+
+    assertEquals(List.of(RECORD_MESSAGE.getRecord(), RECORD_MESSAGE.getRecord()), writtenRecords);
+    assertEquals(List.of(STATE_MESSAGE2), outputMessages);
+  }
+
+  @Test
+  void testDoesNotEmitStateWhenCloseFails() throws Exception {
+    final BufferedStreamConsumer consumer = createConsumer(hasFailed -> {
+      throw new RuntimeException("commit failed");
+    });
+
+    consumer.start();
+    consumer.accept(RECORD_MESSAGE);
+    consumer.accept(STATE_MESSAGE1);
+
+    assertThrows(RuntimeException.class, consumer::close);
+    assertEquals(List.of(), outputMessages);
+  }
+
+  @Test
+  void testWritesBucketsInParallel() throws Exception {
+    final CountDownLatch bothWriting = new CountDownLatch(2);
+    final RecordWriter recordWriter = (streamName, records) -> {
+      bothWriting.countDown();
+      if (!bothWriting.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("streams were not written in parallel.");
+      }
+    };
+    final BufferedStreamConsumer consumer = createConsumer(recordWriter, hasFailed -> {}, 2, 2);
+
+    consumer.start();
+    consumer.accept(recordMessage(STREAM_A));
+    consumer.accept(recordMessage(STREAM_B));
+    consumer.accept(STATE_MESSAGE1);
+    consumer.close();
+
+    assertEquals(0, bothWriting.getCount());
+    assertEquals(List.of(STATE_MESSAGE1), outputMessages);
+  }
+
+  @Test
+  void testBoundsInFlightBatches() throws Exception {
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+    final RecordWriter recordWriter = (streamName, records) -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      Thread.sleep(100);
+      inFlight.decrementAndGet();
+    };
+    final BufferedStreamConsumer consumer = createConsumer(recordWriter, hasFailed -> {}, 2, 1);
+
+    consumer.start();
+    consumer.accept(recordMessage(STREAM_A));
+    consumer.accept(recordMessage(STREAM_B));
+    consumer.close();
+
+    assertEquals(1, maxInFlight.get());
+  }
+
+  @Test
+  void testWriteFailureFailsClose() throws Exception {
+    final RecordWriter recordWriter = (streamName, records) -> {
+      throw new RuntimeException("write failed");
+    };
+    final List<Boolean> closedAsFailed = new ArrayList<>();
+    final BufferedStreamConsumer consumer = createConsumer(recordWriter, closedAsFailed::add, 2, 2);
+
+    consumer.start();
+    consumer.accept(recordMessage(STREAM_A));
+    consumer.accept(STATE_MESSAGE1);
+
+    final RuntimeException exception = assertThrows(RuntimeException.class, consumer::close);
+    assertEquals("write failed", exception.getCause().getMessage());
+    assertEquals(List.of(true), closedAsFailed);
+    assertEquals(List.of(), outputMessages);
+  }
+
+  @Test
+  void testBoundsRecordsPerBatch() throws Exception {
+    final List<Integer> batchSizes = new ArrayList<>();
+    final RecordWriter recordWriter = (streamName, records) -> batchSizes.add((int) records.count());
+    final BufferedStreamConsumer consumer = createConsumer(recordWriter, hasFailed -> {}, 1, 1);
+    final int recordCount = BufferedStreamConsumer.BATCH_RECORDS * 2 + 1;
+
+    consumer.start();
+    for (int i = 0; i < recordCount; i++) {
+      consumer.accept(RECORD_MESSAGE);
+    }
+    consumer.close();
+
+    assertEquals(List.of(BufferedStreamConsumer.BATCH_RECORDS, BufferedStreamConsumer.BATCH_RECORDS, 1), batchSizes);
+  }
+
+  @Test
+  void testCheckpointsRecordsBeforeStateDuringSync() throws Exception {
+    final List<String> events = new ArrayList<>();
+    final RecordWriter recordWriter = (streamName, records) -> records.forEach(record -> events.add("write " + record.getStream()));
+    final BufferedStreamConsumer consumer = createConsumer(recordWriter, hasFailed -> events.add("close"), () -> events.add("checkpoint"));
+
+    consumer.start();
+    consumer.accept(recordMessage(STREAM_A));
+    consumer.accept(STATE_MESSAGE1);
+    assertEquals(List.of("write " + STREAM_A, "checkpoint"), events);
+    assertEquals(List.of(STATE_MESSAGE1), outputMessages);
+
+    consumer.accept(recordMessage(STREAM_B));
+    consumer.accept(STATE_MESSAGE2);
+    consumer.accept(recordMessage(STREAM_A));
+    assertEquals(List.of("write " + STREAM_A, "checkpoint", "write " + STREAM_B, "checkpoint"), events);
+    assertEquals(List.of(STATE_MESSAGE1, STATE_MESSAGE2), outputMessages);
+
+    consumer.close();
+    assertEquals(List.of("write " + STREAM_A, "checkpoint", "write " + STREAM_B, "checkpoint", "write " + STREAM_A, "close"), events);
+    // the last state has already been emitted.
+    assertEquals(List.of(STATE_MESSAGE1, STATE_MESSAGE2), outputMessages);
+  }
+
+  @Test
+  void testDoesNotEmitStateWhenCheckpointFails() throws Exception {
+    final RecordWriter recordWriter = (streamName, records) -> records.forEach(writtenRecords::add);
+    final BufferedStreamConsumer consumer = createConsumer(recordWriter, hasFailed -> {}, () -> {
+      throw new RuntimeException("checkpoint failed");
+    });
+
+    consumer.start();
+    consumer.accept(RECORD_MESSAGE);
+    assertThrows(RuntimeException.class, () -> consumer.accept(STATE_MESSAGE1));
+    assertEquals(List.of(), outputMessages);
+  }
+
+  @Test
+  void testDoesNotEmitStateBeforeCloseWithoutCheckpoints() throws Exception {
+    final BufferedStreamConsumer consumer = createConsumer(hasFailed -> {});
+
+    consumer.start();
+    consumer.accept(STATE_MESSAGE1);
+    assertEquals(List.of(), outputMessages);
+
+    consumer.close();
+    assertEquals(List.of(STATE_MESSAGE1), outputMessages);
+  }
+
+  private BufferedStreamConsumer createConsumer(OnCloseFunction onClose) {
+    final RecordWriter recordWriter = (streamName, records) -> records.forEach(writtenRecords::add);
+    return createConsumer(recordWriter, onClose, 1, 1);
+  }
+
+  private BufferedStreamConsumer createConsumer(RecordWriter recordWriter, OnCloseFunction onClose, int writerThreads, int maxInFlightBatches) {
+    final OnStartFunction onStart = () -> {};
+    return new BufferedStreamConsumer(
+        onStart,
+        SerializedRecordWriter.fromRecordWriter(recordWriter),
+        onClose,
+        mock(ConfiguredAirbyteCatalog.class),
+        ImmutableSet.of(STREAM_NAME, STREAM_A, STREAM_B),
+        outputMessages::add,
+        writerThreads,
+        maxInFlightBatches);
+  }
+
+  // checkpoints at every state message.
+  private BufferedStreamConsumer createConsumer(RecordWriter recordWriter, OnCloseFunction onClose, OnCheckpointFunction onCheckpoint) {
+    final OnStartFunction onStart = () -> {};
+    return new BufferedStreamConsumer(
+        onStart,
+        SerializedRecordWriter.fromRecordWriter(recordWriter),
+        onClose,
+        mock(ConfiguredAirbyteCatalog.class),
+        ImmutableSet.of(STREAM_NAME, STREAM_A, STREAM_B),
+        outputMessages::add,
+        1,
+        1,
+        onCheckpoint,
+        Duration.ZERO);
+  }
+
+  private static AirbyteMessage recordMessage(String streamName) {
+    return new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream(streamName).withData(Jsons.jsonNode(ImmutableMap.of("id", 1))).withEmittedAt(0L));
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.buffered_stream_consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import org.junit.jupiter.api.Test;
+
+class SerializedRecordTest {
+
+  private static final AirbyteRecordMessage RECORD_MESSAGE = new AirbyteRecordMessage()
+      .withStream("users")
+      .withData(Jsons.jsonNode(ImmutableMap.of("name", "émilie", "id", 1)))
+      .withEmittedAt(1234567890123L);
+
+  @Test
+  void testBytesRoundTrip() {
+    final SerializedRecord record = SerializedRecord.fromBytes(SerializedRecord.fromRecordMessage(RECORD_MESSAGE).toBytes());
+
+    assertEquals(Jsons.serialize(RECORD_MESSAGE.getData()), record.getDataAsString());
+    assertEquals(RECORD_MESSAGE.getEmittedAt(), record.getEmittedAt());
+    assertEquals(RECORD_MESSAGE, record.toRecordMessage("users"));
+  }
+
+  @Test
+  void testRejectsRecordWithoutEmittedAt() {
+    final AirbyteRecordMessage recordMessage = Jsons.clone(RECORD_MESSAGE).withEmittedAt(null);
+
+    final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> SerializedRecord.fromRecordMessage(recordMessage));
+    assertEquals("Record of stream users is missing emitted_at.", exception.getMessage());
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.buffered_stream_consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.base.Charsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StreamBufferTest {
+
+  private static final String STREAM_NAME = "users";
+
+  private AtomicLong totalMemoryBytes;
+  private StreamBuffer buffer;
+
+  @BeforeEach
+  void setup() throws Exception {
+    final Path queueRoot = Files.createTempDirectory("test");
+    totalMemoryBytes = new AtomicLong();
+    buffer = new StreamBuffer(STREAM_NAME, queueRoot, totalMemoryBytes, 10);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    buffer.close();
+  }
+
+  @Test
+  void testSpillsPastMemoryBudgetInOrder() throws Exception {
+    buffer.offer(bytes("aaaa"), 0);
+    buffer.offer(bytes("bbbb"), 0);
+    // does not fit in the remaining budget, so it goes to disk.
+    buffer.offer(bytes("cccc"), 0);
+    assertEquals(8, totalMemoryBytes.get());
+    assertEquals(12, buffer.getBufferedBytes());
+
+    assertEquals(List.of("aaaa", "bbbb"), strings(buffer.poll(8, 100)));
+    assertEquals(0, totalMemoryBytes.get());
+
+    // the spill has not been drained yet, so this has to go to disk behind "cccc".
+    buffer.offer(bytes("dd"), 0);
+    assertEquals(0, totalMemoryBytes.get());
+    assertEquals(List.of("cccc", "dd"), strings(buffer.poll(100, 100)));
+    assertTrue(buffer.isEmpty());
+
+    buffer.offer(bytes("ee"), 0);
+    assertEquals(2, totalMemoryBytes.get());
+  }
+
+  @Test
+  void testPollReturnsAtLeastOneRecord() throws Exception {
+    buffer.offer(bytes("aaaa"), 0);
+    buffer.offer(bytes("bbbb"), 0);
+
+    assertEquals(List.of("aaaa"), strings(buffer.poll(1, 100)));
+    assertEquals(List.of("bbbb"), strings(buffer.poll(1, 100)));
+    assertEquals(List.of(), strings(buffer.poll(1, 100)));
+  }
+
+  @Test
+  void testPollIsBoundedByRecordCount() throws Exception {
+    buffer.offer(bytes("a"), 0);
+    buffer.offer(bytes("b"), 0);
+    buffer.offer(bytes("c"), 0);
+
+    assertEquals(List.of("a", "b"), strings(buffer.poll(100, 2)));
+    assertEquals(List.of("c"), strings(buffer.poll(100, 2)));
+  }
+
+  @Test
+  void testShouldFlush() throws Exception {
+    assertFalse(buffer.shouldFlush(0, 0, 0));
+
+    buffer.offer(bytes("aaaa"), 100);
+    assertFalse(buffer.shouldFlush(5, 50, 120));
+    assertTrue(buffer.shouldFlush(4, 50, 120));
+    assertTrue(buffer.shouldFlush(5, 50, 150));
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(Charsets.UTF_8);
+  }
+
+  private static List<String> strings(List<byte[]> records) {
+    return records.stream().map(record -> new String(record, Charsets.UTF_8)).collect(Collectors.toList());
+  }
+
+}
@@ -142,8 +142,8 @@ public class PythonTestSource extends StandardSourceTest {
             "/test_root");
 
     final Process process = new ProcessBuilder(dockerCmd).start();
-    LineGobbler.gobble(process.getErrorStream(), LOGGER::error);
-    LineGobbler.gobble(process.getInputStream(), LOGGER::info);
+    LineGobbler.gobble(process, process.getErrorStream(), LOGGER::error);
+    LineGobbler.gobble(process, process.getInputStream(), LOGGER::info);
 
     WorkerUtils.gentleClose(process, 1, TimeUnit.MINUTES);
 
@@ -318,13 +318,14 @@ public class BigQueryDestination implements Destination {
         long emittedAtMicroseconds = TimeUnit.MICROSECONDS.convert(message.getRecord().getEmittedAt(), TimeUnit.MILLISECONDS);
         final String formattedEmittedAt = QueryParameterValue.timestamp(emittedAtMicroseconds).getValue();
 
-        final JsonNode data = Jsons.jsonNode(ImmutableMap.of(
+        // the row is serialized straight from the map, without first converting it into a json tree.
+        final String row = Jsons.serialize(ImmutableMap.of(
             JavaBaseConstants.COLUMN_NAME_AB_ID, UUID.randomUUID().toString(),
             JavaBaseConstants.COLUMN_NAME_DATA, Jsons.serialize(message.getRecord().getData()),
             JavaBaseConstants.COLUMN_NAME_EMITTED_AT, formattedEmittedAt));
         try {
           writeConfigs.get(message.getRecord().getStream()).getWriter()
-              .write(ByteBuffer.wrap((Jsons.serialize(data) + "\n").getBytes(Charsets.UTF_8)));
+              .write(ByteBuffer.wrap((row + "\n").getBytes(Charsets.UTF_8)));
         } catch (IOException e) {
           throw new RuntimeException(e);
         }
@@ -26,7 +26,7 @@ package io.airbyte.integrations.destination.jdbc;
 
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.base.JavaBaseConstants;
-import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.integrations.destination.buffered_stream_consumer.SerializedRecord;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -64,9 +64,9 @@ public class DefaultSqlOperations implements SqlOperations {
   }
 
   @Override
-  public void insertRecords(JdbcDatabase database, Stream<AirbyteRecordMessage> recordsStream, String schemaName, String tmpTableName)
+  public void insertRecords(JdbcDatabase database, Stream<SerializedRecord> recordsStream, String schemaName, String tmpTableName)
       throws SQLException {
-    final List<AirbyteRecordMessage> records = recordsStream.collect(Collectors.toList());
+    final List<SerializedRecord> records = recordsStream.collect(Collectors.toList());
 
     // todo (cgardens) - move this into a postgres version of this. this syntax is VERY postgres
     // specific.
@@ -90,6 +90,11 @@ public class DefaultSqlOperations implements SqlOperations {
     return String.format("TRUNCATE TABLE %s.%s;\n", schemaName, tableName);
   }
 
+  @Override
+  public String deleteAllQuery(String schemaName, String tableName) {
+    return String.format("DELETE FROM %s.%s;\n", schemaName, tableName);
+  }
+
   @Override
   public String copyTableQuery(String schemaName, String srcTableName, String dstTableName) {
     return String.format("INSERT INTO %s.%s SELECT * FROM %s.%s;\n", schemaName, dstTableName, schemaName, srcTableName);
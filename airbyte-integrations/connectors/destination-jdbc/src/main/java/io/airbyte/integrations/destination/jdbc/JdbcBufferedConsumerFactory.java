@@ -33,9 +33,10 @@ import io.airbyte.integrations.base.DestinationConsumer;
 import io.airbyte.integrations.destination.NamingConventionTransformer;
 import io.airbyte.integrations.destination.WriteConfig;
 import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer;
+import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.OnCheckpointFunction;
 import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.OnCloseFunction;
 import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.OnStartFunction;
-import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.RecordWriter;
+import io.airbyte.integrations.destination.buffered_stream_consumer.BufferedStreamConsumer.SerializedRecordWriter;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.SyncMode;
@@ -50,16 +51,24 @@ import org.slf4j.LoggerFactory;
 // Strategy:
 // 1. Create a temporary table for each stream
 // 2. Accumulate records in a buffer. One buffer per stream.
-// 3. As records accumulate write them in batch to the database. We set a minimum numbers of records
-// before writing to avoid wasteful record-wise writes.
+// 3. As records accumulate write them in batch to the database, several streams at a time. We wait
+// for a minimum amount of buffered data before writing to avoid wasteful record-wise writes.
 // 4. Once all records have been written to buffer, flush the buffer and write any remaining records
 // to the database (regardless of how few are left).
 // 5. In a single transaction, delete the target tables if they exist and rename the temp tables to
 // the final table name.
+// note: if every stream is incremental, nothing is ever deleted from the target tables, so records
+// are also moved from the temp tables to the target tables at checkpoints during the sync. each move
+// runs in a single transaction, which lets the state be acknowledged while the sync is still
+// running.
 public class JdbcBufferedConsumerFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBufferedConsumerFactory.class);
 
+  // let the parallelism of the writes be tuned for the destination without rebuilding the connector.
+  static final String WRITER_THREADS_ENV = "DESTINATION_WRITER_THREADS";
+  static final String MAX_IN_FLIGHT_BATCHES_ENV = "DESTINATION_MAX_IN_FLIGHT_BATCHES";
+
   public static DestinationConsumer<AirbyteMessage> create(JdbcDatabase database,
                                                            SqlOperations sqlOperations,
                                                            NamingConventionTransformer namingResolver,
@@ -72,7 +81,29 @@ public class JdbcBufferedConsumerFactory {
         recordWriterFunction(database, sqlOperations, writeConfigs, catalog),
         onCloseFunction(database, sqlOperations, writeConfigs),
         catalog,
-        writeConfigs.stream().map(WriteConfig::getStreamName).collect(Collectors.toSet()));
+        writeConfigs.stream().map(WriteConfig::getStreamName).collect(Collectors.toSet()),
+        message -> System.out.println(Jsons.serialize(message)),
+        getEnvInt(WRITER_THREADS_ENV, BufferedStreamConsumer.DEFAULT_WRITER_THREADS),
+        getEnvInt(MAX_IN_FLIGHT_BATCHES_ENV, BufferedStreamConsumer.DEFAULT_MAX_IN_FLIGHT_BATCHES),
+        isIncrementalOnly(writeConfigs) ? onCheckpointFunction(database, sqlOperations, writeConfigs) : null,
+        BufferedStreamConsumer.DEFAULT_CHECKPOINT_INTERVAL);
+  }
+
+  private static int getEnvInt(String name, int defaultValue) {
+    final String value = System.getenv(name);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(String.format("%s must be an integer, got: %s", name, value), e);
+    }
+  }
+
+  private static boolean isIncrementalOnly(List<WriteConfig> writeConfigs) {
+    return writeConfigs.stream().allMatch(writeConfig -> writeConfig.getSyncMode() == SyncMode.INCREMENTAL);
   }
 
   private static List<WriteConfig> createWriteConfigs(NamingConventionTransformer namingResolver, JsonNode config, ConfiguredAirbyteCatalog catalog) {
@@ -105,10 +136,10 @@ public class JdbcBufferedConsumerFactory {
     };
   }
 
-  private static RecordWriter recordWriterFunction(JdbcDatabase database,
-                                                   SqlOperations sqlOperations,
-                                                   List<WriteConfig> writeConfigs,
-                                                   ConfiguredAirbyteCatalog catalog) {
+  private static SerializedRecordWriter recordWriterFunction(JdbcDatabase database,
+                                                             SqlOperations sqlOperations,
+                                                             List<WriteConfig> writeConfigs,
+                                                             ConfiguredAirbyteCatalog catalog) {
     final Map<String, WriteConfig> streamNameToWriteConfig = writeConfigs.stream()
         .collect(Collectors.toUnmodifiableMap(WriteConfig::getStreamName, Function.identity()));
 
@@ -123,6 +154,25 @@ public class JdbcBufferedConsumerFactory {
     };
   }
 
+  private static OnCheckpointFunction onCheckpointFunction(JdbcDatabase database, SqlOperations sqlOperations, List<WriteConfig> writeConfigs) {
+    return () -> {
+      // the records written so far are appended to the final tables and removed from the temp tables
+      // together, so that a failed checkpoint leaves both as they were.
+      final StringBuilder queries = new StringBuilder();
+      for (WriteConfig writeConfig : writeConfigs) {
+        final String schemaName = writeConfig.getOutputNamespaceName();
+        final String srcTableName = writeConfig.getTmpTableName();
+        final String dstTableName = writeConfig.getOutputTableName();
+        sqlOperations.createTableIfNotExists(database, schemaName, dstTableName);
+        queries.append(sqlOperations.copyTableQuery(schemaName, srcTableName, dstTableName));
+        queries.append(sqlOperations.deleteAllQuery(schemaName, srcTableName));
+      }
+
+      LOGGER.info("Checkpointing tables in destination for {} streams", writeConfigs.size());
+      sqlOperations.executeTransaction(database, queries.toString());
+    };
+  }
+
   private static OnCloseFunction onCloseFunction(JdbcDatabase database, SqlOperations sqlOperations, List<WriteConfig> writeConfigs) {
     return (hasFailed) -> {
       // copy data
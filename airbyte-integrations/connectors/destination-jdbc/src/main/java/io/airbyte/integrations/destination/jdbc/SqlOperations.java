@@ -25,7 +25,7 @@
 package io.airbyte.integrations.destination.jdbc;
 
 import io.airbyte.db.jdbc.JdbcDatabase;
-import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.integrations.destination.buffered_stream_consumer.SerializedRecord;
 import java.util.stream.Stream;
 
 // todo (cgardens) - is it necessary to expose so much configurability in this interface. review if
@@ -76,6 +76,16 @@ public interface SqlOperations {
    */
   String truncateTableQuery(String schemaName, String tableName);
 
+  /**
+   * Query to remove all records from a table, which unlike truncating can be rolled back in a
+   * transaction on every database. Assumes the table exists.
+   *
+   * @param schemaName name of schema
+   * @param tableName name of table
+   * @return query
+   */
+  String deleteAllQuery(String schemaName, String tableName);
+
   /**
    * Insert records into table. Assumes the table exists.
    *
@@ -84,7 +94,7 @@ public interface SqlOperations {
    * @param tableName name of table
    * @throws Exception exception
    */
-  void insertRecords(JdbcDatabase database, Stream<AirbyteRecordMessage> records, String schemaName, String tableName) throws Exception;
+  void insertRecords(JdbcDatabase database, Stream<SerializedRecord> records, String schemaName, String tableName) throws Exception;
 
   /**
    * Query to copy all records from source table to destination table. Both tables must be in the
@@ -25,9 +25,8 @@
 package io.airbyte.integrations.destination.jdbc;
 
 import com.google.common.annotations.VisibleForTesting;
-import io.airbyte.commons.json.Jsons;
 import io.airbyte.db.jdbc.JdbcDatabase;
-import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.integrations.destination.buffered_stream_consumer.SerializedRecord;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -52,7 +51,7 @@ public class SqlOperationsUtils {
   public static void insertRawRecordsInSingleQuery(String insertQueryComponent,
                                                    String recordQueryComponent,
                                                    JdbcDatabase jdbcDatabase,
-                                                   List<AirbyteRecordMessage> records)
+                                                   List<SerializedRecord> records)
       throws SQLException {
     insertRawRecordsInSingleQuery(insertQueryComponent, recordQueryComponent, jdbcDatabase, records, UUID::randomUUID);
 
@@ -62,7 +61,7 @@ public class SqlOperationsUtils {
   static void insertRawRecordsInSingleQuery(String insertQueryComponent,
                                             String recordQueryComponent,
                                             JdbcDatabase jdbcDatabase,
-                                            List<AirbyteRecordMessage> records,
+                                            List<SerializedRecord> records,
                                             Supplier<UUID> uuidSupplier)
       throws SQLException {
     if (records.isEmpty()) {
@@ -85,11 +84,11 @@ public class SqlOperationsUtils {
       try (final PreparedStatement statement = connection.prepareStatement(s1)) {
         // second loop: bind values to the SQL string.
         int i = 1;
-        for (final AirbyteRecordMessage message : records) {
+        for (final SerializedRecord record : records) {
           // 1-indexed
           statement.setString(i, uuidSupplier.get().toString());
-          statement.setString(i + 1, Jsons.serialize(message.getData()));
-          statement.setTimestamp(i + 2, Timestamp.from(Instant.ofEpochMilli(message.getEmittedAt())));
+          statement.setString(i + 1, record.getDataAsString());
+          statement.setTimestamp(i + 2, Timestamp.from(Instant.ofEpochMilli(record.getEmittedAt())));
           i += 3;
         }
 
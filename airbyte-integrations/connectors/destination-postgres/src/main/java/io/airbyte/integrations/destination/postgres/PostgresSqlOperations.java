@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.postgres;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Charsets;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.base.JavaBaseConstants;
+import io.airbyte.integrations.destination.buffered_stream_consumer.SerializedRecord;
+import io.airbyte.integrations.destination.jdbc.DefaultSqlOperations;
+import io.airbyte.integrations.destination.jdbc.SqlOperations;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Loads records with COPY FROM STDIN in csv format instead of multi-row INSERTs. The rows are
+ * streamed to the server as they are encoded, so a batch never has to be held as one query string.
+ */
+public class PostgresSqlOperations extends DefaultSqlOperations implements SqlOperations {
+
+  private static final byte QUOTE = '"';
+  private static final byte DELIMITER = ',';
+  private static final byte NEWLINE = '\n';
+
+  private final Supplier<UUID> uuidSupplier;
+
+  public PostgresSqlOperations() {
+    this(UUID::randomUUID);
+  }
+
+  @VisibleForTesting
+  PostgresSqlOperations(Supplier<UUID> uuidSupplier) {
+    this.uuidSupplier = uuidSupplier;
+  }
+
+  @Override
+  public void insertRecords(JdbcDatabase database, Stream<SerializedRecord> records, String schemaName, String tmpTableName) throws SQLException {
+    final String copyQuery = String.format(
+        "COPY %s.%s (%s, %s, %s) FROM STDIN WITH (FORMAT csv)",
+        schemaName,
+        tmpTableName,
+        JavaBaseConstants.COLUMN_NAME_AB_ID,
+        JavaBaseConstants.COLUMN_NAME_DATA,
+        JavaBaseConstants.COLUMN_NAME_EMITTED_AT);
+
+    database.execute(connection -> {
+      try (final OutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), copyQuery)) {
+        for (final SerializedRecord record : (Iterable<SerializedRecord>) records::iterator) {
+          writeCsvRow(copy, record);
+        }
+      } catch (IOException e) {
+        throw new SQLException(e);
+      }
+    });
+  }
+
+  private void writeCsvRow(OutputStream out, SerializedRecord record) throws IOException {
+    // neither the uuid nor the timestamp can contain characters that need quoting.
+    out.write(uuidSupplier.get().toString().getBytes(Charsets.UTF_8));
+    out.write(DELIMITER);
+    writeQuoted(out, record.getData());
+    out.write(DELIMITER);
+    out.write(Instant.ofEpochMilli(record.getEmittedAt()).toString().getBytes(Charsets.UTF_8));
+    out.write(NEWLINE);
+  }
+
+  /**
+   * Writes a csv quoted field. The value is utf-8, in which a quote byte is always an actual quote,
+   * so quotes can be escaped byte by byte.
+   */
+  private static void writeQuoted(OutputStream out, byte[] value) throws IOException {
+    out.write(QUOTE);
+    int start = 0;
+    for (int i = 0; i < value.length; i++) {
+      if (value[i] == QUOTE) {
+        // write up to and including the quote, then write it a second time.
+        out.write(value, start, i - start + 1);
+        out.write(QUOTE);
+        start = i + 1;
+      }
+    }
+    out.write(value, start, value.length - start);
+    out.write(QUOTE);
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.destination.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.db.Databases;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.integrations.base.JavaBaseConstants;
+import io.airbyte.integrations.destination.buffered_stream_consumer.SerializedRecord;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+class PostgresSqlOperationsTest {
+
+  private static final Instant NOW = Instant.ofEpochSecond(900);
+  private static final String SCHEMA_NAME = "public";
+  private static final String TABLE_NAME = "rivers";
+
+  private PostgreSQLContainer<?> container;
+  private JdbcDatabase database;
+  private Supplier<UUID> uuidSupplier;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setup() {
+    container = new PostgreSQLContainer<>("postgres:13-alpine");
+    container.start();
+
+    database = Databases.createJdbcDatabase(container.getUsername(), container.getPassword(), container.getJdbcUrl(), PostgresDestination.DRIVER_CLASS);
+    uuidSupplier = mock(Supplier.class);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    database.close();
+    container.close();
+  }
+
+  @Test
+  void testInsertRecords() throws Exception {
+    final UUID record1Uuid = UUID.randomUUID();
+    final UUID record2Uuid = UUID.randomUUID();
+    when(uuidSupplier.get()).thenReturn(record1Uuid).thenReturn(record2Uuid);
+
+    final PostgresSqlOperations sqlOperations = new PostgresSqlOperations(uuidSupplier);
+    sqlOperations.createTableIfNotExists(database, SCHEMA_NAME, TABLE_NAME);
+
+    // values that need escaping in csv.
+    final List<AirbyteRecordMessage> records = Lists.newArrayList(
+        new AirbyteRecordMessage()
+            .withStream(TABLE_NAME)
+            .withEmittedAt(NOW.toEpochMilli())
+            .withData(Jsons.jsonNode(ImmutableMap.of("name", "rio \"grande\", río bravo", "width", 10))),
+        new AirbyteRecordMessage()
+            .withStream(TABLE_NAME)
+            .withEmittedAt(NOW.toEpochMilli())
+            .withData(Jsons.jsonNode(ImmutableMap.of("name", "missi\nssippi\\", "width", 20))));
+
+    sqlOperations.insertRecords(database, records.stream().map(SerializedRecord::fromRecordMessage), SCHEMA_NAME, TABLE_NAME);
+
+    final List<JsonNode> actualRecords = database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery(String.format("SELECT * FROM %s ORDER BY %s->'width'", TABLE_NAME, JavaBaseConstants.COLUMN_NAME_DATA)),
+        JdbcUtils::rowToJson);
+    actualRecords.forEach(
+        r -> ((ObjectNode) r).put(JavaBaseConstants.COLUMN_NAME_DATA, Jsons.deserialize(r.get(JavaBaseConstants.COLUMN_NAME_DATA).asText())));
+
+    final List<JsonNode> expectedRecords = Lists.newArrayList(
+        Jsons.jsonNode(ImmutableMap.builder()
+            .put(JavaBaseConstants.COLUMN_NAME_AB_ID, record1Uuid)
+            .put(JavaBaseConstants.COLUMN_NAME_DATA, records.get(0).getData())
+            .put(JavaBaseConstants.COLUMN_NAME_EMITTED_AT, JdbcUtils.toISO8601String(records.get(0).getEmittedAt()))
+            .build()),
+        Jsons.jsonNode(ImmutableMap.builder()
+            .put(JavaBaseConstants.COLUMN_NAME_AB_ID, record2Uuid)
+            .put(JavaBaseConstants.COLUMN_NAME_DATA, records.get(1).getData())
+            .put(JavaBaseConstants.COLUMN_NAME_EMITTED_AT, JdbcUtils.toISO8601String(records.get(1).getEmittedAt()))
+            .build()));
+
+    assertEquals(expectedRecords, actualRecords);
+  }
+
+}
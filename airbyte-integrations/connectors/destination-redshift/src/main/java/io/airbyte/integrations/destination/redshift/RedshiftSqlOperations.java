@@ -26,10 +26,10 @@ package io.airbyte.integrations.destination.redshift;
 
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.integrations.base.JavaBaseConstants;
+import io.airbyte.integrations.destination.buffered_stream_consumer.SerializedRecord;
 import io.airbyte.integrations.destination.jdbc.DefaultSqlOperations;
 import io.airbyte.integrations.destination.jdbc.SqlOperations;
 import io.airbyte.integrations.destination.jdbc.SqlOperationsUtils;
-import io.airbyte.protocol.models.AirbyteRecordMessage;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -53,9 +53,9 @@ public class RedshiftSqlOperations extends DefaultSqlOperations implements SqlOp
   }
 
   @Override
-  public void insertRecords(JdbcDatabase database, Stream<AirbyteRecordMessage> recordsStream, String schemaName, String tmpTableName)
+  public void insertRecords(JdbcDatabase database, Stream<SerializedRecord> recordsStream, String schemaName, String tmpTableName)
       throws SQLException {
-    final List<AirbyteRecordMessage> records = recordsStream.collect(Collectors.toList());
+    final List<SerializedRecord> records = recordsStream.collect(Collectors.toList());
     LOGGER.info("actual size of batch: {}", records.size());
 
     // query syntax:
@@ -26,18 +26,21 @@ package io.airbyte.integrations.source.jdbc;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.lang.Exceptions;
 import io.airbyte.commons.util.AutoCloseableIterator;
 import io.airbyte.commons.util.AutoCloseableIterators;
 import io.airbyte.db.Databases;
+import io.airbyte.db.jdbc.AdaptiveFetchSize;
+import io.airbyte.db.jdbc.ConnectionPoolSettings;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.db.jdbc.JdbcStreamingQueryConfiguration;
 import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.db.jdbc.RowToRawJsonMapper;
 import io.airbyte.integrations.BaseConnector;
 import io.airbyte.integrations.base.Source;
+import io.airbyte.integrations.source.jdbc.models.JdbcChunk;
 import io.airbyte.integrations.source.jdbc.models.JdbcState;
 import io.airbyte.protocol.models.AirbyteCatalog;
 import io.airbyte.protocol.models.AirbyteConnectionStatus;
@@ -45,6 +48,7 @@ import io.airbyte.protocol.models.AirbyteConnectionStatus.Status;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.CatalogHelpers;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
@@ -54,9 +58,10 @@ import io.airbyte.protocol.models.SyncMode;
 import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -66,7 +71,6 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,16 +78,13 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
 
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractJdbcSource.class);
 
-  private static final String JDBC_COLUMN_DATABASE_NAME = "TABLE_CAT";
-  private static final String JDBC_COLUMN_SCHEMA_NAME = "TABLE_SCHEM";
-  private static final String JDBC_COLUMN_TABLE_NAME = "TABLE_NAME";
-  private static final String JDBC_COLUMN_COLUMN_NAME = "COLUMN_NAME";
-  private static final String JDBC_COLUMN_DATA_TYPE = "DATA_TYPE";
-
-  private static final String INTERNAL_SCHEMA_NAME = "schemaName";
-  private static final String INTERNAL_TABLE_NAME = "tableName";
-  private static final String INTERNAL_COLUMN_NAME = "columnName";
-  private static final String INTERNAL_COLUMN_TYPE = "columnType";
+  private static final String CONFIG_TABLE_READ_PARALLELISM = "table_read_parallelism";
+  private static final String CONFIG_PRIMARY_KEY_CHUNK_SIZE = "primary_key_chunk_size";
+  private static final String CONFIG_STATE_CHECKPOINT_RECORDS = "state_checkpoint_records";
+  private static final String CONFIG_STATE_CHECKPOINT_SECONDS = "state_checkpoint_seconds";
+  private static final String CONFIG_FETCH_TARGET_MEGABYTES = "fetch_target_megabytes";
+  // number of messages that can be read ahead of the consumer when reading tables concurrently.
+  private static final int CONCURRENT_READ_QUEUE_CAPACITY = 10000;
 
   private final String driverClass;
   private final JdbcStreamingQueryConfiguration jdbcStreamingQueryConfiguration;
@@ -110,6 +111,31 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
    */
   public abstract Set<String> getExcludedInternalSchemas();
 
+  /**
+   * Change log from which the incremental streams are read, if the source reads them with change
+   * data capture rather than by cursor.
+   */
+  protected Optional<ChangeDataCapture> getChangeDataCapture(JsonNode config) {
+    return Optional.empty();
+  }
+
+  /**
+   * Bulk export with which the tables that are read in full are read, if the source has one that is
+   * faster than a select.
+   */
+  protected Optional<TableExporter> getTableExporter(JsonNode config) {
+    return Optional.empty();
+  }
+
+  /**
+   * Whether the columns are discovered one table at a time rather than one schema at a time. This
+   * is faster for databases whose driver reads the columns of each table separately anyway, as
+   * several tables are then discovered at the same time.
+   */
+  protected boolean isDiscoveredPerTable() {
+    return false;
+  }
+
   @Override
   public AirbyteConnectionStatus check(JsonNode config) {
     try (final JdbcDatabase database = createDatabase(config)) {
@@ -127,19 +153,33 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
 
   @Override
   public AirbyteCatalog discover(JsonNode config) throws Exception {
+    final Optional<ChangeDataCapture> changeDataCapture = getChangeDataCapture(config);
     try (final JdbcDatabase database = createDatabase(config)) {
       return new AirbyteCatalog()
           .withStreams(getTables(
               database,
               Optional.ofNullable(config.get("database")).map(JsonNode::asText),
-              Optional.ofNullable(config.get("schema")).map(JsonNode::asText))
+              Optional.ofNullable(config.get("schema")).map(JsonNode::asText),
+              getTableReadParallelism(config))
                   .stream()
-                  .map(t -> CatalogHelpers.createAirbyteStream(t.getName(), t.getFields())
-                      .withSupportedSyncModes(Lists.newArrayList(SyncMode.FULL_REFRESH, SyncMode.INCREMENTAL)))
+                  .map(t -> changeDataCapture.isPresent() ? toChangeDataCaptureStream(t, changeDataCapture.get())
+                      : CatalogHelpers.createAirbyteStream(t.getName(), t.getFields()))
+                  .map(stream -> stream.withSupportedSyncModes(Lists.newArrayList(SyncMode.FULL_REFRESH, SyncMode.INCREMENTAL)))
                   .collect(Collectors.toList()));
     }
   }
 
+  // records read from the change log also carry the position and time of their change.
+  private static AirbyteStream toChangeDataCaptureStream(TableInfo table, ChangeDataCapture changeDataCapture) {
+    final List<Field> fields = new ArrayList<>(table.getFields());
+    fields.add(Field.of(changeDataCapture.getPositionField(), changeDataCapture.getPositionType()));
+    fields.add(Field.of(ChangeDataCaptureIterator.CDC_UPDATED_AT, JsonSchemaPrimitive.STRING));
+    fields.add(Field.of(ChangeDataCaptureIterator.CDC_DELETED_AT, JsonSchemaPrimitive.STRING));
+    return CatalogHelpers.createAirbyteStream(table.getName(), fields)
+        .withSourceDefinedCursor(true)
+        .withDefaultCursorField(Lists.newArrayList(changeDataCapture.getPositionField()));
+  }
+
   @Override
   public AutoCloseableIterator<AirbyteMessage> read(JsonNode config, ConfiguredAirbyteCatalog catalog, JsonNode state) throws Exception {
     final JdbcStateManager stateManager =
@@ -148,14 +188,25 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
 
     final JdbcDatabase database = createDatabase(config);
 
+    final int tableReadParallelism = getTableReadParallelism(config);
+    // only the tables of the catalog are discovered.
     final Map<String, TableInfoInternal> tableNameToTable = discoverInternal(
         database,
         Optional.ofNullable(config.get("database")).map(JsonNode::asText),
-        Optional.ofNullable(config.get("schema")).map(JsonNode::asText))
+        Optional.ofNullable(config.get("schema")).map(JsonNode::asText),
+        tableReadParallelism,
+        catalog.getStreams().stream().map(s -> s.getStream().getName()).collect(Collectors.toSet()))
             .stream()
             .collect(Collectors.toMap(t -> String.format("%s.%s", t.getSchemaName(), t.getName()), Function.identity()));
 
-    final List<AutoCloseableIterator<AirbyteMessage>> iteratorList = new ArrayList<>();
+    final long primaryKeyChunkSize = getPrimaryKeyChunkSize(config);
+    final long stateCheckpointRecords = getStateCheckpointRecords(config);
+    final Duration stateCheckpointInterval = getStateCheckpointInterval(config);
+    final Optional<ChangeDataCapture> changeDataCapture = getChangeDataCapture(config);
+    final TableExporter tableExporter = getTableExporter(config).orElse(null);
+    final Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator = new LinkedHashMap<>();
+    final Map<String, Set<String>> changeDataCaptureStreamNameToSelectedFields = new LinkedHashMap<>();
+    String snapshotPosition = null;
 
     for (final ConfiguredAirbyteStream airbyteStream : catalog.getStreams()) {
       final String streamName = airbyteStream.getStream().getName();
@@ -165,27 +216,223 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
       }
 
       final TableInfoInternal table = tableNameToTable.get(streamName);
-      final AutoCloseableIterator<AirbyteMessage> tableReadIterator = createReadIterator(
+      final AutoCloseableIterator<AirbyteMessage> tableReadIterator;
+      if (changeDataCapture.isPresent() && airbyteStream.getSyncMode() == SyncMode.INCREMENTAL) {
+        changeDataCaptureStreamNameToSelectedFields.put(streamName, CatalogHelpers.getTopLevelFieldNames(airbyteStream));
+        // the position of the stream is set once its snapshot has been read.
+        if (stateManager.getCursor(streamName).isPresent()) {
+          continue;
+        }
+
+        if (snapshotPosition == null) {
+          snapshotPosition = changeDataCapture.get().getCurrentPosition(database);
+          LOGGER.info("Reading snapshots at change log position {}.", snapshotPosition);
+        }
+        tableReadIterator = createSnapshotIterator(
+            database,
+            airbyteStream,
+            table,
+            stateManager,
+            emittedAt,
+            primaryKeyChunkSize,
+            tableReadParallelism,
+            tableExporter,
+            snapshotPosition);
+      } else {
+        tableReadIterator = createReadIterator(
+            database,
+            airbyteStream,
+            table,
+            stateManager,
+            emittedAt,
+            primaryKeyChunkSize,
+            tableReadParallelism,
+            tableExporter,
+            stateCheckpointRecords,
+            stateCheckpointInterval);
+      }
+      streamNameToIterator.put(streamName, tableReadIterator);
+    }
+
+    final AutoCloseableIterator<AirbyteMessage> iterator;
+    if (tableReadParallelism > 1 && streamNameToIterator.size() > 1) {
+      LOGGER.info("Reading {} tables, {} at a time.", streamNameToIterator.size(), tableReadParallelism);
+      iterator = createConcurrentReadIterator(streamNameToIterator, tableReadParallelism, state, catalog);
+    } else {
+      iterator = AutoCloseableIterators.concatWithEagerClose(new ArrayList<>(streamNameToIterator.values()));
+    }
+
+    final AutoCloseableIterator<AirbyteMessage> changesIterator;
+    if (changeDataCaptureStreamNameToSelectedFields.isEmpty()) {
+      changesIterator = iterator;
+    } else {
+      // changes are read once all snapshots have been read.
+      changesIterator = AutoCloseableIterators.concatWithEagerClose(List.of(iterator, createChangeDataCaptureIterator(
           database,
-          airbyteStream,
-          table,
+          changeDataCapture.get(),
+          changeDataCaptureStreamNameToSelectedFields,
           stateManager,
-          emittedAt);
-      iteratorList.add(tableReadIterator);
+          emittedAt,
+          stateCheckpointRecords,
+          stateCheckpointInterval)));
     }
 
-    return AutoCloseableIterators.appendOnClose(AutoCloseableIterators.concatWithEagerClose(iteratorList), () -> {
+    return AutoCloseableIterators.appendOnClose(changesIterator, () -> {
       LOGGER.info("Closing database connection pool.");
       Exceptions.toRuntime(database::close);
       LOGGER.info("Closed database connection pool.");
     });
   }
 
+  /**
+   * Number of tables read at the same time, each on its own connection. Defaults to reading one
+   * table at a time.
+   */
+  protected int getTableReadParallelism(JsonNode config) {
+    return config.has(CONFIG_TABLE_READ_PARALLELISM) ? config.get(CONFIG_TABLE_READ_PARALLELISM).asInt() : 1;
+  }
+
+  /**
+   * Number of primary key values per chunk when reading a table in chunks, or 0 to never read tables
+   * in chunks. The chunks of a table are read table read parallelism at a time.
+   */
+  protected long getPrimaryKeyChunkSize(JsonNode config) {
+    return config.has(CONFIG_PRIMARY_KEY_CHUNK_SIZE) ? config.get(CONFIG_PRIMARY_KEY_CHUNK_SIZE).asLong() : 0;
+  }
+
+  /**
+   * Number of records of an incremental stream after which its state is emitted, or 0 to only emit
+   * it at the end of the stream. Records are read in cursor order when this or the checkpoint
+   * interval is set.
+   */
+  protected long getStateCheckpointRecords(JsonNode config) {
+    return config.has(CONFIG_STATE_CHECKPOINT_RECORDS) ? config.get(CONFIG_STATE_CHECKPOINT_RECORDS).asLong() : 0;
+  }
+
+  /**
+   * Time after which the state of an incremental stream is emitted, or null to only emit it at the
+   * end of the stream.
+   */
+  protected Duration getStateCheckpointInterval(JsonNode config) {
+    return config.has(CONFIG_STATE_CHECKPOINT_SECONDS) ? Duration.ofSeconds(config.get(CONFIG_STATE_CHECKPOINT_SECONDS).asLong()) : null;
+  }
+
+  /**
+   * Number of bytes toward which the fetch size of queries is adjusted, or 0 to keep the fetch size
+   * of the streaming query configuration.
+   */
+  protected long getFetchTargetBytes(JsonNode config) {
+    return config.has(CONFIG_FETCH_TARGET_MEGABYTES) ? config.get(CONFIG_FETCH_TARGET_MEGABYTES).asLong() * 1024 * 1024 : 0;
+  }
+
+  /**
+   * Settings of the connection pool shared by all the queries of the source. Tables read at the same
+   * time each hold a connection, and one more is left for the other queries.
+   */
+  protected ConnectionPoolSettings getConnectionPoolSettings(JsonNode config) {
+    return new ConnectionPoolSettings()
+        .withMaxTotal(Math.max(ConnectionPoolSettings.DEFAULT_MAX_TOTAL, getTableReadParallelism(config) + 1));
+  }
+
+  private static AutoCloseableIterator<AirbyteMessage> createConcurrentReadIterator(Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator,
+                                                                                    int tableReadParallelism,
+                                                                                    JsonNode state,
+                                                                                    ConfiguredAirbyteCatalog catalog) {
+    // the state messages of concurrently read streams can reach the queue in a different order than
+    // the one in which they were created, so a state message could carry the progress of another
+    // stream whose records are still in the queue. instead, the state is rebuilt when a state message
+    // is consumed: only the entry of the stream that emitted it is taken from it, on top of what
+    // previously consumed state messages recorded for the other streams.
+    final JdbcStateManager emittedStateManager =
+        new JdbcStateManager(state == null ? JdbcStateManager.emptyState() : Jsons.object(state, JdbcState.class), catalog);
+    return new ConcurrentReadIterator(streamNameToIterator, tableReadParallelism, CONCURRENT_READ_QUEUE_CAPACITY, (streamName, message) -> {
+      if (message.getType() == Type.STATE) {
+        return new AirbyteMessage().withType(Type.STATE).withState(emittedStateManager.updateAndEmit(message.getState(), streamName));
+      }
+      return message;
+    });
+  }
+
+  /**
+   * Reads the whole table, then records the change log position at which it was read as the position
+   * of the stream.
+   */
+  private AutoCloseableIterator<AirbyteMessage> createSnapshotIterator(JdbcDatabase database,
+                                                                       ConfiguredAirbyteStream airbyteStream,
+                                                                       TableInfoInternal table,
+                                                                       JdbcStateManager stateManager,
+                                                                       Instant emittedAt,
+                                                                       long primaryKeyChunkSize,
+                                                                       int tableReadParallelism,
+                                                                       TableExporter tableExporter,
+                                                                       String snapshotPosition)
+      throws SQLException {
+    final String streamName = airbyteStream.getStream().getName();
+    final AutoCloseableIterator<AirbyteMessage> snapshotIterator = createReadIterator(
+        database,
+        Jsons.clone(airbyteStream).withSyncMode(SyncMode.FULL_REFRESH),
+        table,
+        stateManager,
+        emittedAt,
+        primaryKeyChunkSize,
+        tableReadParallelism,
+        tableExporter,
+        0,
+        null);
+    return AutoCloseableIterators.concatWithEagerClose(List.of(
+        snapshotIterator,
+        AutoCloseableIterators.lazyIterator(() -> {
+          LOGGER.info("Read snapshot of stream {}. Position: {}", streamName, snapshotPosition);
+          final AirbyteMessage stateMessage =
+              new AirbyteMessage().withType(Type.STATE).withState(stateManager.updateAndEmit(streamName, snapshotPosition));
+          return AutoCloseableIterators.fromIterator(List.of(stateMessage).iterator());
+        })));
+  }
+
+  private static AutoCloseableIterator<AirbyteMessage> createChangeDataCaptureIterator(JdbcDatabase database,
+                                                                                       ChangeDataCapture changeDataCapture,
+                                                                                       Map<String, Set<String>> streamNameToSelectedFields,
+                                                                                       JdbcStateManager stateManager,
+                                                                                       Instant emittedAt,
+                                                                                       long stateCheckpointRecords,
+                                                                                       Duration stateCheckpointInterval) {
+    return AutoCloseableIterators.lazyIterator(() -> {
+      // the changes are read from the stream that is the furthest behind.
+      final String position = streamNameToSelectedFields.keySet().stream()
+          .map(streamName -> stateManager.getCursor(streamName)
+              .orElseThrow(() -> new IllegalStateException("No change log position for stream: " + streamName)))
+          .min(changeDataCapture::comparePositions)
+          .orElseThrow();
+      LOGGER.info("Reading changes of {} streams from position {}.", streamNameToSelectedFields.size(), position);
+      try {
+        final AutoCloseableIterator<ChangeEvent> eventIterator = changeDataCapture.read(database, position);
+        return AutoCloseableIterators.fromIterator(new ChangeDataCaptureIterator(
+            eventIterator,
+            changeDataCapture,
+            streamNameToSelectedFields,
+            stateManager,
+            emittedAt.toEpochMilli(),
+            stateCheckpointRecords,
+            stateCheckpointInterval,
+            Instant::now),
+            eventIterator::close);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
   private AutoCloseableIterator<AirbyteMessage> createReadIterator(JdbcDatabase database,
                                                                    ConfiguredAirbyteStream airbyteStream,
                                                                    TableInfoInternal table,
                                                                    JdbcStateManager stateManager,
-                                                                   Instant emittedAt) {
+                                                                   Instant emittedAt,
+                                                                   long primaryKeyChunkSize,
+                                                                   int tableReadParallelism,
+                                                                   TableExporter tableExporter,
+                                                                   long stateCheckpointRecords,
+                                                                   Duration stateCheckpointInterval)
+      throws SQLException {
     final String streamName = airbyteStream.getStream().getName();
     final Set<String> selectedFieldsInCatalog = CatalogHelpers.getTopLevelFieldNames(airbyteStream);
     final List<String> selectedDatabaseFields = table.getFields()
@@ -199,26 +446,47 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
       final String cursorField = IncrementalUtils.getCursorField(airbyteStream);
       final Optional<String> cursorOptional = stateManager.getCursor(streamName);
 
-      final AutoCloseableIterator<AirbyteMessage> airbyteMessageIterator;
-      if (cursorOptional.isPresent()) {
-        airbyteMessageIterator = getIncrementalStream(database, airbyteStream, selectedDatabaseFields, table, cursorOptional.get(), emittedAt);
+      final JsonSchemaPrimitive cursorType = IncrementalUtils.getCursorType(airbyteStream, cursorField);
+      // if no cursor is present then this is the first read for is the same as doing a full refresh read.
+      final Optional<ColumnInfo> primaryKey = cursorOptional.isEmpty() && primaryKeyChunkSize > 0
+          ? ChunkedStreamReader.getChunkablePrimaryKey(database, table)
+          : Optional.empty();
+
+      if (primaryKey.isPresent()) {
+        // the chunked read emits its own state.
+        iterator = ChunkedStreamReader.read(database, streamName, selectedDatabaseFields, table, primaryKey.get(), Optional.of(cursorField),
+            stateManager, emittedAt.toEpochMilli(), primaryKeyChunkSize, tableReadParallelism);
       } else {
-        // if no cursor is present then this is the first read for is the same as doing a full refresh read.
-        airbyteMessageIterator = getFullRefreshStream(database, streamName, selectedDatabaseFields, table, emittedAt);
+        // intermediate state can only be emitted if the records are ordered by cursor.
+        final boolean isOrdered = StateDecoratingIterator.canCheckpoint(cursorType) && (stateCheckpointRecords > 0 || stateCheckpointInterval != null);
+        final AutoCloseableIterator<AirbyteMessage> airbyteMessageIterator;
+        if (cursorOptional.isPresent() || isOrdered) {
+          airbyteMessageIterator =
+              getIncrementalStream(database, airbyteStream, selectedDatabaseFields, table, cursorOptional.orElse(null), isOrdered, emittedAt);
+        } else {
+          airbyteMessageIterator = getFullRefreshStream(database, streamName, selectedDatabaseFields, table, tableExporter, emittedAt);
+        }
+
+        iterator = AutoCloseableIterators.transform(autoCloseableIterator -> new StateDecoratingIterator(
+            autoCloseableIterator,
+            stateManager,
+            streamName,
+            cursorField,
+            cursorOptional.orElse(null),
+            cursorType,
+            stateCheckpointRecords,
+            stateCheckpointInterval,
+            Instant::now),
+            airbyteMessageIterator);
       }
-
-      final JsonSchemaPrimitive cursorType = IncrementalUtils.getCursorType(airbyteStream, cursorField);
-
-      iterator = AutoCloseableIterators.transform(autoCloseableIterator -> new StateDecoratingIterator(
-          autoCloseableIterator,
-          stateManager,
-          streamName,
-          cursorField,
-          cursorOptional.orElse(null),
-          cursorType),
-          airbyteMessageIterator);
     } else if (airbyteStream.getSyncMode() == SyncMode.FULL_REFRESH || airbyteStream.getSyncMode() == null) {
-      iterator = getFullRefreshStream(database, streamName, selectedDatabaseFields, table, emittedAt);
+      final Optional<ColumnInfo> primaryKey = primaryKeyChunkSize > 0 ? ChunkedStreamReader.getChunkablePrimaryKey(database, table) : Optional.empty();
+      if (primaryKey.isPresent()) {
+        iterator = ChunkedStreamReader.read(database, streamName, selectedDatabaseFields, table, primaryKey.get(), Optional.empty(),
+            stateManager, emittedAt.toEpochMilli(), primaryKeyChunkSize, tableReadParallelism);
+      } else {
+        iterator = getFullRefreshStream(database, streamName, selectedDatabaseFields, table, tableExporter, emittedAt);
+      }
     } else {
       throw new IllegalArgumentException(String.format("%s does not support sync mode: %s.", airbyteStream.getSyncMode(), AbstractJdbcSource.class));
     }
@@ -238,6 +506,7 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
                                                                             List<String> selectedDatabaseFields,
                                                                             TableInfoInternal table,
                                                                             String cursor,
+                                                                            boolean isOrdered,
                                                                             Instant emittedAt) {
     final String streamName = airbyteStream.getStream().getName();
     final String cursorField = IncrementalUtils.getCursorField(airbyteStream);
@@ -257,28 +526,57 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
         table.getName(),
         cursorField,
         cursorJdbcType,
-        cursor);
+        cursor,
+        isOrdered);
 
     return getMessageIterator(queryIterator, streamName, emittedAt.toEpochMilli());
   }
 
+  /**
+   * @param tableExporter null if the table should be selected.
+   */
   private static AutoCloseableIterator<AirbyteMessage> getFullRefreshStream(JdbcDatabase database,
                                                                             String streamName,
                                                                             List<String> selectedDatabaseFields,
                                                                             TableInfoInternal table,
+                                                                            TableExporter tableExporter,
                                                                             Instant emittedAt) {
-    final AutoCloseableIterator<JsonNode> queryStream =
-        queryTableFullRefresh(database, selectedDatabaseFields, table.getSchemaName(), table.getName());
+    final AutoCloseableIterator<JsonNode> queryStream = tableExporter == null
+        ? queryTableFullRefresh(database, selectedDatabaseFields, table.getSchemaName(), table.getName())
+        : exportTable(database, tableExporter, selectedDatabaseFields, table);
     return getMessageIterator(queryStream, streamName, emittedAt.toEpochMilli());
   }
 
+  private static AutoCloseableIterator<JsonNode> exportTable(JdbcDatabase database,
+                                                             TableExporter tableExporter,
+                                                             List<String> selectedDatabaseFields,
+                                                             TableInfoInternal table) {
+    final Map<String, JDBCType> columnNameToType = new LinkedHashMap<>();
+    for (final String columnName : selectedDatabaseFields) {
+      table.getFields().stream()
+          .filter(field -> field.getColumnName().equals(columnName))
+          .findFirst()
+          .ifPresent(field -> columnNameToType.put(columnName, field.getColumnType()));
+    }
+    LOGGER.info("Queueing export of table: {}", table.getName());
+    return AutoCloseableIterators.lazyIterator(() -> {
+      try {
+        LOGGER.info("Exporting table: {}", table.getName());
+        return tableExporter.export(database, table.getSchemaName(), table.getName(), columnNameToType);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
   @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
   private List<TableInfo> getTables(final JdbcDatabase database,
                                     final Optional<String> databaseOptional,
-                                    final Optional<String> schemaOptional)
+                                    final Optional<String> schemaOptional,
+                                    final int parallelism)
       throws Exception {
 
-    return discoverInternal(database, databaseOptional, schemaOptional).stream()
+    return discoverInternal(database, databaseOptional, schemaOptional, parallelism, null).stream()
         .map(t -> {
           // some databases return multiple copies of the same record for a column (e.g. redshift) because
           // they have at least once delivery guarantees. we want to dedupe these, but first we check that the
@@ -311,61 +609,34 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
         });
   }
 
+  /**
+   * @param tableNames the fully qualified names of the tables that are needed, or null if all of
+   *        them are.
+   */
   @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
   private List<TableInfoInternal> discoverInternal(final JdbcDatabase database,
                                                    final Optional<String> databaseOptional,
-                                                   final Optional<String> schemaOptional)
+                                                   final Optional<String> schemaOptional,
+                                                   final int parallelism,
+                                                   final Set<String> tableNames)
       throws Exception {
-    final Set<String> internalSchemas = new HashSet<>(getExcludedInternalSchemas());
-    return database.bufferedResultSetQuery(
-        conn -> conn.getMetaData().getColumns(databaseOptional.orElse(null), schemaOptional.orElse(null), null, null),
-        resultSet -> Jsons.jsonNode(ImmutableMap.<String, Object>builder()
-            // we always want a namespace, if we cannot get a schema, use db name.
-            .put(INTERNAL_SCHEMA_NAME,
-                resultSet.getObject(JDBC_COLUMN_SCHEMA_NAME) != null ? resultSet.getString(JDBC_COLUMN_SCHEMA_NAME)
-                    : resultSet.getObject(JDBC_COLUMN_DATABASE_NAME))
-            .put(INTERNAL_TABLE_NAME, resultSet.getString(JDBC_COLUMN_TABLE_NAME))
-            .put(INTERNAL_COLUMN_NAME, resultSet.getString(JDBC_COLUMN_COLUMN_NAME))
-            .put(INTERNAL_COLUMN_TYPE, resultSet.getString(JDBC_COLUMN_DATA_TYPE))
-            .build()))
-        .stream()
-        .filter(t -> !internalSchemas.contains(t.get(INTERNAL_SCHEMA_NAME).asText()))
-        // group by schema and table name to handle the case where a table with the same name exists in
-        // multiple schemas.
-        .collect(Collectors.groupingBy(t -> ImmutablePair.of(t.get(INTERNAL_SCHEMA_NAME).asText(), t.get(INTERNAL_TABLE_NAME).asText())))
-        .values()
-        .stream()
-        .map(fields -> new TableInfoInternal(
-            fields.get(0).get(INTERNAL_SCHEMA_NAME).asText(),
-            fields.get(0).get(INTERNAL_TABLE_NAME).asText(),
-            fields.stream()
-                .map(f -> {
-                  JDBCType jdbcType;
-                  try {
-                    jdbcType = JDBCType.valueOf(f.get(INTERNAL_COLUMN_TYPE).asInt());
-                  } catch (IllegalArgumentException ex) {
-                    LOGGER.warn(String.format("Could not convert column: %s from table: %s.%s with type: %s. Casting to VARCHAR.",
-                        f.get(INTERNAL_COLUMN_NAME),
-                        f.get(INTERNAL_SCHEMA_NAME),
-                        f.get(INTERNAL_TABLE_NAME),
-                        f.get(INTERNAL_COLUMN_TYPE)));
-                    jdbcType = JDBCType.VARCHAR;
-                  }
-                  return new ColumnInfo(f.get(INTERNAL_COLUMN_NAME).asText(), jdbcType);
-                })
-                .collect(Collectors.toList())))
-        .collect(Collectors.toList());
+    return new SchemaDiscoverer(database, getExcludedInternalSchemas(), parallelism, isDiscoveredPerTable())
+        .discover(databaseOptional, schemaOptional, tableNames);
   }
 
   private static AutoCloseableIterator<AirbyteMessage> getMessageIterator(AutoCloseableIterator<JsonNode> recordIterator,
                                                                           String streamName,
                                                                           long emittedAt) {
-    return AutoCloseableIterators.transform(recordIterator, r -> new AirbyteMessage()
+    return AutoCloseableIterators.transform(recordIterator, r -> toRecordMessage(r, streamName, emittedAt));
+  }
+
+  static AirbyteMessage toRecordMessage(JsonNode record, String streamName, long emittedAt) {
+    return new AirbyteMessage()
         .withType(Type.RECORD)
         .withRecord(new AirbyteRecordMessage()
             .withStream(streamName)
             .withEmittedAt(emittedAt)
-            .withData(r)));
+            .withData(record));
   }
 
   public static AutoCloseableIterator<JsonNode> queryTableFullRefresh(JdbcDatabase database,
@@ -385,7 +656,7 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
               LOGGER.info("Executing query for table: {}", tableName);
               return preparedStatement;
             },
-            JdbcUtils::rowToJson);
+            new RowToRawJsonMapper());
         return AutoCloseableIterators.fromStream(stream);
       } catch (SQLException e) {
         throw new RuntimeException(e);
@@ -393,13 +664,18 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
     });
   }
 
+  /**
+   * @param cursor only rows with a greater cursor are read, or all rows if it is null.
+   * @param isOrdered whether rows are read in cursor order.
+   */
   public static AutoCloseableIterator<JsonNode> queryTableIncremental(JdbcDatabase database,
                                                                       List<String> columnNames,
                                                                       String schemaName,
                                                                       String tableName,
                                                                       String cursorField,
                                                                       JDBCType cursorFieldType,
-                                                                      String cursor) {
+                                                                      String cursor,
+                                                                      boolean isOrdered) {
 
     LOGGER.info("Queueing query for table: {}", tableName);
     return AutoCloseableIterators.lazyIterator(() -> {
@@ -407,17 +683,73 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
         final Stream<JsonNode> stream = database.query(
             connection -> {
               LOGGER.info("Preparing query for table: {}", tableName);
-              final String sql = String.format("SELECT %s FROM %s WHERE %s > ?",
+              final String quotedCursorField = JdbcUtils.enquoteIdentifier(connection, cursorField);
+              final StringBuilder sql = new StringBuilder(String.format("SELECT %s FROM %s",
+                  JdbcUtils.enquoteIdentifierList(connection, columnNames),
+                  JdbcUtils.getFullyQualifiedTableNameWithQuoting(connection, schemaName, tableName)));
+              if (cursor != null) {
+                sql.append(String.format(" WHERE %s > ?", quotedCursorField));
+              }
+              if (isOrdered) {
+                sql.append(String.format(" ORDER BY %s", quotedCursorField));
+              }
+
+              final PreparedStatement preparedStatement = connection.prepareStatement(sql.toString());
+              if (cursor != null) {
+                JdbcUtils.setStatementField(preparedStatement, 1, cursorFieldType, cursor);
+              }
+              LOGGER.info("Executing query for table: {}", tableName);
+              return preparedStatement;
+            },
+            new RowToRawJsonMapper());
+        return AutoCloseableIterators.fromStream(stream);
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  /**
+   * Reads the rows of a table whose primary key is in the range of the chunk.
+   */
+  public static AutoCloseableIterator<JsonNode> queryTableChunk(JdbcDatabase database,
+                                                                List<String> columnNames,
+                                                                String schemaName,
+                                                                String tableName,
+                                                                String primaryKey,
+                                                                JDBCType primaryKeyType,
+                                                                JdbcChunk chunk) {
+    LOGGER.info("Queueing query for table: {}, lower bound: {}, upper bound: {}", tableName, chunk.getLowerBound(), chunk.getUpperBound());
+    return AutoCloseableIterators.lazyIterator(() -> {
+      try {
+        final Stream<JsonNode> stream = database.query(
+            connection -> {
+              LOGGER.info("Preparing query for table: {}", tableName);
+              final String quotedPrimaryKey = JdbcUtils.enquoteIdentifier(connection, primaryKey);
+              final List<String> conditions = new ArrayList<>();
+              if (chunk.getLowerBound() != null) {
+                conditions.add(String.format("%s >= ?", quotedPrimaryKey));
+              }
+              if (chunk.getUpperBound() != null) {
+                conditions.add(String.format("%s < ?", quotedPrimaryKey));
+              }
+              final String sql = String.format("SELECT %s FROM %s%s",
                   JdbcUtils.enquoteIdentifierList(connection, columnNames),
                   JdbcUtils.getFullyQualifiedTableNameWithQuoting(connection, schemaName, tableName),
-                  JdbcUtils.enquoteIdentifier(connection, cursorField));
+                  conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
 
               final PreparedStatement preparedStatement = connection.prepareStatement(sql);
-              JdbcUtils.setStatementField(preparedStatement, 1, cursorFieldType, cursor);
+              int parameterIndex = 1;
+              if (chunk.getLowerBound() != null) {
+                JdbcUtils.setStatementField(preparedStatement, parameterIndex++, primaryKeyType, chunk.getLowerBound());
+              }
+              if (chunk.getUpperBound() != null) {
+                JdbcUtils.setStatementField(preparedStatement, parameterIndex, primaryKeyType, chunk.getUpperBound());
+              }
               LOGGER.info("Executing query for table: {}", tableName);
               return preparedStatement;
             },
-            JdbcUtils::rowToJson);
+            new RowToRawJsonMapper());
         return AutoCloseableIterators.fromStream(stream);
       } catch (SQLException e) {
         throw new RuntimeException(e);
@@ -427,13 +759,16 @@ public abstract class AbstractJdbcSource extends BaseConnector implements Source
 
   private JdbcDatabase createDatabase(JsonNode config) {
     final JsonNode jdbcConfig = toJdbcConfig(config);
+    final long fetchTargetBytes = getFetchTargetBytes(config);
 
     return Databases.createStreamingJdbcDatabase(
         jdbcConfig.get("username").asText(),
         jdbcConfig.has("password") ? jdbcConfig.get("password").asText() : null,
         jdbcConfig.get("jdbc_url").asText(),
         driverClass,
-        jdbcStreamingQueryConfiguration);
+        jdbcStreamingQueryConfiguration,
+        fetchTargetBytes > 0 ? new AdaptiveFetchSize(fetchTargetBytes) : null,
+        getConnectionPoolSettings(config));
   }
 
   protected static class TableInfo {
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+
+/**
+ * Reads the changes of a database from its change log. When a source provides one, its incremental
+ * streams are read with change data capture instead of by cursor: each table is read in full once
+ * (the snapshot), and from then on only the changes made to it are read, including deletes.
+ *
+ * <p>
+ * Positions are opaque strings that are only compared with {@link #comparePositions}. The position
+ * of each stream is saved as the cursor of the stream.
+ * </p>
+ */
+public interface ChangeDataCapture {
+
+  /**
+   * @return name of the record field that holds the position of the change.
+   */
+  String getPositionField();
+
+  JsonSchemaPrimitive getPositionType();
+
+  /**
+   * Prepares the change log to be read (e.g. creates a replication slot) and returns its current
+   * position. A snapshot taken after this call contains at least all the changes before the
+   * returned position.
+   */
+  String getCurrentPosition(JdbcDatabase database) throws Exception;
+
+  /**
+   * Reads the changes from the position on, until all changes that were in the change log when the
+   * read started have been read. A checkpoint must follow the last change that was read.
+   *
+   * @param position position of a previous checkpoint, or one returned by getCurrentPosition. all
+   *        changes up to this position have been saved, so the change log can discard them.
+   */
+  AutoCloseableIterator<ChangeEvent> read(JdbcDatabase database, String position) throws Exception;
+
+  int comparePositions(String position1, String position2);
+
+}
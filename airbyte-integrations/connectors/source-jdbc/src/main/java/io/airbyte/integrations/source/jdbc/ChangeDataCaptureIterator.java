@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.AbstractIterator;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Turns the changes read by {@link ChangeDataCapture} into the records of the streams that are read
+ * with change data capture, and their checkpoints into state messages.
+ *
+ * <p>
+ * Each record gets the position of its change and when the change was committed. Deletes are
+ * emitted as records too, with the time of the delete set. A change is skipped if its stream was
+ * read past its position already, which is the case for the changes that a snapshot of the stream
+ * already contains. A state message is emitted at the first checkpoint after checkpointRecords
+ * records or checkpointInterval, whichever comes first, and after the last change.
+ * </p>
+ */
+class ChangeDataCaptureIterator extends AbstractIterator<AirbyteMessage> implements Iterator<AirbyteMessage> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangeDataCaptureIterator.class);
+
+  static final String CDC_UPDATED_AT = "_ab_cdc_updated_at";
+  static final String CDC_DELETED_AT = "_ab_cdc_deleted_at";
+
+  private final Iterator<ChangeEvent> eventIterator;
+  private final ChangeDataCapture changeDataCapture;
+  private final Map<String, Set<String>> streamNameToSelectedFields;
+  private final JdbcStateManager stateManager;
+  private final long emittedAt;
+  // 0 if state should not be emitted after a number of records.
+  private final long checkpointRecords;
+  // null if state should not be emitted after an amount of time.
+  private final Duration checkpointInterval;
+  private final Supplier<Instant> nowSupplier;
+
+  private boolean hasEmittedFinalState;
+  // position of the last checkpoint that has not been emitted yet.
+  private String checkpointPosition;
+  private long recordsSinceCheckpoint;
+  private long recordCount;
+  private Instant lastCheckpoint;
+
+  /**
+   * @param streamNameToSelectedFields the streams that are read with change data capture, and the
+   *        fields of each that are selected in the catalog.
+   */
+  public ChangeDataCaptureIterator(Iterator<ChangeEvent> eventIterator,
+                                   ChangeDataCapture changeDataCapture,
+                                   Map<String, Set<String>> streamNameToSelectedFields,
+                                   JdbcStateManager stateManager,
+                                   long emittedAt,
+                                   long checkpointRecords,
+                                   Duration checkpointInterval,
+                                   Supplier<Instant> nowSupplier) {
+    this.eventIterator = eventIterator;
+    this.changeDataCapture = changeDataCapture;
+    this.streamNameToSelectedFields = streamNameToSelectedFields;
+    this.stateManager = stateManager;
+    this.emittedAt = emittedAt;
+    this.checkpointRecords = checkpointRecords;
+    this.checkpointInterval = checkpointInterval;
+    this.nowSupplier = nowSupplier;
+    this.lastCheckpoint = nowSupplier.get();
+  }
+
+  @Override
+  protected AirbyteMessage computeNext() {
+    while (eventIterator.hasNext()) {
+      final ChangeEvent event = eventIterator.next();
+      if (event.isCheckpoint()) {
+        checkpointPosition = event.getPosition();
+        if (isCheckpointDue()) {
+          LOGGER.info("Checkpoint after {} changes. Position: {}", recordsSinceCheckpoint, checkpointPosition);
+          return createStateMessage();
+        }
+      } else if (isRead(event)) {
+        recordsSinceCheckpoint++;
+        recordCount++;
+        return toRecordMessage(event);
+      }
+    }
+
+    if (!hasEmittedFinalState) {
+      hasEmittedFinalState = true;
+      LOGGER.info("Read {} changes. Position: {}", recordCount, checkpointPosition);
+      return createStateMessage();
+    }
+    return endOfData();
+  }
+
+  private boolean isRead(ChangeEvent event) {
+    if (!streamNameToSelectedFields.containsKey(event.getStreamName())) {
+      return false;
+    }
+    final String streamPosition = stateManager.getCursor(event.getStreamName()).orElse(null);
+    return streamPosition == null || changeDataCapture.comparePositions(event.getPosition(), streamPosition) >= 0;
+  }
+
+  private boolean isCheckpointDue() {
+    if (recordsSinceCheckpoint == 0) {
+      return false;
+    }
+    return (checkpointRecords > 0 && recordsSinceCheckpoint >= checkpointRecords)
+        || (checkpointInterval != null && Duration.between(lastCheckpoint, nowSupplier.get()).compareTo(checkpointInterval) >= 0);
+  }
+
+  private AirbyteMessage toRecordMessage(ChangeEvent event) {
+    final Set<String> selectedFields = streamNameToSelectedFields.get(event.getStreamName());
+    final ObjectNode data = JsonNodeFactory.instance.objectNode();
+    event.getData().fields().forEachRemaining(field -> {
+      if (selectedFields.contains(field.getKey())) {
+        data.set(field.getKey(), field.getValue());
+      }
+    });
+
+    final String positionField = changeDataCapture.getPositionField();
+    if (changeDataCapture.getPositionType() == JsonSchemaPrimitive.NUMBER) {
+      // numeric positions are integers.
+      data.put(positionField, Long.parseLong(event.getPosition()));
+    } else {
+      data.put(positionField, event.getPosition());
+    }
+    final String changedAt = event.getChangedAt() == null ? null : JdbcUtils.toISO8601String(event.getChangedAt().toEpochMilli());
+    data.put(CDC_UPDATED_AT, changedAt);
+    data.put(CDC_DELETED_AT, event.isDelete() ? changedAt : null);
+
+    return AbstractJdbcSource.toRecordMessage(data, event.getStreamName(), emittedAt);
+  }
+
+  // moves the position of every stream that has not been read past the checkpoint yet.
+  private AirbyteMessage createStateMessage() {
+    AirbyteStateMessage stateMessage = null;
+    for (final String streamName : streamNameToSelectedFields.keySet()) {
+      final String streamPosition = stateManager.getCursor(streamName).orElse(null);
+      final boolean isAdvanced = checkpointPosition != null
+          && (streamPosition == null || changeDataCapture.comparePositions(streamPosition, checkpointPosition) < 0);
+      stateMessage = stateManager.updateAndEmit(streamName, isAdvanced ? checkpointPosition : streamPosition);
+    }
+
+    recordsSinceCheckpoint = 0;
+    lastCheckpoint = nowSupplier.get();
+    return new AirbyteMessage().withType(Type.STATE).withState(stateMessage);
+  }
+
+}
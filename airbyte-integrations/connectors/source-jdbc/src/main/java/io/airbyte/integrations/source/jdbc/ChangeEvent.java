@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Instant;
+
+/**
+ * A change read from the change log of a database by {@link ChangeDataCapture}. It is either a
+ * changed row, or a checkpoint that marks that all changes with a smaller position have been read.
+ */
+public class ChangeEvent {
+
+  private final String streamName;
+  private final String position;
+  private final JsonNode data;
+  private final Instant changedAt;
+  private final boolean isDelete;
+
+  private ChangeEvent(String streamName, String position, JsonNode data, Instant changedAt, boolean isDelete) {
+    this.streamName = streamName;
+    this.position = position;
+    this.data = data;
+    this.changedAt = changedAt;
+    this.isDelete = isDelete;
+  }
+
+  /**
+   * @param streamName the fully qualified name of the changed table.
+   * @param position position of the change in the change log. the change is not read again once a
+   *        checkpoint with a greater position has been saved.
+   * @param data the columns of the row after the change, or the columns that are known of a deleted
+   *        row.
+   * @param changedAt when the change was committed, if the change log records it.
+   */
+  public static ChangeEvent change(String streamName, String position, JsonNode data, Instant changedAt, boolean isDelete) {
+    return new ChangeEvent(streamName, position, data, changedAt, isDelete);
+  }
+
+  public static ChangeEvent checkpoint(String position) {
+    return new ChangeEvent(null, position, null, null, false);
+  }
+
+  public boolean isCheckpoint() {
+    return streamName == null;
+  }
+
+  public String getStreamName() {
+    return streamName;
+  }
+
+  public String getPosition() {
+    return position;
+  }
+
+  public JsonNode getData() {
+    return data;
+  }
+
+  public Instant getChangedAt() {
+    return changedAt;
+  }
+
+  public boolean isDelete() {
+    return isDelete;
+  }
+
+  @Override
+  public String toString() {
+    return "ChangeEvent{" +
+        "streamName='" + streamName + '\'' +
+        ", position='" + position + '\'' +
+        ", data=" + data +
+        ", changedAt=" + changedAt +
+        ", isDelete=" + isDelete +
+        '}';
+  }
+
+}
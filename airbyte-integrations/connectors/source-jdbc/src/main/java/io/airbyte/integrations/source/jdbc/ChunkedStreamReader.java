@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.commons.util.AutoCloseableIterators;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.ColumnInfo;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.TableInfoInternal;
+import io.airbyte.integrations.source.jdbc.models.JdbcChunk;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import java.math.BigInteger;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads a table in ranges of its primary key, several ranges at a time. This is only possible for
+ * tables with a single column integer primary key.
+ *
+ * <p>
+ * For the initial read of an incremental stream, a state message is emitted each time a range has
+ * been read. It records which ranges are done, so that a retry only reads the remaining ranges, and
+ * the largest cursor value in the table when the ranges were planned. Once all ranges are done, that
+ * value becomes the cursor. A larger cursor value seen while reading cannot be used instead, because
+ * a row of a range that was already read may have been updated to a cursor value below it.
+ * Full refresh streams do not emit progress, because destinations replace the whole table on every
+ * full refresh, so a retry has to read all of it again anyway.
+ * </p>
+ */
+class ChunkedStreamReader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedStreamReader.class);
+
+  private static final String JDBC_COLUMN_COLUMN_NAME = "COLUMN_NAME";
+  private static final Set<JDBCType> CHUNKABLE_TYPES = Set.of(JDBCType.TINYINT, JDBCType.SMALLINT, JDBCType.INTEGER, JDBCType.BIGINT);
+  // keeps the number of queries reasonable when the primary key values are sparse.
+  private static final long MAX_CHUNKS = 10000L;
+  private static final int QUEUE_CAPACITY = 10000;
+
+  /**
+   * @return the primary key of the table, if the table can be read in chunks.
+   */
+  static Optional<ColumnInfo> getChunkablePrimaryKey(JdbcDatabase database, TableInfoInternal table) throws SQLException {
+    final List<String> primaryKeys = database.bufferedResultSetQuery(
+        conn -> conn.getMetaData().getPrimaryKeys(null, table.getSchemaName(), table.getName()),
+        resultSet -> resultSet.getString(JDBC_COLUMN_COLUMN_NAME));
+    if (primaryKeys.size() != 1) {
+      LOGGER.info("Not reading table {}.{} in chunks because it does not have a single column primary key.", table.getSchemaName(), table.getName());
+      return Optional.empty();
+    }
+
+    final Optional<ColumnInfo> primaryKey = table.getFields().stream()
+        .filter(field -> field.getColumnName().equals(primaryKeys.get(0)) && CHUNKABLE_TYPES.contains(field.getColumnType()))
+        .findFirst();
+    if (primaryKey.isEmpty()) {
+      LOGGER.info("Not reading table {}.{} in chunks because its primary key is not an integer.", table.getSchemaName(), table.getName());
+    }
+    return primaryKey;
+  }
+
+  /**
+   * @param cursorField set for the initial read of an incremental stream.
+   */
+  @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+  static AutoCloseableIterator<AirbyteMessage> read(JdbcDatabase database,
+                                                    String streamName,
+                                                    List<String> selectedDatabaseFields,
+                                                    TableInfoInternal table,
+                                                    ColumnInfo primaryKey,
+                                                    Optional<String> cursorField,
+                                                    JdbcStateManager stateManager,
+                                                    long emittedAt,
+                                                    long chunkSize,
+                                                    int parallelism) {
+    return AutoCloseableIterators.lazyIterator(() -> {
+      final List<JdbcChunk> chunks;
+      final String highWaterMark;
+      if (cursorField.isPresent() && stateManager.getChunks(streamName).isPresent()) {
+        chunks = stateManager.getChunks(streamName).get().stream().map(Jsons::clone).collect(Collectors.toList());
+        highWaterMark = stateManager.getChunksHighWaterMark(streamName).orElse(null);
+        LOGGER.info("Resuming chunked read of stream {}. {} of {} chunks were already read.",
+            streamName, chunks.stream().filter(ChunkedStreamReader::isCompleted).count(), chunks.size());
+      } else {
+        // queried before any chunk is read, so that every row with a larger cursor is read again by the
+        // next sync.
+        highWaterMark = cursorField.isPresent() ? queryMaxCursor(database, table, cursorField.get()) : null;
+        chunks = planChunks(queryMinAndMax(database, table, primaryKey.getColumnName()), chunkSize);
+        LOGGER.info("Reading stream {} in {} chunks.", streamName, chunks.size());
+      }
+
+      final ChunkProgress progress = new ChunkProgress(streamName, chunks, cursorField.isPresent(), highWaterMark, stateManager);
+      final Map<String, AutoCloseableIterator<AirbyteMessage>> chunkIterators = new LinkedHashMap<>();
+      for (int i = 0; i < chunks.size(); i++) {
+        final JdbcChunk chunk = chunks.get(i);
+        if (!isCompleted(chunk)) {
+          final int chunkIndex = i;
+          final AutoCloseableIterator<JsonNode> queryIterator = AbstractJdbcSource.queryTableChunk(
+              database,
+              selectedDatabaseFields,
+              table.getSchemaName(),
+              table.getName(),
+              primaryKey.getColumnName(),
+              primaryKey.getColumnType(),
+              chunk);
+          chunkIterators.put(String.valueOf(chunkIndex),
+              AutoCloseableIterators.transform(queryIterator, record -> AbstractJdbcSource.toRecordMessage(record, streamName, emittedAt)));
+        }
+      }
+
+      final ConcurrentReadIterator chunksIterator = new ConcurrentReadIterator(
+          chunkIterators,
+          parallelism,
+          QUEUE_CAPACITY,
+          (chunkIndex, message) -> message,
+          chunkIndex -> progress.completeChunk(Integer.parseInt(chunkIndex)));
+      return AutoCloseableIterators.concatWithEagerClose(List.of(
+          chunksIterator,
+          AutoCloseableIterators.lazyIterator(() -> AutoCloseableIterators.fromIterator(progress.complete().stream().iterator()))));
+    });
+  }
+
+  private static boolean isCompleted(JdbcChunk chunk) {
+    return Boolean.TRUE.equals(chunk.getCompleted());
+  }
+
+  private static Optional<long[]> queryMinAndMax(JdbcDatabase database, TableInfoInternal table, String primaryKey) {
+    try {
+      return database.bufferedResultSetQuery(
+          conn -> conn.createStatement().executeQuery(String.format("SELECT MIN(%s), MAX(%s) FROM %s",
+              JdbcUtils.enquoteIdentifier(conn, primaryKey),
+              JdbcUtils.enquoteIdentifier(conn, primaryKey),
+              JdbcUtils.getFullyQualifiedTableNameWithQuoting(conn, table.getSchemaName(), table.getName()))),
+          ChunkedStreamReader::toMinAndMax)
+          .get(0);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String queryMaxCursor(JdbcDatabase database, TableInfoInternal table, String cursorField) {
+    try {
+      return database.bufferedResultSetQuery(
+          conn -> conn.createStatement().executeQuery(String.format("SELECT MAX(%s) AS %s FROM %s",
+              JdbcUtils.enquoteIdentifier(conn, cursorField),
+              JdbcUtils.enquoteIdentifier(conn, cursorField),
+              JdbcUtils.getFullyQualifiedTableNameWithQuoting(conn, table.getSchemaName(), table.getName()))),
+          JdbcUtils::rowToJson)
+          .stream()
+          .map(row -> IncrementalUtils.getCursorValue(row, cursorField))
+          .findFirst()
+          .orElse(null);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Optional<long[]> toMinAndMax(ResultSet resultSet) throws SQLException {
+    final long min = resultSet.getLong(1);
+    // both are null when the table is empty.
+    if (resultSet.wasNull()) {
+      return Optional.empty();
+    }
+    return Optional.of(new long[] {min, resultSet.getLong(2)});
+  }
+
+  /**
+   * Splits the range between the smallest and the largest primary key into chunks of chunkSize
+   * values. The first and last chunks are open ended, so that rows inserted outside of the range
+   * while the table is being read are not missed.
+   */
+  @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+  @VisibleForTesting
+  static List<JdbcChunk> planChunks(Optional<long[]> minAndMax, long chunkSize) {
+    Preconditions.checkArgument(chunkSize > 0, "chunkSize must be positive.");
+    final List<JdbcChunk> chunks = new ArrayList<>();
+    if (minAndMax.isEmpty()) {
+      chunks.add(new JdbcChunk().withCompleted(false));
+      return chunks;
+    }
+
+    final long min = minAndMax.get()[0];
+    final long max = minAndMax.get()[1];
+    final BigInteger span = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+    final long size = Math.max(chunkSize, span.add(BigInteger.valueOf(MAX_CHUNKS - 1)).divide(BigInteger.valueOf(MAX_CHUNKS)).longValueExact());
+
+    long lower = min;
+    while (true) {
+      final boolean isFirst = chunks.isEmpty();
+      final boolean isLast = lower > Long.MAX_VALUE - size || lower + size > max;
+      chunks.add(new JdbcChunk()
+          .withLowerBound(isFirst ? null : String.valueOf(lower))
+          .withUpperBound(isLast ? null : String.valueOf(lower + size))
+          .withCompleted(false));
+      if (isLast) {
+        return chunks;
+      }
+      lower += size;
+    }
+  }
+
+  /**
+   * Tracks which chunks have been read. Everything happens on the thread consuming the records.
+   */
+  private static class ChunkProgress {
+
+    private final String streamName;
+    private final List<JdbcChunk> chunks;
+    private final boolean isIncremental;
+    private final String highWaterMark;
+    private final JdbcStateManager stateManager;
+
+    private ChunkProgress(String streamName, List<JdbcChunk> chunks, boolean isIncremental, String highWaterMark, JdbcStateManager stateManager) {
+      this.streamName = streamName;
+      this.chunks = chunks;
+      this.isIncremental = isIncremental;
+      this.highWaterMark = highWaterMark;
+      this.stateManager = stateManager;
+    }
+
+    private Optional<AirbyteMessage> completeChunk(int chunkIndex) {
+      chunks.get(chunkIndex).setCompleted(true);
+      if (!isIncremental) {
+        return Optional.empty();
+      }
+      return Optional.of(new AirbyteMessage().withType(Type.STATE).withState(stateManager.updateChunksAndEmit(streamName, chunks, highWaterMark)));
+    }
+
+    private Optional<AirbyteMessage> complete() {
+      if (!isIncremental) {
+        return Optional.empty();
+      }
+
+      LOGGER.info("Read all chunks of stream {}. New cursor: {}", streamName, highWaterMark);
+      if (highWaterMark == null) {
+        LOGGER.warn("Cursor for stream {} was null. This stream will replicate all records on the next run", streamName);
+      }
+      return Optional.of(new AirbyteMessage().withType(Type.STATE).withState(stateManager.updateAndEmit(streamName, highWaterMark)));
+    }
+
+  }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.protocol.models.AirbyteMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads several streams at the same time, each on its own thread, and merges their messages through
+ * a bounded queue. The messages of a single stream keep their order, but the messages of different
+ * streams are interleaved in whatever order they are read.
+ *
+ * <p>
+ * Each stream iterator is closed as soon as it is exhausted, so that the connection it holds goes
+ * back to the pool for the next stream. A stream iterator is only ever closed by the thread that
+ * reads it, or, if it was never read, by {@link #close()}. Every message is passed through the mapper, together with
+ * the name of its stream, on the thread consuming this iterator. Once all messages of a stream have
+ * been consumed, the end of stream function can add one more message for it, also on the consuming
+ * thread.
+ * </p>
+ */
+class ConcurrentReadIterator extends AbstractIterator<AirbyteMessage> implements AutoCloseableIterator<AirbyteMessage> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentReadIterator.class);
+
+  private static final long POLL_TIMEOUT_MILLIS = 100L;
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+  private final Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator;
+  private final BiFunction<String, AirbyteMessage, AirbyteMessage> mapper;
+  private final Function<String, Optional<AirbyteMessage>> onStreamEnd;
+  private final ExecutorService executor;
+  private final BlockingQueue<Entry> queue;
+  // streams claimed by a reading thread or, once closed, by the closing thread.
+  private final Set<String> claimedStreams;
+
+  private boolean hasStarted;
+  private int remainingStreams;
+  private volatile boolean hasClosed;
+
+  /**
+   * @param streamNameToIterator iterator of each stream, by stream name.
+   * @param parallelism number of streams read at the same time.
+   * @param queueCapacity number of messages that can be waiting to be consumed, across all streams.
+   * @param mapper applied to every message before it is returned.
+   */
+  ConcurrentReadIterator(Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator,
+                         int parallelism,
+                         int queueCapacity,
+                         BiFunction<String, AirbyteMessage, AirbyteMessage> mapper) {
+    this(streamNameToIterator, parallelism, queueCapacity, mapper, streamName -> Optional.empty());
+  }
+
+  /**
+   * @param onStreamEnd called with the name of each stream once all of its messages have been
+   *        consumed. the message it returns, if any, is returned right after them.
+   */
+  ConcurrentReadIterator(Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator,
+                         int parallelism,
+                         int queueCapacity,
+                         BiFunction<String, AirbyteMessage, AirbyteMessage> mapper,
+                         Function<String, Optional<AirbyteMessage>> onStreamEnd) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive.");
+    this.streamNameToIterator = streamNameToIterator;
+    this.mapper = mapper;
+    this.onStreamEnd = onStreamEnd;
+    this.executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder().setNameFormat("read-stream-%d").setDaemon(true).build());
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.claimedStreams = ConcurrentHashMap.newKeySet();
+    this.hasStarted = false;
+    this.remainingStreams = streamNameToIterator.size();
+    this.hasClosed = false;
+  }
+
+  @Override
+  protected AirbyteMessage computeNext() {
+    Preconditions.checkState(!hasClosed, "Iterator has been closed.");
+    if (!hasStarted) {
+      streamNameToIterator.forEach((streamName, iterator) -> executor.submit(() -> readStream(streamName, iterator)));
+      hasStarted = true;
+    }
+
+    while (remainingStreams > 0) {
+      final Entry entry;
+      try {
+        entry = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+
+      if (entry.failure != null) {
+        throw new RuntimeException(String.format("Failed to read stream %s.", entry.streamName), entry.failure);
+      } else if (entry.message == null) {
+        remainingStreams--;
+        final Optional<AirbyteMessage> endMessage = onStreamEnd.apply(entry.streamName);
+        if (endMessage.isPresent()) {
+          return endMessage.get();
+        }
+      } else {
+        return mapper.apply(entry.streamName, entry.message);
+      }
+    }
+    return endOfData();
+  }
+
+  private void readStream(String streamName, AutoCloseableIterator<AirbyteMessage> iterator) {
+    if (!claimedStreams.add(streamName)) {
+      // closed before this stream was started.
+      return;
+    }
+
+    try (iterator) {
+      while (!hasClosed && iterator.hasNext()) {
+        put(new Entry(streamName, iterator.next(), null));
+      }
+    } catch (Throwable e) {
+      LOGGER.error("Failed to read stream {}.", streamName, e);
+      put(new Entry(streamName, null, e));
+      return;
+    }
+    put(new Entry(streamName, null, null));
+  }
+
+  private void put(Entry entry) {
+    try {
+      // the consumer may stop taking messages because it was closed, so the producer cannot block
+      // indefinitely.
+      while (!hasClosed && !queue.offer(entry, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        // wait for the consumer to free up space.
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    hasClosed = true;
+    executor.shutdownNow();
+
+    // streams that were never started have to be closed here. the others are closed by the thread
+    // reading them, which stops at the next message now that this iterator is closed.
+    final List<Exception> exceptions = new ArrayList<>();
+    for (final Map.Entry<String, AutoCloseableIterator<AirbyteMessage>> stream : streamNameToIterator.entrySet()) {
+      if (!claimedStreams.add(stream.getKey())) {
+        continue;
+      }
+      try {
+        stream.getValue().close();
+      } catch (Exception e) {
+        LOGGER.error("exception while closing", e);
+        exceptions.add(e);
+      }
+    }
+
+    if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      LOGGER.warn("Streams were still being read {} seconds after closing, they will be closed once their current read returns.",
+          SHUTDOWN_TIMEOUT_SECONDS);
+    }
+    if (!exceptions.isEmpty()) {
+      throw exceptions.get(0);
+    }
+  }
+
+  /**
+   * A message of a stream, the failure of a stream, or, if neither is set, the end of a stream.
+   */
+  private static class Entry {
+
+    private final String streamName;
+    private final AirbyteMessage message;
+    private final Throwable failure;
+
+    private Entry(String streamName, AirbyteMessage message, Throwable failure) {
+      this.streamName = streamName;
+      this.message = message;
+      this.failure = failure;
+    }
+
+  }
+
+}
@@ -24,11 +24,21 @@
 
 package io.airbyte.integrations.source.jdbc;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 public class IncrementalUtils {
 
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
   public static String getCursorField(ConfiguredAirbyteStream stream) {
     if (stream.getCursorField().size() == 0) {
       throw new IllegalStateException("No cursor field specified for stream attempting to do incremental.");
@@ -57,6 +67,36 @@ public class IncrementalUtils {
     return JsonSchemaPrimitive.valueOf(stream.getStream().getJsonSchema().get("properties").get(cursorField).get("type").asText().toUpperCase());
   }
 
+  /**
+   * @param record a record, which can also be json text read straight from the database (see
+   *        RowToRawJsonMapper).
+   * @return the text of the cursor value of the record, or null if the record has none.
+   */
+  public static String getCursorValue(JsonNode record, String cursorField) {
+    if (record instanceof POJONode && ((POJONode) record).getPojo() instanceof RawValue) {
+      return getCursorValue((String) ((RawValue) ((POJONode) record).getPojo()).rawValue(), cursorField);
+    }
+    return record.hasNonNull(cursorField) ? record.get(cursorField).asText() : null;
+  }
+
+  // scans the top level fields of the json text for the cursor, without building a tree.
+  private static String getCursorValue(String record, String cursorField) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(record)) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        if (fieldName.equals(cursorField)) {
+          return value == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+        parser.skipChildren();
+      }
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   // x < 0 mean replace original
   // x == 0 means keep original
   // x > 0 means keep original
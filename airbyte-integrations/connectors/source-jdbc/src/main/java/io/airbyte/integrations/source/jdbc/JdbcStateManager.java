@@ -29,6 +29,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.source.jdbc.models.JdbcChunk;
 import io.airbyte.integrations.source.jdbc.models.JdbcState;
 import io.airbyte.integrations.source.jdbc.models.JdbcStreamState;
 import io.airbyte.protocol.models.AirbyteStateMessage;
@@ -37,6 +38,7 @@ import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -101,6 +103,9 @@ public class JdbcStateManager {
 
     final String cursor;
     final String cursorField;
+    // progress of a chunked initial read is only valid for the cursor field it was recorded with.
+    List<JdbcChunk> chunks = null;
+    String chunksHighWaterMark = null;
 
     // if cursor field is set in catalog.
     if (streamOptional.map(ConfiguredAirbyteStream::getCursorField).isPresent()) {
@@ -114,6 +119,10 @@ public class JdbcStateManager {
         if (stateOptional.map(JdbcStreamState::getCursorField).equals(streamOptional.map(ConfiguredAirbyteStream::getCursorField))) {
           cursor = stateOptional.map(JdbcStreamState::getCursor).orElse(null);
           LOGGER.info("Found matching cursor in state. Stream: {}. Cursor Field: {} Value: {}", streamName, cursorField, cursor);
+          if (cursor == null) {
+            chunks = stateOptional.map(JdbcStreamState::getChunks).orElse(null);
+            chunksHighWaterMark = stateOptional.map(JdbcStreamState::getChunksHighWaterMark).orElse(null);
+          }
           // if cursor field in catalog and state are different.
         } else {
           cursor = null;
@@ -136,7 +145,7 @@ public class JdbcStateManager {
       cursor = null;
     }
 
-    return new CursorInfo(originalCursorField, originalCursor, cursorField, cursor);
+    return new CursorInfo(originalCursorField, originalCursor, cursorField, cursor).setChunks(chunks, chunksHighWaterMark);
   }
 
   private Optional<CursorInfo> getCursorInfo(String streamName) {
@@ -159,10 +168,53 @@ public class JdbcStateManager {
     return getCursorInfo(streamName).map(CursorInfo::getCursor);
   }
 
+  /**
+   * @return the chunks of an unfinished chunked initial read of the stream, if there is one.
+   */
+  public Optional<List<JdbcChunk>> getChunks(String streamName) {
+    return getCursorInfo(streamName).map(CursorInfo::getChunks);
+  }
+
+  public Optional<String> getChunksHighWaterMark(String streamName) {
+    return getCursorInfo(streamName).map(CursorInfo::getChunksHighWaterMark);
+  }
+
+  /**
+   * Records that the stream has been read up to the cursor. This also ends a chunked read of the
+   * stream, if there was one.
+   */
   synchronized public AirbyteStateMessage updateAndEmit(String streamName, String cursor) {
     final Optional<CursorInfo> cursorInfo = getCursorInfo(streamName);
     Preconditions.checkState(cursorInfo.isPresent(), "Could not find cursor information for stream: " + streamName);
-    cursorInfo.get().setCursor(cursor);
+    cursorInfo.get().setCursor(cursor).setChunks(null, null);
+
+    return toState();
+  }
+
+  /**
+   * Records the progress of a chunked read of the stream. The cursor is left untouched until all
+   * chunks have been read.
+   */
+  synchronized public AirbyteStateMessage updateChunksAndEmit(String streamName, List<JdbcChunk> chunks, String chunksHighWaterMark) {
+    final Optional<CursorInfo> cursorInfo = getCursorInfo(streamName);
+    Preconditions.checkState(cursorInfo.isPresent(), "Could not find cursor information for stream: " + streamName);
+    cursorInfo.get().setChunks(chunks.stream().map(Jsons::clone).collect(Collectors.toList()), chunksHighWaterMark);
+
+    return toState();
+  }
+
+  /**
+   * Copies the state of a single stream, as it was recorded in a state message emitted by another
+   * state manager.
+   */
+  synchronized public AirbyteStateMessage updateAndEmit(AirbyteStateMessage stateMessage, String streamName) {
+    final Optional<CursorInfo> cursorInfo = getCursorInfo(streamName);
+    Preconditions.checkState(cursorInfo.isPresent(), "Could not find cursor information for stream: " + streamName);
+    final JdbcStreamState streamState = Jsons.object(stateMessage.getData(), JdbcState.class).getStreams().stream()
+        .filter(s -> s.getStreamName().equals(streamName))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("State message does not contain stream: " + streamName));
+    cursorInfo.get().setCursor(streamState.getCursor()).setChunks(streamState.getChunks(), streamState.getChunksHighWaterMark());
 
     return toState();
   }
@@ -174,7 +226,9 @@ public class JdbcStateManager {
             .map(e -> new JdbcStreamState()
                 .withStreamName(e.getKey())
                 .withCursorField(e.getValue().getCursorField() == null ? Collections.emptyList() : Lists.newArrayList(e.getValue().getCursorField()))
-                .withCursor(e.getValue().getCursor()))
+                .withCursor(e.getValue().getCursor())
+                .withChunks(e.getValue().getChunks() == null ? Collections.emptyList() : e.getValue().getChunks())
+                .withChunksHighWaterMark(e.getValue().getChunksHighWaterMark()))
             .collect(Collectors.toList()));
 
     return new AirbyteStateMessage().withData(Jsons.jsonNode(jdbcState));
@@ -188,6 +242,8 @@ public class JdbcStateManager {
 
     private final String cursorField;
     private String cursor;
+    private List<JdbcChunk> chunks;
+    private String chunksHighWaterMark;
 
     public CursorInfo(String originalCursorField, String originalCursor, String cursorField, String cursor) {
       this.originalCursorField = originalCursorField;
@@ -212,12 +268,29 @@ public class JdbcStateManager {
       return cursor;
     }
 
+    public List<JdbcChunk> getChunks() {
+      return chunks;
+    }
+
+    public String getChunksHighWaterMark() {
+      return chunksHighWaterMark;
+    }
+
     @SuppressWarnings("UnusedReturnValue")
     public CursorInfo setCursor(String cursor) {
       this.cursor = cursor;
       return this;
     }
 
+    @SuppressWarnings("UnusedReturnValue")
+    public CursorInfo setChunks(List<JdbcChunk> chunks, String chunksHighWaterMark) {
+      // states without chunks are deserialized with an empty list.
+      final boolean hasChunks = chunks != null && !chunks.isEmpty();
+      this.chunks = hasChunks ? chunks : null;
+      this.chunksHighWaterMark = hasChunks ? chunksHighWaterMark : null;
+      return this;
+    }
+
     @Override
     public boolean equals(Object o) {
       if (this == o) {
@@ -228,12 +301,13 @@ public class JdbcStateManager {
       }
       CursorInfo that = (CursorInfo) o;
       return Objects.equals(originalCursorField, that.originalCursorField) && Objects.equals(originalCursor, that.originalCursor)
-          && Objects.equals(cursorField, that.cursorField) && Objects.equals(cursor, that.cursor);
+          && Objects.equals(cursorField, that.cursorField) && Objects.equals(cursor, that.cursor) && Objects.equals(chunks, that.chunks)
+          && Objects.equals(chunksHighWaterMark, that.chunksHighWaterMark);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(originalCursorField, originalCursor, cursorField, cursor);
+      return Objects.hash(originalCursorField, originalCursor, cursorField, cursor, chunks, chunksHighWaterMark);
     }
 
     @Override
@@ -243,6 +317,8 @@ public class JdbcStateManager {
           ", originalCursor='" + originalCursor + '\'' +
           ", cursorField='" + cursorField + '\'' +
           ", cursor='" + cursor + '\'' +
+          ", chunks=" + chunks +
+          ", chunksHighWaterMark='" + chunksHighWaterMark + '\'' +
           '}';
     }
 
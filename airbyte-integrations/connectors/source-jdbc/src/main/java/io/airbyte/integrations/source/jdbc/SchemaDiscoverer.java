@@ -0,0 +1,300 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.ColumnInfo;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.TableInfoInternal;
+import java.sql.DatabaseMetaData;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Discovers the columns of the tables of a database from its jdbc metadata, one schema at a time,
+ * or one table at a time for databases whose driver reads the columns of each table separately
+ * anyway. Several schemas or tables are discovered at the same time, each over its own connection
+ * of the pool.
+ *
+ * <p>
+ * When only some tables are needed, only the schemas, or tables, that contain them are discovered.
+ * </p>
+ */
+class SchemaDiscoverer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaDiscoverer.class);
+
+  private static final String JDBC_COLUMN_DATABASE_NAME = "TABLE_CAT";
+  private static final String JDBC_COLUMN_SCHEMA_NAME = "TABLE_SCHEM";
+  private static final String JDBC_COLUMN_TABLE_NAME = "TABLE_NAME";
+  private static final String JDBC_COLUMN_COLUMN_NAME = "COLUMN_NAME";
+  private static final String JDBC_COLUMN_DATA_TYPE = "DATA_TYPE";
+  // progress is logged each time this share of the schemas or tables has been discovered.
+  private static final int PROGRESS_LOG_STEPS = 10;
+
+  private final JdbcDatabase database;
+  private final Set<String> excludedSchemas;
+  private final int parallelism;
+  private final boolean isPerTable;
+
+  /**
+   * @param isPerTable whether the columns are discovered one table at a time rather than one schema
+   *        at a time.
+   */
+  public SchemaDiscoverer(JdbcDatabase database, Set<String> excludedSchemas, int parallelism, boolean isPerTable) {
+    this.database = database;
+    this.excludedSchemas = excludedSchemas;
+    this.parallelism = parallelism;
+    this.isPerTable = isPerTable;
+  }
+
+  /**
+   * @param tableNames the fully qualified names of the tables to discover, or null to discover all
+   *        of them. Other tables of the same schemas may be discovered too.
+   */
+  @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+  public List<TableInfoInternal> discover(Optional<String> databaseOptional, Optional<String> schemaOptional, Set<String> tableNames)
+      throws Exception {
+    final List<MetadataScope> scopes = isPerTable
+        ? listTables(databaseOptional.orElse(null), schemaOptional.orElse(null), tableNames)
+        : listSchemas(databaseOptional.orElse(null), schemaOptional.orElse(null), tableNames);
+
+    final List<DiscoveredColumn> columns = discoverColumns(scopes);
+
+    // group by schema and table name to handle the case where a table with the same name exists in
+    // multiple schemas.
+    final Map<ImmutablePair<String, String>, List<ColumnInfo>> tableToColumns = new LinkedHashMap<>();
+    for (final DiscoveredColumn column : columns) {
+      tableToColumns.computeIfAbsent(ImmutablePair.of(column.schemaName, column.tableName), k -> new ArrayList<>()).add(column.column);
+    }
+    return tableToColumns.entrySet().stream()
+        .map(e -> new TableInfoInternal(e.getKey().getLeft(), e.getKey().getRight(), e.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  private List<MetadataScope> listSchemas(String databaseName, String schemaName, Set<String> tableNames) throws SQLException {
+    if (schemaName != null) {
+      return List.of(new MetadataScope(databaseName, schemaName, null));
+    }
+
+    final List<MetadataScope> schemas = database.bufferedResultSetQuery(
+        connection -> connection.getMetaData().getSchemas(databaseName, null),
+        resultSet -> new MetadataScope(databaseName, resultSet.getString(JDBC_COLUMN_SCHEMA_NAME), null));
+    // databases without schemas, whose tables are namespaced by database.
+    if (schemas.isEmpty()) {
+      return List.of(new MetadataScope(databaseName, null, null));
+    }
+
+    return schemas.stream()
+        .filter(scope -> !excludedSchemas.contains(scope.schemaName))
+        .filter(scope -> tableNames == null || tableNames.stream().anyMatch(name -> name.startsWith(scope.schemaName + ".")))
+        .collect(Collectors.toList());
+  }
+
+  private List<MetadataScope> listTables(String databaseName, String schemaName, Set<String> tableNames) throws SQLException {
+    return database.bufferedResultSetQuery(
+        connection -> connection.getMetaData().getTables(databaseName, schemaName, null, null),
+        resultSet -> new MetadataScope(
+            resultSet.getString(JDBC_COLUMN_DATABASE_NAME),
+            resultSet.getString(JDBC_COLUMN_SCHEMA_NAME),
+            resultSet.getString(JDBC_COLUMN_TABLE_NAME)))
+        .stream()
+        .filter(scope -> !excludedSchemas.contains(scope.getNamespace()))
+        .filter(scope -> tableNames == null || tableNames.contains(scope.getNamespace() + "." + scope.tableName))
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  private List<DiscoveredColumn> discoverColumns(List<MetadataScope> scopes) throws Exception {
+    final String scopeKind = isPerTable ? "tables" : "schemas";
+    final int progressStep = Math.max(1, scopes.size() / PROGRESS_LOG_STEPS);
+    final AtomicInteger discoveredCount = new AtomicInteger();
+    final int threadCount = Math.max(1, Math.min(parallelism, scopes.size()));
+    LOGGER.info("Discovering the columns of {} {}, {} at a time.", scopes.size(), scopeKind, threadCount);
+
+    final List<List<DiscoveredColumn>> scopeColumns = new ArrayList<>();
+    if (threadCount == 1) {
+      for (final MetadataScope scope : scopes) {
+        scopeColumns.add(discoverColumns(scope));
+        logProgress(discoveredCount.incrementAndGet(), scopes.size(), progressStep, scopeKind);
+      }
+    } else {
+      final ExecutorService executor = Executors.newFixedThreadPool(threadCount,
+          new ThreadFactoryBuilder().setNameFormat("discover-schema-%d").setDaemon(true).build());
+      try {
+        final List<Future<List<DiscoveredColumn>>> futures = new ArrayList<>();
+        for (final MetadataScope scope : scopes) {
+          futures.add(executor.submit(() -> {
+            final List<DiscoveredColumn> columns = discoverColumns(scope);
+            logProgress(discoveredCount.incrementAndGet(), scopes.size(), progressStep, scopeKind);
+            return columns;
+          }));
+        }
+        for (final Future<List<DiscoveredColumn>> future : futures) {
+          scopeColumns.add(future.get());
+        }
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    return scopeColumns.stream().flatMap(List::stream).collect(Collectors.toList());
+  }
+
+  private List<DiscoveredColumn> discoverColumns(MetadataScope scope) throws SQLException {
+    return database.bufferedResultSetQuery(
+        connection -> {
+          final DatabaseMetaData metaData = connection.getMetaData();
+          return metaData.getColumns(
+              scope.databaseName,
+              toSearchPattern(scope.schemaName, metaData),
+              toSearchPattern(scope.tableName, metaData),
+              null);
+        },
+        SchemaDiscoverer::toDiscoveredColumn)
+        .stream()
+        // names are patterns in which _ matches any character, so other schemas or tables can match too.
+        .filter(column -> !excludedSchemas.contains(column.schemaName) && scope.contains(column))
+        .collect(Collectors.toList());
+  }
+
+  private static DiscoveredColumn toDiscoveredColumn(ResultSet resultSet) throws SQLException {
+    // we always want a namespace, if we cannot get a schema, use db name.
+    final String schemaName = resultSet.getObject(JDBC_COLUMN_SCHEMA_NAME) != null ? resultSet.getString(JDBC_COLUMN_SCHEMA_NAME)
+        : resultSet.getString(JDBC_COLUMN_DATABASE_NAME);
+    final String tableName = resultSet.getString(JDBC_COLUMN_TABLE_NAME);
+    final String columnName = resultSet.getString(JDBC_COLUMN_COLUMN_NAME);
+    final int columnType = resultSet.getInt(JDBC_COLUMN_DATA_TYPE);
+
+    JDBCType jdbcType;
+    try {
+      jdbcType = JDBCType.valueOf(columnType);
+    } catch (IllegalArgumentException ex) {
+      LOGGER.warn(String.format("Could not convert column: %s from table: %s.%s with type: %s. Casting to VARCHAR.",
+          columnName,
+          schemaName,
+          tableName,
+          columnType));
+      jdbcType = JDBCType.VARCHAR;
+    }
+    return new DiscoveredColumn(schemaName, tableName, new ColumnInfo(columnName, jdbcType));
+  }
+
+  private static String toSearchPattern(String name, DatabaseMetaData metaData) throws SQLException {
+    if (name == null) {
+      return null;
+    }
+    final String escape = metaData.getSearchStringEscape();
+    if (escape == null || escape.isEmpty()) {
+      return name;
+    }
+    return name.replace(escape, escape + escape).replace("_", escape + "_").replace("%", escape + "%");
+  }
+
+  private static void logProgress(int discoveredCount, int totalCount, int progressStep, String scopeKind) {
+    if (discoveredCount % progressStep == 0 || discoveredCount == totalCount) {
+      LOGGER.info("Discovered the columns of {} of {} {}.", discoveredCount, totalCount, scopeKind);
+    }
+  }
+
+  // arguments of a metadata query. null names match everything.
+  private static class MetadataScope {
+
+    private final String databaseName;
+    private final String schemaName;
+    private final String tableName;
+
+    private MetadataScope(String databaseName, String schemaName, String tableName) {
+      this.databaseName = databaseName;
+      this.schemaName = schemaName;
+      this.tableName = tableName;
+    }
+
+    // the namespace of the tables in the scope, which is the database if there are no schemas.
+    private String getNamespace() {
+      return schemaName != null ? schemaName : databaseName;
+    }
+
+    private boolean contains(DiscoveredColumn column) {
+      if (tableName != null) {
+        return tableName.equals(column.tableName) && getNamespace().equals(column.schemaName);
+      }
+      return schemaName == null || schemaName.equals(column.schemaName);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      MetadataScope that = (MetadataScope) o;
+      return Objects.equals(databaseName, that.databaseName) && Objects.equals(schemaName, that.schemaName)
+          && Objects.equals(tableName, that.tableName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(databaseName, schemaName, tableName);
+    }
+
+  }
+
+  private static class DiscoveredColumn {
+
+    private final String schemaName;
+    private final String tableName;
+    private final ColumnInfo column;
+
+    private DiscoveredColumn(String schemaName, String tableName, ColumnInfo column) {
+      this.schemaName = schemaName;
+      this.tableName = tableName;
+      this.column = column;
+    }
+
+  }
+
+}
@@ -29,10 +29,30 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Iterator;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Emits a state message with the largest cursor value after the last record of the stream.
+ *
+ * <p>
+ * When the records are ordered by cursor, a state message can also be emitted every
+ * checkpointRecords records or checkpointInterval, whichever comes first. Several records can share
+ * a cursor value, and the next read only selects records with a strictly greater cursor, so a
+ * checkpoint is held back until the first record with a greater cursor value: only then are all
+ * records with the checkpointed cursor known to have been emitted.
+ * </p>
+ *
+ * <p>
+ * Streams with a string cursor are never checkpointed before their end. The database orders them by
+ * its collation, which may consider values equal that differ here, e.g. "A" and "a". A checkpoint
+ * at "A" would then skip the records with "a" that have not been emitted yet.
+ * </p>
+ */
 class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> implements Iterator<AirbyteMessage> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(StateDecoratingIterator.class);
@@ -42,9 +62,18 @@ class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> implement
   private final String streamName;
   private final String cursorField;
   private final JsonSchemaPrimitive cursorType;
+  // 0 if state should not be emitted after a number of records.
+  private final long checkpointRecords;
+  // null if state should not be emitted after an amount of time.
+  private final Duration checkpointInterval;
+  private final Supplier<Instant> nowSupplier;
 
   private String maxCursor;
   private boolean hasEmittedState;
+  private long recordsSinceCheckpoint;
+  private Instant lastCheckpoint;
+  // record held back while the checkpoint preceding it is emitted.
+  private AirbyteMessage pendingMessage;
 
   public StateDecoratingIterator(Iterator<AirbyteMessage> messageIterator,
                                  JdbcStateManager stateManager,
@@ -52,28 +81,59 @@ class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> implement
                                  String cursorField,
                                  String initialCursor,
                                  JsonSchemaPrimitive cursorType) {
+    this(messageIterator, stateManager, streamName, cursorField, initialCursor, cursorType, 0, null, Instant::now);
+  }
+
+  /**
+   * @param messageIterator records, which must be ordered by cursor if checkpoints are enabled.
+   */
+  public StateDecoratingIterator(Iterator<AirbyteMessage> messageIterator,
+                                 JdbcStateManager stateManager,
+                                 String streamName,
+                                 String cursorField,
+                                 String initialCursor,
+                                 JsonSchemaPrimitive cursorType,
+                                 long checkpointRecords,
+                                 Duration checkpointInterval,
+                                 Supplier<Instant> nowSupplier) {
     this.messageIterator = messageIterator;
     this.stateManager = stateManager;
     this.streamName = streamName;
     this.cursorField = cursorField;
     this.cursorType = cursorType;
     this.maxCursor = initialCursor;
+    this.checkpointRecords = canCheckpoint(cursorType) ? checkpointRecords : 0;
+    this.checkpointInterval = canCheckpoint(cursorType) ? checkpointInterval : null;
+    this.nowSupplier = nowSupplier;
+    this.lastCheckpoint = nowSupplier.get();
   }
 
   @Override
   protected AirbyteMessage computeNext() {
-    if (messageIterator.hasNext()) {
+    if (pendingMessage != null) {
+      final AirbyteMessage message = pendingMessage;
+      pendingMessage = null;
+      return message;
+    } else if (messageIterator.hasNext()) {
       final AirbyteMessage message = messageIterator.next();
-      if (message.getRecord().getData().hasNonNull(cursorField)) {
-        final String cursorCandidate = message.getRecord().getData().get(cursorField).asText();
-        if (IncrementalUtils.compareCursors(maxCursor, cursorCandidate, cursorType) < 0) {
+      final String cursorCandidate = IncrementalUtils.getCursorValue(message.getRecord().getData(), cursorField);
+      if (IncrementalUtils.compareCursors(maxCursor, cursorCandidate, cursorType) < 0) {
+        if (isCheckpointDue()) {
+          final AirbyteMessage stateMessage = createStateMessage();
+          LOGGER.info("Checkpoint for stream {} after {} records. Cursor: {}", streamName, recordsSinceCheckpoint, maxCursor);
+          recordsSinceCheckpoint = 1;
+          lastCheckpoint = nowSupplier.get();
           maxCursor = cursorCandidate;
+          pendingMessage = message;
+          return stateMessage;
         }
+        maxCursor = cursorCandidate;
       }
 
+      recordsSinceCheckpoint++;
       return message;
     } else if (!hasEmittedState) {
-      final AirbyteStateMessage stateMessage = stateManager.updateAndEmit(streamName, maxCursor);
+      final AirbyteMessage stateMessage = createStateMessage();
       LOGGER.info("State Report: stream name: {}, original cursor field: {}, original cursor {}, cursor field: {}, new cursor: {}",
           streamName,
           stateManager.getOriginalCursorField(streamName).orElse(null),
@@ -85,10 +145,31 @@ class StateDecoratingIterator extends AbstractIterator<AirbyteMessage> implement
       }
 
       hasEmittedState = true;
-      return new AirbyteMessage().withType(Type.STATE).withState(stateMessage);
+      return stateMessage;
     } else {
       return endOfData();
     }
   }
 
+  /**
+   * @return whether a stream with a cursor of this type can be checkpointed before its end.
+   */
+  static boolean canCheckpoint(JsonSchemaPrimitive cursorType) {
+    return cursorType != JsonSchemaPrimitive.STRING;
+  }
+
+  private boolean isCheckpointDue() {
+    // nothing has been read since the last checkpoint, or no record has a cursor value yet.
+    if (recordsSinceCheckpoint == 0 || maxCursor == null) {
+      return false;
+    }
+    return (checkpointRecords > 0 && recordsSinceCheckpoint >= checkpointRecords)
+        || (checkpointInterval != null && Duration.between(lastCheckpoint, nowSupplier.get()).compareTo(checkpointInterval) >= 0);
+  }
+
+  private AirbyteMessage createStateMessage() {
+    final AirbyteStateMessage stateMessage = stateManager.updateAndEmit(streamName, maxCursor);
+    return new AirbyteMessage().withType(Type.STATE).withState(stateMessage);
+  }
+
 }
@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import java.sql.JDBCType;
+import java.util.Map;
+
+/**
+ * Exports the rows of a table with a bulk export command of the database, which is faster than
+ * selecting them over jdbc. When a source provides one, the tables that are read in full (full
+ * refresh streams, and the first read of incremental streams that are not read in cursor order) are
+ * exported with it. Tables that are read in primary key chunks are still selected.
+ */
+public interface TableExporter {
+
+  /**
+   * @param columnNameToType the columns to export, in order, with their discovered types. the
+   *        records must have the same json as the one the rows of a select are converted to.
+   */
+  AutoCloseableIterator<JsonNode> export(JdbcDatabase database, String schemaName, String tableName, Map<String, JDBCType> columnNameToType)
+      throws Exception;
+
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.commons.util.MoreIterators;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.integrations.source.jdbc.models.JdbcState;
+import io.airbyte.integrations.source.jdbc.models.JdbcStreamState;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import io.airbyte.protocol.models.SyncMode;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChangeDataCaptureIteratorTest {
+
+  private static final String STREAM_NAME1 = "public.shoes";
+  private static final String STREAM_NAME2 = "public.socks";
+  private static final String POSITION_FIELD = "_ab_cdc_lsn";
+  private static final Instant CHANGED_AT = Instant.parse("2021-03-01T10:15:30Z");
+  private static final long EMITTED_AT = 1000L;
+
+  private static final ChangeDataCapture CHANGE_DATA_CAPTURE = new ChangeDataCapture() {
+
+    @Override
+    public String getPositionField() {
+      return POSITION_FIELD;
+    }
+
+    @Override
+    public JsonSchemaPrimitive getPositionType() {
+      return JsonSchemaPrimitive.NUMBER;
+    }
+
+    @Override
+    public String getCurrentPosition(JdbcDatabase database) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public AutoCloseableIterator<ChangeEvent> read(JdbcDatabase database, String position) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int comparePositions(String position1, String position2) {
+      return Long.compare(Long.parseLong(position1), Long.parseLong(position2));
+    }
+
+  };
+
+  private JdbcStateManager stateManager;
+  private Map<String, Set<String>> streamNameToSelectedFields;
+
+  @BeforeEach
+  void setup() {
+    final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog().withStreams(List.of(
+        CatalogHelpers.createConfiguredAirbyteStream(STREAM_NAME1, Field.of("id", JsonSchemaPrimitive.NUMBER)).withSyncMode(SyncMode.INCREMENTAL),
+        CatalogHelpers.createConfiguredAirbyteStream(STREAM_NAME2, Field.of("id", JsonSchemaPrimitive.NUMBER)).withSyncMode(SyncMode.INCREMENTAL)));
+    stateManager = new JdbcStateManager(new JdbcState().withStreams(List.of(
+        new JdbcStreamState().withStreamName(STREAM_NAME1).withCursorField(Collections.emptyList()).withCursor("10"),
+        new JdbcStreamState().withStreamName(STREAM_NAME2).withCursorField(Collections.emptyList()).withCursor("20"))),
+        catalog);
+
+    streamNameToSelectedFields = new HashMap<>();
+    streamNameToSelectedFields.put(STREAM_NAME1, Set.of("id"));
+    streamNameToSelectedFields.put(STREAM_NAME2, Set.of("id"));
+  }
+
+  @Test
+  void testReadsChangesAfterStreamPosition() {
+    final Iterator<ChangeEvent> events = MoreIterators.of(
+        change(STREAM_NAME1, "15", 1, false),
+        // the snapshot of the second stream was read after this change.
+        change(STREAM_NAME2, "15", 2, false),
+        ChangeEvent.checkpoint("18"),
+        change(STREAM_NAME2, "25", 3, true),
+        change("public.hats", "25", 4, false),
+        ChangeEvent.checkpoint("30"));
+
+    final ChangeDataCaptureIterator iterator =
+        new ChangeDataCaptureIterator(events, CHANGE_DATA_CAPTURE, streamNameToSelectedFields, stateManager, EMITTED_AT, 0, null, Instant::now);
+
+    assertEquals(record(STREAM_NAME1, "15", 1, false), iterator.next());
+    assertEquals(record(STREAM_NAME2, "25", 3, true), iterator.next());
+    assertEquals(Map.of(STREAM_NAME1, "30", STREAM_NAME2, "30"), getPositions(iterator.next()));
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void testCheckpointsAfterRecords() {
+    final Iterator<ChangeEvent> events = MoreIterators.of(
+        change(STREAM_NAME1, "15", 1, false),
+        ChangeEvent.checkpoint("18"),
+        // no record since the last checkpoint.
+        ChangeEvent.checkpoint("19"),
+        change(STREAM_NAME1, "21", 2, false),
+        ChangeEvent.checkpoint("22"));
+
+    final ChangeDataCaptureIterator iterator =
+        new ChangeDataCaptureIterator(events, CHANGE_DATA_CAPTURE, streamNameToSelectedFields, stateManager, EMITTED_AT, 1, null, Instant::now);
+
+    assertEquals(record(STREAM_NAME1, "15", 1, false), iterator.next());
+    // the second stream is already past the checkpoint.
+    assertEquals(Map.of(STREAM_NAME1, "18", STREAM_NAME2, "20"), getPositions(iterator.next()));
+    assertEquals(record(STREAM_NAME1, "21", 2, false), iterator.next());
+    assertEquals(Map.of(STREAM_NAME1, "22", STREAM_NAME2, "22"), getPositions(iterator.next()));
+    assertEquals(Map.of(STREAM_NAME1, "22", STREAM_NAME2, "22"), getPositions(iterator.next()));
+    assertFalse(iterator.hasNext());
+  }
+
+  private static ChangeEvent change(String streamName, String position, int id, boolean isDelete) {
+    return ChangeEvent.change(streamName, position, Jsons.jsonNode(ImmutableMap.of("id", id, "name", "name" + id)), CHANGED_AT, isDelete);
+  }
+
+  private static AirbyteMessage record(String streamName, String position, int id, boolean isDelete) {
+    final String changedAt = JdbcUtils.toISO8601String(CHANGED_AT.toEpochMilli());
+    final Map<String, Object> data = new HashMap<>();
+    data.put("id", id);
+    data.put(POSITION_FIELD, Long.parseLong(position));
+    data.put(ChangeDataCaptureIterator.CDC_UPDATED_AT, changedAt);
+    data.put(ChangeDataCaptureIterator.CDC_DELETED_AT, isDelete ? changedAt : null);
+    return AbstractJdbcSource.toRecordMessage(Jsons.jsonNode(data), streamName, EMITTED_AT);
+  }
+
+  private static Map<String, String> getPositions(AirbyteMessage message) {
+    assertEquals(Type.STATE, message.getType());
+    return Jsons.object(message.getState().getData(), JdbcState.class).getStreams().stream()
+        .collect(Collectors.toMap(JdbcStreamState::getStreamName, JdbcStreamState::getCursor));
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.ColumnInfo;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.TableInfoInternal;
+import io.airbyte.integrations.source.jdbc.models.JdbcChunk;
+import io.airbyte.integrations.source.jdbc.models.JdbcState;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ChunkedStreamReaderTest {
+
+  private static final String STREAM_NAME = "users";
+  private static final String PRIMARY_KEY = "id";
+  private static final String CURSOR_FIELD = "updated_at";
+
+  @Test
+  void testPlanChunksEmptyTable() {
+    assertEquals(List.of(chunk(null, null)), ChunkedStreamReader.planChunks(Optional.empty(), 10));
+  }
+
+  @Test
+  void testPlanChunks() {
+    assertEquals(
+        List.of(chunk(null, "11"), chunk("11", "21"), chunk("21", null)),
+        ChunkedStreamReader.planChunks(Optional.of(new long[] {1, 25}), 10));
+  }
+
+  @Test
+  void testPlanChunksSingleChunk() {
+    assertEquals(List.of(chunk(null, null)), ChunkedStreamReader.planChunks(Optional.of(new long[] {1, 10}), 10));
+  }
+
+  @Test
+  void testPlanChunksLimitsNumberOfChunks() {
+    final List<JdbcChunk> chunks = ChunkedStreamReader.planChunks(Optional.of(new long[] {0, 999_999_999}), 1);
+    assertEquals(10000, chunks.size());
+    assertEquals(chunk(null, "100000"), chunks.get(0));
+    assertEquals(chunk("999900000", null), chunks.get(chunks.size() - 1));
+  }
+
+  @Test
+  void testPlanChunksWholeLongRange() {
+    final List<JdbcChunk> chunks = ChunkedStreamReader.planChunks(Optional.of(new long[] {Long.MIN_VALUE, Long.MAX_VALUE}), 1);
+    assertEquals(10000, chunks.size());
+    assertEquals(null, chunks.get(0).getLowerBound());
+    assertEquals(null, chunks.get(chunks.size() - 1).getUpperBound());
+  }
+
+  @Test
+  void testCursorIsMaxCursorWhenChunksWerePlanned() throws Exception {
+    final Map<Integer, Integer> idToCursor = new ConcurrentHashMap<>(Map.of(1, 1, 2, 2, 3, 3, 4, 1, 5, 2, 6, 3));
+    final List<List<Integer>> chunkIds = List.of(List.of(1, 2), List.of(3, 4), List.of(5, 6));
+    final CountDownLatch firstChunkEmitted = new CountDownLatch(1);
+    final AtomicInteger chunkIndex = new AtomicInteger();
+
+    final JdbcDatabase database = mock(JdbcDatabase.class);
+    // the max cursor, then the min and max primary key.
+    doReturn(List.of(Jsons.jsonNode(ImmutableMap.of(CURSOR_FIELD, 3))), List.of(Optional.of(new long[] {1, 6})))
+        .when(database).bufferedResultSetQuery(any(), any());
+    when(database.query(any(), any())).thenAnswer(invocation -> {
+      final int index = chunkIndex.getAndIncrement();
+      if (index == chunkIds.size() - 1) {
+        firstChunkEmitted.await();
+      }
+      return chunkIds.get(index).stream().map(id -> Jsons.jsonNode(ImmutableMap.of(PRIMARY_KEY, id, CURSOR_FIELD, idToCursor.get(id))));
+    });
+
+    final JdbcStateManager stateManager = new JdbcStateManager(new JdbcState(), new ConfiguredAirbyteCatalog().withStreams(Lists.newArrayList(
+        new ConfiguredAirbyteStream()
+            .withStream(new AirbyteStream().withName(STREAM_NAME))
+            .withCursorField(Lists.newArrayList(CURSOR_FIELD)))));
+    final TableInfoInternal table = new TableInfoInternal("public", STREAM_NAME, List.of(
+        new ColumnInfo(PRIMARY_KEY, JDBCType.INTEGER),
+        new ColumnInfo(CURSOR_FIELD, JDBCType.INTEGER)));
+
+    final List<AirbyteMessage> messages = new ArrayList<>();
+    try (final AutoCloseableIterator<AirbyteMessage> iterator = ChunkedStreamReader.read(database, STREAM_NAME, List.of(PRIMARY_KEY, CURSOR_FIELD),
+        table, table.getFields().get(0), Optional.of(CURSOR_FIELD), stateManager, 0, 2, 1)) {
+      while (iterator.hasNext()) {
+        final AirbyteMessage message = iterator.next();
+        messages.add(message);
+        if (message.getType() == Type.STATE && firstChunkEmitted.getCount() > 0) {
+          // a row of the chunk that was read and a row of a chunk that was not are updated.
+          idToCursor.put(1, 4);
+          idToCursor.put(6, 5);
+          firstChunkEmitted.countDown();
+        }
+      }
+    }
+
+    assertEquals(Jsons.jsonNode(ImmutableMap.of(PRIMARY_KEY, 6, CURSOR_FIELD, 5)), messages.get(messages.size() - 3).getRecord().getData());
+    // the next sync reads both updated rows.
+    assertEquals(Optional.of("3"), stateManager.getCursor(STREAM_NAME));
+    assertEquals(Optional.empty(), stateManager.getChunks(STREAM_NAME));
+  }
+
+  private static JdbcChunk chunk(String lowerBound, String upperBound) {
+    return new JdbcChunk().withLowerBound(lowerBound).withUpperBound(upperBound).withCompleted(false);
+  }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.commons.util.AutoCloseableIterators;
+import io.airbyte.commons.util.MoreIterators;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentReadIteratorTest {
+
+  private static final String STREAM1 = "shoes";
+  private static final String STREAM2 = "socks";
+
+  @Test
+  void testMergesStreamsInOrder() throws Exception {
+    final AtomicBoolean stream1Closed = new AtomicBoolean();
+    final AtomicBoolean stream2Closed = new AtomicBoolean();
+    final Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator = new LinkedHashMap<>();
+    streamNameToIterator.put(STREAM1, AutoCloseableIterators.fromIterator(
+        MoreIterators.of(record(STREAM1, 1), record(STREAM1, 2), record(STREAM1, 3), state(STREAM1)), () -> stream1Closed.set(true)));
+    streamNameToIterator.put(STREAM2, AutoCloseableIterators.fromIterator(
+        MoreIterators.of(record(STREAM2, 1), record(STREAM2, 2), state(STREAM2)), () -> stream2Closed.set(true)));
+
+    final List<String> mappedStreamNames = new ArrayList<>();
+    final List<AirbyteMessage> messages = new ArrayList<>();
+    try (final ConcurrentReadIterator iterator = new ConcurrentReadIterator(streamNameToIterator, 2, 2, (streamName, message) -> {
+      mappedStreamNames.add(streamName);
+      return message;
+    })) {
+      iterator.forEachRemaining(messages::add);
+      // streams are closed as soon as they are exhausted.
+      assertTrue(stream1Closed.get());
+      assertTrue(stream2Closed.get());
+    }
+
+    assertEquals(7, messages.size());
+    assertEquals(
+        List.of(record(STREAM1, 1), record(STREAM1, 2), record(STREAM1, 3), state(STREAM1)),
+        messages.stream().filter(message -> isOfStream(message, STREAM1)).collect(Collectors.toList()));
+    assertEquals(
+        List.of(record(STREAM2, 1), record(STREAM2, 2), state(STREAM2)),
+        messages.stream().filter(message -> isOfStream(message, STREAM2)).collect(Collectors.toList()));
+    assertEquals(
+        messages.stream().map(message -> message.getType() == Type.RECORD ? message.getRecord().getStream() : message.getState().getData().asText())
+            .collect(Collectors.toList()),
+        mappedStreamNames);
+  }
+
+  @Test
+  void testEmitsMessageAtStreamEnd() throws Exception {
+    final Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator = new LinkedHashMap<>();
+    streamNameToIterator.put(STREAM1, AutoCloseableIterators.fromIterator(MoreIterators.of(record(STREAM1, 1), record(STREAM1, 2))));
+    streamNameToIterator.put(STREAM2, AutoCloseableIterators.fromIterator(MoreIterators.of(record(STREAM2, 1))));
+
+    final List<AirbyteMessage> messages = new ArrayList<>();
+    try (final ConcurrentReadIterator iterator = new ConcurrentReadIterator(streamNameToIterator, 2, 2, (streamName, message) -> message,
+        streamName -> streamName.equals(STREAM1) ? Optional.of(state(STREAM1)) : Optional.empty())) {
+      iterator.forEachRemaining(messages::add);
+    }
+
+    assertEquals(
+        List.of(record(STREAM1, 1), record(STREAM1, 2), state(STREAM1)),
+        messages.stream().filter(message -> isOfStream(message, STREAM1)).collect(Collectors.toList()));
+    assertEquals(List.of(record(STREAM2, 1)), messages.stream().filter(message -> isOfStream(message, STREAM2)).collect(Collectors.toList()));
+  }
+
+  @Test
+  void testPropagatesStreamFailure() throws Exception {
+    final AtomicBoolean stream2Closed = new AtomicBoolean();
+    final Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator = new LinkedHashMap<>();
+    streamNameToIterator.put(STREAM1, AutoCloseableIterators.fromIterator(new AbstractIterator<>() {
+
+      @Override
+      protected AirbyteMessage computeNext() {
+        throw new IllegalStateException("connection reset");
+      }
+
+    }));
+    streamNameToIterator.put(STREAM2, AutoCloseableIterators.fromIterator(MoreIterators.of(record(STREAM2, 1)), () -> stream2Closed.set(true)));
+
+    final ConcurrentReadIterator iterator = new ConcurrentReadIterator(streamNameToIterator, 1, 10, (streamName, message) -> message);
+    final RuntimeException exception = assertThrows(RuntimeException.class, () -> iterator.forEachRemaining(message -> {}));
+    assertEquals("connection reset", exception.getCause().getMessage());
+    iterator.close();
+
+    assertTrue(stream2Closed.get());
+  }
+
+  @Test
+  void testClosesEachStreamOnceAndNeverWhileItIsRead() throws Exception {
+    final AtomicBoolean reading = new AtomicBoolean();
+    final AtomicBoolean closedWhileReading = new AtomicBoolean();
+    final AtomicInteger stream1Closes = new AtomicInteger();
+    final AtomicInteger stream2Closes = new AtomicInteger();
+    final Map<String, AutoCloseableIterator<AirbyteMessage>> streamNameToIterator = new LinkedHashMap<>();
+    streamNameToIterator.put(STREAM1, AutoCloseableIterators.fromIterator(new AbstractIterator<>() {
+
+      @Override
+      protected AirbyteMessage computeNext() {
+        // a jdbc read does not react to interrupts.
+        reading.set(true);
+        Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
+        reading.set(false);
+        return record(STREAM1, 1);
+      }
+
+    }, () -> {
+      closedWhileReading.compareAndSet(false, reading.get());
+      stream1Closes.incrementAndGet();
+    }));
+    // never started, since the only thread is busy with the first stream.
+    streamNameToIterator.put(STREAM2, AutoCloseableIterators.fromIterator(MoreIterators.of(record(STREAM2, 1)), stream2Closes::incrementAndGet));
+
+    final ConcurrentReadIterator iterator = new ConcurrentReadIterator(streamNameToIterator, 1, 1, (streamName, message) -> message);
+    assertEquals(record(STREAM1, 1), iterator.next());
+    iterator.close();
+
+    assertEquals(1, stream1Closes.get());
+    assertEquals(1, stream2Closes.get());
+    assertFalse(closedWhileReading.get());
+  }
+
+  private static AirbyteMessage record(String streamName, int id) {
+    return new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream(streamName).withData(Jsons.jsonNode(ImmutableMap.of("id", id))));
+  }
+
+  // the state data is just the stream name, so that the stream of a state message can be told.
+  private static AirbyteMessage state(String streamName) {
+    return new AirbyteMessage().withType(Type.STATE).withState(new AirbyteStateMessage().withData(Jsons.jsonNode(streamName)));
+  }
+
+  private static boolean isOfStream(AirbyteMessage message, String streamName) {
+    return message.getType() == Type.RECORD ? message.getRecord().getStream().equals(streamName)
+        : message.getState().getData().asText().equals(streamName);
+  }
+
+}
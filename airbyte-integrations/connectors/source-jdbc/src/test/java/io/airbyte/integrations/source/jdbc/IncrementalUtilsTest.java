@@ -25,10 +25,15 @@
 package io.airbyte.integrations.source.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.CatalogHelpers;
@@ -89,6 +94,22 @@ class IncrementalUtilsTest {
     assertThrows(IllegalStateException.class, () -> IncrementalUtils.getCursorType(stream, UUID_FIELD_NAME));
   }
 
+  @Test
+  void testGetCursorValue() {
+    assertEquals("abc", IncrementalUtils.getCursorValue(Jsons.jsonNode(ImmutableMap.of(UUID_FIELD_NAME, "abc")), UUID_FIELD_NAME));
+    assertNull(IncrementalUtils.getCursorValue(Jsons.jsonNode(ImmutableMap.of("name", "abc")), UUID_FIELD_NAME));
+  }
+
+  @Test
+  void testGetCursorValueOfRawJson() {
+    final JsonNode record = JsonNodeFactory.instance.rawValueNode(new RawValue(
+        "{\"nested\":{\"ascending_inventory_uuid\":\"nope\"},\"ascending_inventory_uuid\":\"a\\\"bc\",\"id\":5}"));
+    assertEquals("a\"bc", IncrementalUtils.getCursorValue(record, UUID_FIELD_NAME));
+    assertEquals("5", IncrementalUtils.getCursorValue(record, "id"));
+    assertNull(IncrementalUtils.getCursorValue(record, "name"));
+    assertNull(IncrementalUtils.getCursorValue(JsonNodeFactory.instance.rawValueNode(new RawValue("{\"id\":null}")), "id"));
+  }
+
   @Test
   void testCompareCursors() {
     assertTrue(IncrementalUtils.compareCursors("abc", "def", JsonSchemaPrimitive.STRING) < 0);
@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.integrations.source.jdbc.JdbcStateManager.CursorInfo;
+import io.airbyte.integrations.source.jdbc.models.JdbcChunk;
 import io.airbyte.integrations.source.jdbc.models.JdbcState;
 import io.airbyte.integrations.source.jdbc.models.JdbcStreamState;
 import io.airbyte.protocol.models.AirbyteStateMessage;
@@ -36,6 +37,7 @@ import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
@@ -49,6 +51,9 @@ class JdbcStateManagerTest {
   private static final String CURSOR_FIELD1 = "year";
   private static final String CURSOR_FIELD2 = "generation";
   private static final String CURSOR = "2000";
+  private static final List<JdbcChunk> CHUNKS = Lists.newArrayList(
+      new JdbcChunk().withUpperBound("100").withCompleted(true),
+      new JdbcChunk().withLowerBound("100").withCompleted(false));
 
   @Test
   void testCreateCursorInfoCatalogAndStateSameCursorField() {
@@ -93,6 +98,69 @@ class JdbcStateManagerTest {
     assertEquals(new CursorInfo(CURSOR_FIELD1, CURSOR, null, null), actual);
   }
 
+  @Test
+  void testCreateCursorInfoKeepsChunksOfUnfinishedRead() {
+    final CursorInfo actual = JdbcStateManager.createCursorInfoForStream(STREAM_NAME1, getStateWithChunks(CURSOR_FIELD1), getCatalog(CURSOR_FIELD1));
+    assertEquals(new CursorInfo(CURSOR_FIELD1, null, CURSOR_FIELD1, null).setChunks(CHUNKS, CURSOR), actual);
+  }
+
+  @Test
+  void testCreateCursorInfoDropsChunksOnChangeInCursorFieldName() {
+    final CursorInfo actual = JdbcStateManager.createCursorInfoForStream(STREAM_NAME1, getStateWithChunks(CURSOR_FIELD1), getCatalog(CURSOR_FIELD2));
+    assertEquals(new CursorInfo(CURSOR_FIELD1, null, CURSOR_FIELD2, null), actual);
+  }
+
+  @Test
+  void testUpdateChunksAndEmit() {
+    final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog()
+        .withStreams(Lists.newArrayList(
+            new ConfiguredAirbyteStream()
+                .withStream(new AirbyteStream().withName(STREAM_NAME1))
+                .withCursorField(Lists.newArrayList(CURSOR_FIELD1))));
+    final JdbcStateManager stateManager = new JdbcStateManager(new JdbcState(), catalog);
+
+    final AirbyteStateMessage expectedChunksEmission = new AirbyteStateMessage()
+        .withData(Jsons.jsonNode(new JdbcState().withStreams(Lists.newArrayList(
+            new JdbcStreamState().withStreamName(STREAM_NAME1).withCursorField(Lists.newArrayList(CURSOR_FIELD1)).withChunks(CHUNKS)
+                .withChunksHighWaterMark(CURSOR)))));
+    assertEquals(expectedChunksEmission, stateManager.updateChunksAndEmit(STREAM_NAME1, CHUNKS, CURSOR));
+    assertEquals(Optional.of(CHUNKS), stateManager.getChunks(STREAM_NAME1));
+
+    // setting the cursor ends the chunked read.
+    final AirbyteStateMessage expectedCursorEmission = new AirbyteStateMessage()
+        .withData(Jsons.jsonNode(new JdbcState().withStreams(Lists.newArrayList(
+            new JdbcStreamState().withStreamName(STREAM_NAME1).withCursorField(Lists.newArrayList(CURSOR_FIELD1)).withCursor(CURSOR)))));
+    assertEquals(expectedCursorEmission, stateManager.updateAndEmit(STREAM_NAME1, CURSOR));
+    assertEquals(Optional.empty(), stateManager.getChunks(STREAM_NAME1));
+  }
+
+  @Test
+  void testUpdateAndEmitFromStateMessage() {
+    final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog()
+        .withStreams(Lists.newArrayList(
+            new ConfiguredAirbyteStream()
+                .withStream(new AirbyteStream().withName(STREAM_NAME1))
+                .withCursorField(Lists.newArrayList(CURSOR_FIELD1)),
+            new ConfiguredAirbyteStream()
+                .withStream(new AirbyteStream().withName(STREAM_NAME2))
+                .withCursorField(Lists.newArrayList(CURSOR_FIELD2))));
+    final JdbcStateManager stateManager = new JdbcStateManager(new JdbcState(), catalog);
+    final JdbcStateManager otherStateManager = new JdbcStateManager(new JdbcState(), catalog);
+
+    otherStateManager.updateAndEmit(STREAM_NAME2, "b");
+    final AirbyteStateMessage otherEmission = otherStateManager.updateChunksAndEmit(STREAM_NAME1, CHUNKS, CURSOR);
+
+    // only the state of the given stream is copied.
+    stateManager.updateAndEmit(otherEmission, STREAM_NAME1);
+    assertEquals(Optional.of(CHUNKS), stateManager.getChunks(STREAM_NAME1));
+    assertEquals(Optional.of(CURSOR), stateManager.getChunksHighWaterMark(STREAM_NAME1));
+    assertEquals(Optional.empty(), stateManager.getCursor(STREAM_NAME2));
+  }
+
+  private static Optional<JdbcStreamState> getStateWithChunks(String cursorField) {
+    return getState(cursorField, null).map(state -> state.withChunks(CHUNKS).withChunksHighWaterMark(CURSOR));
+  }
+
   @SuppressWarnings("SameParameterValue")
   private static Optional<JdbcStreamState> getState(String cursorField, String cursor) {
     return Optional.of(new JdbcStreamState()
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.db.jdbc.DefaultJdbcDatabase;
+import io.airbyte.db.jdbc.DefaultJdbcDatabase.CloseableConnectionSupplier;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.ColumnInfo;
+import io.airbyte.integrations.source.jdbc.AbstractJdbcSource.TableInfoInternal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SchemaDiscovererTest {
+
+  private static final List<String> SCHEMA_COLUMNS = List.of("TABLE_SCHEM", "TABLE_CATALOG");
+  private static final List<String> TABLE_COLUMNS = List.of("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME");
+  private static final List<String> COLUMN_COLUMNS = List.of("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE");
+
+  private DatabaseMetaData metaData;
+  private DefaultJdbcDatabase database;
+
+  @BeforeEach
+  void setup() throws Exception {
+    metaData = mock(DatabaseMetaData.class);
+    when(metaData.getSearchStringEscape()).thenReturn("\\");
+    final Connection connection = mock(Connection.class);
+    when(connection.getMetaData()).thenReturn(metaData);
+    final CloseableConnectionSupplier connectionSupplier = mock(CloseableConnectionSupplier.class);
+    when(connectionSupplier.getConnection()).thenReturn(connection);
+    database = new DefaultJdbcDatabase(connectionSupplier);
+  }
+
+  @Test
+  void testDiscoversSchemasInParallel() throws Exception {
+    when(metaData.getSchemas(isNull(), isNull())).thenAnswer(invocation -> resultSet(SCHEMA_COLUMNS, List.<Object[]>of(
+        new Object[] {"a_b", null},
+        new Object[] {"axb", null},
+        new Object[] {"sys", null})));
+    // the pattern of a_b matches axb too if it is not escaped.
+    when(metaData.getColumns(isNull(), eq("a\\_b"), isNull(), isNull())).thenAnswer(invocation -> resultSet(COLUMN_COLUMNS, List.<Object[]>of(
+        new Object[] {null, "a_b", "shoes", "id", Types.INTEGER},
+        new Object[] {null, "a_b", "shoes", "name", Types.VARCHAR},
+        new Object[] {null, "axb", "socks", "id", Types.INTEGER})));
+    when(metaData.getColumns(isNull(), eq("axb"), isNull(), isNull())).thenAnswer(invocation -> resultSet(COLUMN_COLUMNS, List.<Object[]>of(
+        new Object[] {null, "axb", "socks", "id", Types.INTEGER},
+        new Object[] {null, "axb", "socks", "size", Types.OTHER + 1})));
+
+    final List<TableInfoInternal> tables = new SchemaDiscoverer(database, Set.of("sys"), 2, false)
+        .discover(Optional.empty(), Optional.empty(), null);
+
+    assertEquals(List.of("a_b.shoes [id:INTEGER, name:VARCHAR]", "axb.socks [id:INTEGER, size:VARCHAR]"), toStrings(tables));
+    verify(metaData, never()).getColumns(any(), eq("sys"), any(), any());
+  }
+
+  @Test
+  void testDiscoversOnlyNeededTables() throws Exception {
+    when(metaData.getTables(eq("db"), isNull(), isNull(), isNull())).thenAnswer(invocation -> resultSet(TABLE_COLUMNS, List.<Object[]>of(
+        new Object[] {"db", null, "shoes"},
+        new Object[] {"db", null, "socks"})));
+    when(metaData.getColumns(eq("db"), isNull(), eq("socks"), isNull())).thenAnswer(invocation -> resultSet(COLUMN_COLUMNS, List.<Object[]>of(
+        new Object[] {"db", null, "socks", "id", Types.BIGINT})));
+
+    final List<TableInfoInternal> tables = new SchemaDiscoverer(database, Set.of(), 2, true)
+        .discover(Optional.of("db"), Optional.empty(), Set.of("db.socks"));
+
+    assertEquals(List.of("db.socks [id:BIGINT]"), toStrings(tables));
+    verify(metaData, never()).getColumns(any(), any(), eq("shoes"), any());
+  }
+
+  @Test
+  void testDiscoversNothingWhenNoSchemaHoldsNeededTables() throws Exception {
+    when(metaData.getSchemas(isNull(), isNull())).thenAnswer(invocation -> resultSet(SCHEMA_COLUMNS, List.<Object[]>of(
+        new Object[] {"public", null},
+        new Object[] {"sys", null})));
+
+    final List<TableInfoInternal> tables = new SchemaDiscoverer(database, Set.of("sys"), 2, false)
+        .discover(Optional.empty(), Optional.empty(), Set.of("sys.socks", "other.shoes"));
+
+    assertEquals(List.of(), tables);
+    verify(metaData, never()).getColumns(any(), any(), any(), any());
+  }
+
+  private static List<String> toStrings(List<TableInfoInternal> tables) {
+    return tables.stream()
+        .map(t -> String.format("%s.%s %s", t.getSchemaName(), t.getName(), t.getFields().stream()
+            .map(SchemaDiscovererTest::toString)
+            .collect(Collectors.toList())))
+        .collect(Collectors.toList());
+  }
+
+  private static String toString(ColumnInfo column) {
+    return column.getColumnName() + ":" + column.getColumnType();
+  }
+
+  private static ResultSet resultSet(List<String> columnNames, List<Object[]> rows) throws SQLException {
+    final RowSetMetaData rowSetMetaData = new RowSetMetaDataImpl();
+    rowSetMetaData.setColumnCount(columnNames.size());
+    for (int i = 0; i < columnNames.size(); i++) {
+      rowSetMetaData.setColumnName(i + 1, columnNames.get(i));
+      rowSetMetaData.setColumnType(i + 1, columnNames.get(i).equals("DATA_TYPE") ? Types.INTEGER : Types.VARCHAR);
+    }
+
+    final CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+    rowSet.setMetaData(rowSetMetaData);
+    for (final Object[] row : rows) {
+      rowSet.moveToInsertRow();
+      for (int i = 0; i < row.length; i++) {
+        rowSet.updateObject(i + 1, row[i]);
+      }
+      rowSet.insertRow();
+    }
+    rowSet.moveToCurrentRow();
+    rowSet.beforeFirst();
+    return rowSet;
+  }
+
+}
@@ -38,9 +38,12 @@ import io.airbyte.protocol.models.AirbyteMessage.Type;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableMap;
@@ -131,6 +134,102 @@ class StateDecoratingIteratorTest {
     assertFalse(iterator.hasNext());
   }
 
+  @Test
+  void testCheckpointEveryNRecordsWaitsForGreaterCursor() {
+    final AirbyteMessage recordMessage1 = record("1");
+    final AirbyteMessage recordMessage2 = record("2");
+    final AirbyteMessage recordMessage3 = record("2");
+    final AirbyteMessage recordMessage4 = record("3");
+    final AirbyteStateMessage checkpointMessage = mock(AirbyteStateMessage.class);
+    when(stateManager.updateAndEmit(STREAM_NAME, "2")).thenReturn(checkpointMessage);
+    when(stateManager.updateAndEmit(STREAM_NAME, "3")).thenReturn(stateMessage);
+
+    final StateDecoratingIterator iterator = new StateDecoratingIterator(
+        MoreIterators.of(recordMessage1, recordMessage2, recordMessage3, recordMessage4),
+        stateManager,
+        STREAM_NAME,
+        UUID_FIELD_NAME,
+        null,
+        JsonSchemaPrimitive.NUMBER,
+        2,
+        null,
+        Instant::now);
+
+    assertEquals(recordMessage1, iterator.next());
+    assertEquals(recordMessage2, iterator.next());
+    // the checkpoint is due, but another record could still have cursor "2".
+    assertEquals(recordMessage3, iterator.next());
+    assertEquals(checkpointMessage, iterator.next().getState());
+    assertEquals(recordMessage4, iterator.next());
+    assertEquals(stateMessage, iterator.next().getState());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void testCheckpointAfterInterval() {
+    final AtomicReference<Instant> now = new AtomicReference<>(Instant.EPOCH);
+    final AirbyteMessage recordMessage1 = record("1");
+    final AirbyteMessage recordMessage2 = record("2");
+    final AirbyteStateMessage checkpointMessage = mock(AirbyteStateMessage.class);
+    when(stateManager.updateAndEmit(STREAM_NAME, "1")).thenReturn(checkpointMessage);
+    when(stateManager.updateAndEmit(STREAM_NAME, "2")).thenReturn(stateMessage);
+
+    final StateDecoratingIterator iterator = new StateDecoratingIterator(
+        MoreIterators.of(recordMessage1, recordMessage2),
+        stateManager,
+        STREAM_NAME,
+        UUID_FIELD_NAME,
+        null,
+        JsonSchemaPrimitive.NUMBER,
+        0,
+        Duration.ofSeconds(30),
+        now::get);
+
+    assertEquals(recordMessage1, iterator.next());
+    now.set(Instant.EPOCH.plusSeconds(30));
+    assertEquals(checkpointMessage, iterator.next().getState());
+    assertEquals(recordMessage2, iterator.next());
+    assertEquals(stateMessage, iterator.next().getState());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  void testNoCheckpointForStringCursor() {
+    // ordered by a case insensitive collation, which considers "A" and "a" equal.
+    final AirbyteMessage recordMessage1 = record("A");
+    final AirbyteMessage recordMessage2 = record("a");
+    final AirbyteMessage recordMessage3 = record("A");
+    final AirbyteMessage recordMessage4 = record("b");
+    when(stateManager.updateAndEmit(STREAM_NAME, "b")).thenReturn(stateMessage);
+
+    final StateDecoratingIterator iterator = new StateDecoratingIterator(
+        MoreIterators.of(recordMessage1, recordMessage2, recordMessage3, recordMessage4),
+        stateManager,
+        STREAM_NAME,
+        UUID_FIELD_NAME,
+        null,
+        JsonSchemaPrimitive.STRING,
+        1,
+        Duration.ZERO,
+        Instant::now);
+
+    // "a" is greater than "A" here, but a checkpoint at "A" would skip the records with "a" that
+    // follow it.
+    assertEquals(recordMessage1, iterator.next());
+    assertEquals(recordMessage2, iterator.next());
+    assertEquals(recordMessage3, iterator.next());
+    assertEquals(recordMessage4, iterator.next());
+    assertEquals(stateMessage, iterator.next().getState());
+    assertFalse(iterator.hasNext());
+  }
+
+  private static AirbyteMessage record(String cursor) {
+    return new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withData(Jsons.jsonNode(ImmutableMap.of(UUID_FIELD_NAME, cursor))));
+  }
+
   @Test
   void testEmptyStream() {
     when(stateManager.updateAndEmit(STREAM_NAME, null)).thenReturn(stateMessage);
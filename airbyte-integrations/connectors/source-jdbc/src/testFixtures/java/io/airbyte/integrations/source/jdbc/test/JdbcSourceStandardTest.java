@@ -38,7 +38,6 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.resources.MoreResources;
-import io.airbyte.commons.util.MoreIterators;
 import io.airbyte.db.Databases;
 import io.airbyte.db.jdbc.JdbcDatabase;
 import io.airbyte.db.jdbc.JdbcUtils;
@@ -232,7 +231,7 @@ public abstract class JdbcSourceStandardTest {
 
   @Test
   void testReadSuccess() throws Exception {
-    final List<AirbyteMessage> actualMessages = MoreIterators.toList(source.read(config, getConfiguredCatalog(), null));
+    final List<AirbyteMessage> actualMessages = read(config, getConfiguredCatalog(), null);
 
     setEmittedAtToNull(actualMessages);
 
@@ -243,7 +242,7 @@ public abstract class JdbcSourceStandardTest {
   void testReadOneColumn() throws Exception {
     final ConfiguredAirbyteCatalog catalog = CatalogHelpers.createConfiguredAirbyteCatalog(streamName, Field.of("id", JsonSchemaPrimitive.NUMBER));
 
-    final List<AirbyteMessage> actualMessages = MoreIterators.toList(source.read(config, catalog, null));
+    final List<AirbyteMessage> actualMessages = read(config, catalog, null);
 
     setEmittedAtToNull(actualMessages);
 
@@ -288,7 +287,7 @@ public abstract class JdbcSourceStandardTest {
       expectedMessages.addAll(secondStreamExpectedMessages);
     }
 
-    final List<AirbyteMessage> actualMessages = MoreIterators.toList(source.read(config, catalog, null));
+    final List<AirbyteMessage> actualMessages = read(config, catalog, null);
 
     setEmittedAtToNull(actualMessages);
 
@@ -302,7 +301,7 @@ public abstract class JdbcSourceStandardTest {
     final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog().withStreams(Lists.newArrayList(
         getConfiguredCatalog().getStreams().get(0),
         streamForTableWithSpaces));
-    final List<AirbyteMessage> actualMessages = MoreIterators.toList(source.read(config, catalog, null));
+    final List<AirbyteMessage> actualMessages = read(config, catalog, null);
 
     setEmittedAtToNull(actualMessages);
 
@@ -414,7 +413,7 @@ public abstract class JdbcSourceStandardTest {
     });
 
     final JdbcState state = new JdbcState().withStreams(Lists.newArrayList(new JdbcStreamState().withStreamName(streamName)));
-    final List<AirbyteMessage> actualMessagesFirstSync = MoreIterators.toList(source.read(config, configuredCatalog, Jsons.jsonNode(state)));
+    final List<AirbyteMessage> actualMessagesFirstSync = read(config, configuredCatalog, Jsons.jsonNode(state));
 
     final Optional<AirbyteMessage> stateAfterFirstSyncOptional = actualMessagesFirstSync.stream().filter(r -> r.getType() == Type.STATE).findFirst();
     assertTrue(stateAfterFirstSyncOptional.isPresent());
@@ -423,8 +422,7 @@ public abstract class JdbcSourceStandardTest {
         .execute(String.format("INSERT INTO %s(id, name, updated_at) VALUES (4,'riker', '2006-10-19'),  (5, 'data', '2006-10-19');",
             getFullyQualifiedTableName(TABLE_NAME))));
 
-    final List<AirbyteMessage> actualMessagesSecondSync = MoreIterators
-        .toList(source.read(config, configuredCatalog, stateAfterFirstSyncOptional.get().getState().getData()));
+    final List<AirbyteMessage> actualMessagesSecondSync = read(config, configuredCatalog, stateAfterFirstSyncOptional.get().getState().getData());
 
     assertEquals(2, (int) actualMessagesSecondSync.stream().filter(r -> r.getType() == Type.RECORD).count());
     final List<AirbyteMessage> expectedMessages = new ArrayList<>();
@@ -469,7 +467,7 @@ public abstract class JdbcSourceStandardTest {
     });
 
     final JdbcState state = new JdbcState().withStreams(Lists.newArrayList(new JdbcStreamState().withStreamName(streamName)));
-    final List<AirbyteMessage> actualMessagesFirstSync = MoreIterators.toList(source.read(config, configuredCatalog, Jsons.jsonNode(state)));
+    final List<AirbyteMessage> actualMessagesFirstSync = read(config, configuredCatalog, Jsons.jsonNode(state));
 
     // get last state message.
     final Optional<AirbyteMessage> stateAfterFirstSyncOptional = actualMessagesFirstSync.stream()
@@ -559,7 +557,7 @@ public abstract class JdbcSourceStandardTest {
 
     final ConfiguredAirbyteCatalog configuredCatalog = new ConfiguredAirbyteCatalog().withStreams(ImmutableList.of(airbyteStream));
 
-    final List<AirbyteMessage> actualMessages = MoreIterators.toList(source.read(config, configuredCatalog, Jsons.jsonNode(state)));
+    final List<AirbyteMessage> actualMessages = read(config, configuredCatalog, Jsons.jsonNode(state));
 
     setEmittedAtToNull(actualMessages);
 
@@ -667,4 +665,8 @@ public abstract class JdbcSourceStandardTest {
     }
   }
 
+  private List<AirbyteMessage> read(JsonNode config, ConfiguredAirbyteCatalog catalog, JsonNode state) throws Exception {
+    return SourceRecords.normalize(source.read(config, catalog, state));
+  }
+
 }
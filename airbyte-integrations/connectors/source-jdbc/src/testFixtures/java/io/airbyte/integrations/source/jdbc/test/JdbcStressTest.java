@@ -164,6 +164,7 @@ public abstract class JdbcStressTest {
     final Iterator<AirbyteMessage> read = source.read(config, configuredCatalog, Jsons.jsonNode(Collections.emptyMap()));
     final long actualCount = MoreStreams.toStream(read)
         .filter(m -> m.getType() == Type.RECORD)
+        .map(SourceRecords::normalize)
         .peek(m -> {
           if (m.getRecord().getData().get("id").asLong() % 100000 == 0) {
             LOGGER.info("reading batch: " + m.getRecord().getData().get("id").asLong() / 1000);
@@ -185,9 +186,9 @@ public abstract class JdbcStressTest {
     bitSet.set((int) recordNumber);
     actualMessage.getRecord().setEmittedAt(null);
 
-    final AirbyteMessage expectedMessage = new AirbyteMessage().withType(Type.RECORD)
+    final AirbyteMessage expectedMessage = SourceRecords.normalize(new AirbyteMessage().withType(Type.RECORD)
         .withRecord(new AirbyteRecordMessage().withStream(streamName)
-            .withData(Jsons.jsonNode(ImmutableMap.of("id", recordNumber, "name", "picard-" + recordNumber))));
+            .withData(Jsons.jsonNode(ImmutableMap.of("id", recordNumber, "name", "picard-" + recordNumber)))));
     assertEquals(expectedMessage, actualMessage);
   }
 
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.mssql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.commons.util.AutoCloseableIterators;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.db.jdbc.RowToJsonMapper;
+import io.airbyte.integrations.source.jdbc.ChangeDataCapture;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads changes with SQL Server change tracking. Positions are change tracking versions, as
+ * numbers. Requires change tracking to be enabled on the database and on each table to read, and
+ * tables with a primary key.
+ *
+ * <p>
+ * Change tracking keeps the primary keys of the changed rows and the version of their last change.
+ * A read selects, for each tracked table, the rows that changed after the start version and up to
+ * the version that was current when the read started, joined back to the table for their current
+ * columns. Change tracking does not record when a change was committed, so the changes get the time
+ * at which they were read.
+ * </p>
+ */
+class MssqlChangeTracking implements ChangeDataCapture {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MssqlChangeTracking.class);
+
+  static final String CDC_CHANGE_VERSION = "_ab_cdc_change_version";
+
+  private static final String CHANGE_VERSION_COLUMN = "_ab_ct_version";
+  private static final String CHANGE_OPERATION_COLUMN = "_ab_ct_operation";
+  private static final String CHANGE_PRIMARY_KEY_COLUMN_PREFIX = "_ab_ct_pk_";
+  private static final String DELETE_OPERATION = "D";
+
+  @Override
+  public String getPositionField() {
+    return CDC_CHANGE_VERSION;
+  }
+
+  @Override
+  public JsonSchemaPrimitive getPositionType() {
+    return JsonSchemaPrimitive.NUMBER;
+  }
+
+  @Override
+  public String getCurrentPosition(JdbcDatabase database) throws SQLException {
+    return String.valueOf(queryCurrentVersion(database));
+  }
+
+  @Override
+  public AutoCloseableIterator<ChangeEvent> read(JdbcDatabase database, String position) throws SQLException {
+    final long startVersion = Long.parseLong(position);
+    final long endVersion = queryCurrentVersion(database);
+    final Instant readAt = Instant.now();
+
+    final List<AutoCloseableIterator<ChangeEvent>> iterators = new ArrayList<>();
+    for (final TrackedTable table : queryTrackedTables(database)) {
+      // the changes before the min valid version have been cleaned up.
+      if (table.minValidVersion > startVersion) {
+        throw new IllegalStateException(String.format(
+            "The changes of table %s.%s after version %s have been cleaned up by change tracking (min valid version: %s). Reset the connection.",
+            table.schemaName, table.tableName, startVersion, table.minValidVersion));
+      }
+      iterators.add(AutoCloseableIterators.lazyIterator(() -> {
+        try {
+          return readTable(database, table, startVersion, endVersion, readAt);
+        } catch (SQLException e) {
+          throw new RuntimeException(e);
+        }
+      }));
+    }
+    LOGGER.info("Reading the changes of {} tracked tables from version {} to version {}.", iterators.size(), startVersion, endVersion);
+    // all changes up to the end version have been read once every table has been read.
+    iterators.add(AutoCloseableIterators.fromIterator(List.of(ChangeEvent.checkpoint(String.valueOf(endVersion))).iterator()));
+    return AutoCloseableIterators.concatWithEagerClose(iterators);
+  }
+
+  @Override
+  public int comparePositions(String position1, String position2) {
+    return Long.compare(Long.parseLong(position1), Long.parseLong(position2));
+  }
+
+  private static long queryCurrentVersion(JdbcDatabase database) throws SQLException {
+    final List<Long> versions = database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery("SELECT CHANGE_TRACKING_CURRENT_VERSION()"),
+        resultSet -> {
+          final long version = resultSet.getLong(1);
+          return resultSet.wasNull() ? null : version;
+        });
+    if (versions.get(0) == null) {
+      throw new IllegalStateException("Change tracking is not enabled on the database.");
+    }
+    return versions.get(0);
+  }
+
+  private static List<TrackedTable> queryTrackedTables(JdbcDatabase database) throws SQLException {
+    final List<TrackedTable> tables = database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery(
+            "SELECT s.name AS schema_name, t.name AS table_name, CHANGE_TRACKING_MIN_VALID_VERSION(t.object_id) AS min_valid_version"
+                + " FROM sys.change_tracking_tables ct"
+                + " JOIN sys.tables t ON t.object_id = ct.object_id"
+                + " JOIN sys.schemas s ON s.schema_id = t.schema_id"),
+        resultSet -> new TrackedTable(resultSet.getString("schema_name"), resultSet.getString("table_name"), resultSet.getLong("min_valid_version")));
+    for (final TrackedTable table : tables) {
+      table.primaryKeys.addAll(database.bufferedResultSetQuery(
+          connection -> connection.getMetaData().getPrimaryKeys(null, table.schemaName, table.tableName),
+          resultSet -> resultSet.getString("COLUMN_NAME")));
+    }
+    return tables;
+  }
+
+  private static AutoCloseableIterator<ChangeEvent> readTable(JdbcDatabase database,
+                                                              TrackedTable table,
+                                                              long startVersion,
+                                                              long endVersion,
+                                                              Instant readAt)
+      throws SQLException {
+    final String streamName = JdbcUtils.getFullyQualifiedTableName(table.schemaName, table.tableName);
+    LOGGER.info("Reading the changes of table {}.", streamName);
+    final RowToJsonMapper mapper = new RowToJsonMapper();
+    final Stream<ChangeEvent> stream = database.query(
+        connection -> {
+          final String tableName = JdbcUtils.getFullyQualifiedTableNameWithQuoting(connection, table.schemaName, table.tableName);
+          final List<String> primaryKeys = new ArrayList<>();
+          final List<String> joinConditions = new ArrayList<>();
+          for (int i = 0; i < table.primaryKeys.size(); i++) {
+            final String primaryKey = JdbcUtils.enquoteIdentifier(connection, table.primaryKeys.get(i));
+            primaryKeys.add(String.format("ct.%s AS %s", primaryKey, CHANGE_PRIMARY_KEY_COLUMN_PREFIX + i));
+            joinConditions.add(String.format("t.%s = ct.%s", primaryKey, primaryKey));
+          }
+          final String sql = String.format("SELECT ct.SYS_CHANGE_VERSION AS %s, ct.SYS_CHANGE_OPERATION AS %s, %s, t.*"
+              + " FROM CHANGETABLE(CHANGES %s, ?) AS ct LEFT JOIN %s AS t ON %s"
+              + " WHERE ct.SYS_CHANGE_VERSION <= ? ORDER BY ct.SYS_CHANGE_VERSION",
+              CHANGE_VERSION_COLUMN, CHANGE_OPERATION_COLUMN, String.join(", ", primaryKeys), tableName, tableName,
+              String.join(" AND ", joinConditions));
+          final PreparedStatement statement = connection.prepareStatement(sql);
+          statement.setLong(1, startVersion);
+          statement.setLong(2, endVersion);
+          return statement;
+        },
+        resultSet -> toChangeEvent(streamName, table.primaryKeys, (ObjectNode) mapper.apply(resultSet), readAt));
+    return AutoCloseableIterators.fromStream(stream);
+  }
+
+  /**
+   * @param row the columns of the change table, followed by the columns of the joined row, which are
+   *        missing if the row has been deleted.
+   */
+  static ChangeEvent toChangeEvent(String streamName, List<String> primaryKeys, ObjectNode row, Instant readAt) {
+    final String version = row.remove(CHANGE_VERSION_COLUMN).asText();
+    final String operation = row.remove(CHANGE_OPERATION_COLUMN).asText();
+    final List<JsonNode> primaryKeyValues = new ArrayList<>();
+    for (int i = 0; i < primaryKeys.size(); i++) {
+      primaryKeyValues.add(row.remove(CHANGE_PRIMARY_KEY_COLUMN_PREFIX + i));
+    }
+
+    // a row that is deleted while it is read is missing from the join too.
+    if (operation.equals(DELETE_OPERATION) || !row.has(primaryKeys.get(0))) {
+      final ObjectNode data = JsonNodeFactory.instance.objectNode();
+      for (int i = 0; i < primaryKeys.size(); i++) {
+        data.set(primaryKeys.get(i), primaryKeyValues.get(i));
+      }
+      return ChangeEvent.change(streamName, version, data, readAt, true);
+    }
+    return ChangeEvent.change(streamName, version, row, readAt, false);
+  }
+
+  private static class TrackedTable {
+
+    private final String schemaName;
+    private final String tableName;
+    private final long minValidVersion;
+    private final List<String> primaryKeys;
+
+    private TrackedTable(String schemaName, String tableName, long minValidVersion) {
+      this.schemaName = schemaName;
+      this.tableName = tableName;
+      this.minValidVersion = minValidVersion;
+      this.primaryKeys = new ArrayList<>();
+    }
+
+  }
+
+}
@@ -30,6 +30,8 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.integrations.base.IntegrationRunner;
 import io.airbyte.integrations.base.Source;
 import io.airbyte.integrations.source.jdbc.AbstractJdbcSource;
+import io.airbyte.integrations.source.jdbc.ChangeDataCapture;
+import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +41,7 @@ public class MssqlSource extends AbstractJdbcSource implements Source {
   private static final Logger LOGGER = LoggerFactory.getLogger(MssqlSource.class);
 
   static final String DRIVER_CLASS = "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+  static final String CONFIG_CHANGE_TRACKING = "change_tracking";
 
   public MssqlSource() {
     super(DRIVER_CLASS, new MssqlJdbcStreamingQueryConfiguration());
@@ -56,6 +59,14 @@ public class MssqlSource extends AbstractJdbcSource implements Source {
         .build());
   }
 
+  @Override
+  protected Optional<ChangeDataCapture> getChangeDataCapture(JsonNode config) {
+    if (!config.has(CONFIG_CHANGE_TRACKING) || !config.get(CONFIG_CHANGE_TRACKING).asBoolean()) {
+      return Optional.empty();
+    }
+    return Optional.of(new MssqlChangeTracking());
+  }
+
   @Override
   public Set<String> getExcludedInternalSchemas() {
     return Set.of(
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.mssql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.util.MoreIterators;
+import io.airbyte.db.Database;
+import io.airbyte.db.Databases;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.SyncMode;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MSSQLServerContainer;
+
+class MssqlChangeTrackingSourceTest {
+
+  private static final String STREAM_NAME = "dbo.id_and_name";
+
+  private static MSSQLServerContainer<?> db;
+
+  private JsonNode config;
+  private Database database;
+
+  @BeforeAll
+  static void init() {
+    db = new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2019-latest").acceptLicense();
+    db.start();
+  }
+
+  @BeforeEach
+  void setup() throws Exception {
+    final String dbName = "db_" + RandomStringUtils.randomAlphabetic(10).toLowerCase();
+    config = Jsons.jsonNode(ImmutableMap.builder()
+        .put("host", db.getHost())
+        .put("port", db.getFirstMappedPort())
+        .put("database", dbName)
+        .put("username", db.getUsername())
+        .put("password", db.getPassword())
+        .put(MssqlSource.CONFIG_CHANGE_TRACKING, true)
+        .build());
+    database = Databases.createDatabase(
+        db.getUsername(),
+        db.getPassword(),
+        String.format("jdbc:sqlserver://%s:%s", db.getHost(), db.getFirstMappedPort()),
+        MssqlSource.DRIVER_CLASS,
+        null);
+    database.query(ctx -> {
+      ctx.fetch(String.format("CREATE DATABASE %s;", dbName));
+      ctx.fetch(String.format("ALTER DATABASE %s SET CHANGE_TRACKING = ON (CHANGE_RETENTION = 2 DAYS, AUTO_CLEANUP = ON);", dbName));
+      ctx.fetch(String.format("USE %s;", dbName));
+      ctx.execute("CREATE TABLE id_and_name(id INTEGER PRIMARY KEY, name VARCHAR(200));");
+      ctx.execute("ALTER TABLE id_and_name ENABLE CHANGE_TRACKING;");
+      ctx.execute("INSERT INTO id_and_name (id, name) VALUES (1, 'picard'), (2, 'crusher');");
+      return null;
+    });
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    database.close();
+  }
+
+  @AfterAll
+  static void cleanUp() {
+    db.stop();
+    db.close();
+  }
+
+  @Test
+  void testDiscoverAddsChangeFields() throws Exception {
+    final AirbyteStream stream = new MssqlSource().discover(config).getStreams().stream()
+        .filter(s -> s.getName().equals(STREAM_NAME))
+        .findFirst()
+        .orElseThrow();
+
+    assertTrue(stream.getSourceDefinedCursor());
+    assertEquals(List.of(MssqlChangeTracking.CDC_CHANGE_VERSION), stream.getDefaultCursorField());
+    assertTrue(stream.getJsonSchema().get("properties").has(MssqlChangeTracking.CDC_CHANGE_VERSION));
+    assertTrue(stream.getJsonSchema().get("properties").has("_ab_cdc_deleted_at"));
+  }
+
+  @Test
+  void testReadsSnapshotThenChanges() throws Exception {
+    final AirbyteCatalog catalog = new MssqlSource().discover(config);
+    final ConfiguredAirbyteCatalog configuredCatalog = CatalogHelpers.toDefaultConfiguredCatalog(catalog);
+    configuredCatalog.getStreams().forEach(s -> s.setSyncMode(SyncMode.INCREMENTAL));
+
+    final List<AirbyteMessage> snapshotMessages = MoreIterators.toList(new MssqlSource().read(config, configuredCatalog, null));
+    assertEquals(List.of("crusher", "picard"), getNames(snapshotMessages));
+    final JsonNode state = getLastState(snapshotMessages);
+
+    database.query(ctx -> {
+      ctx.fetch(String.format("USE %s;", config.get("database").asText()));
+      ctx.execute("INSERT INTO id_and_name (id, name) VALUES (3, 'vash');");
+      ctx.execute("UPDATE id_and_name SET name = 'jean-luc' WHERE id = 1;");
+      ctx.execute("DELETE FROM id_and_name WHERE id = 2;");
+      return null;
+    });
+
+    final List<AirbyteMessage> changeMessages = MoreIterators.toList(new MssqlSource().read(config, configuredCatalog, state));
+    final List<JsonNode> changes = getRecords(changeMessages);
+    assertEquals(3, changes.size());
+    assertEquals("vash", changes.get(0).get("name").asText());
+    assertEquals("jean-luc", changes.get(1).get("name").asText());
+    assertEquals(2, changes.get(2).get("id").asInt());
+    assertTrue(changes.get(2).get("_ab_cdc_deleted_at").isTextual());
+    assertTrue(changes.stream().allMatch(record -> record.get(MssqlChangeTracking.CDC_CHANGE_VERSION).asLong() > 0));
+
+    // the changes are not read again.
+    final List<AirbyteMessage> nextMessages =
+        MoreIterators.toList(new MssqlSource().read(config, configuredCatalog, getLastState(changeMessages)));
+    assertEquals(List.of(), getRecords(nextMessages));
+  }
+
+  private static List<JsonNode> getRecords(List<AirbyteMessage> messages) {
+    return messages.stream()
+        .filter(m -> m.getType() == Type.RECORD)
+        .map(m -> Jsons.deserialize(Jsons.serialize(m.getRecord().getData())))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> getNames(List<AirbyteMessage> messages) {
+    return getRecords(messages).stream().map(record -> record.get("name").asText()).sorted().collect(Collectors.toList());
+  }
+
+  private static JsonNode getLastState(List<AirbyteMessage> messages) {
+    return messages.stream()
+        .filter(m -> m.getType() == Type.STATE)
+        .reduce((first, second) -> second)
+        .orElseThrow()
+        .getState()
+        .getData();
+  }
+
+}
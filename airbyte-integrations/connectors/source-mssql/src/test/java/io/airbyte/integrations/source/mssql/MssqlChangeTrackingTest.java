@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.mssql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MssqlChangeTrackingTest {
+
+  private static final String STREAM_NAME = "dbo.id_and_name";
+  private static final Instant READ_AT = Instant.parse("2021-03-01T10:15:30Z");
+
+  @Test
+  void testUpdateHasColumnsOfJoinedRow() {
+    final ObjectNode row = (ObjectNode) Jsons.deserialize(
+        "{\"_ab_ct_version\":12,\"_ab_ct_operation\":\"U\",\"_ab_ct_pk_0\":1,\"id\":1,\"name\":\"picard\"}");
+    final ChangeEvent event = MssqlChangeTracking.toChangeEvent(STREAM_NAME, List.of("id"), row, READ_AT);
+
+    assertEquals(STREAM_NAME, event.getStreamName());
+    assertEquals("12", event.getPosition());
+    assertEquals(READ_AT, event.getChangedAt());
+    assertFalse(event.isDelete());
+    assertEquals(Jsons.deserialize("{\"id\":1,\"name\":\"picard\"}"), event.getData());
+  }
+
+  @Test
+  void testDeleteHasPrimaryKeyOfChangeTable() {
+    final ObjectNode row = (ObjectNode) Jsons.deserialize(
+        "{\"_ab_ct_version\":13,\"_ab_ct_operation\":\"D\",\"_ab_ct_pk_0\":2,\"_ab_ct_pk_1\":\"b\"}");
+    final ChangeEvent event = MssqlChangeTracking.toChangeEvent(STREAM_NAME, List.of("id", "code"), row, READ_AT);
+
+    assertTrue(event.isDelete());
+    assertEquals("13", event.getPosition());
+    assertEquals(Jsons.deserialize("{\"id\":2,\"code\":\"b\"}"), event.getData());
+  }
+
+  @Test
+  void testRowMissingFromJoinIsDelete() {
+    final ObjectNode row = (ObjectNode) Jsons.deserialize("{\"_ab_ct_version\":14,\"_ab_ct_operation\":\"I\",\"_ab_ct_pk_0\":3}");
+    final ChangeEvent event = MssqlChangeTracking.toChangeEvent(STREAM_NAME, List.of("id"), row, READ_AT);
+
+    assertTrue(event.isDelete());
+    assertEquals(Jsons.deserialize("{\"id\":3}"), event.getData());
+  }
+
+}
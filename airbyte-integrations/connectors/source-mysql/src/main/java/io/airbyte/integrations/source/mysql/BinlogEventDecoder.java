@@ -0,0 +1,308 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.mysql;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.shyiko.mysql.binlog.event.DeleteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.EventHeaderV4;
+import com.github.shyiko.mysql.binlog.event.EventType;
+import com.github.shyiko.mysql.binlog.event.QueryEventData;
+import com.github.shyiko.mysql.binlog.event.RotateEventData;
+import com.github.shyiko.mysql.binlog.event.TableMapEventData;
+import com.github.shyiko.mysql.binlog.event.UpdateRowsEventData;
+import com.github.shyiko.mysql.binlog.event.WriteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.deserialization.json.JsonBinary;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Decodes the events of a row based binlog into changes. The events are expected to be
+ * deserialized with the DATE_AND_TIME_AS_LONG and CHAR_AND_BINARY_AS_BYTE_ARRAY compatibility
+ * modes.
+ *
+ * <p>
+ * Row events do not carry column names, so the columns of each table are loaded the first time one
+ * of its rows is decoded. Values are converted to the same json as the one the rows of a snapshot
+ * are converted to. A change is positioned at the binlog file and position of its row event, and a
+ * checkpoint at the end of each transaction follows the changes of the transaction. A decoder
+ * follows the position of a single binlog connection.
+ * </p>
+ */
+class BinlogEventDecoder {
+
+  private static final Pattern ENUM_VALUE = Pattern.compile("'((?:[^']|'')*)'");
+
+  private final ColumnLoader columnLoader;
+  private final Map<Long, TableMapEventData> tableIdToTableMap = new HashMap<>();
+  private final Map<String, List<Column>> streamNameToColumns = new HashMap<>();
+
+  private String binlogFilename;
+  private long binlogPosition;
+  private boolean isInTransaction;
+
+  /**
+   * @param position binlog position from which events are read.
+   */
+  BinlogEventDecoder(String position, ColumnLoader columnLoader) {
+    this.columnLoader = columnLoader;
+    this.binlogFilename = MySqlChangeDataCapture.getBinlogFilename(position);
+    this.binlogPosition = MySqlChangeDataCapture.getBinlogPosition(position);
+  }
+
+  /**
+   * @return binlog position after the last decoded event.
+   */
+  String getPosition() {
+    return MySqlChangeDataCapture.toPosition(binlogFilename, binlogPosition);
+  }
+
+  boolean isInTransaction() {
+    return isInTransaction;
+  }
+
+  /**
+   * @return the changes in the event, if any.
+   */
+  List<ChangeEvent> decode(Event event) throws SQLException {
+    final EventHeaderV4 header = event.getHeader();
+    final EventType eventType = header.getEventType();
+    if (eventType == EventType.ROTATE) {
+      final RotateEventData rotate = event.getData();
+      binlogFilename = rotate.getBinlogFilename();
+      binlogPosition = rotate.getBinlogPosition();
+      return Collections.emptyList();
+    }
+
+    final String eventPosition = MySqlChangeDataCapture.toPosition(binlogFilename, header.getPosition());
+    // events that the server makes up when a connection starts are not in the binlog.
+    if (header.getNextPosition() > 0) {
+      binlogPosition = header.getNextPosition();
+    }
+
+    final Instant changedAt = Instant.ofEpochMilli(header.getTimestamp());
+    switch (eventType) {
+      case QUERY -> {
+        final String sql = ((QueryEventData) event.getData()).getSql();
+        if (sql.equalsIgnoreCase("BEGIN")) {
+          isInTransaction = true;
+          return Collections.emptyList();
+        }
+        // COMMIT of a non transactional table, or a statement that commits on its own (e.g. DDL).
+        isInTransaction = false;
+        return List.of(ChangeEvent.checkpoint(getPosition()));
+      }
+      case XID -> {
+        isInTransaction = false;
+        return List.of(ChangeEvent.checkpoint(getPosition()));
+      }
+      case TABLE_MAP -> {
+        final TableMapEventData tableMap = event.getData();
+        tableIdToTableMap.put(tableMap.getTableId(), tableMap);
+        return Collections.emptyList();
+      }
+      case WRITE_ROWS, EXT_WRITE_ROWS -> {
+        final WriteRowsEventData rows = event.getData();
+        return toChanges(rows.getTableId(), rows.getIncludedColumns(), rows.getRows(), eventPosition, changedAt, false);
+      }
+      case UPDATE_ROWS, EXT_UPDATE_ROWS -> {
+        final UpdateRowsEventData rows = event.getData();
+        final List<Serializable[]> rowsAfterUpdate = rows.getRows().stream().map(Map.Entry::getValue).collect(Collectors.toList());
+        return toChanges(rows.getTableId(), rows.getIncludedColumns(), rowsAfterUpdate, eventPosition, changedAt, false);
+      }
+      case DELETE_ROWS, EXT_DELETE_ROWS -> {
+        final DeleteRowsEventData rows = event.getData();
+        return toChanges(rows.getTableId(), rows.getIncludedColumns(), rows.getRows(), eventPosition, changedAt, true);
+      }
+      default -> {
+        return Collections.emptyList();
+      }
+    }
+  }
+
+  private List<ChangeEvent> toChanges(long tableId,
+                                      BitSet includedColumns,
+                                      List<Serializable[]> rows,
+                                      String position,
+                                      Instant changedAt,
+                                      boolean isDelete)
+      throws SQLException {
+    final TableMapEventData tableMap = tableIdToTableMap.get(tableId);
+    if (tableMap == null) {
+      throw new IllegalStateException("Rows of a table that was not mapped first: " + tableId);
+    }
+
+    final String streamName = JdbcUtils.getFullyQualifiedTableName(tableMap.getDatabase(), tableMap.getTable());
+    List<Column> columns = streamNameToColumns.get(streamName);
+    if (columns == null) {
+      columns = columnLoader.load(tableMap.getDatabase(), tableMap.getTable());
+      streamNameToColumns.put(streamName, columns);
+    }
+
+    final List<ChangeEvent> changes = new ArrayList<>(rows.size());
+    for (final Serializable[] row : rows) {
+      final ObjectNode data = JsonNodeFactory.instance.objectNode();
+      int valueIndex = 0;
+      for (int i = includedColumns.nextSetBit(0); i >= 0 && i < columns.size(); i = includedColumns.nextSetBit(i + 1)) {
+        setValue(data, columns.get(i), row[valueIndex++]);
+      }
+      changes.add(ChangeEvent.change(streamName, position, data, changedAt, isDelete));
+    }
+    return changes;
+  }
+
+  // values that cannot be converted are set to null, like they are when a snapshot is read.
+  private static void setValue(ObjectNode data, Column column, Serializable value) {
+    final String name = column.name;
+    if (value == null) {
+      data.putNull(name);
+      return;
+    }
+
+    try {
+      switch (column.dataType) {
+        // the jdbc driver reads tinyint(1) as a boolean.
+        case "tinyint" -> {
+          if (column.columnType.startsWith("tinyint(1)")) {
+            data.put(name, ((Number) value).intValue() != 0);
+          } else {
+            data.put(name, toUnsigned(column, ((Number) value).longValue(), 8));
+          }
+        }
+        case "smallint" -> data.put(name, toUnsigned(column, ((Number) value).longValue(), 16));
+        case "mediumint" -> data.put(name, toUnsigned(column, ((Number) value).longValue(), 24));
+        case "int", "integer" -> data.put(name, toUnsigned(column, ((Number) value).longValue(), 32));
+        case "bigint" -> {
+          final long number = (Long) value;
+          if (column.isUnsigned && number < 0) {
+            data.put(name, new BigDecimal(Long.toUnsignedString(number)));
+          } else {
+            data.put(name, number);
+          }
+        }
+        case "bit" -> data.put(name, !((BitSet) value).isEmpty());
+        case "float", "double", "real" -> {
+          final double number = ((Number) value).doubleValue();
+          if (Double.isFinite(number)) {
+            data.put(name, number);
+          } else {
+            data.putNull(name);
+          }
+        }
+        case "decimal", "numeric" -> data.put(name, (BigDecimal) value);
+        // dates and times without a time zone are deserialized as if they were in utc, and the jdbc
+        // driver reads them in the time zone of the jvm.
+        case "date", "datetime", "time" -> data.put(name, JdbcUtils.toISO8601String(
+            LocalDateTime.ofInstant(Instant.ofEpochMilli((Long) value), ZoneOffset.UTC).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        case "timestamp" -> data.put(name, JdbcUtils.toISO8601String((Long) value));
+        case "year" -> data.put(name, ((Number) value).intValue());
+        // 1-based index of the value, or 0 for the empty string that replaces invalid values.
+        case "enum" -> {
+          final int index = ((Number) value).intValue();
+          data.put(name, index == 0 ? "" : column.enumValues.get(index - 1));
+        }
+        case "set" -> {
+          final long bits = ((Number) value).longValue();
+          final List<String> members = new ArrayList<>();
+          for (int i = 0; i < column.enumValues.size(); i++) {
+            if ((bits & (1L << i)) != 0) {
+              members.add(column.enumValues.get(i));
+            }
+          }
+          data.put(name, String.join(",", members));
+        }
+        case "json" -> data.put(name, JsonBinary.parseAsString((byte[]) value));
+        case "binary", "varbinary", "tinyblob", "blob", "mediumblob", "longblob" -> data.put(name, (byte[]) value);
+        default -> data.put(name, value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : value.toString());
+      }
+    } catch (ClassCastException | IndexOutOfBoundsException | IOException e) {
+      data.putNull(name);
+    }
+  }
+
+  // integers are deserialized as signed.
+  private static long toUnsigned(Column column, long value, int bits) {
+    return column.isUnsigned && value < 0 ? value + (1L << bits) : value;
+  }
+
+  @FunctionalInterface
+  interface ColumnLoader {
+
+    /**
+     * @return the columns of the table, in order.
+     */
+    List<Column> load(String schemaName, String tableName) throws SQLException;
+
+  }
+
+  static class Column {
+
+    private final String name;
+    private final String dataType;
+    private final String columnType;
+    private final boolean isUnsigned;
+    private final List<String> enumValues;
+
+    /**
+     * @param dataType DATA_TYPE of the column in information_schema.COLUMNS, e.g. int.
+     * @param columnType COLUMN_TYPE of the column in information_schema.COLUMNS, e.g. int(10) unsigned.
+     */
+    Column(String name, String dataType, String columnType) {
+      this.name = name;
+      this.dataType = dataType.toLowerCase();
+      this.columnType = columnType.toLowerCase();
+      this.isUnsigned = this.columnType.contains("unsigned");
+      this.enumValues = new ArrayList<>();
+      if (this.dataType.equals("enum") || this.dataType.equals("set")) {
+        final Matcher matcher = ENUM_VALUE.matcher(columnType);
+        while (matcher.find()) {
+          enumValues.add(matcher.group(1).replace("''", "'"));
+        }
+      }
+    }
+
+  }
+
+}
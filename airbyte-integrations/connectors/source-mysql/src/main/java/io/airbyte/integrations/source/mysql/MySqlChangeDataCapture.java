@@ -0,0 +1,284 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.mysql;
+
+import com.github.shyiko.mysql.binlog.BinaryLogClient;
+import com.github.shyiko.mysql.binlog.BinaryLogClient.AbstractLifecycleListener;
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.deserialization.EventDeserializer;
+import com.github.shyiko.mysql.binlog.event.deserialization.EventDeserializer.CompatibilityMode;
+import com.google.common.collect.AbstractIterator;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.commons.util.AutoCloseableIterators;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.source.jdbc.ChangeDataCapture;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import io.airbyte.integrations.source.mysql.BinlogEventDecoder.Column;
+import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads changes from the binlog of the server, connecting to it like a replica does. Positions are
+ * a binlog file name and a position in that file, e.g. mysql-bin.000003:1234. Requires
+ * binlog_format=ROW, binlog_row_image=FULL and a user with the REPLICATION SLAVE and REPLICATION
+ * CLIENT privileges.
+ *
+ * <p>
+ * A read stops once it has reached the end of the binlog as it was when the read started. The
+ * binlog has to be kept long enough for every sync to start from where the previous one stopped
+ * (see binlog_expire_logs_seconds).
+ * </p>
+ */
+class MySqlChangeDataCapture implements ChangeDataCapture {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MySqlChangeDataCapture.class);
+
+  static final String CDC_BINLOG_POSITION = "_ab_cdc_binlog_position";
+
+  // stop waiting for the server when it has not sent anything for this long.
+  private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(30);
+  // lets the server report its position when no table changes.
+  private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(1);
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+  private static final long POLL_INTERVAL_MILLIS = 100;
+  // number of events that can be read ahead of the consumer.
+  private static final int QUEUE_CAPACITY = 10000;
+
+  private final String host;
+  private final int port;
+  private final String username;
+  private final String password;
+  private final long serverId;
+
+  /**
+   * @param password null if the user has no password.
+   * @param serverId id of the replica that the source connects as. it must be unique among the
+   *        replicas of the server.
+   */
+  public MySqlChangeDataCapture(String host, int port, String username, String password, long serverId) {
+    this.host = host;
+    this.port = port;
+    this.username = username;
+    this.password = password;
+    this.serverId = serverId;
+  }
+
+  @Override
+  public String getPositionField() {
+    return CDC_BINLOG_POSITION;
+  }
+
+  @Override
+  public JsonSchemaPrimitive getPositionType() {
+    return JsonSchemaPrimitive.STRING;
+  }
+
+  @Override
+  public String getCurrentPosition(JdbcDatabase database) throws SQLException {
+    final String binlogFormat = database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery("SELECT @@binlog_format"),
+        resultSet -> resultSet.getString(1))
+        .get(0);
+    if (!binlogFormat.equalsIgnoreCase("ROW")) {
+      throw new IllegalStateException("Reading changes from the binlog requires binlog_format=ROW, but it is " + binlogFormat);
+    }
+    return queryCurrentPosition(database);
+  }
+
+  @Override
+  public AutoCloseableIterator<ChangeEvent> read(JdbcDatabase database, String position) throws IOException, SQLException, TimeoutException {
+    final String endPosition = queryCurrentPosition(database);
+    LOGGER.info("Reading binlog from {} to {}.", position, endPosition);
+
+    final BlockingQueue<Event> events = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    final AtomicBoolean isClosed = new AtomicBoolean();
+
+    final EventDeserializer eventDeserializer = new EventDeserializer();
+    eventDeserializer.setCompatibilityMode(CompatibilityMode.DATE_AND_TIME_AS_LONG, CompatibilityMode.CHAR_AND_BINARY_AS_BYTE_ARRAY);
+    final BinaryLogClient client = new BinaryLogClient(host, port, username, password);
+    client.setServerId(serverId);
+    client.setBinlogFilename(getBinlogFilename(position));
+    client.setBinlogPosition(getBinlogPosition(position));
+    client.setKeepAlive(false);
+    client.setHeartbeatInterval(HEARTBEAT_INTERVAL.toMillis());
+    client.setEventDeserializer(eventDeserializer);
+    client.registerEventListener(event -> {
+      try {
+        // the consumer can stop before the binlog has been read to the end, so the client must not
+        // wait on a full queue forever.
+        while (!isClosed.get() && !events.offer(event, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+          // wait for the consumer.
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    client.registerLifecycleListener(new AbstractLifecycleListener() {
+
+      @Override
+      public void onCommunicationFailure(BinaryLogClient client, Exception e) {
+        failure.set(e);
+      }
+
+      @Override
+      public void onEventDeserializationFailure(BinaryLogClient client, Exception e) {
+        failure.set(e);
+      }
+
+    });
+    client.connect(CONNECT_TIMEOUT.toMillis());
+
+    final BinlogEventDecoder decoder = new BinlogEventDecoder(position, (schemaName, tableName) -> queryColumns(database, schemaName, tableName));
+    return AutoCloseableIterators.fromIterator(new BinlogIterator(events, failure, decoder, endPosition, this), () -> {
+      isClosed.set(true);
+      client.disconnect();
+    });
+  }
+
+  @Override
+  public int comparePositions(String position1, String position2) {
+    final String filename1 = getBinlogFilename(position1);
+    final String filename2 = getBinlogFilename(position2);
+    // binlog files are numbered, and the number can outgrow its zero padding.
+    if (filename1.length() != filename2.length()) {
+      return Integer.compare(filename1.length(), filename2.length());
+    }
+    final int filenameComparison = filename1.compareTo(filename2);
+    return filenameComparison != 0 ? filenameComparison : Long.compare(getBinlogPosition(position1), getBinlogPosition(position2));
+  }
+
+  static String toPosition(String binlogFilename, long binlogPosition) {
+    return binlogFilename + ":" + binlogPosition;
+  }
+
+  static String getBinlogFilename(String position) {
+    return position.substring(0, position.lastIndexOf(':'));
+  }
+
+  static long getBinlogPosition(String position) {
+    return Long.parseLong(position.substring(position.lastIndexOf(':') + 1));
+  }
+
+  private static String queryCurrentPosition(JdbcDatabase database) throws SQLException {
+    final List<String> positions = database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery("SHOW MASTER STATUS"),
+        resultSet -> toPosition(resultSet.getString("File"), resultSet.getLong("Position")));
+    if (positions.isEmpty()) {
+      throw new IllegalStateException("Reading changes from the binlog requires the binlog to be enabled.");
+    }
+    return positions.get(0);
+  }
+
+  private static List<Column> queryColumns(JdbcDatabase database, String schemaName, String tableName) throws SQLException {
+    return database.bufferedResultSetQuery(
+        connection -> {
+          final PreparedStatement statement = connection.prepareStatement(
+              "SELECT COLUMN_NAME, DATA_TYPE, COLUMN_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION");
+          statement.setString(1, schemaName);
+          statement.setString(2, tableName);
+          return statement.executeQuery();
+        },
+        resultSet -> new Column(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3)));
+  }
+
+  private static class BinlogIterator extends AbstractIterator<ChangeEvent> {
+
+    private final BlockingQueue<Event> events;
+    private final AtomicReference<Exception> failure;
+    private final BinlogEventDecoder decoder;
+    private final String endPosition;
+    private final ChangeDataCapture changeDataCapture;
+    private final Deque<ChangeEvent> pendingEvents;
+
+    private boolean isDone;
+
+    private BinlogIterator(BlockingQueue<Event> events,
+                           AtomicReference<Exception> failure,
+                           BinlogEventDecoder decoder,
+                           String endPosition,
+                           ChangeDataCapture changeDataCapture) {
+      this.events = events;
+      this.failure = failure;
+      this.decoder = decoder;
+      this.endPosition = endPosition;
+      this.changeDataCapture = changeDataCapture;
+      this.pendingEvents = new ArrayDeque<>();
+    }
+
+    @Override
+    protected ChangeEvent computeNext() {
+      try {
+        Instant lastEventAt = Instant.now();
+        while (pendingEvents.isEmpty()) {
+          if (isDone) {
+            return endOfData();
+          }
+          if (failure.get() != null) {
+            throw new RuntimeException("Could not read the binlog.", failure.get());
+          }
+
+          if (!decoder.isInTransaction() && changeDataCapture.comparePositions(decoder.getPosition(), endPosition) >= 0) {
+            pendingEvents.add(ChangeEvent.checkpoint(decoder.getPosition()));
+            isDone = true;
+            continue;
+          }
+
+          final Event event = events.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+          if (event != null) {
+            pendingEvents.addAll(decoder.decode(event));
+            lastEventAt = Instant.now();
+          } else if (Duration.between(lastEventAt, Instant.now()).compareTo(IDLE_TIMEOUT) >= 0) {
+            LOGGER.warn("Stopped reading the binlog at {} because the server did not send anything for {}.", decoder.getPosition(), IDLE_TIMEOUT);
+            isDone = true;
+          }
+        }
+        return pendingEvents.poll();
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
+
+  }
+
+}
@@ -30,6 +30,8 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.integrations.base.IntegrationRunner;
 import io.airbyte.integrations.base.Source;
 import io.airbyte.integrations.source.jdbc.AbstractJdbcSource;
+import io.airbyte.integrations.source.jdbc.ChangeDataCapture;
+import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +41,7 @@ public class MySqlSource extends AbstractJdbcSource implements Source {
   private static final Logger LOGGER = LoggerFactory.getLogger(MySqlSource.class);
 
   public static final String DRIVER_CLASS = "com.mysql.cj.jdbc.Driver";
+  static final String CONFIG_BINLOG_SERVER_ID = "binlog_server_id";
 
   public MySqlSource() {
     super(DRIVER_CLASS, new MySqlJdbcStreamingQueryConfiguration());
@@ -61,6 +64,26 @@ public class MySqlSource extends AbstractJdbcSource implements Source {
     return Jsons.jsonNode(configBuilder.build());
   }
 
+  @Override
+  protected Optional<ChangeDataCapture> getChangeDataCapture(JsonNode config) {
+    if (!config.has(CONFIG_BINLOG_SERVER_ID)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new MySqlChangeDataCapture(
+        config.get("host").asText(),
+        config.get("port").asInt(),
+        config.get("username").asText(),
+        config.has("password") ? config.get("password").asText() : null,
+        config.get(CONFIG_BINLOG_SERVER_ID).asLong()));
+  }
+
+  // the driver reads the columns of each table with its own query.
+  @Override
+  protected boolean isDiscoveredPerTable() {
+    return true;
+  }
+
   @Override
   public Set<String> getExcludedInternalSchemas() {
     return Set.of(
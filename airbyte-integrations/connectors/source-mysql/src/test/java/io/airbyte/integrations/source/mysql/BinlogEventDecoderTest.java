@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.mysql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.shyiko.mysql.binlog.event.DeleteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.EventData;
+import com.github.shyiko.mysql.binlog.event.EventHeaderV4;
+import com.github.shyiko.mysql.binlog.event.EventType;
+import com.github.shyiko.mysql.binlog.event.QueryEventData;
+import com.github.shyiko.mysql.binlog.event.RotateEventData;
+import com.github.shyiko.mysql.binlog.event.TableMapEventData;
+import com.github.shyiko.mysql.binlog.event.UpdateRowsEventData;
+import com.github.shyiko.mysql.binlog.event.WriteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.XidEventData;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import io.airbyte.integrations.source.mysql.BinlogEventDecoder.Column;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BinlogEventDecoderTest {
+
+  private static final long TABLE_ID = 108;
+  private static final long TIMESTAMP = Instant.parse("2021-03-01T10:15:30Z").toEpochMilli();
+  private static final List<Column> COLUMNS = List.of(
+      new Column("id", "int", "int(10) unsigned"),
+      new Column("name", "varchar", "varchar(200)"),
+      new Column("active", "tinyint", "tinyint(1)"),
+      new Column("size", "enum", "enum('small','it''s large')"),
+      new Column("price", "decimal", "decimal(10,2)"));
+
+  private AtomicInteger columnLoads;
+  private BinlogEventDecoder decoder;
+
+  @BeforeEach
+  void setup() {
+    columnLoads = new AtomicInteger();
+    decoder = new BinlogEventDecoder("mysql-bin.000001:4", (schemaName, tableName) -> {
+      assertEquals("db", schemaName);
+      assertEquals("shoes", tableName);
+      columnLoads.incrementAndGet();
+      return COLUMNS;
+    });
+  }
+
+  @Test
+  void testDecodesTransaction() throws Exception {
+    final RotateEventData rotate = new RotateEventData();
+    rotate.setBinlogFilename("mysql-bin.000002");
+    rotate.setBinlogPosition(4);
+    assertEquals(List.of(), decoder.decode(event(EventType.ROTATE, 0, 0, rotate)));
+    assertEquals("mysql-bin.000002:4", decoder.getPosition());
+
+    assertEquals(List.of(), decoder.decode(event(EventType.QUERY, 200, 100, query("BEGIN"))));
+    assertTrue(decoder.isInTransaction());
+    final TableMapEventData tableMap = new TableMapEventData();
+    tableMap.setTableId(TABLE_ID);
+    tableMap.setDatabase("db");
+    tableMap.setTable("shoes");
+    assertEquals(List.of(), decoder.decode(event(EventType.TABLE_MAP, 250, 50, tableMap)));
+
+    final WriteRowsEventData write = new WriteRowsEventData();
+    write.setTableId(TABLE_ID);
+    write.setIncludedColumns(allColumns());
+    write.setRows(List.<Serializable[]>of(new Serializable[] {-1, "goku".getBytes(StandardCharsets.UTF_8), 1, 2, new BigDecimal("9.99")}));
+    final List<ChangeEvent> writes = decoder.decode(event(EventType.EXT_WRITE_ROWS, 300, 50, write));
+    assertEquals(1, writes.size());
+    assertEquals("db.shoes", writes.get(0).getStreamName());
+    assertEquals("mysql-bin.000002:250", writes.get(0).getPosition());
+    assertEquals(Instant.ofEpochMilli(TIMESTAMP), writes.get(0).getChangedAt());
+    assertFalse(writes.get(0).isDelete());
+    assertEquals(Jsons.deserialize("{\"id\":4294967295,\"name\":\"goku\",\"active\":true,\"size\":\"it's large\",\"price\":9.99}"),
+        Jsons.clone(writes.get(0).getData()));
+
+    final UpdateRowsEventData update = new UpdateRowsEventData();
+    update.setTableId(TABLE_ID);
+    update.setIncludedColumns(allColumns());
+    update.setRows(List.of(new SimpleEntry<>(
+        new Serializable[] {1, "goku".getBytes(StandardCharsets.UTF_8), 1, 1, null},
+        new Serializable[] {1, "kakarot".getBytes(StandardCharsets.UTF_8), 0, 1, null})));
+    final List<ChangeEvent> updates = decoder.decode(event(EventType.EXT_UPDATE_ROWS, 350, 50, update));
+    assertEquals(Jsons.deserialize("{\"id\":1,\"name\":\"kakarot\",\"active\":false,\"size\":\"small\",\"price\":null}"),
+        Jsons.clone(updates.get(0).getData()));
+
+    final DeleteRowsEventData delete = new DeleteRowsEventData();
+    delete.setTableId(TABLE_ID);
+    delete.setIncludedColumns(allColumns());
+    delete.setRows(List.<Serializable[]>of(new Serializable[] {1, "kakarot".getBytes(StandardCharsets.UTF_8), 0, 1, null}));
+    final List<ChangeEvent> deletes = decoder.decode(event(EventType.EXT_DELETE_ROWS, 400, 50, delete));
+    assertTrue(deletes.get(0).isDelete());
+
+    final List<ChangeEvent> commit = decoder.decode(event(EventType.XID, 431, 31, new XidEventData()));
+    assertEquals(1, commit.size());
+    assertTrue(commit.get(0).isCheckpoint());
+    assertEquals("mysql-bin.000002:431", commit.get(0).getPosition());
+    assertFalse(decoder.isInTransaction());
+    // the columns of a table are loaded once.
+    assertEquals(1, columnLoads.get());
+  }
+
+  @Test
+  void testCheckpointsAfterStatementOutsideOfTransaction() throws Exception {
+    final List<ChangeEvent> events = decoder.decode(event(EventType.QUERY, 150, 50, query("CREATE TABLE shoes (id INT)")));
+    assertEquals(1, events.size());
+    assertEquals("mysql-bin.000001:150", events.get(0).getPosition());
+  }
+
+  @Test
+  void testComparePositions() {
+    final MySqlChangeDataCapture changeDataCapture = new MySqlChangeDataCapture("localhost", 3306, "user", null, 1);
+    assertTrue(changeDataCapture.comparePositions("mysql-bin.000001:200", "mysql-bin.000001:1000") < 0);
+    assertTrue(changeDataCapture.comparePositions("mysql-bin.000002:4", "mysql-bin.000001:1000") > 0);
+    assertTrue(changeDataCapture.comparePositions("mysql-bin.999999:1000", "mysql-bin.1000000:4") < 0);
+    assertEquals(0, changeDataCapture.comparePositions("mysql-bin.000001:4", "mysql-bin.000001:4"));
+  }
+
+  private static QueryEventData query(String sql) {
+    final QueryEventData query = new QueryEventData();
+    query.setSql(sql);
+    return query;
+  }
+
+  private static BitSet allColumns() {
+    final BitSet includedColumns = new BitSet();
+    includedColumns.set(0, COLUMNS.size());
+    return includedColumns;
+  }
+
+  private static Event event(EventType eventType, long nextPosition, long length, EventData data) {
+    final EventHeaderV4 header = new EventHeaderV4();
+    header.setEventType(eventType);
+    header.setTimestamp(TIMESTAMP);
+    header.setNextPosition(nextPosition);
+    header.setEventLength(length);
+    return new Event(header, data);
+  }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.mysql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.resources.MoreResources;
+import io.airbyte.commons.util.MoreIterators;
+import io.airbyte.db.Database;
+import io.airbyte.db.Databases;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.SyncMode;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.jooq.SQLDialect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+
+class MySqlCdcSourceTest {
+
+  private static final String TEST_USER = "test";
+  private static final String TEST_PASSWORD = "test";
+  private static MySQLContainer<?> container;
+
+  private JsonNode config;
+  private Database database;
+  private String streamName;
+
+  @BeforeAll
+  static void init() {
+    // test containers withInitScript only accepts scripts that are mounted as resources.
+    MoreResources.writeResource("init.sql",
+        "CREATE USER '" + TEST_USER + "'@'%' IDENTIFIED BY '" + TEST_PASSWORD + "';\n"
+            + "GRANT ALL PRIVILEGES ON *.* TO '" + TEST_USER + "'@'%';\n");
+    // mysql 8 writes a row based binlog by default.
+    container = new MySQLContainer<>("mysql:8.0").withInitScript("init.sql").withUsername("root").withPassword("");
+    container.start();
+  }
+
+  @BeforeEach
+  void setup() throws Exception {
+    final String databaseName = "db_" + RandomStringUtils.randomAlphabetic(10);
+    streamName = databaseName + ".id_and_name";
+    config = Jsons.jsonNode(ImmutableMap.builder()
+        .put("host", container.getHost())
+        .put("port", container.getFirstMappedPort())
+        .put("database", databaseName)
+        .put("username", TEST_USER)
+        .put("password", TEST_PASSWORD)
+        .put(MySqlSource.CONFIG_BINLOG_SERVER_ID, 5400)
+        .build());
+    database = Databases.createDatabase(
+        TEST_USER,
+        TEST_PASSWORD,
+        String.format("jdbc:mysql://%s:%s", container.getHost(), container.getFirstMappedPort()),
+        MySqlSource.DRIVER_CLASS,
+        SQLDialect.MYSQL);
+    database.query(ctx -> {
+      ctx.execute("CREATE DATABASE " + databaseName + ";");
+      ctx.execute("CREATE TABLE " + streamName + "(id INTEGER PRIMARY KEY, name VARCHAR(200));");
+      ctx.execute("INSERT INTO " + streamName + " (id, name) VALUES (1, 'goku'), (2, 'vegeta');");
+      return null;
+    });
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    database.close();
+  }
+
+  @AfterAll
+  static void cleanUp() {
+    container.close();
+  }
+
+  @Test
+  void testDiscoverAddsChangeFields() throws Exception {
+    final AirbyteStream stream = new MySqlSource().discover(config).getStreams().stream()
+        .filter(s -> s.getName().equals(streamName))
+        .findFirst()
+        .orElseThrow();
+
+    assertTrue(stream.getSourceDefinedCursor());
+    assertEquals(List.of(MySqlChangeDataCapture.CDC_BINLOG_POSITION), stream.getDefaultCursorField());
+    assertTrue(stream.getJsonSchema().get("properties").has(MySqlChangeDataCapture.CDC_BINLOG_POSITION));
+    assertTrue(stream.getJsonSchema().get("properties").has("_ab_cdc_deleted_at"));
+  }
+
+  @Test
+  void testReadsSnapshotThenChanges() throws Exception {
+    final AirbyteCatalog catalog = new MySqlSource().discover(config);
+    final ConfiguredAirbyteCatalog configuredCatalog = CatalogHelpers.toDefaultConfiguredCatalog(catalog);
+    configuredCatalog.getStreams().forEach(s -> s.setSyncMode(SyncMode.INCREMENTAL));
+
+    final List<AirbyteMessage> snapshotMessages = MoreIterators.toList(new MySqlSource().read(config, configuredCatalog, null));
+    assertEquals(List.of("goku", "vegeta"), getNames(snapshotMessages));
+    final JsonNode state = getLastState(snapshotMessages);
+
+    database.query(ctx -> {
+      ctx.execute("INSERT INTO " + streamName + " (id, name) VALUES (3, 'piccolo');");
+      ctx.execute("UPDATE " + streamName + " SET name = 'kakarot' WHERE id = 1;");
+      ctx.execute("DELETE FROM " + streamName + " WHERE id = 2;");
+      return null;
+    });
+
+    final List<AirbyteMessage> changeMessages = MoreIterators.toList(new MySqlSource().read(config, configuredCatalog, state));
+    final List<JsonNode> changes = getRecords(changeMessages);
+    assertEquals(3, changes.size());
+    assertEquals("piccolo", changes.get(0).get("name").asText());
+    assertEquals("kakarot", changes.get(1).get("name").asText());
+    assertEquals(2, changes.get(2).get("id").asInt());
+    assertTrue(changes.get(2).get("_ab_cdc_deleted_at").isTextual());
+    assertTrue(changes.stream().allMatch(record -> record.get(MySqlChangeDataCapture.CDC_BINLOG_POSITION).isTextual()));
+
+    // the changes are not read again.
+    final List<AirbyteMessage> nextMessages =
+        MoreIterators.toList(new MySqlSource().read(config, configuredCatalog, getLastState(changeMessages)));
+    assertEquals(List.of(), getRecords(nextMessages));
+  }
+
+  private static List<JsonNode> getRecords(List<AirbyteMessage> messages) {
+    return messages.stream()
+        .filter(m -> m.getType() == Type.RECORD)
+        .map(m -> Jsons.deserialize(Jsons.serialize(m.getRecord().getData())))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> getNames(List<AirbyteMessage> messages) {
+    return getRecords(messages).stream().map(record -> record.get("name").asText()).sorted().collect(Collectors.toList());
+  }
+
+  private static JsonNode getLastState(List<AirbyteMessage> messages) {
+    return messages.stream()
+        .filter(m -> m.getType() == Type.STATE)
+        .reduce((first, second) -> second)
+        .orElseThrow()
+        .getState()
+        .getData();
+  }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Converts the rows of a COPY ... TO STDOUT in text format to json text, like
+ * {@link io.airbyte.db.jdbc.RowToRawJsonMapper} converts the rows of a select. See
+ * https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.2.
+ *
+ * <p>
+ * A row is a line of tab separated columns, in which null is \N and backslashes escape the special
+ * characters of a value. The value of each column is converted based on its discovered type, to the
+ * same json as the one the jdbc driver reads it as. A converter must only be used by one thread at a
+ * time.
+ * </p>
+ */
+class CopyRowConverter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String NULL_VALUE = "\\N";
+
+  private final SerializedString[] names;
+  private final JDBCType[] types;
+  private final StringWriter writer;
+  private final JsonGenerator generator;
+  private final StringBuilder valueBuilder;
+
+  /**
+   * @param columnNameToType the columns of the rows, in order.
+   */
+  CopyRowConverter(Map<String, JDBCType> columnNameToType) {
+    this.names = columnNameToType.keySet().stream().map(SerializedString::new).toArray(SerializedString[]::new);
+    this.types = columnNameToType.values().toArray(JDBCType[]::new);
+    this.writer = new StringWriter();
+    try {
+      this.generator = JSON_FACTORY.createGenerator(writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // each row is taken from the writer on its own.
+    this.generator.setRootValueSeparator(null);
+    this.valueBuilder = new StringBuilder();
+  }
+
+  JsonNode convert(byte[] row) {
+    final String line = new String(row, StandardCharsets.UTF_8);
+    final int end = line.endsWith("\n") ? line.length() - 1 : line.length();
+    try {
+      writer.getBuffer().setLength(0);
+      generator.writeStartObject();
+      int start = 0;
+      for (int i = 0; i < names.length; i++) {
+        final int separator = i == names.length - 1 ? end : line.indexOf('\t', start);
+        if (separator < 0) {
+          throw new IllegalStateException(String.format("COPY row has %s columns instead of %s: %s", i + 1, names.length, line));
+        }
+        final String value = line.substring(start, separator);
+        if (!value.equals(NULL_VALUE)) {
+          writeValue(names[i], types[i], unescape(value));
+        }
+        start = separator + 1;
+      }
+      generator.writeEndObject();
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return JsonNodeFactory.instance.rawValueNode(new RawValue(writer.toString()));
+  }
+
+  // values that cannot be converted are set to null, like they are when a select is read.
+  private void writeValue(SerializedString name, JDBCType type, String value) throws IOException {
+    generator.writeFieldName(name);
+    try {
+      switch (type) {
+        case BIT, BOOLEAN -> generator.writeBoolean(value.equals("t") || value.equals("1"));
+        case TINYINT, SMALLINT, INTEGER, BIGINT -> generator.writeNumber(Long.parseLong(value));
+        case FLOAT, DOUBLE -> {
+          final double number = Double.parseDouble(value);
+          if (Double.isFinite(number)) {
+            generator.writeNumber(number);
+          } else {
+            generator.writeNull();
+          }
+        }
+        case REAL -> {
+          final float number = Float.parseFloat(value);
+          if (Float.isFinite(number)) {
+            generator.writeNumber(number);
+          } else {
+            generator.writeNull();
+          }
+        }
+        case NUMERIC, DECIMAL -> generator.writeNumber(new BigDecimal(value));
+        case DATE -> generator.writeString(PostgresTextValues.toDateString(value));
+        case TIME -> generator.writeString(PostgresTextValues.toTimeString(value));
+        case TIMESTAMP -> generator.writeString(PostgresTextValues.toTimestampString(value));
+        case BINARY, VARBINARY, LONGVARBINARY -> generator.writeBinary(PostgresTextValues.toBytes(value));
+        default -> generator.writeString(value);
+      }
+    } catch (NumberFormatException | DateTimeParseException | IndexOutOfBoundsException e) {
+      generator.writeNull();
+    }
+  }
+
+  private String unescape(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+
+    valueBuilder.setLength(0);
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c != '\\' || i == value.length() - 1) {
+        valueBuilder.append(c);
+        continue;
+      }
+      final char escaped = value.charAt(++i);
+      switch (escaped) {
+        case 'b' -> valueBuilder.append('\b');
+        case 'f' -> valueBuilder.append('\f');
+        case 'n' -> valueBuilder.append('\n');
+        case 'r' -> valueBuilder.append('\r');
+        case 't' -> valueBuilder.append('\t');
+        case 'v' -> valueBuilder.append('\u000B');
+        default -> valueBuilder.append(escaped);
+      }
+    }
+    return valueBuilder.toString();
+  }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the messages of the pgoutput logical decoding plugin (protocol version 1) into changes.
+ * See https://www.postgresql.org/docs/current/protocol-logicalrep-message-formats.html.
+ *
+ * <p>
+ * Column values arrive as text. They are converted to the same json as the one the rows of a
+ * snapshot are converted to, based on the type of the column. The changes of a transaction are
+ * positioned at the LSN of its commit, and a checkpoint at the end LSN of the commit follows them.
+ * A decoder keeps the relations it has been sent, so a decoder must be used for a single
+ * replication stream.
+ * </p>
+ */
+class PgOutputDecoder {
+
+  // https://github.com/postgres/postgres/blob/master/src/include/catalog/pg_type.dat
+  private static final int BOOL_OID = 16;
+  private static final int BYTEA_OID = 17;
+  private static final int INT8_OID = 20;
+  private static final int INT2_OID = 21;
+  private static final int INT4_OID = 23;
+  private static final int OID_OID = 26;
+  private static final int FLOAT4_OID = 700;
+  private static final int FLOAT8_OID = 701;
+  private static final int DATE_OID = 1082;
+  private static final int TIME_OID = 1083;
+  private static final int TIMESTAMP_OID = 1114;
+  private static final int TIMESTAMPTZ_OID = 1184;
+  private static final int NUMERIC_OID = 1700;
+
+  private static final Instant POSTGRES_EPOCH = Instant.parse("2000-01-01T00:00:00Z");
+
+  private final Map<Integer, Relation> relations = new HashMap<>();
+
+  // set while the changes of a transaction are being decoded.
+  private String transactionPosition;
+  private Instant transactionCommittedAt;
+
+  boolean isInTransaction() {
+    return transactionPosition != null;
+  }
+
+  /**
+   * @return the changes in the message, if any.
+   */
+  List<ChangeEvent> decode(ByteBuffer buffer) {
+    final char messageType = (char) buffer.get();
+    switch (messageType) {
+      case 'B' -> {
+        transactionPosition = String.valueOf(buffer.getLong());
+        transactionCommittedAt = toInstant(buffer.getLong());
+        return Collections.emptyList();
+      }
+      case 'C' -> {
+        // flags and commit LSN.
+        buffer.get();
+        buffer.getLong();
+        final long endPosition = buffer.getLong();
+        transactionPosition = null;
+        transactionCommittedAt = null;
+        return List.of(ChangeEvent.checkpoint(String.valueOf(endPosition)));
+      }
+      case 'R' -> {
+        decodeRelation(buffer);
+        return Collections.emptyList();
+      }
+      case 'I' -> {
+        final Relation relation = getRelation(buffer.getInt());
+        // 'N'
+        buffer.get();
+        return List.of(toChange(relation, decodeTuple(buffer, relation), false));
+      }
+      case 'U' -> {
+        final Relation relation = getRelation(buffer.getInt());
+        // the old key or row, if the replica identity of the table sends it, followed by 'N'.
+        final char tupleType = (char) buffer.get();
+        if (tupleType == 'K' || tupleType == 'O') {
+          decodeTuple(buffer, relation);
+          buffer.get();
+        }
+        return List.of(toChange(relation, decodeTuple(buffer, relation), false));
+      }
+      case 'D' -> {
+        final Relation relation = getRelation(buffer.getInt());
+        // 'K' or 'O'
+        buffer.get();
+        return List.of(toChange(relation, decodeTuple(buffer, relation), true));
+      }
+      // includes origin, type, truncate and logical decoding messages.
+      default -> {
+        return Collections.emptyList();
+      }
+    }
+  }
+
+  private void decodeRelation(ByteBuffer buffer) {
+    final int relationId = buffer.getInt();
+    final String namespace = readString(buffer);
+    final String name = readString(buffer);
+    // replica identity.
+    buffer.get();
+    final short columnCount = buffer.getShort();
+    final List<Column> columns = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      // flags.
+      buffer.get();
+      final String columnName = readString(buffer);
+      final int typeOid = buffer.getInt();
+      // type modifier.
+      buffer.getInt();
+      columns.add(new Column(columnName, typeOid));
+    }
+    relations.put(relationId, new Relation(JdbcUtils.getFullyQualifiedTableName(namespace, name), columns));
+  }
+
+  private Relation getRelation(int relationId) {
+    final Relation relation = relations.get(relationId);
+    if (relation == null) {
+      throw new IllegalStateException("Change of a relation that was not described first: " + relationId);
+    }
+    return relation;
+  }
+
+  private ChangeEvent toChange(Relation relation, ObjectNode data, boolean isDelete) {
+    if (transactionPosition == null) {
+      throw new IllegalStateException("Change outside of a transaction in relation: " + relation.streamName);
+    }
+    return ChangeEvent.change(relation.streamName, transactionPosition, data, transactionCommittedAt, isDelete);
+  }
+
+  private static ObjectNode decodeTuple(ByteBuffer buffer, Relation relation) {
+    final ObjectNode data = JsonNodeFactory.instance.objectNode();
+    final short columnCount = buffer.getShort();
+    for (int i = 0; i < columnCount; i++) {
+      final Column column = relation.columns.get(i);
+      switch ((char) buffer.get()) {
+        case 'n' -> data.putNull(column.name);
+        case 't' -> {
+          final byte[] value = new byte[buffer.getInt()];
+          buffer.get(value);
+          setValue(data, column, new String(value, StandardCharsets.UTF_8));
+        }
+        // unchanged toasted value, which is not sent again.
+        default -> {}
+      }
+    }
+    return data;
+  }
+
+  // values that cannot be converted are set to null, like they are when a snapshot is read.
+  private static void setValue(ObjectNode data, Column column, String value) {
+    try {
+      switch (column.typeOid) {
+        case BOOL_OID -> data.put(column.name, value.equals("t"));
+        case INT2_OID, INT4_OID -> data.put(column.name, Integer.parseInt(value));
+        case INT8_OID, OID_OID -> data.put(column.name, Long.parseLong(value));
+        case FLOAT4_OID, FLOAT8_OID -> {
+          final double number = Double.parseDouble(value);
+          if (Double.isFinite(number)) {
+            data.put(column.name, number);
+          } else {
+            data.putNull(column.name);
+          }
+        }
+        case NUMERIC_OID -> data.put(column.name, new BigDecimal(value));
+        case DATE_OID -> data.put(column.name, PostgresTextValues.toDateString(value));
+        case TIME_OID -> data.put(column.name, PostgresTextValues.toTimeString(value));
+        case TIMESTAMP_OID, TIMESTAMPTZ_OID -> data.put(column.name, PostgresTextValues.toTimestampString(value));
+        case BYTEA_OID -> data.put(column.name, PostgresTextValues.toBytes(value));
+        default -> data.put(column.name, value);
+      }
+    } catch (NumberFormatException | DateTimeParseException | IndexOutOfBoundsException e) {
+      data.putNull(column.name);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    final int start = buffer.position();
+    while (buffer.get() != 0) {
+      // look for the terminating null byte.
+    }
+    final byte[] value = new byte[buffer.position() - start - 1];
+    buffer.position(start);
+    buffer.get(value);
+    buffer.get();
+    return new String(value, StandardCharsets.UTF_8);
+  }
+
+  private static Instant toInstant(long microsSincePostgresEpoch) {
+    return POSTGRES_EPOCH.plus(microsSincePostgresEpoch, ChronoUnit.MICROS);
+  }
+
+  private static class Relation {
+
+    private final String streamName;
+    private final List<Column> columns;
+
+    private Relation(String streamName, List<Column> columns) {
+      this.streamName = streamName;
+      this.columns = columns;
+    }
+
+  }
+
+  private static class Column {
+
+    private final String name;
+    private final int typeOid;
+
+    private Column(String name, int typeOid) {
+      this.name = name;
+      this.typeOid = typeOid;
+    }
+
+  }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import com.google.common.collect.AbstractIterator;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.commons.util.AutoCloseableIterators;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.integrations.source.jdbc.ChangeDataCapture;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads changes from a logical replication slot with the pgoutput plugin, through the replication
+ * protocol of the jdbc driver. Positions are LSNs, as numbers. Requires Postgres 10 or later with
+ * wal_level=logical, a publication of the tables to read, and a user with the REPLICATION attribute.
+ * The slot is created if it does not exist.
+ *
+ * <p>
+ * A read stops once the server has sent everything that was written to the WAL before the read
+ * started. The slot is told that the changes before the start position have been flushed, so that
+ * the server can remove the WAL it no longer needs: the state of the previous sync, which the start
+ * position comes from, has been saved by then.
+ * </p>
+ */
+class PostgresChangeDataCapture implements ChangeDataCapture {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PostgresChangeDataCapture.class);
+
+  static final String CDC_LSN = "_ab_cdc_lsn";
+
+  // stop waiting for the server when it has not sent anything for this long.
+  private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(30);
+  private static final long POLL_INTERVAL_MILLIS = 10;
+
+  private final String jdbcUrl;
+  private final String username;
+  private final String password;
+  private final String slotName;
+  private final String publication;
+
+  /**
+   * @param password null if the user has no password.
+   */
+  public PostgresChangeDataCapture(String jdbcUrl, String username, String password, String slotName, String publication) {
+    this.jdbcUrl = jdbcUrl;
+    this.username = username;
+    this.password = password;
+    this.slotName = slotName;
+    this.publication = publication;
+  }
+
+  @Override
+  public String getPositionField() {
+    return CDC_LSN;
+  }
+
+  @Override
+  public JsonSchemaPrimitive getPositionType() {
+    return JsonSchemaPrimitive.NUMBER;
+  }
+
+  @Override
+  public String getCurrentPosition(JdbcDatabase database) throws SQLException {
+    final List<String> slots = database.bufferedResultSetQuery(
+        connection -> {
+          final PreparedStatement statement = connection.prepareStatement("SELECT slot_name FROM pg_replication_slots WHERE slot_name = ?");
+          statement.setString(1, slotName);
+          return statement.executeQuery();
+        },
+        resultSet -> resultSet.getString(1));
+    if (slots.isEmpty()) {
+      LOGGER.info("Creating replication slot {}.", slotName);
+      database.execute(connection -> {
+        final PreparedStatement statement = connection.prepareStatement("SELECT pg_create_logical_replication_slot(?, 'pgoutput')");
+        statement.setString(1, slotName);
+        statement.execute();
+      });
+    }
+    return String.valueOf(queryCurrentPosition(database).asLong());
+  }
+
+  @Override
+  public AutoCloseableIterator<ChangeEvent> read(JdbcDatabase database, String position) throws SQLException {
+    final LogSequenceNumber startPosition = LogSequenceNumber.valueOf(Long.parseLong(position));
+    final LogSequenceNumber endPosition = queryCurrentPosition(database);
+    LOGGER.info("Reading replication slot {} from LSN {} to LSN {}.", slotName, startPosition, endPosition);
+
+    final Connection connection = openReplicationConnection();
+    try {
+      final PGReplicationStream stream = connection.unwrap(PGConnection.class).getReplicationAPI()
+          .replicationStream()
+          .logical()
+          .withSlotName(slotName)
+          .withSlotOption("proto_version", 1)
+          .withSlotOption("publication_names", publication)
+          .withStartPosition(startPosition)
+          .withStatusInterval(10, TimeUnit.SECONDS)
+          .start();
+      stream.setFlushedLSN(startPosition);
+      stream.setAppliedLSN(startPosition);
+      stream.forceUpdateStatus();
+
+      return AutoCloseableIterators.fromIterator(new ReplicationStreamIterator(stream, endPosition), () -> {
+        stream.close();
+        connection.close();
+      });
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public int comparePositions(String position1, String position2) {
+    return Long.compare(Long.parseLong(position1), Long.parseLong(position2));
+  }
+
+  private static LogSequenceNumber queryCurrentPosition(JdbcDatabase database) throws SQLException {
+    return database.bufferedResultSetQuery(
+        connection -> connection.createStatement().executeQuery("SELECT pg_current_wal_lsn()"),
+        resultSet -> LogSequenceNumber.valueOf(resultSet.getString(1)))
+        .get(0);
+  }
+
+  private Connection openReplicationConnection() throws SQLException {
+    final Properties properties = new Properties();
+    PGProperty.USER.set(properties, username);
+    if (password != null) {
+      PGProperty.PASSWORD.set(properties, password);
+    }
+    PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+    PGProperty.REPLICATION.set(properties, "database");
+    PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+    return DriverManager.getConnection(jdbcUrl, properties);
+  }
+
+  private static class ReplicationStreamIterator extends AbstractIterator<ChangeEvent> {
+
+    private final PGReplicationStream stream;
+    private final LogSequenceNumber endPosition;
+    private final PgOutputDecoder decoder;
+    private final Deque<ChangeEvent> pendingEvents;
+
+    private long checkpointPosition;
+    private boolean isDone;
+
+    private ReplicationStreamIterator(PGReplicationStream stream, LogSequenceNumber endPosition) {
+      this.stream = stream;
+      this.endPosition = endPosition;
+      this.decoder = new PgOutputDecoder();
+      this.pendingEvents = new ArrayDeque<>();
+    }
+
+    @Override
+    protected ChangeEvent computeNext() {
+      try {
+        Instant lastMessageAt = Instant.now();
+        while (pendingEvents.isEmpty()) {
+          if (isDone) {
+            return endOfData();
+          }
+
+          final ByteBuffer message = stream.readPending();
+          if (message != null) {
+            for (final ChangeEvent event : decoder.decode(message)) {
+              if (event.isCheckpoint()) {
+                checkpointPosition = Long.parseLong(event.getPosition());
+              }
+              pendingEvents.add(event);
+            }
+            lastMessageAt = Instant.now();
+          } else if (!decoder.isInTransaction() && stream.getLastReceiveLSN().asLong() >= endPosition.asLong()) {
+            // everything written before the read started has been sent. checkpointing at the last received
+            // LSN lets the slot move on even when none of the published tables changed.
+            final long position = Math.max(checkpointPosition, stream.getLastReceiveLSN().asLong());
+            pendingEvents.add(ChangeEvent.checkpoint(String.valueOf(position)));
+            isDone = true;
+          } else if (Duration.between(lastMessageAt, Instant.now()).compareTo(IDLE_TIMEOUT) >= 0) {
+            LOGGER.warn("Stopped reading replication slot at LSN {} because the server did not send anything for {}.",
+                stream.getLastReceiveLSN(), IDLE_TIMEOUT);
+            isDone = true;
+          } else {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+          }
+        }
+        return pendingEvents.poll();
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.AbstractIterator;
+import io.airbyte.commons.util.AutoCloseableIterator;
+import io.airbyte.commons.util.AutoCloseableIterators;
+import io.airbyte.db.jdbc.JdbcDatabase;
+import io.airbyte.db.jdbc.JdbcUtils;
+import io.airbyte.integrations.source.jdbc.TableExporter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Map;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyOut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports tables with COPY (SELECT ...) TO STDOUT in text format, over a connection of its own. The
+ * rows are streamed from the server as they are copied, one COPY message per row, and converted to
+ * json without going through the type decoding of a result set.
+ */
+class PostgresCopyExporter implements TableExporter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PostgresCopyExporter.class);
+
+  private final String jdbcUrl;
+  private final String username;
+  private final String password;
+
+  /**
+   * @param password null if the user has no password.
+   */
+  public PostgresCopyExporter(String jdbcUrl, String username, String password) {
+    this.jdbcUrl = jdbcUrl;
+    this.username = username;
+    this.password = password;
+  }
+
+  @Override
+  public AutoCloseableIterator<JsonNode> export(JdbcDatabase database, String schemaName, String tableName, Map<String, JDBCType> columnNameToType)
+      throws SQLException {
+    final Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+    try {
+      final String sql = String.format("COPY (SELECT %s FROM %s) TO STDOUT",
+          JdbcUtils.enquoteIdentifierList(connection, new ArrayList<>(columnNameToType.keySet())),
+          JdbcUtils.getFullyQualifiedTableNameWithQuoting(connection, schemaName, tableName));
+      LOGGER.info("Executing copy for table: {}", tableName);
+      final CopyOut copyOut = connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql);
+      return AutoCloseableIterators.fromIterator(new CopyOutIterator(copyOut, new CopyRowConverter(columnNameToType)), () -> {
+        try {
+          // the rest of the copy is discarded when the export is closed before its end.
+          if (copyOut.isActive()) {
+            copyOut.cancelCopy();
+          }
+        } finally {
+          connection.close();
+        }
+      });
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+  }
+
+  private static class CopyOutIterator extends AbstractIterator<JsonNode> {
+
+    private final CopyOut copyOut;
+    private final CopyRowConverter converter;
+
+    private CopyOutIterator(CopyOut copyOut, CopyRowConverter converter) {
+      this.copyOut = copyOut;
+      this.converter = converter;
+    }
+
+    @Override
+    protected JsonNode computeNext() {
+      try {
+        final byte[] row = copyOut.readFromCopy();
+        return row == null ? endOfData() : converter.convert(row);
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+  }
+
+}
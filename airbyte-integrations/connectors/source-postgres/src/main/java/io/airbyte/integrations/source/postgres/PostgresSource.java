@@ -31,6 +31,9 @@ import io.airbyte.db.jdbc.PostgresJdbcStreamingQueryConfiguration;
 import io.airbyte.integrations.base.IntegrationRunner;
 import io.airbyte.integrations.base.Source;
 import io.airbyte.integrations.source.jdbc.AbstractJdbcSource;
+import io.airbyte.integrations.source.jdbc.ChangeDataCapture;
+import io.airbyte.integrations.source.jdbc.TableExporter;
+import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,9 @@ public class PostgresSource extends AbstractJdbcSource implements Source {
   private static final Logger LOGGER = LoggerFactory.getLogger(PostgresSource.class);
 
   static final String DRIVER_CLASS = "org.postgresql.Driver";
+  static final String CONFIG_REPLICATION_SLOT = "replication_slot";
+  static final String CONFIG_PUBLICATION = "publication";
+  static final String CONFIG_COPY_EXPORT = "copy_export";
 
   public PostgresSource() {
     super(DRIVER_CLASS, new PostgresJdbcStreamingQueryConfiguration());
@@ -61,6 +67,34 @@ public class PostgresSource extends AbstractJdbcSource implements Source {
     return Jsons.jsonNode(configBuilder.build());
   }
 
+  @Override
+  protected Optional<ChangeDataCapture> getChangeDataCapture(JsonNode config) {
+    if (!config.has(CONFIG_REPLICATION_SLOT) || !config.has(CONFIG_PUBLICATION)) {
+      return Optional.empty();
+    }
+
+    final JsonNode jdbcConfig = toJdbcConfig(config);
+    return Optional.of(new PostgresChangeDataCapture(
+        jdbcConfig.get("jdbc_url").asText(),
+        jdbcConfig.get("username").asText(),
+        jdbcConfig.has("password") ? jdbcConfig.get("password").asText() : null,
+        config.get(CONFIG_REPLICATION_SLOT).asText(),
+        config.get(CONFIG_PUBLICATION).asText()));
+  }
+
+  @Override
+  protected Optional<TableExporter> getTableExporter(JsonNode config) {
+    if (!config.has(CONFIG_COPY_EXPORT) || !config.get(CONFIG_COPY_EXPORT).asBoolean()) {
+      return Optional.empty();
+    }
+
+    final JsonNode jdbcConfig = toJdbcConfig(config);
+    return Optional.of(new PostgresCopyExporter(
+        jdbcConfig.get("jdbc_url").asText(),
+        jdbcConfig.get("username").asText(),
+        jdbcConfig.has("password") ? jdbcConfig.get("password").asText() : null));
+  }
+
   @Override
   public Set<String> getExcludedInternalSchemas() {
     return Set.of("information_schema", "pg_catalog", "pg_internal", "catalog_history");
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import io.airbyte.db.jdbc.JdbcUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Converts the text output of Postgres values (with DateStyle ISO, which the jdbc driver sets) to
+ * the json values the jdbc driver reads them as. Used where values arrive as text rather than
+ * through a result set, so that they end up with the same json as the rows of a select. Values that
+ * cannot be parsed throw a {@link java.time.format.DateTimeParseException} or a
+ * {@link NumberFormatException}.
+ */
+final class PostgresTextValues {
+
+  private static final DateTimeFormatter TIME_FORMATTER = new DateTimeFormatterBuilder()
+      .append(DateTimeFormatter.ISO_LOCAL_TIME)
+      .optionalStart()
+      .appendOffset("+HH:mm:ss", "+00")
+      .optionalEnd()
+      .toFormatter();
+  private static final DateTimeFormatter TIMESTAMP_FORMATTER = new DateTimeFormatterBuilder()
+      .append(DateTimeFormatter.ISO_LOCAL_DATE)
+      .appendLiteral(' ')
+      .append(TIME_FORMATTER)
+      .toFormatter();
+
+  private PostgresTextValues() {}
+
+  static String toDateString(String value) {
+    return toISO8601String(LocalDate.parse(value).atStartOfDay());
+  }
+
+  // time with time zone is read at the same time on the epoch day in the time zone of the jvm.
+  static String toTimeString(String value) {
+    final TemporalAccessor time = TIME_FORMATTER.parseBest(value, OffsetTime::from, LocalTime::from);
+    if (time instanceof OffsetTime) {
+      return JdbcUtils.toISO8601String(((OffsetTime) time).atDate(LocalDate.EPOCH).toInstant().toEpochMilli());
+    }
+    return toISO8601String(((LocalTime) time).atDate(LocalDate.EPOCH));
+  }
+
+  static String toTimestampString(String value) {
+    final TemporalAccessor timestamp = TIMESTAMP_FORMATTER.parseBest(value, OffsetDateTime::from, LocalDateTime::from);
+    if (timestamp instanceof OffsetDateTime) {
+      return JdbcUtils.toISO8601String(((OffsetDateTime) timestamp).toInstant().toEpochMilli());
+    }
+    return toISO8601String((LocalDateTime) timestamp);
+  }
+
+  // hex format, e.g. \x0102.
+  static byte[] toBytes(String value) {
+    final String hex = value.substring(2);
+    final byte[] bytes = new byte[hex.length() / 2];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+    }
+    return bytes;
+  }
+
+  // the jdbc driver reads values without a time zone in the time zone of the jvm.
+  private static String toISO8601String(LocalDateTime localDateTime) {
+    return JdbcUtils.toISO8601String(localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+  }
+
+}
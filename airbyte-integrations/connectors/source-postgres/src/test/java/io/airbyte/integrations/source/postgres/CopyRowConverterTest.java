@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.db.jdbc.JdbcUtils;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CopyRowConverterTest {
+
+  private static final Map<String, JDBCType> COLUMNS = ImmutableMap.<String, JDBCType>builder()
+      .put("id", JDBCType.INTEGER)
+      .put("name", JDBCType.VARCHAR)
+      .put("power", JDBCType.DOUBLE)
+      .put("price", JDBCType.NUMERIC)
+      .put("active", JDBCType.BIT)
+      .put("updated_at", JDBCType.TIMESTAMP)
+      .put("avatar", JDBCType.BINARY)
+      .build();
+
+  @Test
+  void testConvertsRow() {
+    final CopyRowConverter converter = new CopyRowConverter(COLUMNS);
+    final JsonNode record = convert(converter, "1\tgoku\\tson\\\\\\nkakarot\t9000.1\t10.50\tt\t2021-03-01 10:15:30.5+00\t\\\\x0102\n");
+
+    assertEquals(Jsons.deserialize(Jsons.serialize(ImmutableMap.builder()
+        .put("id", 1)
+        .put("name", "goku\tson\\\nkakarot")
+        .put("power", 9000.1)
+        .put("price", 10.50)
+        .put("active", true)
+        .put("updated_at", JdbcUtils.toISO8601String(Instant.parse("2021-03-01T10:15:30.5Z").toEpochMilli()))
+        .put("avatar", new byte[] {1, 2})
+        .build())), record);
+  }
+
+  @Test
+  void testLeavesOutNullsAndNullsUnconvertibleValues() {
+    final CopyRowConverter converter = new CopyRowConverter(COLUMNS);
+    final JsonNode record = convert(converter, "\\N\t\t-Infinity\tNaN\tf\tinfinity\t\\N\n");
+
+    assertEquals(Jsons.deserialize("{\"name\":\"\",\"power\":null,\"price\":null,\"active\":false,\"updated_at\":null}"), record);
+    // the converter is reused for the next row.
+    assertEquals(Jsons.deserialize("{\"id\":2}"), convert(converter, "2\t\\N\t\\N\t\\N\t\\N\t\\N\t\\N\n"));
+  }
+
+  // records hold raw json text, which is compared the way a destination reads it.
+  private static JsonNode convert(CopyRowConverter converter, String row) {
+    return Jsons.deserialize(Jsons.serialize(converter.convert(row.getBytes(StandardCharsets.UTF_8))));
+  }
+
+}
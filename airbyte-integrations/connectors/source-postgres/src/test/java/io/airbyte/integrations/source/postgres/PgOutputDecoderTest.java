@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.integrations.source.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.integrations.source.jdbc.ChangeEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PgOutputDecoderTest {
+
+  private static final int RELATION_ID = 16385;
+  // 2021-03-01T10:15:30Z in microseconds since 2000-01-01.
+  private static final long COMMITTED_AT_MICROS = 667908930000000L;
+  private static final long COMMIT_POSITION = 23000000L;
+  private static final long END_POSITION = 23000100L;
+
+  private PgOutputDecoder decoder;
+
+  @BeforeEach
+  void setup() throws IOException {
+    decoder = new PgOutputDecoder();
+    assertEquals(List.of(), decoder.decode(relation()));
+  }
+
+  @Test
+  void testDecodesTransaction() throws IOException {
+    assertEquals(List.of(), decoder.decode(begin()));
+    assertTrue(decoder.isInTransaction());
+
+    final List<ChangeEvent> inserts = decoder.decode(message(out -> {
+      out.writeByte('I');
+      out.writeInt(RELATION_ID);
+      out.writeByte('N');
+      writeTuple(out, "1", "goku", "9000.1", "t");
+    }));
+    assertEquals(1, inserts.size());
+    final ChangeEvent insert = inserts.get(0);
+    assertEquals("public.id_and_name", insert.getStreamName());
+    assertEquals(String.valueOf(COMMIT_POSITION), insert.getPosition());
+    assertEquals(Instant.parse("2021-03-01T10:15:30Z"), insert.getChangedAt());
+    assertFalse(insert.isDelete());
+    assertEquals(Jsons.deserialize("{\"id\":1,\"name\":\"goku\",\"power\":9000.1,\"active\":true}"), Jsons.clone(insert.getData()));
+
+    final List<ChangeEvent> updates = decoder.decode(message(out -> {
+      out.writeByte('U');
+      out.writeInt(RELATION_ID);
+      out.writeByte('K');
+      writeTuple(out, "1", null, null, null);
+      out.writeByte('N');
+      writeTuple(out, "2", "vegeta", "NaN", null);
+    }));
+    assertEquals(Jsons.deserialize("{\"id\":2,\"name\":\"vegeta\",\"power\":null,\"active\":null}"), Jsons.clone(updates.get(0).getData()));
+
+    final List<ChangeEvent> deletes = decoder.decode(message(out -> {
+      out.writeByte('D');
+      out.writeInt(RELATION_ID);
+      out.writeByte('K');
+      writeTuple(out, "2", null, null, null);
+    }));
+    assertTrue(deletes.get(0).isDelete());
+    assertEquals(Jsons.deserialize("{\"id\":2,\"name\":null,\"power\":null,\"active\":null}"), Jsons.clone(deletes.get(0).getData()));
+
+    final List<ChangeEvent> commit = decoder.decode(message(out -> {
+      out.writeByte('C');
+      out.writeByte(0);
+      out.writeLong(COMMIT_POSITION);
+      out.writeLong(END_POSITION);
+      out.writeLong(COMMITTED_AT_MICROS);
+    }));
+    assertEquals(1, commit.size());
+    assertTrue(commit.get(0).isCheckpoint());
+    assertEquals(String.valueOf(END_POSITION), commit.get(0).getPosition());
+    assertFalse(decoder.isInTransaction());
+  }
+
+  @Test
+  void testSkipsUnchangedToastedValues() throws IOException {
+    decoder.decode(begin());
+    final List<ChangeEvent> updates = decoder.decode(message(out -> {
+      out.writeByte('U');
+      out.writeInt(RELATION_ID);
+      out.writeByte('N');
+      out.writeShort(4);
+      writeText(out, "1");
+      out.writeByte('u');
+      out.writeByte('u');
+      out.writeByte('n');
+    }));
+    assertEquals(Jsons.deserialize("{\"id\":1,\"active\":null}"), Jsons.clone(updates.get(0).getData()));
+  }
+
+  private static ByteBuffer relation() throws IOException {
+    return message(out -> {
+      out.writeByte('R');
+      out.writeInt(RELATION_ID);
+      writeString(out, "public");
+      writeString(out, "id_and_name");
+      out.writeByte('d');
+      out.writeShort(4);
+      writeColumn(out, "id", 23);
+      writeColumn(out, "name", 1043);
+      writeColumn(out, "power", 701);
+      writeColumn(out, "active", 16);
+    });
+  }
+
+  private static ByteBuffer begin() throws IOException {
+    return message(out -> {
+      out.writeByte('B');
+      out.writeLong(COMMIT_POSITION);
+      out.writeLong(COMMITTED_AT_MICROS);
+      out.writeInt(42);
+    });
+  }
+
+  private static void writeColumn(DataOutputStream out, String name, int typeOid) throws IOException {
+    out.writeByte(1);
+    writeString(out, name);
+    out.writeInt(typeOid);
+    out.writeInt(-1);
+  }
+
+  private static void writeTuple(DataOutputStream out, String... values) throws IOException {
+    out.writeShort(values.length);
+    for (final String value : values) {
+      if (value == null) {
+        out.writeByte('n');
+      } else {
+        writeText(out, value);
+      }
+    }
+  }
+
+  private static void writeText(DataOutputStream out, String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeByte('t');
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    out.write(value.getBytes(StandardCharsets.UTF_8));
+    out.writeByte(0);
+  }
+
+  private static ByteBuffer message(MessageWriter writer) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    writer.write(new DataOutputStream(bytes));
+    return ByteBuffer.wrap(bytes.toByteArray());
+  }
+
+  @FunctionalInterface
+  private interface MessageWriter {
+
+    void write(DataOutputStream out) throws IOException;
+
+  }
+
+}
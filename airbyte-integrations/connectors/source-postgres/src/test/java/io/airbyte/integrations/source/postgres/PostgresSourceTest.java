@@ -27,14 +27,15 @@ package io.airbyte.integrations.source.postgres;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.resources.MoreResources;
-import io.airbyte.commons.util.MoreIterators;
 import io.airbyte.db.Database;
 import io.airbyte.db.Databases;
+import io.airbyte.integrations.source.jdbc.test.SourceRecords;
 import io.airbyte.protocol.models.AirbyteCatalog;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
@@ -153,13 +154,17 @@ class PostgresSourceTest {
         });
       }
 
-      final Set<AirbyteMessage> actualMessages = MoreIterators.toSet(new PostgresSource().read(config, CONFIGURED_CATALOG, null));
+      final Set<AirbyteMessage> actualMessages = read(config);
       setEmittedAtToNull(actualMessages);
 
       assertEquals(UTF8_MESSAGES, actualMessages);
     }
   }
 
+  private static Set<AirbyteMessage> read(JsonNode config) throws Exception {
+    return Sets.newHashSet(SourceRecords.normalize(new PostgresSource().read(config, CONFIGURED_CATALOG, null)));
+  }
+
   private static void setEmittedAtToNull(Iterable<AirbyteMessage> messages) {
     for (AirbyteMessage actualMessage : messages) {
       if (actualMessage.getRecord() != null) {
@@ -170,14 +175,25 @@ class PostgresSourceTest {
 
   @Test
   void testReadSuccess() throws Exception {
-    final Set<AirbyteMessage> actualMessages = MoreIterators.toSet(new PostgresSource().read(getConfig(PSQL_DB, dbName), CONFIGURED_CATALOG, null));
+    final Set<AirbyteMessage> actualMessages = read(getConfig(PSQL_DB, dbName));
+    setEmittedAtToNull(actualMessages);
+
+    assertEquals(ASCII_MESSAGES, actualMessages);
+  }
+
+  @Test
+  void testReadWithCopyExport() throws Exception {
+    final JsonNode config = getConfig(PSQL_DB, dbName);
+    ((ObjectNode) config).put(PostgresSource.CONFIG_COPY_EXPORT, true);
+    final Set<AirbyteMessage> actualMessages = read(config);
     setEmittedAtToNull(actualMessages);
 
     assertEquals(ASCII_MESSAGES, actualMessages);
   }
 
   private static AirbyteMessage createRecord(String stream, Map<Object, Object> data) {
-    return new AirbyteMessage().withType(Type.RECORD).withRecord(new AirbyteRecordMessage().withData(Jsons.jsonNode(data)).withStream(stream));
+    return SourceRecords.normalize(
+        new AirbyteMessage().withType(Type.RECORD).withRecord(new AirbyteRecordMessage().withData(Jsons.jsonNode(data)).withStream(stream)));
   }
 
   private static Map<Object, Object> map(Object... entries) {
@@ -25,7 +25,10 @@
 package io.airbyte.validation.json;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SchemaValidatorsConfig;
 import com.networknt.schema.SpecVersion;
@@ -33,6 +36,7 @@ import com.networknt.schema.ValidationMessage;
 import io.airbyte.commons.string.Strings;
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 import me.andrz.jackson.JsonContext;
 import me.andrz.jackson.JsonReferenceException;
@@ -46,17 +50,28 @@ public class JsonSchemaValidator {
 
   private final SchemaValidatorsConfig schemaValidatorsConfig;
   private final JsonSchemaFactory jsonSchemaFactory;
+  // compiling a schema is far more expensive than validating against it, so compiled schemas are
+  // cached. the cache has weak keys, which means schemas are compared by identity and an entry goes
+  // away once nothing else references its schema node. callers must not mutate a schema node after
+  // validating against it.
+  private final Map<JsonNode, JsonSchema> compiledSchemas;
 
   public JsonSchemaValidator() {
+    this(JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7));
+  }
+
+  @VisibleForTesting
+  JsonSchemaValidator(final JsonSchemaFactory jsonSchemaFactory) {
     this.schemaValidatorsConfig = new SchemaValidatorsConfig();
-    this.jsonSchemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+    this.jsonSchemaFactory = jsonSchemaFactory;
+    this.compiledSchemas = CacheBuilder.newBuilder().weakKeys().<JsonNode, JsonSchema>build().asMap();
   }
 
   public Set<ValidationMessage> validate(JsonNode schemaJson, JsonNode objectJson) {
     Preconditions.checkNotNull(schemaJson);
     Preconditions.checkNotNull(objectJson);
 
-    return jsonSchemaFactory.getSchema(schemaJson, schemaValidatorsConfig)
+    return compiledSchemas.computeIfAbsent(schemaJson, schema -> jsonSchemaFactory.getSchema(schema, schemaValidatorsConfig))
         .validate(objectJson);
   }
 
@@ -29,8 +29,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.SpecVersion;
 import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import java.io.File;
@@ -72,6 +80,20 @@ class JsonSchemaValidatorTest {
     assertDoesNotThrow(() -> validator.ensure(VALID_SCHEMA, object2));
   }
 
+  @Test
+  void testCompiledSchemaIsReused() {
+    final JsonSchemaFactory factory = spy(JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7));
+    final JsonSchemaValidator validator = new JsonSchemaValidator(factory);
+
+    assertTrue(validator.validate(VALID_SCHEMA, Jsons.deserialize("{\"host\":\"abc\"}")).isEmpty());
+    assertFalse(validator.validate(VALID_SCHEMA, Jsons.deserialize("{}")).isEmpty());
+    verify(factory, times(1)).getSchema(eq(VALID_SCHEMA), any(SchemaValidatorsConfig.class));
+
+    // a different schema node is compiled separately.
+    assertTrue(validator.validate(Jsons.clone(VALID_SCHEMA), Jsons.deserialize("{\"host\":\"abc\"}")).isEmpty());
+    verify(factory, times(2)).getSchema(eq(VALID_SCHEMA), any(SchemaValidatorsConfig.class));
+  }
+
   @Test
   void testValidateFail() {
     final JsonSchemaValidator validator = new JsonSchemaValidator();
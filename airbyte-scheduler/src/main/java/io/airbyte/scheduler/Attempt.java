@@ -25,6 +25,7 @@
 package io.airbyte.scheduler;
 
 import io.airbyte.config.JobOutput;
+import io.airbyte.workers.WorkerConstants;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
@@ -79,6 +80,13 @@ public class Attempt {
     return logPath;
   }
 
+  /**
+   * The sync worker publishes progress snapshots next to the attempt's log file, in the job root.
+   */
+  public Path getSyncProgressPath() {
+    return logPath.resolveSibling(WorkerConstants.SYNC_PROGRESS_JSON_FILENAME);
+  }
+
   public Optional<Long> getEndedAtInSecond() {
     return Optional.ofNullable(endedAtInSecond);
   }
@@ -31,9 +31,15 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import io.airbyte.analytics.TrackingClientSingleton;
 import io.airbyte.commons.concurrency.LifecycledCallable;
+import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.JobConfig.ConfigType;
+import io.airbyte.config.JobOutput;
 import io.airbyte.config.StandardDestinationDefinition;
 import io.airbyte.config.StandardSourceDefinition;
+import io.airbyte.config.StandardSyncOutput;
 import io.airbyte.config.StandardSyncSchedule;
+import io.airbyte.config.State;
 import io.airbyte.config.helpers.ScheduleHelpers;
 import io.airbyte.config.persistence.ConfigNotFoundException;
 import io.airbyte.config.persistence.ConfigRepository;
@@ -43,6 +49,7 @@ import io.airbyte.scheduler.worker_run.WorkerRun;
 import io.airbyte.validation.json.JsonValidationException;
 import io.airbyte.workers.WorkerConstants;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
@@ -118,12 +125,14 @@ public class JobSubmitter implements Runnable {
           if (output.getStatus() == io.airbyte.workers.JobStatus.SUCCEEDED) {
             persistence.succeedAttempt(job.getId(), attemptNumber);
           } else {
+            persistStateCheckpoint(job, attemptNumber, workerRun.getJobRoot());
             persistence.failAttempt(job.getId(), attemptNumber);
           }
           trackCompletion(job, output.getStatus());
         })
         .setOnException(e -> {
           LOGGER.error("Exception thrown in Job Submission: ", e);
+          persistStateCheckpoint(job, attemptNumber, workerRun.getJobRoot());
           persistence.failAttempt(job.getId(), attemptNumber);
           trackCompletion(job, io.airbyte.workers.JobStatus.FAILED);
         })
@@ -131,6 +140,23 @@ public class JobSubmitter implements Runnable {
         .build());
   }
 
+  // a failed sync attempt may still have committed some of its records. the sync worker checkpoints
+  // the state the destination acknowledged for them, and persisting it as the attempt output lets the
+  // next attempt resume from there instead of starting over.
+  private void persistStateCheckpoint(Job job, int attemptNumber, Path jobRoot) {
+    final Path checkpointPath = jobRoot.resolve(WorkerConstants.STATE_CHECKPOINT_JSON_FILENAME);
+    if (job.getConfigType() != ConfigType.SYNC || !Files.exists(checkpointPath)) {
+      return;
+    }
+
+    try {
+      final State state = Jsons.deserialize(IOs.readFile(checkpointPath), State.class);
+      persistence.writeOutput(job.getId(), attemptNumber, new JobOutput().withSync(new StandardSyncOutput().withState(state)));
+    } catch (Exception e) {
+      LOGGER.error("Failed to persist the state checkpoint of attempt {} of job {}", attemptNumber, job.getId(), e);
+    }
+  }
+
   private void assertSameIds(long expectedAttemptId, long actualAttemptId) {
     if (expectedAttemptId != actualAttemptId) {
       throw new IllegalStateException("Created attempt was not the expected attempt");
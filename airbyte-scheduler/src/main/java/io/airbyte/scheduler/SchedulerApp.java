@@ -30,6 +30,7 @@ import io.airbyte.commons.concurrency.GracefulShutdownHandler;
 import io.airbyte.commons.version.AirbyteVersion;
 import io.airbyte.config.Configs;
 import io.airbyte.config.EnvConfigs;
+import io.airbyte.config.RecordValidationConfig;
 import io.airbyte.config.helpers.LogHelpers;
 import io.airbyte.config.persistence.ConfigPersistence;
 import io.airbyte.config.persistence.ConfigRepository;
@@ -81,21 +82,24 @@ public class SchedulerApp {
   private final JobPersistence jobPersistence;
   private final ConfigRepository configRepository;
   private final JobCleaner jobCleaner;
+  private final RecordValidationConfig recordValidationConfig;
 
   public SchedulerApp(Path workspaceRoot,
                       ProcessBuilderFactory pbf,
                       JobPersistence jobPersistence,
                       ConfigRepository configRepository,
-                      JobCleaner jobCleaner) {
+                      JobCleaner jobCleaner,
+                      RecordValidationConfig recordValidationConfig) {
     this.workspaceRoot = workspaceRoot;
     this.pbf = pbf;
     this.jobPersistence = jobPersistence;
     this.configRepository = configRepository;
     this.jobCleaner = jobCleaner;
+    this.recordValidationConfig = recordValidationConfig;
   }
 
   public void start() throws IOException {
-    final TemporalPool temporalPool = new TemporalPool(workspaceRoot, pbf);
+    final TemporalPool temporalPool = new TemporalPool(workspaceRoot, pbf, recordValidationConfig);
     // todo (cgardens) - i do not need to set up a thread pool for this, right?
     temporalPool.run();
     final TemporalClient temporalClient = new TemporalClient(TemporalUtils.TEMPORAL_CLIENT);
@@ -207,7 +211,7 @@ public class SchedulerApp {
     }
 
     LOGGER.info("Launching scheduler...");
-    new SchedulerApp(workspaceRoot, pbf, jobPersistence, configRepository, jobCleaner).start();
+    new SchedulerApp(workspaceRoot, pbf, jobPersistence, configRepository, jobCleaner, configs.getRecordValidationConfig()).start();
   }
 
 }
@@ -343,20 +343,29 @@ public class DefaultJobPersistence implements JobPersistence {
         .flatMap(r -> getJobOptional(ctx, r.get("job_id", Long.class))));
   }
 
+  /**
+   * The state of the latest replication job that succeeded, or that failed or was cancelled after
+   * checkpointing the state of the records it had already committed. A job that ended without a
+   * checkpoint leaves the state of the jobs before it in place.
+   */
   @Override
   public Optional<State> getCurrentState(UUID connectionId) throws IOException {
     return database.query(ctx -> ctx
-        .fetch(BASE_JOB_SELECT_AND_JOIN + "WHERE " +
+        .fetch("SELECT attempts.output AS attempt_output FROM jobs JOIN attempts ON jobs.id = attempts.job_id WHERE " +
             "CAST(jobs.config_type AS VARCHAR) in " + Sqls.toSqlInFragment(Job.REPLICATION_TYPES) + " AND " +
-            "scope = ? AND " +
-            "CAST(jobs.status AS VARCHAR) = ? " +
-            "ORDER BY jobs.created_at DESC LIMIT 1",
+            "jobs.scope = ? AND " +
+            // the output of a succeeded job is its state even if it has none, e.g. after a reset.
+            "((CAST(jobs.status AS VARCHAR) = ? AND CAST(attempts.status AS VARCHAR) = ?) OR " +
+            "(CAST(jobs.status AS VARCHAR) in " + Sqls.toSqlInFragment(List.of(JobStatus.FAILED, JobStatus.CANCELLED)) + " AND " +
+            "jsonb_typeof(attempts.output -> 'sync' -> 'state') = 'object')) " +
+            "ORDER BY jobs.created_at DESC, attempts.attempt_number DESC LIMIT 1",
             connectionId.toString(),
-            Sqls.toSqlName(JobStatus.SUCCEEDED))
+            Sqls.toSqlName(JobStatus.SUCCEEDED),
+            Sqls.toSqlName(AttemptStatus.SUCCEEDED))
         .stream()
         .findFirst()
-        .flatMap(r -> getJobOptional(ctx, r.get("job_id", Long.class)))
-        .flatMap(Job::getSuccessOutput)
+        .map(r -> r.get("attempt_output", String.class))
+        .map(output -> Jsons.deserialize(output, JobOutput.class))
         .map(JobOutput::getSync)
         .map(StandardSyncOutput::getState));
   }
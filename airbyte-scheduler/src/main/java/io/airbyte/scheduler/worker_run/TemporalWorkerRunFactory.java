@@ -36,6 +36,7 @@ import io.airbyte.config.StandardGetSpecOutput;
 import io.airbyte.config.StandardSyncOutput;
 import io.airbyte.protocol.models.AirbyteCatalog;
 import io.airbyte.protocol.models.ConnectorSpecification;
+import io.airbyte.scheduler.Attempt;
 import io.airbyte.scheduler.Job;
 import io.airbyte.workers.JobStatus;
 import io.airbyte.workers.OutputAndStatus;
@@ -44,6 +45,7 @@ import io.airbyte.workers.temporal.TemporalClient;
 import io.airbyte.workers.temporal.TemporalJobException;
 import io.airbyte.workers.temporal.TemporalJobType;
 import java.nio.file.Path;
+import java.util.Comparator;
 
 public class TemporalWorkerRunFactory {
 
@@ -87,7 +89,7 @@ public class TemporalWorkerRunFactory {
       };
       case SYNC -> () -> {
         return toOutputAndStatus(() -> {
-          final StandardSyncOutput output = temporalClient.submitSync(job.getId(), attemptId, job.getConfig().getSync());
+          final StandardSyncOutput output = temporalClient.submitSync(job.getId(), attemptId, getResumableSyncConfig(job));
           return new JobOutput().withSync(output);
         });
       };
@@ -110,6 +112,19 @@ public class TemporalWorkerRunFactory {
     };
   }
 
+  /**
+   * A retry resumes from the latest state checkpoint persisted by a previous attempt of the same job.
+   * Without one, it starts from the state the job was created with.
+   */
+  private static JobSyncConfig getResumableSyncConfig(Job job) {
+    final JobSyncConfig config = job.getConfig().getSync();
+    return job.getAttempts().stream()
+        .filter(attempt -> attempt.getOutput().map(JobOutput::getSync).map(StandardSyncOutput::getState).isPresent())
+        .max(Comparator.comparing(Attempt::getId))
+        .map(attempt -> Jsons.clone(config).withState(attempt.getOutput().get().getSync().getState()))
+        .orElse(config);
+  }
+
   private static TemporalJobType toTemporalJobType(ConfigType jobType) {
     return switch (jobType) {
       case GET_SPEC -> TemporalJobType.GET_SPEC;
@@ -43,7 +43,12 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.JobConfig.ConfigType;
 import io.airbyte.config.JobOutput;
+import io.airbyte.config.StandardSyncOutput;
+import io.airbyte.config.State;
 import io.airbyte.config.persistence.ConfigRepository;
 import io.airbyte.scheduler.persistence.JobPersistence;
 import io.airbyte.scheduler.worker_run.TemporalWorkerRunFactory;
@@ -155,6 +160,23 @@ public class JobSubmitterTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void testFailurePersistsStateCheckpoint() throws Exception {
+    final State state = new State().withState(Jsons.jsonNode(ImmutableMap.of("cursor", 42)));
+    IOs.writeFile(workerRun.getJobRoot(), WorkerConstants.STATE_CHECKPOINT_JSON_FILENAME, Jsons.serialize(state));
+    when(job.getConfigType()).thenReturn(ConfigType.SYNC);
+    doReturn(FAILED_OUTPUT).when(workerRun).call();
+
+    jobSubmitter.run();
+
+    InOrder inOrder = inOrder(persistence, jobSubmitter);
+    inOrder.verify(persistence).createAttempt(JOB_ID, logPath);
+    inOrder.verify(persistence).writeOutput(JOB_ID, ATTEMPT_NUMBER, new JobOutput().withSync(new StandardSyncOutput().withState(state)));
+    inOrder.verify(persistence).failAttempt(JOB_ID, ATTEMPT_NUMBER);
+    inOrder.verify(jobSubmitter).trackCompletion(job, JobStatus.FAILED);
+    inOrder.verifyNoMoreInteractions();
+  }
+
   @Test
   public void testException() throws Exception {
     doThrow(new RuntimeException()).when(workerRun).call();
@@ -629,6 +629,30 @@ class DefaultJobPersistenceTest {
       assertEquals(Optional.of(jobOutput2.getSync().getState()), jobPersistence.getCurrentState(CONNECTION_ID));
     }
 
+    @Test
+    @DisplayName("Should have the checkpointed state of a failed job that is newer than the last succeeded job")
+    void testGetCurrentStateWithCheckpointOfFailedJob() throws IOException {
+      final State succeededState = new State().withState(Jsons.jsonNode(ImmutableMap.of("checkpoint", "1")));
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+      jobPersistence.writeOutput(jobId, attemptNumber, new JobOutput().withSync(new StandardSyncOutput().withState(succeededState)));
+      jobPersistence.succeedAttempt(jobId, attemptNumber);
+
+      when(timeSupplier.get()).thenReturn(NOW.plusSeconds(1000));
+      final State checkpointState = new State().withState(Jsons.jsonNode(ImmutableMap.of("checkpoint", "2")));
+      final long jobId2 = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber2 = jobPersistence.createAttempt(jobId2, LOG_PATH);
+      jobPersistence.writeOutput(jobId2, attemptNumber2, new JobOutput().withSync(new StandardSyncOutput().withState(checkpointState)));
+      jobPersistence.failAttempt(jobId2, attemptNumber2);
+
+      // the second job has not failed yet, so its checkpoint is only resumed by its own attempts.
+      assertEquals(Optional.of(succeededState), jobPersistence.getCurrentState(CONNECTION_ID));
+
+      jobPersistence.failJob(jobId2);
+
+      assertEquals(Optional.of(checkpointState), jobPersistence.getCurrentState(CONNECTION_ID));
+    }
+
   }
 
   @Nested
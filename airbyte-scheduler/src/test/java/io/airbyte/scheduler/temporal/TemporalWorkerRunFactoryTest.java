@@ -34,9 +34,14 @@ import static org.mockito.Mockito.when;
 import com.google.common.collect.ImmutableMap;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.JobConfig.ConfigType;
+import io.airbyte.config.JobOutput;
 import io.airbyte.config.JobResetConnectionConfig;
 import io.airbyte.config.JobSyncConfig;
+import io.airbyte.config.StandardSyncOutput;
+import io.airbyte.config.State;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.scheduler.Attempt;
+import io.airbyte.scheduler.AttemptStatus;
 import io.airbyte.scheduler.Job;
 import io.airbyte.scheduler.worker_run.TemporalWorkerRunFactory;
 import io.airbyte.scheduler.worker_run.WorkerRun;
@@ -45,6 +50,7 @@ import io.airbyte.workers.temporal.TemporalClient;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -104,12 +110,31 @@ class TemporalWorkerRunFactoryTest {
   @Test
   void testSync() throws Exception {
     when(job.getConfigType()).thenReturn(ConfigType.SYNC);
+    when(job.getAttempts()).thenReturn(List.of());
     final WorkerRun workerRun = workerRunFactory.create(job);
     workerRun.call();
     verify(temporalClient).submitSync(JOB_ID, ATTEMPT_ID, job.getConfig().getSync());
     assertEquals(jobRoot, workerRun.getJobRoot());
   }
 
+  @Test
+  void testSyncResumesFromStateCheckpoint() throws Exception {
+    final JobSyncConfig syncConfig = new JobSyncConfig()
+        .withSourceDockerImage("airbyte/source-postgres")
+        .withState(new State().withState(Jsons.jsonNode(ImmutableMap.of("cursor", 1))));
+    final State checkpoint = new State().withState(Jsons.jsonNode(ImmutableMap.of("cursor", 2)));
+    when(job.getConfigType()).thenReturn(ConfigType.SYNC);
+    when(job.getConfig().getSync()).thenReturn(syncConfig);
+    when(job.getAttempts()).thenReturn(List.of(
+        new Attempt(0L, JOB_ID, jobRoot, new JobOutput().withSync(new StandardSyncOutput().withState(checkpoint)), AttemptStatus.FAILED, 0L, 0L, 0L),
+        new Attempt(1L, JOB_ID, jobRoot, null, AttemptStatus.FAILED, 0L, 0L, 0L)));
+
+    final WorkerRun workerRun = workerRunFactory.create(job);
+    workerRun.call();
+
+    verify(temporalClient).submitSync(JOB_ID, ATTEMPT_ID, Jsons.clone(syncConfig).withState(checkpoint));
+  }
+
   @Test
   void testResetConnection() throws Exception {
     final JobResetConnectionConfig resetConfig = new JobResetConnectionConfig()
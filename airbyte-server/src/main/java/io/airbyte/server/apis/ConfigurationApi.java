@@ -48,6 +48,7 @@ import io.airbyte.api.model.ImportRead;
 import io.airbyte.api.model.JobIdRequestBody;
 import io.airbyte.api.model.JobInfoRead;
 import io.airbyte.api.model.JobListRequestBody;
+import io.airbyte.api.model.JobProgressRead;
 import io.airbyte.api.model.JobReadList;
 import io.airbyte.api.model.LogsRequestBody;
 import io.airbyte.api.model.SlugRequestBody;
@@ -403,6 +404,11 @@ public class ConfigurationApi implements io.airbyte.api.V1Api {
     return execute(() -> jobHistoryHandler.getJobInfo(jobIdRequestBody));
   }
 
+  @Override
+  public JobProgressRead getJobProgress(@Valid JobIdRequestBody jobIdRequestBody) {
+    return execute(() -> jobHistoryHandler.getJobProgress(jobIdRequestBody));
+  }
+
   @Override
   public File getLogs(@Valid LogsRequestBody logsRequestBody) {
     return execute(() -> logsHandler.getLogs(configs, logsRequestBody));
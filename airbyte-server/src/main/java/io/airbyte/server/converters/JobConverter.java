@@ -29,18 +29,26 @@ import io.airbyte.api.model.AttemptRead;
 import io.airbyte.api.model.AttemptStatus;
 import io.airbyte.api.model.JobConfigType;
 import io.airbyte.api.model.JobInfoRead;
+import io.airbyte.api.model.JobProgressRead;
 import io.airbyte.api.model.JobRead;
 import io.airbyte.api.model.JobStatus;
 import io.airbyte.api.model.JobWithAttemptsRead;
 import io.airbyte.api.model.LogRead;
+import io.airbyte.api.model.StreamProgressRead;
+import io.airbyte.api.model.SyncProgressRead;
 import io.airbyte.commons.enums.Enums;
 import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.JobOutput;
 import io.airbyte.config.StandardSyncOutput;
 import io.airbyte.config.StandardSyncSummary;
+import io.airbyte.config.SyncProgress;
 import io.airbyte.scheduler.Attempt;
 import io.airbyte.scheduler.Job;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class JobConverter {
@@ -101,4 +109,42 @@ public class JobConverter {
     }
   }
 
+  /**
+   * Progress is only published by sync attempts, so the progress is left unset for other jobs and for
+   * attempts that have not published a snapshot yet.
+   */
+  public static JobProgressRead getJobProgressRead(Job job) {
+    final JobProgressRead jobProgressRead = new JobProgressRead().job(getJobWithAttemptsRead(job).getJob());
+
+    final Optional<Attempt> lastAttempt = job.getAttempts().stream().max(Comparator.comparingLong(Attempt::getId));
+    lastAttempt.ifPresent(attempt -> jobProgressRead
+        .attemptId(attempt.getId())
+        .progress(getSyncProgressRead(attempt).orElse(null)));
+
+    return jobProgressRead;
+  }
+
+  public static Optional<SyncProgressRead> getSyncProgressRead(Attempt attempt) {
+    if (!Files.exists(attempt.getSyncProgressPath())) {
+      return Optional.empty();
+    }
+
+    final SyncProgress progress = Jsons.deserialize(IOs.readFile(attempt.getSyncProgressPath()), SyncProgress.class);
+    return Optional.of(new SyncProgressRead()
+        .updatedAt(progress.getUpdatedAt())
+        .recordsEmitted(progress.getRecordsEmitted())
+        .bytesEmitted(progress.getBytesEmitted())
+        .recordsPerSecond(progress.getRecordsPerSecond())
+        .bytesPerSecond(progress.getBytesPerSecond())
+        .millisSinceLastState(progress.getMillisSinceLastState())
+        .streams(progress.getStreams().stream()
+            .map(stream -> new StreamProgressRead()
+                .streamName(stream.getStreamName())
+                .recordsEmitted(stream.getRecordsEmitted())
+                .bytesEmitted(stream.getBytesEmitted())
+                .recordsPerSecond(stream.getRecordsPerSecond())
+                .bytesPerSecond(stream.getBytesPerSecond()))
+            .collect(Collectors.toList())));
+  }
+
 }
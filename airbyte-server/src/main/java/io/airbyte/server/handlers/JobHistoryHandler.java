@@ -30,6 +30,7 @@ import com.google.common.collect.Iterables;
 import io.airbyte.api.model.JobIdRequestBody;
 import io.airbyte.api.model.JobInfoRead;
 import io.airbyte.api.model.JobListRequestBody;
+import io.airbyte.api.model.JobProgressRead;
 import io.airbyte.api.model.JobReadList;
 import io.airbyte.api.model.JobWithAttemptsRead;
 import io.airbyte.commons.enums.Enums;
@@ -82,4 +83,10 @@ public class JobHistoryHandler {
     return JobConverter.getJobInfoRead(job);
   }
 
+  public JobProgressRead getJobProgress(JobIdRequestBody jobIdRequestBody) throws IOException {
+    final Job job = jobPersistence.getJob(jobIdRequestBody.getId());
+
+    return JobConverter.getJobProgressRead(job);
+  }
+
 }
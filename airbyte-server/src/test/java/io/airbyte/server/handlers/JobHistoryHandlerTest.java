@@ -36,19 +36,27 @@ import io.airbyte.api.model.JobConfigType;
 import io.airbyte.api.model.JobIdRequestBody;
 import io.airbyte.api.model.JobInfoRead;
 import io.airbyte.api.model.JobListRequestBody;
+import io.airbyte.api.model.JobProgressRead;
 import io.airbyte.api.model.JobRead;
 import io.airbyte.api.model.JobReadList;
 import io.airbyte.api.model.JobWithAttemptsRead;
 import io.airbyte.api.model.LogRead;
+import io.airbyte.api.model.StreamProgressRead;
+import io.airbyte.api.model.SyncProgressRead;
 import io.airbyte.commons.enums.Enums;
+import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.JobCheckConnectionConfig;
 import io.airbyte.config.JobConfig;
+import io.airbyte.config.StreamSyncProgress;
+import io.airbyte.config.SyncProgress;
 import io.airbyte.scheduler.Attempt;
 import io.airbyte.scheduler.AttemptStatus;
 import io.airbyte.scheduler.Job;
 import io.airbyte.scheduler.JobStatus;
 import io.airbyte.scheduler.persistence.JobPersistence;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -73,6 +81,7 @@ public class JobHistoryHandlerTest {
   private static final long CREATED_AT = System.currentTimeMillis() / 1000;
 
   private Job job;
+  private Attempt attempt;
 
   private static final JobInfoRead JOB_INFO =
       new JobInfoRead()
@@ -102,7 +111,7 @@ public class JobHistoryHandlerTest {
   @BeforeEach
   public void setUp() {
     job = mock(Job.class);
-    Attempt attempt = mock(Attempt.class);
+    attempt = mock(Attempt.class);
     when(job.getId()).thenReturn(JOB_ID);
     when(job.getConfigType()).thenReturn(JOB_CONFIG.getConfigType());
     when(job.getScope()).thenReturn(JOB_CONFIG_ID);
@@ -114,6 +123,7 @@ public class JobHistoryHandlerTest {
     when(attempt.getId()).thenReturn(ATTEMPT_ID);
     when(attempt.getStatus()).thenReturn(ATTEMPT_STATUS);
     when(attempt.getLogPath()).thenReturn(LOG_PATH);
+    when(attempt.getSyncProgressPath()).thenReturn(LOG_PATH.resolveSibling("sync_progress.json"));
     when(attempt.getCreatedAtInSecond()).thenReturn(CREATED_AT);
     when(attempt.getUpdatedAtInSecond()).thenReturn(CREATED_AT);
     when(attempt.getEndedAtInSecond()).thenReturn(Optional.of(CREATED_AT));
@@ -146,6 +156,54 @@ public class JobHistoryHandlerTest {
     assertEquals(JOB_INFO, jobInfoActual);
   }
 
+  @Test
+  public void testGetJobProgress() throws IOException {
+    final Path progressPath = Files.createTempDirectory("test").resolve("sync_progress.json");
+    IOs.writeFile(progressPath, Jsons.serialize(new SyncProgress()
+        .withUpdatedAt(CREATED_AT)
+        .withRecordsEmitted(10L)
+        .withBytesEmitted(100L)
+        .withRecordsPerSecond(1.0)
+        .withBytesPerSecond(10.0)
+        .withStreams(Lists.newArrayList(new StreamSyncProgress()
+            .withStreamName("users")
+            .withRecordsEmitted(10L)
+            .withBytesEmitted(100L)
+            .withRecordsPerSecond(1.0)
+            .withBytesPerSecond(10.0)))));
+    when(attempt.getSyncProgressPath()).thenReturn(progressPath);
+    when(jobPersistence.getJob(JOB_ID)).thenReturn(job);
+
+    final JobProgressRead expected = new JobProgressRead()
+        .job(JOB_INFO.getJob())
+        .attemptId(ATTEMPT_ID)
+        .progress(new SyncProgressRead()
+            .updatedAt(CREATED_AT)
+            .recordsEmitted(10L)
+            .bytesEmitted(100L)
+            .recordsPerSecond(1.0)
+            .bytesPerSecond(10.0)
+            .streams(Lists.newArrayList(new StreamProgressRead()
+                .streamName("users")
+                .recordsEmitted(10L)
+                .bytesEmitted(100L)
+                .recordsPerSecond(1.0)
+                .bytesPerSecond(10.0))));
+
+    assertEquals(expected, jobHistoryHandler.getJobProgress(new JobIdRequestBody().id(JOB_ID)));
+  }
+
+  @Test
+  public void testGetJobProgressNotYetPublished() throws IOException {
+    when(jobPersistence.getJob(JOB_ID)).thenReturn(job);
+
+    final JobProgressRead expected = new JobProgressRead()
+        .job(JOB_INFO.getJob())
+        .attemptId(ATTEMPT_ID);
+
+    assertEquals(expected, jobHistoryHandler.getJobProgress(new JobIdRequestBody().id(JOB_ID)));
+  }
+
   @Test
   public void testEnumConversion() {
     assertTrue(Enums.isCompatible(JobConfig.ConfigType.class, JobConfigType.class));
@@ -72,7 +72,7 @@ public class DefaultCheckConnectionWorker implements CheckConnectionWorker {
     try {
       process = integrationLauncher.check(jobRoot, WorkerConstants.SOURCE_CONFIG_JSON_FILENAME).start();
 
-      LineGobbler.gobble(process.getErrorStream(), LOGGER::error);
+      LineGobbler.gobble(process, process.getErrorStream(), LOGGER::error);
 
       Optional<AirbyteConnectionStatus> status;
       try (InputStream stdout = process.getInputStream()) {
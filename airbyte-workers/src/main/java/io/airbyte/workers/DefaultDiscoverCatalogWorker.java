@@ -70,7 +70,7 @@ public class DefaultDiscoverCatalogWorker implements DiscoverCatalogWorker {
       process = integrationLauncher.discover(jobRoot, WorkerConstants.SOURCE_CONFIG_JSON_FILENAME)
           .start();
 
-      LineGobbler.gobble(process.getErrorStream(), LOGGER::error);
+      LineGobbler.gobble(process, process.getErrorStream(), LOGGER::error);
 
       Optional<AirbyteCatalog> catalog;
       try (InputStream stdout = process.getInputStream()) {
@@ -63,7 +63,7 @@ public class DefaultGetSpecWorker implements GetSpecWorker {
     try {
       process = integrationLauncher.spec(jobRoot).start();
 
-      LineGobbler.gobble(process.getErrorStream(), LOGGER::error);
+      LineGobbler.gobble(process, process.getErrorStream(), LOGGER::error);
 
       Optional<ConnectorSpecification> spec;
       try (InputStream stdout = process.getInputStream()) {
@@ -24,6 +24,9 @@
 
 package io.airbyte.workers;
 
+import com.google.common.base.Utf8;
+import io.airbyte.commons.concurrency.BoundedByteQueue;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.StandardSyncInput;
 import io.airbyte.config.StandardSyncOutput;
 import io.airbyte.config.StandardSyncSummary;
@@ -31,25 +34,59 @@ import io.airbyte.config.StandardSyncSummary.Status;
 import io.airbyte.config.StandardTapConfig;
 import io.airbyte.config.StandardTargetConfig;
 import io.airbyte.config.State;
+import io.airbyte.config.SyncProgress;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.SyncMode;
 import io.airbyte.workers.normalization.NormalizationRunner;
 import io.airbyte.workers.protocols.Destination;
 import io.airbyte.workers.protocols.Mapper;
 import io.airbyte.workers.protocols.MessageTracker;
 import io.airbyte.workers.protocols.Source;
+import io.airbyte.workers.protocols.airbyte.SizedAirbyteMessage;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 public class DefaultSyncWorker implements SyncWorker {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultSyncWorker.class);
 
+  // each of the two queues between the pipeline stages holds at most this many bytes of messages.
+  private static final long PIPELINE_BUFFER_BYTES = 64L * 1024 * 1024;
+  // how long a pipeline stage blocks on a queue before re-checking whether the sync was cancelled.
+  private static final long PIPELINE_POLL_MILLIS = 100L;
+  // how long to wait for the pipeline stages to stop once replication is over or has failed.
+  private static final Duration PIPELINE_TERMINATION_TIMEOUT = Duration.ofMinutes(1);
+  // how often a snapshot of the sync progress is written to the job root.
+  private static final Duration PROGRESS_PUBLISH_INTERVAL = Duration.ofSeconds(10);
+  // how often the state last acknowledged by the destination is checkpointed to the job root.
+  private static final Duration STATE_CHECKPOINT_INTERVAL = Duration.ofSeconds(10);
+
+  /**
+   * SEQUENTIAL reads, maps, tracks and writes each message on the calling thread. PIPELINED runs
+   * reading and mapping on their own threads, connected to the destination writer by byte-bounded
+   * queues, so that a slow destination does not stall parsing the source output and vice versa.
+   */
+  public enum ExecutionMode {
+    SEQUENTIAL,
+    PIPELINED
+  }
+
   private final long jobId;
   private final int attempt;
   private final Source<AirbyteMessage> source;
@@ -57,6 +94,7 @@ public class DefaultSyncWorker implements SyncWorker {
   private final Destination<AirbyteMessage> destination;
   private final MessageTracker<AirbyteMessage> messageTracker;
   private final NormalizationRunner normalizationRunner;
+  private final ExecutionMode executionMode;
 
   private final AtomicBoolean cancelled;
 
@@ -68,6 +106,18 @@ public class DefaultSyncWorker implements SyncWorker {
                            final Destination<AirbyteMessage> destination,
                            final MessageTracker<AirbyteMessage> messageTracker,
                            final NormalizationRunner normalizationRunner) {
+    this(jobId, attempt, source, mapper, destination, messageTracker, normalizationRunner, ExecutionMode.SEQUENTIAL);
+  }
+
+  public DefaultSyncWorker(
+                           final long jobId,
+                           final int attempt,
+                           final Source<AirbyteMessage> source,
+                           final Mapper<AirbyteMessage> mapper,
+                           final Destination<AirbyteMessage> destination,
+                           final MessageTracker<AirbyteMessage> messageTracker,
+                           final NormalizationRunner normalizationRunner,
+                           final ExecutionMode executionMode) {
     this.jobId = jobId;
     this.attempt = attempt;
     this.source = source;
@@ -75,6 +125,7 @@ public class DefaultSyncWorker implements SyncWorker {
     this.destination = destination;
     this.messageTracker = messageTracker;
     this.normalizationRunner = normalizationRunner;
+    this.executionMode = executionMode;
 
     this.cancelled = new AtomicBoolean(false);
   }
@@ -91,33 +142,47 @@ public class DefaultSyncWorker implements SyncWorker {
     final StandardTargetConfig targetConfig = WorkerUtils.syncToTargetConfig(syncInput);
     targetConfig.setCatalog(mapper.mapCatalog(targetConfig.getCatalog()));
 
-    try (destination; source) {
+    final JsonFilePublisher<SyncProgress> progressPublisher = new JsonFilePublisher<>(
+        messageTracker::getSyncProgress,
+        jobRoot.resolve(WorkerConstants.SYNC_PROGRESS_JSON_FILENAME),
+        PROGRESS_PUBLISH_INTERVAL);
+    // if this attempt fails, the scheduler resumes the next attempt from the checkpoint. it is closed
+    // after the destination so that the acknowledgement sent while the destination closes is kept.
+    final JsonFilePublisher<State> checkpointPublisher = new JsonFilePublisher<>(
+        () -> destination.getCommittedState().map(committedState -> new State().withState(committedState)).orElse(null),
+        jobRoot.resolve(WorkerConstants.STATE_CHECKPOINT_JSON_FILENAME),
+        STATE_CHECKPOINT_INTERVAL);
+
+    try (checkpointPublisher; destination; source; progressPublisher) {
       destination.start(targetConfig, jobRoot);
       source.start(tapConfig, jobRoot);
+      progressPublisher.start();
+      checkpointPublisher.start();
 
-      while (!cancelled.get() && !source.isFinished()) {
-        final Optional<AirbyteMessage> maybeMessage = source.attemptRead();
-        if (maybeMessage.isPresent()) {
-          final AirbyteMessage message = mapper.mapMessage(maybeMessage.get());
-
-          messageTracker.accept(message);
-          destination.accept(message);
-        }
+      if (executionMode == ExecutionMode.PIPELINED) {
+        replicatePipelined();
+      } else {
+        replicateSequential();
       }
 
     } catch (Exception e) {
       throw new WorkerException("Sync worker failed.", e);
     }
 
-    try (normalizationRunner) {
-      LOGGER.info("Running normalization.");
-      normalizationRunner.start();
-      final Path normalizationRoot = Files.createDirectories(jobRoot.resolve("normalize"));
-      if (!normalizationRunner.normalize(jobId, attempt, normalizationRoot, syncInput.getDestinationConfiguration(), targetConfig.getCatalog())) {
-        throw new WorkerException("Normalization Failed.");
+    final ConfiguredAirbyteCatalog normalizationCatalog = getCatalogToNormalize(targetConfig.getCatalog());
+    if (normalizationCatalog.getStreams().isEmpty()) {
+      LOGGER.info("Skipping normalization, none of the streams received new records.");
+    } else {
+      try (normalizationRunner) {
+        LOGGER.info("Running normalization.");
+        normalizationRunner.start();
+        final Path normalizationRoot = Files.createDirectories(jobRoot.resolve("normalize"));
+        if (!normalizationRunner.normalize(jobId, attempt, normalizationRoot, syncInput.getDestinationConfiguration(), normalizationCatalog)) {
+          throw new WorkerException("Normalization Failed.");
+        }
+      } catch (Exception e) {
+        throw new WorkerException("Normalization Failed.", e);
       }
-    } catch (Exception e) {
-      throw new WorkerException("Normalization Failed.", e);
     }
 
     final StandardSyncSummary summary = new StandardSyncSummary()
@@ -143,6 +208,152 @@ public class DefaultSyncWorker implements SyncWorker {
     return output;
   }
 
+  /**
+   * An incremental stream that received no record leaves its destination table untouched, so
+   * normalization has nothing new to do for it. Full refresh and overwrite streams are always kept,
+   * because even an empty sync replaces their data.
+   */
+  private ConfiguredAirbyteCatalog getCatalogToNormalize(ConfiguredAirbyteCatalog catalog) {
+    final Map<String, Long> recordCounts = messageTracker.getStreamRecordCounts();
+    final Map<Boolean, List<ConfiguredAirbyteStream>> streamsByNormalize = catalog.getStreams().stream()
+        .collect(Collectors.partitioningBy(stream -> stream.getSyncMode() != SyncMode.INCREMENTAL
+            || stream.getDestinationSyncMode() == ConfiguredAirbyteStream.DestinationSyncMode.OVERWRITE
+            || recordCounts.getOrDefault(stream.getStream().getName(), 0L) > 0));
+
+    if (!streamsByNormalize.get(false).isEmpty()) {
+      LOGGER.info("Skipping normalization of streams without new records: {}", streamsByNormalize.get(false).stream()
+          .map(stream -> stream.getStream().getName())
+          .collect(Collectors.toList()));
+    }
+    return new ConfiguredAirbyteCatalog().withStreams(streamsByNormalize.get(true));
+  }
+
+  private void replicateSequential() throws Exception {
+    while (!cancelled.get() && !source.isFinished()) {
+      final Optional<AirbyteMessage> maybeMessage = source.attemptRead();
+      if (maybeMessage.isPresent()) {
+        final AirbyteMessage message = mapper.mapMessage(maybeMessage.get());
+
+        messageTracker.accept(message, source.getLastReadBytes());
+        destination.accept(message);
+      }
+    }
+  }
+
+  /**
+   * Runs the read stage and the map/track stage on their own threads while the calling thread writes
+   * to the destination. Each stage only touches its own collaborators (source, mapper and tracker,
+   * destination), so none of them need to be thread-safe. If any stage fails, the other stages stop
+   * at their next queue operation and the first failure is rethrown.
+   */
+  private void replicatePipelined() throws Exception {
+    final BoundedByteQueue<SizedAirbyteMessage> readQueue = new BoundedByteQueue<>(PIPELINE_BUFFER_BYTES);
+    final BoundedByteQueue<SizedAirbyteMessage> writeQueue = new BoundedByteQueue<>(PIPELINE_BUFFER_BYTES);
+    final AtomicBoolean stopped = new AtomicBoolean(false);
+    final Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<?> readStage = executor.submit(() -> {
+        withMdc(mdc);
+        try (readQueue) {
+          while (!isStopped(stopped) && !source.isFinished()) {
+            final Optional<AirbyteMessage> maybeMessage = source.attemptRead();
+            if (maybeMessage.isPresent()) {
+              offer(readQueue, new SizedAirbyteMessage(maybeMessage.get(), source.getLastReadBytes()), stopped);
+            }
+          }
+        } catch (Exception e) {
+          stopped.set(true);
+          throw e;
+        }
+        return null;
+      });
+
+      final Future<?> mapStage = executor.submit(() -> {
+        withMdc(mdc);
+        try (writeQueue) {
+          while (!isStopped(stopped) && !readQueue.isDone()) {
+            final SizedAirbyteMessage inputMessage = readQueue.poll(PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (inputMessage != null) {
+              final AirbyteMessage message = mapper.mapMessage(inputMessage.getMessage());
+              messageTracker.accept(message, inputMessage.getBytes());
+              offer(writeQueue, new SizedAirbyteMessage(message, inputMessage.getBytes()), stopped);
+            }
+          }
+        } catch (Exception e) {
+          stopped.set(true);
+          throw e;
+        }
+        return null;
+      });
+
+      try {
+        while (!isStopped(stopped) && !writeQueue.isDone()) {
+          final SizedAirbyteMessage message = writeQueue.poll(PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+          if (message != null) {
+            destination.accept(message.getMessage());
+          }
+        }
+      } catch (Exception e) {
+        stopped.set(true);
+        throw e;
+      }
+
+      for (final Future<?> stage : List.of(readStage, mapStage)) {
+        try {
+          stage.get();
+        } catch (ExecutionException e) {
+          throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      // the source and the destination are closed once this returns, so wait for the stages to stop
+      // using them.
+      if (!executor.awaitTermination(PIPELINE_TERMINATION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+        LOGGER.warn("Pipeline stages did not stop within {}.", PIPELINE_TERMINATION_TIMEOUT);
+      }
+    }
+  }
+
+  private boolean isStopped(final AtomicBoolean stopped) {
+    return stopped.get() || cancelled.get();
+  }
+
+  /**
+   * Blocks until the message fits in the queue, giving up if the pipeline has been stopped in the
+   * meantime.
+   */
+  private void offer(final BoundedByteQueue<SizedAirbyteMessage> queue, final SizedAirbyteMessage message, final AtomicBoolean stopped)
+      throws InterruptedException {
+    final long bytes = getQueueBytes(message);
+    while (!queue.offer(message, bytes, PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+      if (isStopped(stopped)) {
+        return;
+      }
+    }
+  }
+
+  private static void withMdc(final Map<String, String> mdc) {
+    if (mdc != null) {
+      MDC.setContextMap(mdc);
+    }
+  }
+
+  /**
+   * Size of a message in the pipeline queues, which bound the memory they hold by it. Messages are
+   * sized with the number of bytes the source read them from, or measured serialized if the source
+   * could not size them. Every message counts for at least one byte, so that no message is free to
+   * queue.
+   */
+  private static long getQueueBytes(final SizedAirbyteMessage message) {
+    if (message.getBytes() > 0) {
+      return message.getBytes();
+    }
+    return Math.max(1, Utf8.encodedLength(Jsons.serialize(message.getMessage())));
+  }
+
   @Override
   public void cancel() {
     cancelled.set(true);
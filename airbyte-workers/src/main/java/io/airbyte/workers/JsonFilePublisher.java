@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.workers;
+
+import io.airbyte.commons.json.Jsons;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Periodically writes a snapshot of some value as json to a file in the job root, where the
+ * scheduler and the server can read it while the sync is still running or after the worker is
+ * gone. The file is synced to disk and replaced atomically so readers never see a partial snapshot.
+ */
+public class JsonFilePublisher<T> implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JsonFilePublisher.class);
+
+  private final Supplier<T> snapshotSupplier;
+  private final Path file;
+  private final Duration interval;
+  private final ScheduledExecutorService executor;
+
+  public JsonFilePublisher(final Supplier<T> snapshotSupplier, final Path file, final Duration interval) {
+    this.snapshotSupplier = snapshotSupplier;
+    this.file = file;
+    this.interval = interval;
+    this.executor = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  public void start() {
+    final Map<String, String> mdc = MDC.getCopyOfContextMap();
+    executor.scheduleAtFixedRate(() -> {
+      if (mdc != null) {
+        MDC.setContextMap(mdc);
+      }
+      publish();
+    }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void publish() {
+    final T snapshot = snapshotSupplier.get();
+    if (snapshot == null) {
+      return;
+    }
+
+    try {
+      final Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+      try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        final ByteBuffer buffer = ByteBuffer.wrap(Jsons.serialize(snapshot).getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // a missed snapshot is superseded by the next one, so never fail the sync because of it.
+      LOGGER.warn("Failed to publish {}", file, e);
+    }
+  }
+
+  /**
+   * Stops the periodic publishing and writes a last snapshot.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(interval.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    publish();
+  }
+
+}
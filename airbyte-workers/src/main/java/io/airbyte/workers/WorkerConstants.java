@@ -34,6 +34,8 @@ public class WorkerConstants {
   public static final String INPUT_STATE_JSON_FILENAME = "input_state.json";
 
   public static final String LOG_FILENAME = "logs.log";
+  public static final String SYNC_PROGRESS_JSON_FILENAME = "sync_progress.json";
+  public static final String STATE_CHECKPOINT_JSON_FILENAME = "state_checkpoint.json";
 
   public static final String BASIC_NORMALIZATION_KEY = "basic_normalization";
 
@@ -73,8 +73,8 @@ public class DefaultNormalizationRunner implements NormalizationRunner {
           "--config", WorkerConstants.DESTINATION_CONFIG_JSON_FILENAME,
           "--catalog", WorkerConstants.DESTINATION_CATALOG_JSON_FILENAME).start();
 
-      LineGobbler.gobble(process.getInputStream(), LOGGER::info);
-      LineGobbler.gobble(process.getErrorStream(), LOGGER::error);
+      LineGobbler.gobble(process, process.getInputStream(), LOGGER::info);
+      LineGobbler.gobble(process, process.getErrorStream(), LOGGER::error);
 
       WorkerUtils.wait(process);
 
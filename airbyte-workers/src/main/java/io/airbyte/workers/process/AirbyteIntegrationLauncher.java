@@ -25,6 +25,7 @@
 package io.airbyte.workers.process;
 
 import com.google.common.collect.Lists;
+import io.airbyte.protocol.models.MessageFraming;
 import io.airbyte.workers.WorkerException;
 import java.nio.file.Path;
 import java.util.List;
@@ -39,12 +40,27 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
   private final int attempt;
   private final String imageName;
   private final ProcessBuilderFactory pbf;
+  private final MessageFraming framing;
 
   public AirbyteIntegrationLauncher(long jobId, int attempt, final String imageName, final ProcessBuilderFactory pbf) {
+    this(jobId, attempt, imageName, pbf, MessageFraming.JSON_LINES);
+  }
+
+  /**
+   * @param framing framing requested from the integration for read and write. Anything other than
+   *        json lines must be listed in the io.airbyte.framings label of the integration's image,
+   *        since other integrations reject the argument. See MessageFramingNegotiator.
+   */
+  public AirbyteIntegrationLauncher(long jobId,
+                                    int attempt,
+                                    final String imageName,
+                                    final ProcessBuilderFactory pbf,
+                                    final MessageFraming framing) {
     this.jobId = jobId;
     this.attempt = attempt;
     this.imageName = imageName;
     this.pbf = pbf;
+    this.framing = framing;
   }
 
   @Override
@@ -95,6 +111,8 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
       arguments.add(stateFilename);
     }
 
+    addFraming(arguments);
+
     return pbf.create(
         jobId,
         attempt,
@@ -105,14 +123,26 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
 
   @Override
   public ProcessBuilder write(Path jobRoot, String configFilename, String catalogFilename) throws WorkerException {
+    final List<String> arguments = Lists.newArrayList(
+        "write",
+        "--config", configFilename,
+        "--catalog", catalogFilename);
+
+    addFraming(arguments);
+
     return pbf.create(
         jobId,
         attempt,
         jobRoot,
         imageName,
-        "write",
-        "--config", configFilename,
-        "--catalog", catalogFilename);
+        arguments);
+  }
+
+  private void addFraming(final List<String> arguments) {
+    if (framing != MessageFraming.JSON_LINES) {
+      arguments.add("--framing");
+      arguments.add(framing.value());
+    }
   }
 
 }
@@ -48,6 +48,8 @@ public class DockerProcessBuilderFactory implements ProcessBuilderFactory {
   private static final Path DATA_MOUNT_DESTINATION = Path.of("/data");
   private static final Path LOCAL_MOUNT_DESTINATION = Path.of("/local");
   private static final String IMAGE_EXISTS_SCRIPT = "image_exists.sh";
+  // tuning knobs read by the integrations, passed through from the worker environment when set.
+  private static final List<String> FORWARDED_ENV_VARS = List.of("DESTINATION_WRITER_THREADS", "DESTINATION_MAX_IN_FLIGHT_BATCHES");
 
   private final String workspaceMountSource;
   private final Path workspaceRoot;
@@ -97,8 +99,14 @@ public class DockerProcessBuilderFactory implements ProcessBuilderFactory {
             "-w",
             rebasePath(jobRoot).toString(),
             "--network",
-            networkName,
-            imageName);
+            networkName);
+    for (final String envVar : FORWARDED_ENV_VARS) {
+      if (System.getenv(envVar) != null) {
+        cmd.add("-e");
+        cmd.add(envVar);
+      }
+    }
+    cmd.add(imageName);
     cmd.addAll(Arrays.asList(args));
 
     LOGGER.debug("Preparing command: {}", Joiner.on(" ").join(cmd));
@@ -115,8 +123,8 @@ public class DockerProcessBuilderFactory implements ProcessBuilderFactory {
   boolean checkImageExists(String imageName) throws WorkerException {
     try {
       final Process process = new ProcessBuilder(imageExistsScriptPath.toString(), imageName).start();
-      LineGobbler.gobble(process.getErrorStream(), LOGGER::error);
-      LineGobbler.gobble(process.getInputStream(), LOGGER::info);
+      LineGobbler.gobble(process, process.getErrorStream(), LOGGER::error);
+      LineGobbler.gobble(process, process.getInputStream(), LOGGER::info);
 
       WorkerUtils.gentleClose(process, 10, TimeUnit.MINUTES);
 
@@ -24,9 +24,11 @@
 
 package io.airbyte.workers.protocols;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.commons.functional.CheckedConsumer;
 import io.airbyte.config.StandardTargetConfig;
 import java.nio.file.Path;
+import java.util.Optional;
 
 public interface Destination<T> extends CheckedConsumer<T, Exception>, AutoCloseable {
 
@@ -40,4 +42,10 @@ public interface Destination<T> extends CheckedConsumer<T, Exception>, AutoClose
   @Override
   void close() throws Exception;
 
+  /**
+   * @return the latest state the destination has acknowledged as durably committed, if any. Safe to
+   *         call from another thread while the destination is running.
+   */
+  Optional<JsonNode> getCommittedState();
+
 }
@@ -26,6 +26,16 @@ package io.airbyte.workers.protocols;
 
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 
+/**
+ * Transforms the catalog and the messages flowing from a source to a destination.
+ *
+ * <p>
+ * {@link #mapCatalog} is called once, before any message is mapped, so implementations can
+ * precompute whatever they need for mapping messages. {@link #mapMessage} is called for every
+ * message and must not mutate its input. Since copying the record payload for every message is
+ * expensive, implementations should return a new envelope that shares the payload of the input
+ * instead of deep-copying it; neither side may mutate the shared payload afterwards.
+ */
 public interface Mapper<T> {
 
   ConfiguredAirbyteCatalog mapCatalog(ConfiguredAirbyteCatalog catalog);
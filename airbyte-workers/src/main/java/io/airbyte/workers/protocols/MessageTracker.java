@@ -25,6 +25,8 @@
 package io.airbyte.workers.protocols;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.config.SyncProgress;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -33,10 +35,28 @@ public interface MessageTracker<T> extends Consumer<T> {
   @Override
   public void accept(T message);
 
+  /**
+   * @param bytes number of bytes the message was read from, counted instead of the size of the
+   *        message itself. 0 if it is not known.
+   */
+  default void accept(T message, long bytes) {
+    accept(message);
+  }
+
   long getRecordCount();
 
   long getBytesCount();
 
   Optional<JsonNode> getOutputState();
 
+  /**
+   * @return number of records seen so far, by stream name. Streams without any record are absent.
+   */
+  Map<String, Long> getStreamRecordCounts();
+
+  /**
+   * Snapshot of the sync so far. Called from a different thread than {@link #accept}.
+   */
+  SyncProgress getSyncProgress();
+
 }
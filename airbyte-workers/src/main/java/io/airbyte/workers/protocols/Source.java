@@ -36,6 +36,14 @@ public interface Source<T> extends AutoCloseable {
 
   Optional<T> attemptRead();
 
+  /**
+   * @return number of bytes the message last returned by {@link #attemptRead()} was read from, or 0
+   *         if the source does not know it.
+   */
+  default long getLastReadBytes() {
+    return 0;
+  }
+
   @Override
   void close() throws Exception;
 
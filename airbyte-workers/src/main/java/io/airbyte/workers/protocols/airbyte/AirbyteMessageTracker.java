@@ -25,48 +25,144 @@
 package io.airbyte.workers.protocols.airbyte;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.base.Utf8;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.StreamSyncProgress;
+import io.airbyte.config.SyncProgress;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.workers.protocols.MessageTracker;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
+/**
+ * Tracks records and bytes per stream. Counters are safe to read from another thread while messages
+ * are being accepted, which is how progress snapshots are published during a sync.
+ */
 public class AirbyteMessageTracker implements MessageTracker<AirbyteMessage> {
 
-  private final AtomicLong recordCount;
-  private final AtomicLong numBytes;
+  private static final int RATE_WINDOW_SECONDS = 60;
+
+  private final LongSupplier clock;
+  private final Map<String, StreamStats> streamStats;
+  private final StreamStats totalStats;
   private final AtomicReference<JsonNode> outputState;
+  private final AtomicLong lastStateAt;
 
   public AirbyteMessageTracker() {
-    this.recordCount = new AtomicLong();
-    this.numBytes = new AtomicLong();
+    this(System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  AirbyteMessageTracker(final LongSupplier clock) {
+    this.clock = clock;
+    this.streamStats = new ConcurrentHashMap<>();
+    this.totalStats = new StreamStats();
     this.outputState = new AtomicReference<>();
+    this.lastStateAt = new AtomicLong(-1);
   }
 
   @Override
   public void accept(AirbyteMessage message) {
+    accept(message, 0);
+  }
+
+  /**
+   * Records are counted with the number of bytes the source emitted them as, which the stream
+   * factory measured while reading them, so that they are not serialized again to be measured.
+   */
+  @Override
+  public void accept(AirbyteMessage message, long readBytes) {
     if (message.getType() == AirbyteMessage.Type.RECORD) {
-      recordCount.incrementAndGet();
-      // todo (cgardens) - pretty wasteful to do an extra serialization just to get size.
-      numBytes.addAndGet(Jsons.serialize(message.getRecord().getData()).getBytes(Charsets.UTF_8).length);
+      final long now = clock.getAsLong();
+      final long bytes = readBytes > 0 ? readBytes : getDataBytes(message.getRecord().getData());
+      final String stream = Strings.nullToEmpty(message.getRecord().getStream());
+
+      streamStats.computeIfAbsent(stream, k -> new StreamStats()).add(now, bytes);
+      totalStats.add(now, bytes);
     }
     if (message.getType() == AirbyteMessage.Type.STATE) {
       outputState.set(message.getState().getData());
+      lastStateAt.set(clock.getAsLong());
     }
   }
 
+  /**
+   * Used when the size the message was read from is not known. Records parsed envelope-only still
+   * hold the raw bytes emitted by the source, so their size can be taken without serializing the
+   * payload again.
+   */
+  private static long getDataBytes(JsonNode data) {
+    return AirbyteRecordEnvelopeParser.getRawData(data)
+        .map(raw -> (long) Utf8.encodedLength(raw))
+        .orElseGet(() -> (long) Jsons.serialize(data).getBytes(Charsets.UTF_8).length);
+  }
+
+  @Override
   public long getRecordCount() {
-    return recordCount.get();
+    return totalStats.records.get();
   }
 
+  @Override
   public long getBytesCount() {
-    return numBytes.get();
+    return totalStats.bytes.get();
   }
 
+  @Override
   public Optional<JsonNode> getOutputState() {
     return Optional.ofNullable(outputState.get());
   }
 
+  @Override
+  public Map<String, Long> getStreamRecordCounts() {
+    return streamStats.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().records.get()));
+  }
+
+  @Override
+  public SyncProgress getSyncProgress() {
+    final long now = clock.getAsLong();
+    final long lastState = lastStateAt.get();
+
+    return new SyncProgress()
+        .withUpdatedAt(now)
+        .withRecordsEmitted(totalStats.records.get())
+        .withBytesEmitted(totalStats.bytes.get())
+        .withRecordsPerSecond(totalStats.recordRate.getRate(now))
+        .withBytesPerSecond(totalStats.byteRate.getRate(now))
+        .withMillisSinceLastState(lastState < 0 ? null : now - lastState)
+        .withStreams(streamStats.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> new StreamSyncProgress()
+                .withStreamName(entry.getKey())
+                .withRecordsEmitted(entry.getValue().records.get())
+                .withBytesEmitted(entry.getValue().bytes.get())
+                .withRecordsPerSecond(entry.getValue().recordRate.getRate(now))
+                .withBytesPerSecond(entry.getValue().byteRate.getRate(now)))
+            .collect(Collectors.toList()));
+  }
+
+  private static class StreamStats {
+
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final SlidingWindowRate recordRate = new SlidingWindowRate(RATE_WINDOW_SECONDS);
+    private final SlidingWindowRate byteRate = new SlidingWindowRate(RATE_WINDOW_SECONDS);
+
+    void add(final long now, final long numBytes) {
+      records.incrementAndGet();
+      bytes.addAndGet(numBytes);
+      recordRate.add(now, 1);
+      byteRate.add(now, numBytes);
+    }
+
+  }
+
 }
@@ -25,23 +25,137 @@
 package io.airbyte.workers.protocols.airbyte;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+import io.airbyte.config.Configs.RecordValidationMode;
+import io.airbyte.config.RecordValidationConfig;
+import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteProtocolSchema;
 import io.airbyte.validation.json.JsonSchemaValidator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
+/**
+ * Validates messages against the AirbyteMessage protocol schema. Validating every record of a large
+ * sync is expensive, so the {@link ValidationPolicy} decides which RECORD messages are actually
+ * validated. Records that are skipped pass the predicate. All other message types are always
+ * validated.
+ */
 public class AirbyteProtocolPredicate implements Predicate<JsonNode> {
 
   private final JsonSchemaValidator jsonSchemaValidator;
   private final JsonNode schema;
+  private final ValidationPolicy validationPolicy;
+  private final Map<String, AtomicLong> recordCountsByStream;
 
   public AirbyteProtocolPredicate() {
+    this(ValidationPolicy.full());
+  }
+
+  public AirbyteProtocolPredicate(final ValidationPolicy validationPolicy) {
     jsonSchemaValidator = new JsonSchemaValidator();
     schema = JsonSchemaValidator.getSchema(AirbyteProtocolSchema.PROTOCOL.getFile(), "AirbyteMessage");
+    this.validationPolicy = validationPolicy;
+    recordCountsByStream = new ConcurrentHashMap<>();
   }
 
   @Override
   public boolean test(JsonNode s) {
-    return jsonSchemaValidator.test(schema, s);
+    if (!shouldValidate(s)) {
+      return true;
+    }
+    return validate(s);
+  }
+
+  /**
+   * Validates the message regardless of the policy.
+   */
+  public boolean validate(JsonNode message) {
+    return jsonSchemaValidator.test(schema, message);
+  }
+
+  public boolean validatesEveryRecord() {
+    return validationPolicy.getMode() == RecordValidationMode.FULL;
+  }
+
+  /**
+   * Counts a record of the stream, for callers that decide themselves how to handle the records that
+   * are not validated.
+   *
+   * @return whether the policy selects this record for validation.
+   */
+  public boolean shouldValidateRecord(final String streamName) {
+    if (validationPolicy.getMode() == RecordValidationMode.FULL) {
+      return true;
+    }
+    if (validationPolicy.getMode() == RecordValidationMode.OFF) {
+      return false;
+    }
+
+    final long recordCount = recordCountsByStream.computeIfAbsent(streamName, k -> new AtomicLong()).incrementAndGet();
+    return switch (validationPolicy.getMode()) {
+      case FIRST_N_PER_STREAM -> recordCount <= validationPolicy.getN();
+      case SAMPLE_ONE_IN_N -> (recordCount - 1) % validationPolicy.getN() == 0;
+      default -> true;
+    };
+  }
+
+  private boolean shouldValidate(final JsonNode message) {
+    final JsonNode type = message.get("type");
+    if (type == null || !AirbyteMessage.Type.RECORD.value().equals(type.asText())) {
+      return true;
+    }
+
+    final JsonNode stream = message.path("record").get("stream");
+    return shouldValidateRecord(stream != null && stream.isTextual() ? stream.asText() : "");
+  }
+
+  public static class ValidationPolicy {
+
+    private final RecordValidationMode mode;
+    private final long n;
+
+    private ValidationPolicy(final RecordValidationMode mode, final long n) {
+      this.mode = mode;
+      this.n = n;
+    }
+
+    public static ValidationPolicy full() {
+      return new ValidationPolicy(RecordValidationMode.FULL, 0);
+    }
+
+    public static ValidationPolicy firstNPerStream(final long n) {
+      Preconditions.checkArgument(n >= 0, "n cannot be negative");
+      return new ValidationPolicy(RecordValidationMode.FIRST_N_PER_STREAM, n);
+    }
+
+    public static ValidationPolicy sampleOneIn(final long n) {
+      Preconditions.checkArgument(n > 0, "n must be positive");
+      return new ValidationPolicy(RecordValidationMode.SAMPLE_ONE_IN_N, n);
+    }
+
+    public static ValidationPolicy off() {
+      return new ValidationPolicy(RecordValidationMode.OFF, 0);
+    }
+
+    public static ValidationPolicy fromConfig(final RecordValidationConfig config) {
+      return switch (config.getMode()) {
+        case FULL -> full();
+        case FIRST_N_PER_STREAM -> firstNPerStream(config.getN());
+        case SAMPLE_ONE_IN_N -> sampleOneIn(config.getN());
+        case OFF -> off();
+      };
+    }
+
+    public RecordValidationMode getMode() {
+      return mode;
+    }
+
+    public long getN() {
+      return n;
+    }
+
   }
 
 }
@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.workers.protocols.airbyte;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.airbyte.commons.json.BinaryJsonFrames;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Optional;
+
+/**
+ * Parses only the envelope of a RECORD message (type, record.stream and record.emitted_at) and
+ * keeps record.data as the raw JSON text it was read as. The data is wrapped in a raw value node,
+ * so serializing the message writes it back out unchanged without ever building a tree for it.
+ *
+ * <p>
+ * Anything that is not a plain RECORD message with exactly those fields (LOG, STATE, records with
+ * additional properties, malformed lines...) is rejected so that the caller can fall back to full
+ * parsing and validation.
+ */
+public class AirbyteRecordEnvelopeParser {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  public static Optional<AirbyteMessage> tryParseRecord(final String line) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(line)) {
+      return tryParseRecord(parser, dataParser -> {
+        final int start = Math.toIntExact(dataParser.getTokenLocation().getCharOffset());
+        dataParser.skipChildren();
+        final int end = Math.toIntExact(dataParser.getCurrentLocation().getCharOffset());
+        return line.substring(start, end);
+      });
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Same as {@link #tryParseRecord(String)} for the payload of a {@link BinaryJsonFrames} frame. The
+   * binary data is copied to JSON text as it is read, still without building a tree for it.
+   */
+  public static Optional<AirbyteMessage> tryParseFramedRecord(final byte[] payload) {
+    try (final JsonParser parser = BinaryJsonFrames.createParser(payload)) {
+      return tryParseRecord(parser, dataParser -> {
+        final StringWriter data = new StringWriter();
+        try (final JsonGenerator generator = JSON_FACTORY.createGenerator(data)) {
+          generator.copyCurrentStructure(dataParser);
+        }
+        return data.toString();
+      });
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Optional<AirbyteMessage> tryParseRecord(final JsonParser parser, final DataReader dataReader) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      return Optional.empty();
+    }
+
+    String type = null;
+    AirbyteRecordMessage record = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken valueToken = parser.nextToken();
+      switch (fieldName) {
+        case "type" -> {
+          if (valueToken != JsonToken.VALUE_STRING) {
+            return Optional.empty();
+          }
+          type = parser.getText();
+        }
+        case "record" -> {
+          if (valueToken != JsonToken.START_OBJECT) {
+            return Optional.empty();
+          }
+          record = parseRecord(parser, dataReader);
+          if (record == null) {
+            return Optional.empty();
+          }
+        }
+        default -> {
+          return Optional.empty();
+        }
+      }
+    }
+
+    if (parser.currentToken() != JsonToken.END_OBJECT || !Type.RECORD.value().equals(type) || record == null) {
+      return Optional.empty();
+    }
+    return Optional.of(new AirbyteMessage().withType(Type.RECORD).withRecord(record));
+  }
+
+  /**
+   * @return the raw JSON text of data that was kept unparsed by this parser, if that is what the
+   *         node holds.
+   */
+  public static Optional<String> getRawData(final JsonNode data) {
+    if (data instanceof POJONode) {
+      final Object pojo = ((POJONode) data).getPojo();
+      if (pojo instanceof RawValue && ((RawValue) pojo).rawValue() instanceof String) {
+        return Optional.of((String) ((RawValue) pojo).rawValue());
+      }
+    }
+    return Optional.empty();
+  }
+
+  // expects the parser to be positioned on the START_OBJECT of the record. returns null if the
+  // record does not have exactly the expected shape.
+  private static AirbyteRecordMessage parseRecord(final JsonParser parser, final DataReader dataReader) throws IOException {
+    String stream = null;
+    Long emittedAt = null;
+    String data = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken valueToken = parser.nextToken();
+      switch (fieldName) {
+        case "stream" -> {
+          if (valueToken != JsonToken.VALUE_STRING) {
+            return null;
+          }
+          stream = parser.getText();
+        }
+        case "emitted_at" -> {
+          if (valueToken != JsonToken.VALUE_NUMBER_INT) {
+            return null;
+          }
+          emittedAt = parser.getLongValue();
+        }
+        case "data" -> {
+          if (valueToken != JsonToken.START_OBJECT) {
+            return null;
+          }
+          data = dataReader.read(parser);
+        }
+        default -> {
+          return null;
+        }
+      }
+    }
+
+    if (stream == null || emittedAt == null || data == null) {
+      return null;
+    }
+    return new AirbyteRecordMessage()
+        .withStream(stream)
+        .withEmittedAt(emittedAt)
+        .withData(JsonNodeFactory.instance.rawValueNode(new RawValue(data)));
+  }
+
+  /**
+   * Reads the data object the parser is positioned on, up to its END_OBJECT, as JSON text.
+   */
+  @FunctionalInterface
+  private interface DataReader {
+
+    String read(JsonParser parser) throws IOException;
+
+  }
+
+}
@@ -24,6 +24,8 @@
 
 package io.airbyte.workers.protocols.airbyte;
 
+import com.google.common.base.Utf8;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteMessage;
 import java.io.BufferedReader;
 import java.util.stream.Stream;
@@ -32,4 +34,12 @@ public interface AirbyteStreamFactory {
 
   Stream<AirbyteMessage> create(BufferedReader bufferedReader);
 
+  /**
+   * Same as {@link #create(BufferedReader)}, with the number of bytes each message was read from.
+   * Factories that do not keep track of it measure the serialized message instead.
+   */
+  default Stream<SizedAirbyteMessage> createSized(BufferedReader bufferedReader) {
+    return create(bufferedReader).map(message -> new SizedAirbyteMessage(message, Utf8.encodedLength(Jsons.serialize(message))));
+  }
+
 }
@@ -24,22 +24,32 @@
 
 package io.airbyte.workers.protocols.airbyte;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.io.LineGobbler;
+import io.airbyte.commons.json.BinaryJsonFrames;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.StandardTargetConfig;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.MessageFraming;
 import io.airbyte.workers.WorkerConstants;
 import io.airbyte.workers.WorkerException;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.process.IntegrationLauncher;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.StringReader;
 import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,13 +58,27 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAirbyteDestination.class);
 
   private final IntegrationLauncher integrationLauncher;
+  private final MessageFraming framing;
+  private final AirbyteStreamFactory streamFactory;
+  private final AtomicReference<JsonNode> committedState = new AtomicReference<>();
 
   private Process targetProcess = null;
+  private CompletableFuture<Void> outputGobbled = null;
   private BufferedWriter writer = null;
+  private BinaryJsonFrames.Writer framedWriter = null;
   private boolean endOfStream = false;
 
   public DefaultAirbyteDestination(final IntegrationLauncher integrationLauncher) {
+    this(integrationLauncher, MessageFraming.JSON_LINES);
+  }
+
+  /**
+   * @param framing must match the framing the integration launcher requests from the destination.
+   */
+  public DefaultAirbyteDestination(final IntegrationLauncher integrationLauncher, final MessageFraming framing) {
     this.integrationLauncher = integrationLauncher;
+    this.framing = framing;
+    this.streamFactory = new DefaultAirbyteStreamFactory();
   }
 
   @Override
@@ -69,26 +93,40 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
         jobRoot,
         WorkerConstants.DESTINATION_CONFIG_JSON_FILENAME,
         WorkerConstants.DESTINATION_CATALOG_JSON_FILENAME).start();
-    LineGobbler.gobble(targetProcess.getInputStream(), LOGGER::info);
-    LineGobbler.gobble(targetProcess.getErrorStream(), LOGGER::error);
-
-    writer = new BufferedWriter(new OutputStreamWriter(targetProcess.getOutputStream(), Charsets.UTF_8));
+    // stdout carries the state acknowledgements, so only the lines that cannot be protocol messages
+    // count towards the log rate limit.
+    outputGobbled = LineGobbler.gobble(targetProcess, targetProcess.getInputStream(), this::handleOutputLine, line -> !isJsonObject(line));
+    LineGobbler.gobble(targetProcess, targetProcess.getErrorStream(), LOGGER::error);
+
+    if (framing == MessageFraming.SMILE) {
+      framedWriter = new BinaryJsonFrames.Writer(targetProcess.getOutputStream());
+    } else {
+      writer = new BufferedWriter(new OutputStreamWriter(targetProcess.getOutputStream(), Charsets.UTF_8));
+    }
   }
 
   @Override
   public void accept(AirbyteMessage message) throws IOException {
     Preconditions.checkState(targetProcess != null && !endOfStream);
 
-    writer.write(Jsons.serialize(message));
-    writer.newLine();
+    if (framedWriter != null) {
+      framedWriter.write(message);
+    } else {
+      writer.write(Jsons.serialize(message));
+      writer.newLine();
+    }
   }
 
   @Override
   public void notifyEndOfStream() throws IOException {
     Preconditions.checkState(targetProcess != null && !endOfStream);
 
-    writer.flush();
-    writer.close();
+    if (framedWriter != null) {
+      framedWriter.close();
+    } else {
+      writer.flush();
+      writer.close();
+    }
     endOfStream = true;
   }
 
@@ -104,9 +142,45 @@ public class DefaultAirbyteDestination implements AirbyteDestination {
 
     LOGGER.debug("Closing target process");
     WorkerUtils.gentleClose(targetProcess, 10, TimeUnit.HOURS);
+    awaitOutput();
     if (targetProcess.isAlive() || targetProcess.exitValue() != 0) {
       throw new WorkerException("target process wasn't successful");
     }
   }
 
+  /**
+   * The destination echoes a state message once every record that preceded it has been committed.
+   * Anything else it writes to stdout is logged.
+   */
+  @Override
+  public Optional<JsonNode> getCommittedState() {
+    return Optional.ofNullable(committedState.get());
+  }
+
+  private void handleOutputLine(String line) {
+    streamFactory.create(new BufferedReader(new StringReader(line))).forEach(message -> {
+      if (message.getType() == AirbyteMessage.Type.STATE) {
+        LOGGER.info("Destination committed state: {}", Jsons.serialize(message.getState().getData()));
+        committedState.set(message.getState().getData());
+      } else {
+        LOGGER.info("Unexpected message from destination: {}", Jsons.serialize(message));
+      }
+    });
+  }
+
+  private static boolean isJsonObject(String line) {
+    return line.stripLeading().startsWith("{");
+  }
+
+  // the process has exited at this point, but its stdout may still hold the last acknowledgement.
+  private void awaitOutput() {
+    try {
+      outputGobbled.get(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException e) {
+      LOGGER.warn("Failed to read the destination output to the end", e);
+    }
+  }
+
 }
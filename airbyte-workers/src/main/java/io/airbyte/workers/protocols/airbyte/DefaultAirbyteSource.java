@@ -32,14 +32,17 @@ import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.StandardTapConfig;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.MessageFraming;
 import io.airbyte.workers.WorkerConstants;
 import io.airbyte.workers.WorkerException;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.process.IntegrationLauncher;
+import io.airbyte.workers.protocols.airbyte.AirbyteProtocolPredicate.ValidationPolicy;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,19 +52,52 @@ public class DefaultAirbyteSource implements AirbyteSource {
 
   private final IntegrationLauncher integrationLauncher;
   private final AirbyteStreamFactory streamFactory;
+  private final DefaultAirbyteStreamFactory framedStreamFactory;
+  private final MessageFraming framing;
 
   private Process tapProcess = null;
-  private Iterator<AirbyteMessage> messageIterator = null;
+  private Iterator<SizedAirbyteMessage> messageIterator = null;
+  private long lastReadBytes = 0;
 
   public DefaultAirbyteSource(final IntegrationLauncher integrationLauncher) {
-    this(integrationLauncher, new DefaultAirbyteStreamFactory());
+    this(integrationLauncher, MessageFraming.JSON_LINES);
+  }
+
+  /**
+   * @param framing must match the framing the integration launcher requests from the source.
+   */
+  public DefaultAirbyteSource(final IntegrationLauncher integrationLauncher, final MessageFraming framing) {
+    this(integrationLauncher, framing, ValidationPolicy.full());
+  }
+
+  /**
+   * @param framing must match the framing the integration launcher requests from the source.
+   * @param validationPolicy selects the records that are validated against the protocol.
+   */
+  public DefaultAirbyteSource(final IntegrationLauncher integrationLauncher,
+                              final MessageFraming framing,
+                              final ValidationPolicy validationPolicy) {
+    this(integrationLauncher,
+        new DefaultAirbyteStreamFactory(validationPolicy),
+        new DefaultAirbyteStreamFactory(validationPolicy),
+        framing);
   }
 
   @VisibleForTesting
   DefaultAirbyteSource(final IntegrationLauncher integrationLauncher,
                        final AirbyteStreamFactory streamFactory) {
+    this(integrationLauncher, streamFactory, new DefaultAirbyteStreamFactory(), MessageFraming.JSON_LINES);
+  }
+
+  @VisibleForTesting
+  DefaultAirbyteSource(final IntegrationLauncher integrationLauncher,
+                       final AirbyteStreamFactory streamFactory,
+                       final DefaultAirbyteStreamFactory framedStreamFactory,
+                       final MessageFraming framing) {
     this.integrationLauncher = integrationLauncher;
     this.streamFactory = streamFactory;
+    this.framedStreamFactory = framedStreamFactory;
+    this.framing = framing;
   }
 
   @Override
@@ -79,10 +115,13 @@ public class DefaultAirbyteSource implements AirbyteSource {
         WorkerConstants.SOURCE_CATALOG_JSON_FILENAME,
         input.getState() == null ? null : WorkerConstants.INPUT_STATE_JSON_FILENAME).start();
     // stdout logs are logged elsewhere since stdout also contains data
-    LineGobbler.gobble(tapProcess.getErrorStream(), LOGGER::error);
+    LineGobbler.gobble(tapProcess, tapProcess.getErrorStream(), LOGGER::error);
 
-    messageIterator = streamFactory.create(IOs.newBufferedReader(tapProcess.getInputStream()))
-        .filter(message -> message.getType() == Type.RECORD || message.getType() == Type.STATE)
+    final Stream<SizedAirbyteMessage> messages = framing == MessageFraming.SMILE
+        ? framedStreamFactory.createSizedFromFrames(tapProcess.getInputStream())
+        : streamFactory.createSized(IOs.newBufferedReader(tapProcess.getInputStream()));
+    messageIterator = messages
+        .filter(message -> message.getMessage().getType() == Type.RECORD || message.getMessage().getType() == Type.STATE)
         .iterator();
   }
 
@@ -97,7 +136,17 @@ public class DefaultAirbyteSource implements AirbyteSource {
   public Optional<AirbyteMessage> attemptRead() {
     Preconditions.checkState(tapProcess != null);
 
-    return Optional.ofNullable(messageIterator.hasNext() ? messageIterator.next() : null);
+    if (!messageIterator.hasNext()) {
+      return Optional.empty();
+    }
+    final SizedAirbyteMessage message = messageIterator.next();
+    lastReadBytes = message.getBytes();
+    return Optional.of(message.getMessage());
+  }
+
+  @Override
+  public long getLastReadBytes() {
+    return lastReadBytes;
   }
 
   @Override
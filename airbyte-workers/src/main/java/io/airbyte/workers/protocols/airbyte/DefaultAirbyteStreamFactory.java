@@ -25,11 +25,20 @@
 package io.airbyte.workers.protocols.airbyte;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Utf8;
+import com.google.common.collect.AbstractIterator;
+import io.airbyte.commons.json.BinaryJsonFrames;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.stream.MoreStreams;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.protocols.airbyte.AirbyteProtocolPredicate.ValidationPolicy;
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +52,18 @@ import org.slf4j.LoggerFactory;
  * If a line starts with a AirbyteMessage and then has other characters after it, that
  * AirbyteMessage will still be parsed. If there are multiple AirbyteMessage records on the same
  * line, only the first will be parsed.
+ *
+ * <p>
+ * When the {@link AirbyteProtocolPredicate} does not validate every record, plain RECORD messages
+ * that its policy skips are handled by {@link AirbyteRecordEnvelopeParser}: only the envelope is
+ * parsed and checked, and the record data is kept as raw JSON text that is forwarded as-is to the
+ * destination. Every other line goes through the full parsing and protocol validation described
+ * above.
+ *
+ * <p>
+ * Input framed by {@link BinaryJsonFrames} is read with {@link #createFromFrames(InputStream)}.
+ * Each frame goes through the same envelope parsing and validation as a line of JSON, and text
+ * between frames is logged like lines that are not valid JSON.
  */
 public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
 
@@ -55,6 +76,10 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
     this(new AirbyteProtocolPredicate(), LOGGER);
   }
 
+  public DefaultAirbyteStreamFactory(final ValidationPolicy validationPolicy) {
+    this(new AirbyteProtocolPredicate(validationPolicy), LOGGER);
+  }
+
   DefaultAirbyteStreamFactory(final AirbyteProtocolPredicate protocolPredicate, final Logger logger) {
     protocolValidator = protocolPredicate;
     this.logger = logger;
@@ -62,8 +87,81 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
 
   @Override
   public Stream<AirbyteMessage> create(BufferedReader bufferedReader) {
+    return createSized(bufferedReader).map(SizedAirbyteMessage::getMessage);
+  }
+
+  /**
+   * Each message is sized with the number of bytes of the line it was read from.
+   */
+  @Override
+  public Stream<SizedAirbyteMessage> createSized(BufferedReader bufferedReader) {
+    final boolean validateEveryRecord = protocolValidator.validatesEveryRecord();
     return bufferedReader
         .lines()
+        .flatMap(line -> {
+          final long bytes = Utf8.encodedLength(line);
+          return parseLine(line, validateEveryRecord).map(message -> new SizedAirbyteMessage(message, bytes));
+        });
+  }
+
+  public Stream<AirbyteMessage> createFromFrames(InputStream inputStream) {
+    return createSizedFromFrames(inputStream).map(SizedAirbyteMessage::getMessage);
+  }
+
+  /**
+   * Each message is sized with the number of bytes of the frame payload it was read from.
+   */
+  public Stream<SizedAirbyteMessage> createSizedFromFrames(InputStream inputStream) {
+    final BinaryJsonFrames.Reader reader = new BinaryJsonFrames.Reader(inputStream, logger::info);
+    final AbstractIterator<byte[]> frames = new AbstractIterator<>() {
+
+      @Override
+      protected byte[] computeNext() {
+        try {
+          return reader.readFrame().orElseGet(this::endOfData);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+    };
+    final boolean validateEveryRecord = protocolValidator.validatesEveryRecord();
+    return MoreStreams.toStream(frames)
+        .flatMap(payload -> parseFrame(payload, validateEveryRecord).map(message -> new SizedAirbyteMessage(message, payload.length)));
+  }
+
+  private Stream<AirbyteMessage> parseFrame(byte[] payload, boolean validateEveryRecord) {
+    if (validateEveryRecord) {
+      return toMessages(Stream.of(BinaryJsonFrames.readTree(payload)), protocolValidator);
+    }
+    final Optional<AirbyteMessage> record = AirbyteRecordEnvelopeParser.tryParseFramedRecord(payload);
+    if (record.isEmpty()) {
+      return toMessages(Stream.of(BinaryJsonFrames.readTree(payload)), protocolValidator);
+    }
+    if (!protocolValidator.shouldValidateRecord(record.get().getRecord().getStream())) {
+      return Stream.of(record.get());
+    }
+    // the record was already counted by the policy, validate it without counting it twice.
+    return toMessages(Stream.of(BinaryJsonFrames.readTree(payload)), protocolValidator::validate);
+  }
+
+  private Stream<AirbyteMessage> parseLine(String line, boolean validateEveryRecord) {
+    if (validateEveryRecord) {
+      return parse(Stream.of(line), protocolValidator);
+    }
+    final Optional<AirbyteMessage> record = AirbyteRecordEnvelopeParser.tryParseRecord(line);
+    if (record.isEmpty()) {
+      return parse(Stream.of(line), protocolValidator);
+    }
+    if (!protocolValidator.shouldValidateRecord(record.get().getRecord().getStream())) {
+      return Stream.of(record.get());
+    }
+    // the record was already counted by the policy, validate it without counting it twice.
+    return parse(Stream.of(line), protocolValidator::validate);
+  }
+
+  private Stream<AirbyteMessage> parse(Stream<String> lines, Predicate<JsonNode> validator) {
+    return toMessages(lines
         .map(s -> {
           Optional<JsonNode> j = Jsons.tryDeserialize(s);
           if (j.isEmpty()) {
@@ -75,10 +173,14 @@ public class DefaultAirbyteStreamFactory implements AirbyteStreamFactory {
           return j;
         })
         .filter(Optional::isPresent)
-        .map(Optional::get)
+        .map(Optional::get), validator);
+  }
+
+  private Stream<AirbyteMessage> toMessages(Stream<JsonNode> jsonNodes, Predicate<JsonNode> validator) {
+    return jsonNodes
         // filter invalid messages
         .filter(j -> {
-          boolean res = protocolValidator.test(j);
+          boolean res = validator.test(j);
           if (!res) {
             logger.error("Validation failed: {}", Jsons.serialize(j));
           }
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.workers.protocols.airbyte;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.functional.CheckedFunction;
+import io.airbyte.commons.io.LineGobbler;
+import io.airbyte.protocol.models.MessageFraming;
+import io.airbyte.workers.WorkerException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Picks the framing used for messages exchanged with a connector. Binary framing is only used when
+ * the connector's image lists it in its {@value #FRAMINGS_LABEL} label; everything else (e.g.
+ * python and singer connectors) keeps using json lines. The label is read once per image, since an
+ * image tag is not expected to change what the connector supports, and without starting the
+ * connector.
+ */
+public class MessageFramingNegotiator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MessageFramingNegotiator.class);
+
+  public static final String FRAMINGS_LABEL = "io.airbyte.framings";
+
+  private final CheckedFunction<String, String, Exception> labelReader;
+  private final Map<String, MessageFraming> framingByImage;
+
+  public MessageFramingNegotiator() {
+    this(MessageFramingNegotiator::readFramingsLabel);
+  }
+
+  /**
+   * @param labelReader returns the comma separated framings listed in the label of an image, or an
+   *        empty string if it has none.
+   */
+  @VisibleForTesting
+  MessageFramingNegotiator(final CheckedFunction<String, String, Exception> labelReader) {
+    this.labelReader = labelReader;
+    this.framingByImage = new ConcurrentHashMap<>();
+  }
+
+  public MessageFraming negotiate(final String dockerImage) {
+    final MessageFraming cached = framingByImage.get(dockerImage);
+    if (cached != null) {
+      return cached;
+    }
+
+    final String label;
+    try {
+      label = labelReader.apply(dockerImage);
+    } catch (Exception e) {
+      // not cached, so that the next sync tries again.
+      LOGGER.warn("Could not read the {} label of {}, falling back to json lines.", FRAMINGS_LABEL, dockerImage, e);
+      return MessageFraming.JSON_LINES;
+    }
+
+    final MessageFraming framing = Arrays.stream(label.split(","))
+        .map(String::trim)
+        .anyMatch(MessageFraming.SMILE.value()::equals) ? MessageFraming.SMILE : MessageFraming.JSON_LINES;
+    LOGGER.info("Using {} framing for {}", framing.value(), dockerImage);
+    framingByImage.put(dockerImage, framing);
+    return framing;
+  }
+
+  private static String readFramingsLabel(final String dockerImage) throws IOException, InterruptedException, WorkerException {
+    final Process process = new ProcessBuilder(
+        "docker",
+        "image",
+        "inspect",
+        "--format",
+        String.format("{{ index .Config.Labels \"%s\" }}", FRAMINGS_LABEL),
+        dockerImage).start();
+    LineGobbler.gobble(process, process.getErrorStream(), LOGGER::warn);
+    final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+
+    if (!process.waitFor(1, TimeUnit.MINUTES)) {
+      process.destroy();
+      throw new WorkerException("Timed out inspecting image: " + dockerImage);
+    }
+    if (process.exitValue() != 0) {
+      throw new WorkerException("Could not inspect image: " + dockerImage);
+    }
+    // the label is missing from the image.
+    return "<no value>".equals(output) ? "" : output;
+  }
+
+}
@@ -24,12 +24,15 @@
 
 package io.airbyte.workers.protocols.airbyte;
 
+import com.google.common.collect.ImmutableMap;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.protocols.Mapper;
+import java.util.Map;
 import org.apache.logging.log4j.util.Strings;
 
 /**
@@ -37,17 +40,30 @@ import org.apache.logging.log4j.util.Strings;
  * the source before it reaches the destination. One of the transformation is to define the
  * destination namespace where data will be stored and how to mirror (or not) the namespace used in
  * the source (if any). This is configured in the UI through the syncInput.
+ *
+ * <p>
+ * Stream names are translated once per stream when the catalog is mapped. Records are then mapped
+ * by building a new envelope around the original data, which is shared rather than copied.
  */
 public class NamespacingMapper implements Mapper<AirbyteMessage> {
 
   private final String prefix;
+  private Map<String, String> streamNames;
 
   public NamespacingMapper(String prefix) {
     this.prefix = prefix;
+    this.streamNames = ImmutableMap.of();
   }
 
   @Override
   public ConfiguredAirbyteCatalog mapCatalog(final ConfiguredAirbyteCatalog inputCatalog) {
+    final ImmutableMap.Builder<String, String> streamNamesBuilder = ImmutableMap.builder();
+    inputCatalog.getStreams().stream()
+        .map(s -> s.getStream().getName())
+        .distinct()
+        .forEach(streamName -> streamNamesBuilder.put(streamName, transformStreamName(streamName, prefix)));
+    streamNames = streamNamesBuilder.build();
+
     final ConfiguredAirbyteCatalog catalog = Jsons.clone(inputCatalog);
     catalog.getStreams().forEach(s -> mutateStream(s.getStream(), prefix));
     return catalog;
@@ -55,9 +71,20 @@ public class NamespacingMapper implements Mapper<AirbyteMessage> {
 
   @Override
   public AirbyteMessage mapMessage(final AirbyteMessage inputMessage) {
-    if (inputMessage.getType() == Type.RECORD) {
-      final AirbyteMessage message = Jsons.clone(inputMessage);
-      message.getRecord().setStream(transformStreamName(message.getRecord().getStream(), prefix));
+    if (inputMessage.getType() == Type.RECORD && Strings.isNotEmpty(prefix)) {
+      final AirbyteRecordMessage inputRecord = inputMessage.getRecord();
+      final String streamName = streamNames.get(inputRecord.getStream());
+
+      final AirbyteRecordMessage record = new AirbyteRecordMessage()
+          .withStream(streamName != null ? streamName : transformStreamName(inputRecord.getStream(), prefix))
+          .withEmittedAt(inputRecord.getEmittedAt())
+          .withData(inputRecord.getData());
+      inputRecord.getAdditionalProperties().forEach(record::setAdditionalProperty);
+
+      final AirbyteMessage message = new AirbyteMessage()
+          .withType(inputMessage.getType())
+          .withRecord(record);
+      inputMessage.getAdditionalProperties().forEach(message::setAdditionalProperty);
       return message;
     }
     return inputMessage;
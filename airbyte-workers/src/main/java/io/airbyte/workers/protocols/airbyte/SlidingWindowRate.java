@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.workers.protocols.airbyte;
+
+/**
+ * Counts events in one-second buckets over a fixed window so a rate can be read while a sync is
+ * running. Buckets older than the window are reused as time moves forward.
+ */
+class SlidingWindowRate {
+
+  private final long[] buckets;
+  private final long[] bucketSeconds;
+
+  SlidingWindowRate(final int windowSeconds) {
+    this.buckets = new long[windowSeconds];
+    this.bucketSeconds = new long[windowSeconds];
+  }
+
+  synchronized void add(final long nowMillis, final long amount) {
+    final long second = nowMillis / 1000;
+    final int index = (int) (second % buckets.length);
+    if (bucketSeconds[index] != second) {
+      bucketSeconds[index] = second;
+      buckets[index] = 0;
+    }
+    buckets[index] += amount;
+  }
+
+  /**
+   * @return average per second over the window, ignoring the current (incomplete) second.
+   */
+  synchronized double getRate(final long nowMillis) {
+    final long second = nowMillis / 1000;
+    long total = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      if (bucketSeconds[i] < second && bucketSeconds[i] >= second - buckets.length) {
+        total += buckets[i];
+      }
+    }
+    return (double) total / buckets.length;
+  }
+
+}
@@ -24,8 +24,10 @@
 
 package io.airbyte.workers.temporal;
 
+import io.airbyte.config.RecordValidationConfig;
 import io.airbyte.config.StandardSyncInput;
 import io.airbyte.config.StandardSyncOutput;
+import io.airbyte.protocol.models.MessageFraming;
 import io.airbyte.scheduler.models.IntegrationLauncherConfig;
 import io.airbyte.scheduler.models.JobRunConfig;
 import io.airbyte.workers.DefaultSyncWorker;
@@ -35,10 +37,12 @@ import io.airbyte.workers.process.AirbyteIntegrationLauncher;
 import io.airbyte.workers.process.IntegrationLauncher;
 import io.airbyte.workers.process.ProcessBuilderFactory;
 import io.airbyte.workers.protocols.airbyte.AirbyteMessageTracker;
+import io.airbyte.workers.protocols.airbyte.AirbyteProtocolPredicate.ValidationPolicy;
 import io.airbyte.workers.protocols.airbyte.AirbyteSource;
 import io.airbyte.workers.protocols.airbyte.DefaultAirbyteDestination;
 import io.airbyte.workers.protocols.airbyte.DefaultAirbyteSource;
 import io.airbyte.workers.protocols.airbyte.EmptyAirbyteSource;
+import io.airbyte.workers.protocols.airbyte.MessageFramingNegotiator;
 import io.airbyte.workers.protocols.airbyte.NamespacingMapper;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.activity.ActivityMethod;
@@ -93,10 +97,14 @@ public interface SyncWorkflow {
 
     private final ProcessBuilderFactory pbf;
     private final Path workspaceRoot;
+    private final MessageFramingNegotiator framingNegotiator;
+    private final ValidationPolicy validationPolicy;
 
-    public SyncActivityImpl(ProcessBuilderFactory pbf, Path workspaceRoot) {
+    public SyncActivityImpl(ProcessBuilderFactory pbf, Path workspaceRoot, RecordValidationConfig recordValidationConfig) {
       this.pbf = pbf;
       this.workspaceRoot = workspaceRoot;
+      this.framingNegotiator = new MessageFramingNegotiator();
+      this.validationPolicy = ValidationPolicy.fromConfig(recordValidationConfig);
     }
 
     public StandardSyncOutput run(JobRunConfig jobRunConfig,
@@ -106,33 +114,38 @@ public interface SyncWorkflow {
         throws TemporalJobException {
 
       return new TemporalAttemptExecution<>(workspaceRoot, jobRunConfig, (jobRoot) -> {
+        // reset jobs use an empty source to induce resetting all data in destination.
+        final boolean isReset = sourceLauncherConfig.getDockerImage().equals(WorkerConstants.RESET_JOB_SOURCE_DOCKER_IMAGE_STUB);
+        final MessageFraming sourceFraming = isReset ? MessageFraming.JSON_LINES : framingNegotiator.negotiate(sourceLauncherConfig.getDockerImage());
+        final MessageFraming destinationFraming = framingNegotiator.negotiate(destinationLauncherConfig.getDockerImage());
+
         final IntegrationLauncher sourceLauncher = new AirbyteIntegrationLauncher(
             sourceLauncherConfig.getJobId(),
             Math.toIntExact(sourceLauncherConfig.getAttemptId()),
             sourceLauncherConfig.getDockerImage(),
-            pbf);
+            pbf,
+            sourceFraming);
         final IntegrationLauncher destinationLauncher = new AirbyteIntegrationLauncher(
             destinationLauncherConfig.getJobId(),
             Math.toIntExact(destinationLauncherConfig.getAttemptId()),
             destinationLauncherConfig.getDockerImage(),
-            pbf);
+            pbf,
+            destinationFraming);
 
-        // reset jobs use an empty source to induce resetting all data in destination.
-        final AirbyteSource airbyteSource =
-            sourceLauncherConfig.getDockerImage().equals(WorkerConstants.RESET_JOB_SOURCE_DOCKER_IMAGE_STUB) ? new EmptyAirbyteSource()
-                : new DefaultAirbyteSource(sourceLauncher);
+        final AirbyteSource airbyteSource = isReset ? new EmptyAirbyteSource() : new DefaultAirbyteSource(sourceLauncher, sourceFraming, validationPolicy);
 
         return new DefaultSyncWorker(
             jobRunConfig.getJobId(),
             Math.toIntExact(jobRunConfig.getAttemptId()),
             airbyteSource,
             new NamespacingMapper(syncInput.getPrefix()),
-            new DefaultAirbyteDestination(destinationLauncher),
+            new DefaultAirbyteDestination(destinationLauncher, destinationFraming),
             new AirbyteMessageTracker(),
             NormalizationRunnerFactory.create(
                 destinationLauncherConfig.getDockerImage(),
                 pbf,
-                syncInput.getDestinationConfiguration())).run(syncInput, jobRoot);
+                syncInput.getDestinationConfiguration()),
+            DefaultSyncWorker.ExecutionMode.PIPELINED).run(syncInput, jobRoot);
       }).get();
     }
 
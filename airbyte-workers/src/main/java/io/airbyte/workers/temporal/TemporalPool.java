@@ -26,6 +26,7 @@ package io.airbyte.workers.temporal;
 
 import static java.util.stream.Collectors.toSet;
 
+import io.airbyte.config.RecordValidationConfig;
 import io.airbyte.workers.process.ProcessBuilderFactory;
 import io.temporal.api.namespace.v1.NamespaceInfo;
 import io.temporal.api.workflowservice.v1.DescribeNamespaceResponse;
@@ -43,10 +44,12 @@ public class TemporalPool implements Runnable {
 
   private final Path workspaceRoot;
   private final ProcessBuilderFactory pbf;
+  private final RecordValidationConfig recordValidationConfig;
 
-  public TemporalPool(Path workspaceRoot, ProcessBuilderFactory pbf) {
+  public TemporalPool(Path workspaceRoot, ProcessBuilderFactory pbf, RecordValidationConfig recordValidationConfig) {
     this.workspaceRoot = workspaceRoot;
     this.pbf = pbf;
+    this.recordValidationConfig = recordValidationConfig;
   }
 
   @Override
@@ -69,7 +72,7 @@ public class TemporalPool implements Runnable {
 
     Worker syncWorker = factory.newWorker(TemporalJobType.SYNC.name());
     syncWorker.registerWorkflowImplementationTypes(SyncWorkflow.WorkflowImpl.class);
-    syncWorker.registerActivitiesImplementations(new SyncWorkflow.SyncActivityImpl(pbf, workspaceRoot));
+    syncWorker.registerActivitiesImplementations(new SyncWorkflow.SyncActivityImpl(pbf, workspaceRoot, recordValidationConfig));
 
     factory.start();
   }
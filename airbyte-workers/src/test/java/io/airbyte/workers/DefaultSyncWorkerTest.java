@@ -26,12 +26,20 @@ package io.airbyte.workers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableMap;
+import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.StandardSync;
 import io.airbyte.config.StandardSyncInput;
@@ -42,6 +50,13 @@ import io.airbyte.config.StandardTapConfig;
 import io.airbyte.config.StandardTargetConfig;
 import io.airbyte.config.State;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.Field.JsonSchemaPrimitive;
+import io.airbyte.protocol.models.SyncMode;
+import io.airbyte.workers.DefaultSyncWorker.ExecutionMode;
 import io.airbyte.workers.normalization.NormalizationRunner;
 import io.airbyte.workers.protocols.MessageTracker;
 import io.airbyte.workers.protocols.airbyte.AirbyteDestination;
@@ -49,12 +64,15 @@ import io.airbyte.workers.protocols.airbyte.AirbyteMessageTracker;
 import io.airbyte.workers.protocols.airbyte.AirbyteMessageUtils;
 import io.airbyte.workers.protocols.airbyte.AirbyteSource;
 import io.airbyte.workers.protocols.airbyte.NamespacingMapper;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 class DefaultSyncWorkerTest {
 
@@ -122,6 +140,85 @@ class DefaultSyncWorkerTest {
     verify(target).close();
   }
 
+  @Test
+  void testPipelined() throws Exception {
+    final DefaultSyncWorker defaultSyncWorker = new DefaultSyncWorker(JOB_ID, JOB_ATTEMPT, tap, mapper, target, new AirbyteMessageTracker(),
+        normalizationRunner, ExecutionMode.PIPELINED);
+
+    defaultSyncWorker.run(syncInput, jobRoot);
+
+    verify(tap).start(tapConfig, jobRoot);
+    verify(target).start(targetConfig, jobRoot);
+    final InOrder inOrder = inOrder(target);
+    inOrder.verify(target).accept(RECORD_MESSAGE1);
+    inOrder.verify(target).accept(RECORD_MESSAGE2);
+    verify(normalizationRunner).normalize(JOB_ID, JOB_ATTEMPT, normalizationRoot, targetConfig.getDestinationConnectionConfiguration(),
+        targetConfig.getCatalog());
+    verify(tap).close();
+    verify(target).close();
+  }
+
+  @Test
+  void testSkipsNormalizationOfIncrementalStreamsWithoutRecords() throws Exception {
+    final ConfiguredAirbyteStream activeStream = Jsons.clone(syncInput.getCatalog().getStreams().get(0)).withSyncMode(SyncMode.INCREMENTAL);
+    final ConfiguredAirbyteStream idleStream = new ConfiguredAirbyteStream()
+        .withStream(CatalogHelpers.createAirbyteStream("idle", Field.of(FIELD_NAME, JsonSchemaPrimitive.STRING)))
+        .withSyncMode(SyncMode.INCREMENTAL);
+    final ConfiguredAirbyteStream fullRefreshStream = new ConfiguredAirbyteStream()
+        .withStream(CatalogHelpers.createAirbyteStream("full_refresh", Field.of(FIELD_NAME, JsonSchemaPrimitive.STRING)));
+    syncInput.withCatalog(new ConfiguredAirbyteCatalog().withStreams(List.of(activeStream, idleStream, fullRefreshStream)));
+    when(mapper.mapCatalog(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(normalizationRunner.normalize(anyLong(), anyInt(), any(), any(), any())).thenReturn(true);
+
+    final DefaultSyncWorker defaultSyncWorker =
+        new DefaultSyncWorker(JOB_ID, JOB_ATTEMPT, tap, mapper, target, new AirbyteMessageTracker(), normalizationRunner);
+    defaultSyncWorker.run(syncInput, jobRoot);
+
+    verify(normalizationRunner).normalize(JOB_ID, JOB_ATTEMPT, normalizationRoot, targetConfig.getDestinationConnectionConfiguration(),
+        new ConfiguredAirbyteCatalog().withStreams(List.of(activeStream, fullRefreshStream)));
+  }
+
+  @Test
+  void testSkipsNormalizationWithoutNewRecords() throws Exception {
+    syncInput.getCatalog().getStreams().forEach(stream -> stream.setSyncMode(SyncMode.INCREMENTAL));
+    when(mapper.mapCatalog(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(tap.isFinished()).thenReturn(true);
+
+    final DefaultSyncWorker defaultSyncWorker =
+        new DefaultSyncWorker(JOB_ID, JOB_ATTEMPT, tap, mapper, target, new AirbyteMessageTracker(), normalizationRunner);
+    defaultSyncWorker.run(syncInput, jobRoot);
+
+    verifyNoInteractions(normalizationRunner);
+  }
+
+  @Test
+  void testCheckpointsCommittedStateWhenNormalizationFails() throws Exception {
+    final JsonNode committedState = Jsons.jsonNode(ImmutableMap.of("updated_at", 10));
+    when(target.getCommittedState()).thenReturn(Optional.of(committedState));
+    when(normalizationRunner.normalize(JOB_ID, JOB_ATTEMPT, normalizationRoot, targetConfig.getDestinationConnectionConfiguration(),
+        targetConfig.getCatalog()))
+            .thenReturn(false);
+
+    final DefaultSyncWorker defaultSyncWorker =
+        new DefaultSyncWorker(JOB_ID, JOB_ATTEMPT, tap, mapper, target, new AirbyteMessageTracker(), normalizationRunner);
+
+    assertThrows(WorkerException.class, () -> defaultSyncWorker.run(syncInput, jobRoot));
+    final State checkpoint = Jsons.deserialize(IOs.readFile(jobRoot.resolve(WorkerConstants.STATE_CHECKPOINT_JSON_FILENAME)), State.class);
+    assertEquals(committedState, checkpoint.getState());
+  }
+
+  @Test
+  void testPipelinedDestinationFailure() throws Exception {
+    doThrow(new IOException("broken pipe")).when(target).accept(RECORD_MESSAGE1);
+
+    final DefaultSyncWorker defaultSyncWorker = new DefaultSyncWorker(JOB_ID, JOB_ATTEMPT, tap, mapper, target, new AirbyteMessageTracker(),
+        normalizationRunner, ExecutionMode.PIPELINED);
+
+    assertThrows(WorkerException.class, () -> defaultSyncWorker.run(syncInput, jobRoot));
+    verify(tap).close();
+    verify(target).close();
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   void testPopulatesSyncSummary() throws WorkerException {
@@ -40,6 +40,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -60,6 +61,7 @@ class DefaultNormalizationRunnerTest {
     pbf = mock(ProcessBuilderFactory.class);
     final ProcessBuilder processBuilder = mock(ProcessBuilder.class);
     process = mock(Process.class);
+    when(process.onExit()).thenReturn(CompletableFuture.completedFuture(process));
 
     config = mock(JsonNode.class);
     catalog = mock(ConfiguredAirbyteCatalog.class);
@@ -25,6 +25,7 @@
 package io.airbyte.workers.process;
 
 import com.google.common.collect.Lists;
+import io.airbyte.protocol.models.MessageFraming;
 import io.airbyte.workers.WorkerException;
 import java.nio.file.Path;
 import org.junit.jupiter.api.BeforeEach;
@@ -89,9 +90,34 @@ class AirbyteIntegrationLauncherTest {
     launcher.write(JOB_ROOT, "config", "catalog");
 
     Mockito.verify(pbf).create(JOB_ID, JOB_ATTEMPT, JOB_ROOT, FAKE_IMAGE,
-        "write",
-        "--config", "config",
-        "--catalog", "catalog");
+        Lists.newArrayList(
+            "write",
+            "--config", "config",
+            "--catalog", "catalog"));
+  }
+
+  @Test
+  void readWithFraming() throws WorkerException {
+    new AirbyteIntegrationLauncher(JOB_ID, JOB_ATTEMPT, FAKE_IMAGE, pbf, MessageFraming.SMILE).read(JOB_ROOT, "config", "catalog");
+
+    Mockito.verify(pbf).create(JOB_ID, JOB_ATTEMPT, JOB_ROOT, FAKE_IMAGE,
+        Lists.newArrayList(
+            "read",
+            "--config", "config",
+            "--catalog", "catalog",
+            "--framing", "smile"));
+  }
+
+  @Test
+  void writeWithFraming() throws WorkerException {
+    new AirbyteIntegrationLauncher(JOB_ID, JOB_ATTEMPT, FAKE_IMAGE, pbf, MessageFraming.SMILE).write(JOB_ROOT, "config", "catalog");
+
+    Mockito.verify(pbf).create(JOB_ID, JOB_ATTEMPT, JOB_ROOT, FAKE_IMAGE,
+        Lists.newArrayList(
+            "write",
+            "--config", "config",
+            "--catalog", "catalog",
+            "--framing", "smile"));
   }
 
 }
@@ -25,14 +25,18 @@
 package io.airbyte.workers.protocols.airbyte;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableMap;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.StreamSyncProgress;
+import io.airbyte.config.SyncProgress;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 import org.testcontainers.shaded.com.google.common.base.Charsets;
 
@@ -53,6 +57,16 @@ class AirbyteMessageTrackerTest {
     assertEquals(3 * Jsons.serialize(message.getRecord().getData()).getBytes(Charsets.UTF_8).length, messageTracker.getBytesCount());
   }
 
+  @Test
+  public void testCountsRecordsByStream() {
+    final AirbyteMessageTracker messageTracker = new AirbyteMessageTracker();
+    messageTracker.accept(AirbyteMessageUtils.createRecordMessage("users", "name", "rudolph"));
+    messageTracker.accept(AirbyteMessageUtils.createRecordMessage("users", "name", "dasher"));
+    messageTracker.accept(AirbyteMessageUtils.createRecordMessage("pets", "name", "comet"));
+
+    assertEquals(ImmutableMap.of("users", 2L, "pets", 1L), messageTracker.getStreamRecordCounts());
+  }
+
   @Test
   public void testRetainsLatestState() {
     final JsonNode oldStateValue = Jsons.jsonNode(ImmutableMap.builder().put("lastSync", "1598900000").build());
@@ -80,4 +94,77 @@ class AirbyteMessageTrackerTest {
     assertTrue(MessageTracker.getOutputState().isEmpty());
   }
 
+  @Test
+  public void testBytesOfEnvelopeParsedRecordTakenFromRawData() {
+    final AirbyteMessage message = AirbyteRecordEnvelopeParser
+        .tryParseRecord("{\"type\":\"RECORD\",\"record\":{\"stream\":\"users\",\"emitted_at\":1,\"data\":{ \"name\" : \"rudolph\" }}}")
+        .orElseThrow();
+
+    final AirbyteMessageTracker messageTracker = new AirbyteMessageTracker();
+    messageTracker.accept(message);
+
+    assertEquals(1, messageTracker.getRecordCount());
+    assertEquals("{ \"name\" : \"rudolph\" }".length(), messageTracker.getBytesCount());
+  }
+
+  @Test
+  public void testBytesReadBySource() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage("users", "name", "rudolph");
+    final AirbyteMessage state = AirbyteMessageUtils.createStateMessage("checkpoint", "1");
+
+    final AirbyteMessageTracker messageTracker = new AirbyteMessageTracker();
+    messageTracker.accept(record, 100);
+    messageTracker.accept(state, 50);
+
+    assertEquals(1, messageTracker.getRecordCount());
+    assertEquals(100, messageTracker.getBytesCount());
+  }
+
+  @Test
+  public void testSyncProgress() {
+    final AtomicLong now = new AtomicLong(100_000L);
+    final AirbyteMessageTracker messageTracker = new AirbyteMessageTracker(now::get);
+    final AirbyteMessage users = new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("users").withData(Jsons.jsonNode(ImmutableMap.of("name", "rudolph"))));
+    final AirbyteMessage pets = new AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(new AirbyteRecordMessage().withStream("pets").withData(Jsons.jsonNode(ImmutableMap.of("name", "max"))));
+    final long usersBytes = Jsons.serialize(users.getRecord().getData()).length();
+    final long petsBytes = Jsons.serialize(pets.getRecord().getData()).length();
+
+    assertNull(messageTracker.getSyncProgress().getMillisSinceLastState());
+
+    for (int i = 0; i < 120; i++) {
+      messageTracker.accept(users);
+    }
+    messageTracker.accept(pets);
+    messageTracker.accept(new AirbyteMessage()
+        .withType(AirbyteMessage.Type.STATE)
+        .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(ImmutableMap.of("lastSync", "1598900000")))));
+    now.addAndGet(1_500L);
+
+    final SyncProgress progress = messageTracker.getSyncProgress();
+    assertEquals(101_500L, progress.getUpdatedAt());
+    assertEquals(121, progress.getRecordsEmitted());
+    assertEquals(120 * usersBytes + petsBytes, progress.getBytesEmitted());
+    assertEquals(121 / 60.0, progress.getRecordsPerSecond());
+    assertEquals(1_500L, progress.getMillisSinceLastState());
+
+    final StreamSyncProgress petsProgress = progress.getStreams().get(0);
+    assertEquals("pets", petsProgress.getStreamName());
+    assertEquals(1, petsProgress.getRecordsEmitted());
+    assertEquals(petsBytes, petsProgress.getBytesEmitted());
+
+    final StreamSyncProgress usersProgress = progress.getStreams().get(1);
+    assertEquals("users", usersProgress.getStreamName());
+    assertEquals(120, usersProgress.getRecordsEmitted());
+    assertEquals(2.0, usersProgress.getRecordsPerSecond());
+    assertEquals(120 * usersBytes / 60.0, usersProgress.getBytesPerSecond());
+
+    // once the window has passed without new records the rates drop back to zero.
+    now.addAndGet(60_000L);
+    assertEquals(0.0, messageTracker.getSyncProgress().getRecordsPerSecond());
+  }
+
 }
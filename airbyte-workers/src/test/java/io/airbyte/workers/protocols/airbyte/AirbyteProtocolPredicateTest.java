@@ -27,7 +27,9 @@ package io.airbyte.workers.protocols.airbyte;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.workers.protocols.airbyte.AirbyteProtocolPredicate.ValidationPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -80,4 +82,39 @@ class AirbyteProtocolPredicateTest {
     assertFalse(predicate.test(Jsons.deserialize(concatenated)));
   }
 
+  @Test
+  void testFirstNPerStream() {
+    final AirbyteProtocolPredicate firstN = new AirbyteProtocolPredicate(ValidationPolicy.firstNPerStream(1));
+
+    assertFalse(firstN.test(invalidRecord(STREAM_NAME)));
+    assertTrue(firstN.test(invalidRecord(STREAM_NAME)));
+    // counted separately per stream.
+    assertFalse(firstN.test(invalidRecord("other_stream")));
+    // non-record messages are always validated.
+    assertFalse(firstN.test(Jsons.deserialize("{ \"fish\": \"tuna\"}")));
+  }
+
+  @Test
+  void testSampleOneInN() {
+    final AirbyteProtocolPredicate sampled = new AirbyteProtocolPredicate(ValidationPolicy.sampleOneIn(3));
+
+    assertFalse(sampled.test(invalidRecord(STREAM_NAME)));
+    assertTrue(sampled.test(invalidRecord(STREAM_NAME)));
+    assertTrue(sampled.test(invalidRecord(STREAM_NAME)));
+    assertFalse(sampled.test(invalidRecord(STREAM_NAME)));
+  }
+
+  @Test
+  void testOff() {
+    final AirbyteProtocolPredicate off = new AirbyteProtocolPredicate(ValidationPolicy.off());
+
+    assertTrue(off.test(invalidRecord(STREAM_NAME)));
+    assertFalse(off.test(Jsons.deserialize("{ \"fish\": \"tuna\"}")));
+  }
+
+  // a record that is missing its required emitted_at field.
+  private static JsonNode invalidRecord(String streamName) {
+    return Jsons.deserialize("{\"type\": \"RECORD\", \"record\": {\"stream\": \"" + streamName + "\", \"data\": {}}}");
+  }
+
 }
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.workers.protocols.airbyte;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.commons.json.BinaryJsonFrames;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteLogMessage;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class AirbyteRecordEnvelopeParserTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+
+  @Test
+  void testParsesEnvelopeAndKeepsRawData() {
+    final String data = "{\"favorite_color\": \"green\", \"nested\": {\"a\": [1, 2, {\"b\": null}]}}";
+    final String line = "{\"type\": \"RECORD\", \"record\": {\"stream\": \"" + STREAM_NAME + "\", \"emitted_at\": 1600000000, \"data\": " + data + "}}";
+
+    final Optional<AirbyteMessage> message = AirbyteRecordEnvelopeParser.tryParseRecord(line);
+
+    assertTrue(message.isPresent());
+    assertEquals(AirbyteMessage.Type.RECORD, message.get().getType());
+    assertEquals(STREAM_NAME, message.get().getRecord().getStream());
+    assertEquals(1600000000L, message.get().getRecord().getEmittedAt());
+    assertEquals(Optional.of(data), AirbyteRecordEnvelopeParser.getRawData(message.get().getRecord().getData()));
+    // the raw data is written back out as-is.
+    assertEquals(Jsons.deserialize(line), Jsons.deserialize(Jsons.serialize(message.get())));
+  }
+
+  @Test
+  void testRoundTripsSerializedRecord() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, "favorite_color", "green");
+
+    final Optional<AirbyteMessage> message = AirbyteRecordEnvelopeParser.tryParseRecord(Jsons.serialize(record));
+
+    assertTrue(message.isPresent());
+    assertEquals(Jsons.serialize(record), Jsons.serialize(message.get()));
+  }
+
+  @Test
+  void testRejectsNonRecordMessages() {
+    final AirbyteMessage log = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.INFO, "hello");
+    final AirbyteMessage state = new AirbyteMessage()
+        .withType(AirbyteMessage.Type.STATE)
+        .withState(new AirbyteStateMessage().withData(Jsons.jsonNode(1)));
+
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord(Jsons.serialize(log)).isEmpty());
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord(Jsons.serialize(state)).isEmpty());
+  }
+
+  @Test
+  void testRejectsUnexpectedShapes() {
+    // not json
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord("starting sync...").isEmpty());
+    // truncated
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord("{\"type\": \"RECORD\", \"record\": {\"stream\": \"a\", \"emitted_at\": 1, \"data\": {").isEmpty());
+    // missing emitted_at
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord("{\"type\": \"RECORD\", \"record\": {\"stream\": \"a\", \"data\": {}}}").isEmpty());
+    // data is not an object
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord("{\"type\": \"RECORD\", \"record\": {\"stream\": \"a\", \"emitted_at\": 1, \"data\": 5}}").isEmpty());
+    // additional properties
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord("{\"type\": \"RECORD\", \"record\": {\"stream\": \"a\", \"emitted_at\": 1, \"data\": {}, \"x\": 1}}")
+        .isEmpty());
+    // wrong type
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseRecord("{\"type\": \"STATE\", \"record\": {\"stream\": \"a\", \"emitted_at\": 1, \"data\": {}}}").isEmpty());
+  }
+
+  @Test
+  void testParsesFramedRecord() throws IOException {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, "favorite_color", "green");
+    final byte[] frame = BinaryJsonFrames.toFrame(record);
+    final byte[] payload = Arrays.copyOfRange(frame, 5, frame.length);
+
+    final Optional<AirbyteMessage> message = AirbyteRecordEnvelopeParser.tryParseFramedRecord(payload);
+
+    assertTrue(message.isPresent());
+    assertEquals(Optional.of(Jsons.serialize(record.getRecord().getData())), AirbyteRecordEnvelopeParser.getRawData(message.get().getRecord().getData()));
+    assertEquals(Jsons.serialize(record), Jsons.serialize(message.get()));
+
+    final byte[] logFrame = BinaryJsonFrames.toFrame(AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.INFO, "hello"));
+    assertTrue(AirbyteRecordEnvelopeParser.tryParseFramedRecord(Arrays.copyOfRange(logFrame, 5, logFrame.length)).isEmpty());
+  }
+
+  @Test
+  void testGetRawDataOfRegularNode() {
+    assertTrue(AirbyteRecordEnvelopeParser.getRawData(Jsons.jsonNode(1)).isEmpty());
+    assertTrue(AirbyteRecordEnvelopeParser.getRawData(null).isEmpty());
+  }
+
+}
@@ -49,6 +49,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -72,6 +74,7 @@ class DefaultAirbyteDestinationTest {
     jobRoot = Files.createTempDirectory(Files.createDirectories(TEST_ROOT), JOB_ROOT_PREFIX);
 
     process = mock(Process.class);
+    when(process.onExit()).thenReturn(CompletableFuture.completedFuture(process));
     outputStream = spy(new ByteArrayOutputStream());
     when(process.getOutputStream()).thenReturn(outputStream);
     when(process.getInputStream()).thenReturn(new ByteArrayInputStream("input".getBytes(StandardCharsets.UTF_8)));
@@ -117,6 +120,19 @@ class DefaultAirbyteDestinationTest {
     verify(process).waitFor(anyLong(), any());
   }
 
+  @Test
+  public void testCommittedState() throws Exception {
+    final AirbyteMessage stateMessage = AirbyteMessageUtils.createStateMessage("checkpoint", "1");
+    final String stdout = "starting\n" + Jsons.serialize(stateMessage) + "\n";
+    when(process.getInputStream()).thenReturn(new ByteArrayInputStream(stdout.getBytes(StandardCharsets.UTF_8)));
+
+    final AirbyteDestination target = new DefaultAirbyteDestination(integrationLauncher);
+    target.start(TARGET_CONFIG, jobRoot);
+    target.close();
+
+    assertEquals(Optional.of(stateMessage.getState().getData()), target.getCommittedState());
+  }
+
   @Test
   public void testCloseNotifiesLifecycle() throws Exception {
     final AirbyteDestination target = new DefaultAirbyteDestination(integrationLauncher);
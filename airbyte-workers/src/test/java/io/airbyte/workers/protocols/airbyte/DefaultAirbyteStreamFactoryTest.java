@@ -25,6 +25,7 @@
 package io.airbyte.workers.protocols.airbyte;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -33,14 +34,22 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import io.airbyte.commons.json.BinaryJsonFrames;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.Configs.RecordValidationMode;
+import io.airbyte.config.RecordValidationConfig;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.protocols.airbyte.AirbyteProtocolPredicate.ValidationPolicy;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -60,6 +69,7 @@ class DefaultAirbyteStreamFactoryTest {
   public void setup() {
     protocolPredicate = mock(AirbyteProtocolPredicate.class);
     when(protocolPredicate.test(any())).thenReturn(true);
+    when(protocolPredicate.validatesEveryRecord()).thenReturn(true);
     logger = mock(Logger.class);
   }
 
@@ -122,6 +132,104 @@ class DefaultAirbyteStreamFactoryTest {
     verifyNoMoreInteractions(logger);
   }
 
+  @Test
+  public void testEnvelopeOnly() {
+    when(protocolPredicate.validatesEveryRecord()).thenReturn(false);
+    when(protocolPredicate.shouldValidateRecord(STREAM_NAME)).thenReturn(false);
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+    final String inputString = Jsons.serialize(record1) + "\n" + Jsons.serialize(logMessage);
+
+    final List<AirbyteMessage> messages = stringToMessageStream(inputString).collect(Collectors.toList());
+
+    assertEquals(1, messages.size());
+    assertEquals(Jsons.serialize(record1), Jsons.serialize(messages.get(0)));
+    // the record skipped by the policy bypasses protocol validation; the log line still goes through
+    // it.
+    verify(protocolPredicate).validatesEveryRecord();
+    verify(protocolPredicate).shouldValidateRecord(STREAM_NAME);
+    verify(protocolPredicate).test(Jsons.jsonNode(logMessage));
+    verifyNoMoreInteractions(protocolPredicate);
+    verify(logger).warn("warning");
+    verifyNoMoreInteractions(logger);
+  }
+
+  @Test
+  public void testValidationConfig() {
+    // passes the envelope parser but is missing emitted_at, so it fails protocol validation.
+    final String invalidRecord = "{\"type\":\"RECORD\",\"record\":{\"stream\":\"" + STREAM_NAME + "\",\"data\":{}}}";
+    final AirbyteMessage validRecord = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final String inputString = String.join("\n", invalidRecord, Jsons.serialize(validRecord), invalidRecord);
+
+    assertEquals(1, readWithConfig(new RecordValidationConfig(RecordValidationMode.FULL, 0), inputString).size());
+    // only the first record of the stream is validated.
+    assertEquals(2, readWithConfig(new RecordValidationConfig(RecordValidationMode.FIRST_N_PER_STREAM, 1), inputString).size());
+    assertEquals(3, readWithConfig(new RecordValidationConfig(RecordValidationMode.OFF, 0), inputString).size());
+  }
+
+  @Test
+  public void testSizedByLine() {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "grün");
+    final String inputString = Jsons.serialize(record1) + "\ninvalid line";
+
+    final List<SizedAirbyteMessage> messages = new DefaultAirbyteStreamFactory(protocolPredicate, logger)
+        .createSized(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8)))
+        .collect(Collectors.toList());
+
+    assertEquals(1, messages.size());
+    assertEquals(record1, messages.get(0).getMessage());
+    assertEquals(Jsons.serialize(record1).getBytes(StandardCharsets.UTF_8).length, messages.get(0).getBytes());
+  }
+
+  @Test
+  public void testFrames() throws IOException {
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage record2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "yellow");
+    final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final byte[] frame1 = BinaryJsonFrames.toFrame(record1);
+    out.write(frame1);
+    out.write("a log line\n".getBytes());
+    out.write(BinaryJsonFrames.toFrame(logMessage));
+    out.write(BinaryJsonFrames.toFrame(record2));
+
+    final List<SizedAirbyteMessage> messages = new DefaultAirbyteStreamFactory(protocolPredicate, logger)
+        .createSizedFromFrames(new ByteArrayInputStream(out.toByteArray()))
+        .collect(Collectors.toList());
+
+    assertEquals(List.of(record1, record2), messages.stream().map(SizedAirbyteMessage::getMessage).collect(Collectors.toList()));
+    // the payload of the frame, without its header.
+    assertEquals(frame1.length - 5, messages.get(0).getBytes());
+    verify(logger).info("a log line");
+    verify(logger).warn("warning");
+    verifyNoMoreInteractions(logger);
+  }
+
+  @Test
+  public void testFramesEnvelopeOnly() throws IOException {
+    when(protocolPredicate.validatesEveryRecord()).thenReturn(false);
+    when(protocolPredicate.shouldValidateRecord(STREAM_NAME)).thenReturn(false);
+    final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(BinaryJsonFrames.toFrame(record1));
+    out.write(BinaryJsonFrames.toFrame(logMessage));
+
+    final List<AirbyteMessage> messages = new DefaultAirbyteStreamFactory(protocolPredicate, logger)
+        .createFromFrames(new ByteArrayInputStream(out.toByteArray()))
+        .collect(Collectors.toList());
+
+    assertEquals(1, messages.size());
+    assertTrue(AirbyteRecordEnvelopeParser.getRawData(messages.get(0).getRecord().getData()).isPresent());
+    assertEquals(Jsons.serialize(record1), Jsons.serialize(messages.get(0)));
+    // the record skipped by the policy is never decoded into a tree nor validated.
+    verify(protocolPredicate).validatesEveryRecord();
+    verify(protocolPredicate).shouldValidateRecord(STREAM_NAME);
+    verify(protocolPredicate).test(Jsons.jsonNode(logMessage));
+    verifyNoMoreInteractions(protocolPredicate);
+  }
+
   @Test
   @Disabled
   public void testMissingNewLineBetweenValidRecords() {
@@ -137,6 +245,13 @@ class DefaultAirbyteStreamFactoryTest {
     verifyNoMoreInteractions(logger);
   }
 
+  private List<AirbyteMessage> readWithConfig(RecordValidationConfig config, String inputString) {
+    final AirbyteProtocolPredicate predicate = new AirbyteProtocolPredicate(ValidationPolicy.fromConfig(config));
+    return new DefaultAirbyteStreamFactory(predicate, logger)
+        .create(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(inputString.getBytes()))))
+        .collect(Collectors.toList());
+  }
+
   private Stream<AirbyteMessage> stringToMessageStream(String inputString) {
     InputStream inputStream = new ByteArrayInputStream(inputString.getBytes());
     final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Airbyte
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.airbyte.workers.protocols.airbyte;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.functional.CheckedFunction;
+import io.airbyte.protocol.models.MessageFraming;
+import io.airbyte.workers.WorkerException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MessageFramingNegotiatorTest {
+
+  private static final String IMAGE = "airbyte/source-postgres:0.1.0";
+
+  private CheckedFunction<String, String, Exception> labelReader;
+  private MessageFramingNegotiator negotiator;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setup() {
+    labelReader = mock(CheckedFunction.class);
+    negotiator = new MessageFramingNegotiator(labelReader);
+  }
+
+  @Test
+  void testSupportedFramingIsCached() throws Exception {
+    when(labelReader.apply(IMAGE)).thenReturn("json_lines, smile");
+
+    assertEquals(MessageFraming.SMILE, negotiator.negotiate(IMAGE));
+    assertEquals(MessageFraming.SMILE, negotiator.negotiate(IMAGE));
+    verify(labelReader, times(1)).apply(IMAGE);
+  }
+
+  @Test
+  void testNoSupportedFramings() throws Exception {
+    when(labelReader.apply(IMAGE)).thenReturn("");
+
+    assertEquals(MessageFraming.JSON_LINES, negotiator.negotiate(IMAGE));
+  }
+
+  @Test
+  void testLabelFailureIsNotCached() throws Exception {
+    when(labelReader.apply(IMAGE))
+        .thenThrow(new WorkerException("inspect failed"))
+        .thenReturn("smile");
+
+    assertEquals(MessageFraming.JSON_LINES, negotiator.negotiate(IMAGE));
+    assertEquals(MessageFraming.SMILE, negotiator.negotiate(IMAGE));
+  }
+
+}
@@ -25,6 +25,8 @@
 package io.airbyte.workers.protocols.airbyte;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteMessage;
@@ -88,4 +90,26 @@ class NamespacingMapperTest {
     assertEquals(expectedMessage, actualMessage);
   }
 
+  @Test
+  void testDataIsSharedNotCopied() {
+    final NamespacingMapper mapper = new NamespacingMapper(OUTPUT_NAMESPACE);
+    mapper.mapCatalog(CATALOG);
+
+    final AirbyteMessage actualMessage = mapper.mapMessage(RECORD_MESSAGE);
+
+    assertNotSame(RECORD_MESSAGE, actualMessage);
+    assertSame(RECORD_MESSAGE.getRecord().getData(), actualMessage.getRecord().getData());
+    assertEquals(RECORD_MESSAGE.getRecord().getEmittedAt(), actualMessage.getRecord().getEmittedAt());
+  }
+
+  @Test
+  void testStreamNotInCatalog() {
+    final NamespacingMapper mapper = new NamespacingMapper(OUTPUT_NAMESPACE);
+    mapper.mapCatalog(CATALOG);
+
+    final AirbyteMessage actualMessage = mapper.mapMessage(AirbyteMessageUtils.createRecordMessage("other_stream", FIELD_NAME, "blue"));
+
+    assertEquals(OUTPUT_NAMESPACE + "other_stream", actualMessage.getRecord().getStream());
+  }
+
 }